@@ -0,0 +1,82 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.aerodynamics.TabulatedAerodynamicCalculator;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.CoordinateIF;
+
+/**
+ * Benchmarks of the aerodynamic calculations at a fixed flight condition (Mach 0.3,
+ * 2 degrees angle of attack).  The calculators keep their caches between invocations,
+ * as they do during a simulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AerodynamicsBenchmark {
+
+	@Param({ BenchmarkRockets.ALPHA_III, "A simple model rocket", "Two stage high power rocket" })
+	public String rocket;
+
+	private FlightConfiguration configuration;
+	private FlightConditions conditions;
+	private final WarningSet warnings = new WarningSet();
+	private final BarrowmanCalculator barrowman = new BarrowmanCalculator();
+	private final TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkRockets.initialize();
+		configuration = BenchmarkRockets.createSimulation(rocket).getActiveConfiguration();
+
+		conditions = new FlightConditions(configuration);
+		conditions.setMach(0.3);
+		conditions.setAOA(Math.toRadians(2));
+		conditions.setRollRate(1);
+		conditions.setPitchRate(0.2);
+		conditions.setPitchCenter(new Coordinate(configuration.getLengthAerodynamic() / 2));
+
+		// Compute the table before measuring
+		tabulated.getAerodynamicForces(configuration, conditions, warnings);
+	}
+
+	/**
+	 * The CP position, as shown in the rocket design view.
+	 */
+	@Benchmark
+	public CoordinateIF cp() {
+		return barrowman.getCP(configuration, conditions, warnings);
+	}
+
+	/**
+	 * The complete aerodynamic forces including drag, as used by the simulation steppers.
+	 */
+	@Benchmark
+	public AerodynamicForces forces() {
+		return barrowman.getAerodynamicForces(configuration, conditions, warnings);
+	}
+
+	/**
+	 * The aerodynamic forces interpolated from the precomputed table.
+	 */
+	@Benchmark
+	public AerodynamicForces tabulatedForces() {
+		return tabulated.getAerodynamicForces(configuration, conditions, warnings);
+	}
+}
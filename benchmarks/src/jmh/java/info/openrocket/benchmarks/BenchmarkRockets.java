@@ -0,0 +1,102 @@
+package info.openrocket.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.startup.OpenRocketCore;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * The rockets used by the benchmarks.  A rocket is either the Estes Alpha III of
+ * {@link TestRockets} or the name of one of the example .ork files of the core module.
+ */
+final class BenchmarkRockets {
+
+	/** Name of the Estes Alpha III test rocket */
+	static final String ALPHA_III = "EstesAlphaIII";
+
+	private static final String EXAMPLES_DIRECTORY = "datafiles/examples/";
+
+	private BenchmarkRockets() {
+	}
+
+	/**
+	 * Initialize the application and wait for the motor database to be loaded.
+	 */
+	static void initialize() {
+		OpenRocketCore.initialize();
+		Application.getMotorSetDatabase();
+	}
+
+	/**
+	 * Create a document containing the rocket and at least one simulation.
+	 */
+	static OpenRocketDocument createDocument(String name) throws IOException, RocketLoadException {
+		if (ALPHA_III.equals(name)) {
+			Rocket rocket = TestRockets.makeEstesAlphaIII();
+			OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+			Simulation simulation = new Simulation(document, rocket);
+			simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			document.addSimulation(simulation);
+			rocket.enableEvents();
+			return document;
+		}
+		return load(readExample(name), name);
+	}
+
+	/**
+	 * Return the first simulation of the rocket.
+	 */
+	static Simulation createSimulation(String name) throws IOException, RocketLoadException {
+		return createDocument(name).getSimulation(0);
+	}
+
+	/**
+	 * Read the contents of an example .ork file.
+	 */
+	static byte[] readExample(String name) throws IOException {
+		try (InputStream is = BenchmarkRockets.class.getClassLoader()
+				.getResourceAsStream(EXAMPLES_DIRECTORY + name + ".ork")) {
+			if (is == null) {
+				throw new IOException("Example file not found: " + name);
+			}
+			return is.readAllBytes();
+		}
+	}
+
+	static OpenRocketDocument load(byte[] contents, String name) throws RocketLoadException {
+		return new GeneralRocketLoader((File) null).load(new ByteArrayInputStream(contents), name);
+	}
+
+	/**
+	 * Run the simulation and return a copy of its status at the first step after the given
+	 * flight time.
+	 */
+	static SimulationStatus captureStatus(Simulation simulation, double time) throws SimulationException {
+		SimulationStatus[] captured = new SimulationStatus[1];
+		simulation.simulate(new AbstractSimulationListener() {
+			@Override
+			public void postStep(SimulationStatus status) {
+				if (captured[0] == null && status.getSimulationTime() >= time) {
+					captured[0] = new SimulationStatus(status);
+				}
+			}
+		});
+		if (captured[0] == null) {
+			throw new IllegalStateException("Simulation ended before t=" + time);
+		}
+		return captured[0];
+	}
+}
@@ -0,0 +1,72 @@
+package info.openrocket.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.util.DecalNotFoundException;
+
+/**
+ * Benchmarks of loading and saving OpenRocket documents, including their stored simulation data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileBenchmark {
+
+	@Param({ "A simple model rocket", "Two stage high power rocket", "Parallel booster staging" })
+	public String rocket;
+
+	private byte[] contents;
+	private OpenRocketDocument document;
+	private StorageOptions options;
+	private File file;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkRockets.initialize();
+		contents = BenchmarkRockets.readExample(rocket);
+		document = BenchmarkRockets.load(contents, rocket);
+		options = document.getDefaultStorageOptions().clone();
+		options.setFileType(StorageOptions.FileType.OPENROCKET);
+		options.setSaveSimulationData(true);
+		file = File.createTempFile("benchmark", ".ork");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Load a document from its (compressed) file contents.
+	 */
+	@Benchmark
+	public OpenRocketDocument load() throws RocketLoadException {
+		return BenchmarkRockets.load(contents, rocket);
+	}
+
+	/**
+	 * Save a document to a file.
+	 */
+	@Benchmark
+	public long save() throws IOException, DecalNotFoundException {
+		new GeneralRocketSaver().save(file, document, options);
+		return file.length();
+	}
+}
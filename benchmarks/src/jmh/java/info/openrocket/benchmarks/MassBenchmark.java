@@ -0,0 +1,72 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.masscalc.MassCalculation;
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.simulation.SimulationStatus;
+
+/**
+ * Benchmarks of the mass calculations, statically for a configuration and at a point in time
+ * during the motor burn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MassBenchmark {
+
+	/** Flight time of the status used, during the motor burn */
+	private static final double TIME = 0.5;
+
+	@Param({ BenchmarkRockets.ALPHA_III, "A simple model rocket", "Two stage high power rocket" })
+	public String rocket;
+
+	private FlightConfiguration configuration;
+	private SimulationStatus status;
+	private final MassCalculator calculator = new MassCalculator();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkRockets.initialize();
+		Simulation simulation = BenchmarkRockets.createSimulation(rocket);
+		configuration = simulation.getActiveConfiguration();
+		status = BenchmarkRockets.captureStatus(simulation, TIME);
+	}
+
+	/**
+	 * The launch mass, CG and inertia of the configuration, as shown in the rocket design view.
+	 */
+	@Benchmark
+	public RigidBody launchMass() {
+		return MassCalculator.calculateLaunch(configuration);
+	}
+
+	/**
+	 * The full mass calculation of the rocket at time t.
+	 */
+	@Benchmark
+	public RigidBody massAtTime() {
+		return MassCalculator.calculate(MassCalculation.Type.LAUNCH, status);
+	}
+
+	/**
+	 * The cached structure and motor mass calculation at time t, as used by the simulation steppers.
+	 */
+	@Benchmark
+	public RigidBody cachedMassAtTime() {
+		return calculator.getStructureMass(status.getConfiguration()).add(calculator.getMotorMass(status));
+	}
+}
@@ -0,0 +1,44 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import info.openrocket.core.database.MotorDatabaseLoader;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+
+/**
+ * Benchmark of loading the motor database at startup.  The first measurement of each fork
+ * is the cold startup time, the later ones show the time with a warmed-up JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 10)
+@Fork(3)
+public class MotorDatabaseBenchmark {
+
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkRockets.initialize();
+	}
+
+	@Benchmark
+	public ThrustCurveMotorSetDatabase load() {
+		MotorDatabaseLoader loader = new MotorDatabaseLoader();
+		loader.startLoading();
+		loader.blockUntilLoaded();
+		return loader.getDatabase();
+	}
+}
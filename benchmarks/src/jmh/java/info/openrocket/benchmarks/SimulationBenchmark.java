@@ -0,0 +1,106 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.RK45SimulationStepper;
+import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.RK6SimulationStepper;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.SimulationStepper;
+import info.openrocket.core.simulation.SimulationStepperMethod;
+import info.openrocket.core.simulation.exception.SimulationException;
+
+/**
+ * Benchmarks of complete simulations and of single simulation steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+public class SimulationBenchmark {
+
+	/** Number of steps taken per invocation of the step benchmark */
+	private static final int STEPS = 50;
+
+	/** Flight time at which the step benchmark starts, during the coast phase */
+	private static final double STEP_START_TIME = 2.0;
+
+	@Param({ BenchmarkRockets.ALPHA_III, "A simple model rocket", "Two stage high power rocket" })
+	public String rocket;
+
+	@Param({ "RK4", "RK6", "RK45" })
+	public String stepperMethod;
+
+	private Simulation simulation;
+	private SimulationStatus stepStatus;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkRockets.initialize();
+		simulation = BenchmarkRockets.createSimulation(rocket);
+		simulation.getOptions().setSimulationStepperMethodChoice(SimulationStepperMethod.valueOf(stepperMethod));
+		stepStatus = BenchmarkRockets.captureStatus(simulation, STEP_START_TIME);
+	}
+
+	/**
+	 * A complete simulation, from launch to landing.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public FlightData fullFlight(FlightState state) throws SimulationException {
+		state.flight.simulate();
+		return state.flight.getSimulatedData();
+	}
+
+	/**
+	 * Steps of the flight stepper in the coast phase.  Each invocation starts from a copy of
+	 * the same status, so that all invocations integrate the same part of the flight.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@OperationsPerInvocation(STEPS)
+	public SimulationStatus step() throws SimulationException {
+		SimulationStepper stepper = createStepper();
+		SimulationStatus status = stepper.initialize(stepStatus);
+		status.setFlightDataBranch(new FlightDataBranch(rocket, FlightDataType.TYPE_TIME));
+		for (int i = 0; i < STEPS; i++) {
+			stepper.step(status, Double.MAX_VALUE);
+		}
+		return status;
+	}
+
+	/**
+	 * A new copy of the simulation for each full flight, so that no invocation reuses the
+	 * checkpoints or the results of a previous one.
+	 */
+	@State(Scope.Thread)
+	public static class FlightState {
+		private Simulation flight;
+
+		@Setup(Level.Invocation)
+		public void setup(SimulationBenchmark benchmark) {
+			flight = benchmark.simulation.copy();
+		}
+	}
+
+	private SimulationStepper createStepper() {
+		return switch (SimulationStepperMethod.valueOf(stepperMethod)) {
+			case RK4 -> new RK4SimulationStepper();
+			case RK6 -> new RK6SimulationStepper();
+			case RK45 -> new RK45SimulationStepper();
+		};
+	}
+}
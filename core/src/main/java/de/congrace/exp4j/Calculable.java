@@ -28,4 +28,36 @@ public interface Calculable {
 	 *            the value of the variable
 	 */
 	public void setVariable(Variable var);
+
+	/**
+	 * calculate the result of the expression as a double. If all the variables
+	 * referenced by the expression have double values, the expression is
+	 * evaluated on a primitive stack without creating any intermediate
+	 * {@link Variable}s.
+	 * 
+	 * @return the double result of the calculation
+	 */
+	public double calculateDouble();
+
+	/**
+	 * return the index of a variable referenced by the expression, to be used
+	 * with {@link #setVariableValue(int, double)}
+	 * 
+	 * @param name
+	 *            the name of the variable
+	 * @return the index of the variable, or -1 if the expression does not
+	 *         reference the variable
+	 */
+	public int getVariableIndex(String name);
+
+	/**
+	 * set a double variable value for the calculation by its index
+	 * 
+	 * @param index
+	 *            the index of the variable as returned by
+	 *            {@link #getVariableIndex(String)}
+	 * @param value
+	 *            the value of the variable
+	 */
+	public void setVariableValue(int index, double value);
 }
@@ -53,6 +53,10 @@ class NumberToken extends CalculationToken {
 		return getValue().hashCode();
 	}
 
+	double getDoubleValue() {
+		return doubleValue;
+	}
+
 	@Override
 	void mutateStackForCalculation(Stack<Variable> stack, VariableSet variables) {
 		stack.push(new Variable("From number "+getValue()+" : "+hashCode(), this.doubleValue));
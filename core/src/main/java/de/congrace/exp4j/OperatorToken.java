@@ -122,18 +122,23 @@ class OperatorToken extends CalculationToken {
 	}
 	
 	private double applyOperation(double[] values){
-				
-		//System.out.println("Applying "+operation.toString()+" to values starting "+values[0]);
+		return applyOperation(values[0], values.length > 1 ? values[1] : Double.NaN);
+	}
+
+	/*
+	 * The actual operation on one or two doubles. The second operand is ignored for unary operations.
+	 */
+	double applyOperation(double a, double b){
 
 		return switch (operation) {
-			case ADDITION -> values[0] + values[1];
-			case SUBTRACTION -> values[0] - values[1];
-			case MULTIPLICATION -> values[0] * values[1];
-			case EXPONENTIATION -> Math.pow(values[0], values[1]);
-			case DIVISION -> values[0] / values[1];
-			case UNARY_MINUS -> -values[0];
-			case UNARY_PLUS -> values[0];
-			case MODULO -> values[0] % values[1];
+			case ADDITION -> a + b;
+			case SUBTRACTION -> a - b;
+			case MULTIPLICATION -> a * b;
+			case EXPONENTIATION -> Math.pow(a, b);
+			case DIVISION -> a / b;
+			case UNARY_MINUS -> -a;
+			case UNARY_PLUS -> a;
+			case MODULO -> a % b;
 			default -> 0;
 		};
 	}
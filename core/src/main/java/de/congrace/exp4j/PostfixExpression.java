@@ -16,6 +16,9 @@
  */
 package de.congrace.exp4j;
 
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
 import java.util.Set;
 import java.util.Stack;
 
@@ -29,6 +32,17 @@ import java.util.Stack;
 public final class PostfixExpression extends AbstractExpression implements Calculable {
 	
 	private final VariableSet variables = new VariableSet();
+
+	// The distinct variables referenced by the expression, indexed by VariableToken.getIndex()
+	private final String[] usedVariables;
+	private final double[] variableValues;
+	// Whether the variable currently has a double value, and whether the value still needs to be copied to the variable set
+	private final boolean[] doubleValued;
+	private final boolean[] pendingVariables;
+
+	// Whether the expression consists only of tokens that can be evaluated on a primitive stack
+	private final boolean primitive;
+	private final double[] primitiveStack;
 	
 	/**
 	 * Factory method for creating {@link PostfixExpression}s from human
@@ -95,6 +109,29 @@ public final class PostfixExpression extends AbstractExpression implements Calcu
 	private PostfixExpression(String expression, String[] variableStrings, Set<CustomFunction> customFunctions) throws UnparsableExpressionException,
 			UnknownFunctionException {
 		super(expression, new Tokenizer(variableStrings, customFunctions).tokenize(expression), variableStrings);
+
+		final Token[] tokens = getTokens();
+		final List<String> names = new ArrayList<>();
+		boolean onlyPrimitive = true;
+		for (Token t : tokens) {
+			if (t instanceof VariableToken) {
+				VariableToken v = (VariableToken) t;
+				int index = names.indexOf(v.getValue());
+				if (index < 0) {
+					index = names.size();
+					names.add(v.getValue());
+				}
+				v.setIndex(index);
+			} else if (!(t instanceof NumberToken) && !(t instanceof OperatorToken) && !(t instanceof FunctionToken)) {
+				onlyPrimitive = false;
+			}
+		}
+		this.usedVariables = names.toArray(new String[0]);
+		this.variableValues = new double[usedVariables.length];
+		this.doubleValued = new boolean[usedVariables.length];
+		this.pendingVariables = new boolean[usedVariables.length];
+		this.primitive = onlyPrimitive;
+		this.primitiveStack = new double[tokens.length];
 	}
 
 	/**
@@ -103,6 +140,14 @@ public final class PostfixExpression extends AbstractExpression implements Calcu
 	@Override
 	public Variable calculate() throws IllegalArgumentException {
 
+		// Copy any values set by index into the variable set
+		for (int i = 0; i < usedVariables.length; i++) {
+			if (pendingVariables[i]) {
+				variables.add(new Variable(usedVariables[i], variableValues[i]));
+				pendingVariables[i] = false;
+			}
+		}
+
 		final Stack<Variable> stack = new Stack<>();
 		for (final Token t : getTokens()) {
 			((CalculationToken) t).mutateStackForCalculation(stack, variables);
@@ -111,8 +156,76 @@ public final class PostfixExpression extends AbstractExpression implements Calcu
 
 	}
 
+	@Override
+	public double calculateDouble() {
+		if (!primitive) {
+			return calculate().getDoubleValue();
+		}
+		for (boolean d : doubleValued) {
+			if (!d) {
+				return calculate().getDoubleValue();
+			}
+		}
+
+		final double[] stack = primitiveStack;
+		int size = 0;
+		for (final Token t : getTokens()) {
+			if (t instanceof NumberToken) {
+				stack[size++] = ((NumberToken) t).getDoubleValue();
+			} else if (t instanceof VariableToken) {
+				stack[size++] = variableValues[((VariableToken) t).getIndex()];
+			} else if (t instanceof OperatorToken) {
+				OperatorToken op = (OperatorToken) t;
+				if (op.getOperandCount() == 2) {
+					if (size < 2) {
+						throw new EmptyStackException();
+					}
+					size--;
+					stack[size - 1] = op.applyOperation(stack[size - 1], stack[size]);
+				} else if (op.getOperandCount() == 1) {
+					if (size < 1) {
+						throw new EmptyStackException();
+					}
+					stack[size - 1] = op.applyOperation(stack[size - 1], Double.NaN);
+				}
+			} else {
+				if (size < 1) {
+					throw new EmptyStackException();
+				}
+				stack[size - 1] = ((FunctionToken) t).applyFunction(stack[size - 1]);
+			}
+		}
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return stack[size - 1];
+	}
+
+	@Override
+	public int getVariableIndex(String name) {
+		for (int i = 0; i < usedVariables.length; i++) {
+			if (usedVariables[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void setVariableValue(int index, double value) {
+		variableValues[index] = value;
+		doubleValued[index] = true;
+		pendingVariables[index] = true;
+	}
+
 	@Override
 	public void setVariable(Variable value) {
 		variables.add(value);
+		int index = getVariableIndex(value.getName());
+		if (index >= 0) {
+			variableValues[index] = value.getDoubleValue();
+			doubleValued[index] = value.getPrimary() == Variable.Primary.DOUBLE;
+			pendingVariables[index] = false;
+		}
 	}
 }
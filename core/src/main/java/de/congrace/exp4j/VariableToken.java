@@ -24,6 +24,8 @@ import java.util.Stack;
  * @author fas
  */
 class VariableToken extends CalculationToken {
+	private int index = -1;
+
 	/**
 	 * construct a new {@link VariableToken}
 	 * 
@@ -34,6 +36,19 @@ class VariableToken extends CalculationToken {
 		super(value);
 	}
 
+	/**
+	 * get the index of the variable within the expression it belongs to
+	 * 
+	 * @return the variable index
+	 */
+	int getIndex() {
+		return index;
+	}
+
+	void setIndex(int index) {
+		this.index = index;
+	}
+
 	@Override
 	void mutateStackForCalculation(Stack<Variable> stack, VariableSet variableValues) {
 		Variable value = variableValues.getVariableNamed(this.getValue());
@@ -23,6 +23,12 @@ public abstract class AbstractAerodynamicCalculator implements AerodynamicCalcul
 	/** Number of divisions used when calculating worst CP. */
 	public static final int DIVISIONS = 360;
 
+	/** Maximum roll angle between the initial samples of the worst CP search. */
+	private static final double WORST_CP_STEP = 10 * Math.PI / 180;
+	/** Roll angle tolerance of the worst CP search. */
+	private static final double WORST_CP_TOLERANCE = 0.01 * Math.PI / 180;
+	private static final double GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+
 	/**
 	 * A <code>WarningSet</code> that can be used if <code>null</code> is passed
 	 * to a calculation method.
@@ -33,6 +39,15 @@ public abstract class AbstractAerodynamicCalculator implements AerodynamicCalcul
 	private ModID rocketAeroModID = new ModID();
 	private ModID rocketTreeModID = new ModID();
 
+	/** The latest worst CP and the state it was calculated in */
+	private CoordinateIF worstCP = null;
+	private double worstTheta;
+	private WarningSet worstWarnings = null;
+	private FlightConfiguration worstConfiguration = null;
+	private ModID worstConfigurationModID = ModID.INVALID;
+	private ModID worstRocketModID = ModID.INVALID;
+	private FlightConditions worstConditions = null;
+
 	/**
 	 * Determine whether calculations are suspect because we are stalling
 	 *
@@ -62,29 +77,125 @@ public abstract class AbstractAerodynamicCalculator implements AerodynamicCalcul
 
 	/*
 	 * The worst theta angle is stored in conditions.
+	 *
+	 * The roll angles over one roll period are first sampled at most WORST_CP_STEP apart, and
+	 * the minimum is then refined by a golden section search between the neighbors of the
+	 * most forward sample.  This assumes the CP position has a single minimum within the
+	 * sample interval.  The result of the latest call is reused until the rocket,
+	 * the configuration or the flight conditions other than theta change.
 	 */
 	@Override
 	public CoordinateIF getWorstCP(FlightConfiguration configuration, FlightConditions conditions,
 								   WarningSet warnings) {
 		FlightConditions cond = conditions.clone();
+		cond.setTheta(0);
+
+		if (worstCP == null || worstConfiguration != configuration ||
+				worstConfigurationModID != configuration.getModID() ||
+				worstRocketModID != configuration.getRocket().getModID() ||
+				!cond.equals(worstConditions)) {
+			worstConfiguration = configuration;
+			worstConfigurationModID = configuration.getModID();
+			worstRocketModID = configuration.getRocket().getModID();
+			worstConditions = cond.clone();
+			worstWarnings = new WarningSet();
+			worstCP = searchWorstCP(configuration, cond, worstWarnings);
+			worstTheta = cond.getTheta();
+		}
+
+		if (warnings != null) {
+			warnings.addAll(worstWarnings);
+		}
+		conditions.setTheta(worstTheta);
+
+		return worstCP;
+	}
+
+	/**
+	 * Search the roll angle of the most forward CP.  The angle is stored in the conditions.
+	 */
+	private CoordinateIF searchWorstCP(FlightConfiguration configuration, FlightConditions cond,
+									   WarningSet warnings) {
+		final double period = getRollPeriod(configuration);
+		final int samples = (int) Math.ceil(period / WORST_CP_STEP - MathUtil.EPSILON);
+		final double step = period / samples;
+
 		CoordinateIF worst = new Coordinate(Double.MAX_VALUE);
-		CoordinateIF cp;
 		double theta = 0;
-
-		for (int i = 0; i < DIVISIONS; i++) {
-			cond.setTheta(2 * Math.PI * i / DIVISIONS);
-			cp = getCP(configuration, cond, warnings);
+		for (int i = 0; i < samples; i++) {
+			CoordinateIF cp = computeCP(configuration, cond, i * step, warnings);
 			if ((cp.getWeight() > MathUtil.EPSILON) && (cp.getX() < worst.getX())) {
 				worst = cp;
-				theta = cond.getTheta();
+				theta = i * step;
 			}
 		}
 
-		conditions.setTheta(theta);
+		if (worst.getX() == Double.MAX_VALUE) {
+			cond.setTheta(0);
+			return worst;
+		}
+
+		// Golden section search between the neighbors of the best sample
+		double a = theta - step;
+		double b = theta + step;
+		double c = b - GOLDEN_RATIO * (b - a);
+		double d = a + GOLDEN_RATIO * (b - a);
+		CoordinateIF cpC = computeCP(configuration, cond, c, warnings);
+		CoordinateIF cpD = computeCP(configuration, cond, d, warnings);
+		while (b - a > WORST_CP_TOLERANCE) {
+			if (getCPPosition(cpC) < getCPPosition(cpD)) {
+				b = d;
+				d = c;
+				cpD = cpC;
+				c = b - GOLDEN_RATIO * (b - a);
+				cpC = computeCP(configuration, cond, c, warnings);
+			} else {
+				a = c;
+				c = d;
+				cpC = cpD;
+				d = a + GOLDEN_RATIO * (b - a);
+				cpD = computeCP(configuration, cond, d, warnings);
+			}
+		}
 
+		if (getCPPosition(cpC) < worst.getX()) {
+			worst = cpC;
+			theta = c;
+		}
+		if (getCPPosition(cpD) < worst.getX()) {
+			worst = cpD;
+			theta = d;
+		}
+
+		cond.setTheta(MathUtil.reduce2Pi(theta));
 		return worst;
 	}
 
+	private CoordinateIF computeCP(FlightConfiguration configuration, FlightConditions cond, double theta,
+								   WarningSet warnings) {
+		cond.setTheta(MathUtil.reduce2Pi(theta));
+		return getCP(configuration, cond, warnings);
+	}
+
+	/**
+	 * Return the CP position to minimize, or infinity for a CP without weight.
+	 */
+	private static double getCPPosition(CoordinateIF cp) {
+		return cp.getWeight() > MathUtil.EPSILON ? cp.getX() : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Return the roll angle period of the CP of the configuration.  The worst CP is searched
+	 * only within one period.  The default implementation returns 2*PI, subclasses may
+	 * return a shorter period if their calculation is symmetric in roll.
+	 *
+	 * @param configuration the configuration of the current call
+	 * @return the roll period of the CP in radians
+	 */
+	protected double getRollPeriod(FlightConfiguration configuration) {
+		return 2 * Math.PI;
+	}
+
 	/**
 	 * Check the current cache consistency. This method must be called by all
 	 * methods that may use any cached data before any other operations are
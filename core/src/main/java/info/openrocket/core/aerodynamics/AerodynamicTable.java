@@ -0,0 +1,401 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * Aerodynamic coefficients of a single flight configuration, precomputed with the
+ * {@link BarrowmanCalculator} over a grid of flight conditions.
+ * <p>
+ * The coefficients are stored in three tables:
+ * <ul>
+ * <li>the non-axial coefficients as a function of the Mach number and the angle of attack,</li>
+ * <li>the friction, pressure and base drag coefficients as a function of the Mach number
+ *     and the Reynolds number, and</li>
+ * <li>the roll damping coefficient as a function of the Mach number and the non-dimensional
+ *     roll rate (roll rate / velocity).</li>
+ * </ul>
+ * The pitch and yaw damping multiplier is tabulated against the CG position.  Values
+ * between the grid points are linearly interpolated, and values outside the grid are
+ * clamped to its edges.
+ * <p>
+ * The coefficients are computed at lateral wind direction zero, so the table is only valid
+ * for configurations whose aerodynamics do not depend on it, see {@link #isSupported}.
+ * Instances are immutable and may be shared between threads.
+ */
+class AerodynamicTable {
+
+	/** Mach number grid, denser in the transonic region */
+	static final double[] MACH = concat(
+			range(0, 0.8, 0.05),
+			range(0.82, 1.3, 0.02),
+			range(1.4, 3.0, 0.1),
+			range(3.25, 5.0, 0.25));
+
+	/** Angle of attack grid, in radians */
+	static final double[] AOA = toRadians(concat(
+			range(0, 20, 0.5),
+			range(21, 40, 1),
+			range(45, 180, 5)));
+
+	/** Reynolds number grid, as log10 of the Reynolds number */
+	static final double[] LOG_RE = range(4, 9.5, 0.25);
+
+	/** Non-dimensional roll rate grid (roll rate / velocity, in 1/m) */
+	static final double[] ROLL = concat(new double[] { 0 }, logRange(1.0e-3, 1.0e2, 21));
+
+	/** Number of points of the damping multiplier grid */
+	private static final int CG_POINTS = 201;
+
+	/** Minimum Mach number used for the drag and roll damping tables, that need a non-zero velocity */
+	private static final double MIN_MACH = 0.01;
+
+	/** Roll rates below this are ignored by the fin calculators, see FinSetCalc */
+	private static final double MIN_ROLL_RATE = 0.1;
+
+	/** Lateral wind directions used to check whether a configuration depends on it */
+	private static final double[] THETA_CHECK = { 0, 1.0, 2.2 };
+
+
+	// Non-axial coefficients, indexed [mach][aoa]
+	private final double[][] cn;
+	private final double[][] cm;
+	private final double[][] cpx;
+	private final double[][] cpWeight;
+	private final double[][] cside;
+	private final double[][] cyaw;
+	private final double[][] crollForce;
+
+	// Drag coefficients, indexed [mach][re]
+	private final double[][] frictionCD;
+	private final double[][] pressureCD;
+	private final double[][] baseCD;
+	private final double overrideCD;
+
+	// Roll damping coefficient, indexed [mach][roll]
+	private final double[][] crollDamp;
+
+	// Pitch and yaw damping multiplier as a function of the CG position
+	private final double cgMin;
+	private final double cgStep;
+	private final double[] dampingMultiplier;
+
+	// Warnings produced for each Mach number
+	private final WarningSet[] warnings;
+
+	private final double lengthAerodynamic;
+
+
+	private AerodynamicTable(double lengthAerodynamic, double cgMin, double cgStep, double overrideCD) {
+		this.lengthAerodynamic = lengthAerodynamic;
+		this.cgMin = cgMin;
+		this.cgStep = cgStep;
+		this.overrideCD = overrideCD;
+
+		cn = new double[MACH.length][AOA.length];
+		cm = new double[MACH.length][AOA.length];
+		cpx = new double[MACH.length][AOA.length];
+		cpWeight = new double[MACH.length][AOA.length];
+		cside = new double[MACH.length][AOA.length];
+		cyaw = new double[MACH.length][AOA.length];
+		crollForce = new double[MACH.length][AOA.length];
+		frictionCD = new double[MACH.length][LOG_RE.length];
+		pressureCD = new double[MACH.length][LOG_RE.length];
+		baseCD = new double[MACH.length][LOG_RE.length];
+		crollDamp = new double[MACH.length][ROLL.length];
+		dampingMultiplier = new double[CG_POINTS];
+		warnings = new WarningSet[MACH.length];
+	}
+
+
+	/**
+	 * Check whether the aerodynamics of the configuration are independent of the lateral
+	 * wind direction, which is required for tabulating them.  This is not the case for
+	 * example for fin sets with one or two fins.
+	 *
+	 * @param calculator		the calculator to use.
+	 * @param configuration		the configuration to check.
+	 * @return					whether the configuration can be tabulated.
+	 */
+	static boolean isSupported(BarrowmanCalculator calculator, FlightConfiguration configuration) {
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setMach(0.3);
+		conditions.setAOA(5 * Math.PI / 180);
+		WarningSet ignored = new WarningSet();
+
+		AerodynamicForces reference = null;
+		for (double theta : THETA_CHECK) {
+			conditions.setTheta(theta);
+			AerodynamicForces forces = calculator.calculateNonAxialForces(configuration, conditions, ignored);
+			if (reference == null) {
+				reference = forces;
+			} else if (!equals(reference.getCN(), forces.getCN()) ||
+					!equals(reference.getCP().getX(), forces.getCP().getX()) ||
+					!equals(reference.getCside(), forces.getCside())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equals(double a, double b) {
+		return MathUtil.equals(a, b) || (Double.isNaN(a) && Double.isNaN(b));
+	}
+
+	/**
+	 * Compute the table for a configuration.  The Mach number rows are computed in parallel,
+	 * each task using its own copy of the configuration and its own calculator.
+	 *
+	 * @param configuration		the configuration, which is not modified.
+	 * @return					the computed table.
+	 */
+	static AerodynamicTable build(FlightConfiguration configuration) {
+		final double length = configuration.getLengthAerodynamic();
+		final double cgMin = -0.5 * length;
+		final double cgStep = 2 * length / (CG_POINTS - 1);
+
+		// The override CD and the damping multiplier only depend on the geometry
+		BarrowmanCalculator calculator = new BarrowmanCalculator();
+		FlightConditions conditions = new FlightConditions(configuration);
+		conditions.setMach(0.3);
+		AerodynamicForces forces = calculator.getAerodynamicForces(configuration, conditions, null);
+		final AerodynamicTable table = new AerodynamicTable(length, cgMin, cgStep, forces.getOverrideCD());
+		for (int i = 0; i < CG_POINTS; i++) {
+			table.dampingMultiplier[i] = calculator.getDampingMultiplier(configuration, conditions, cgMin + i * cgStep);
+		}
+
+		// The calculators are not thread-safe, so each task gets its own copy of the configuration
+		int taskCount = Math.min(ForkJoinPool.getCommonPoolParallelism(), MACH.length);
+		List<FutureTask<Void>> tasks = new ArrayList<>(taskCount);
+		for (int t = 0; t < taskCount; t++) {
+			final int first = t;
+			final int step = taskCount;
+			final FlightConfiguration copy = configuration.clone(configuration.getRocket().copyWithOriginalID());
+			copy.copyStages(configuration);
+			FutureTask<Void> task = new FutureTask<>(() -> {
+				BarrowmanCalculator taskCalculator = new BarrowmanCalculator();
+				for (int i = first; i < MACH.length; i += step) {
+					table.computeRow(taskCalculator, copy, i);
+				}
+				return null;
+			});
+			tasks.add(task);
+			ForkJoinPool.commonPool().execute(task);
+		}
+
+		// Run the tasks not yet started by the pool on this thread, so that the build
+		// completes even if all pool threads are busy
+		for (FutureTask<Void> task : tasks) {
+			task.run();
+		}
+		for (FutureTask<Void> task : tasks) {
+			try {
+				task.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new BugException("Interrupted while computing aerodynamic table", e);
+			} catch (ExecutionException e) {
+				throw new BugException("Unable to compute aerodynamic table", e.getCause());
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * Compute all values for the Mach number of index i.
+	 */
+	private void computeRow(BarrowmanCalculator calculator, FlightConfiguration configuration, int i) {
+		final double mach = MACH[i];
+		final FlightConditions conditions = new FlightConditions(configuration);
+
+		// Non-axial forces
+		WarningSet rowWarnings = new WarningSet();
+		WarningSet ignored = new WarningSet();
+		conditions.setMach(mach);
+		for (int j = 0; j < AOA.length; j++) {
+			conditions.setAOA(AOA[j]);
+			AerodynamicForces forces = calculator.calculateNonAxialForces(configuration, conditions,
+					j == 0 ? rowWarnings : ignored);
+			cn[i][j] = forces.getCN();
+			cm[i][j] = forces.getCm();
+			cpx[i][j] = forces.getCP().getX();
+			cpWeight[i][j] = forces.getCP().getWeight();
+			cside[i][j] = forces.getCside();
+			cyaw[i][j] = forces.getCyaw();
+			crollForce[i][j] = forces.getCrollForce();
+		}
+		warnings[i] = rowWarnings;
+
+		// Drag, the Reynolds number is set by changing the air pressure
+		final double dragMach = Math.max(mach, MIN_MACH);
+		final AtmosphericConditions standard = new AtmosphericConditions(
+				AtmosphericConditions.STANDARD_TEMPERATURE, AtmosphericConditions.STANDARD_PRESSURE);
+		final double velocity = dragMach * standard.getMachSpeed();
+		conditions.setAOA(0);
+		conditions.setMach(dragMach);
+		for (int j = 0; j < LOG_RE.length; j++) {
+			double viscosity = velocity * lengthAerodynamic / Math.pow(10, LOG_RE[j]);
+			double pressure = AtmosphericConditions.STANDARD_PRESSURE * standard.getKinematicViscosity() / viscosity;
+			conditions.setAtmosphericConditions(
+					new AtmosphericConditions(AtmosphericConditions.STANDARD_TEMPERATURE, pressure));
+			conditions.setMach(dragMach);
+			AerodynamicForces forces = calculator.getAerodynamicForces(configuration, conditions, ignored);
+			frictionCD[i][j] = forces.getFrictionCD();
+			pressureCD[i][j] = forces.getPressureCD();
+			baseCD[i][j] = forces.getBaseCD();
+		}
+
+		// Roll damping.  Below the minimum roll rate the damping is scaled linearly.
+		conditions.setAtmosphericConditions(standard);
+		conditions.setMach(dragMach);
+		for (int j = 1; j < ROLL.length; j++) {
+			double rollRate = ROLL[j] * velocity;
+			double scale = 1;
+			if (rollRate < MIN_ROLL_RATE) {
+				scale = rollRate / MIN_ROLL_RATE;
+				rollRate = MIN_ROLL_RATE;
+			}
+			conditions.setRollRate(rollRate);
+			AerodynamicForces forces = calculator.calculateNonAxialForces(configuration, conditions, ignored);
+			crollDamp[i][j] = scale * forces.getCrollDamp();
+		}
+	}
+
+
+	/**
+	 * Compute the aerodynamic forces for the given flight conditions.
+	 *
+	 * @param conditions	the flight conditions.
+	 * @param warnings		the warning set to add warnings to.
+	 * @return				the aerodynamic forces, including the pitch and yaw damping moments.
+	 */
+	AerodynamicForces getAerodynamicForces(FlightConditions conditions, WarningSet warnings) {
+		final double mach = conditions.getMach();
+		final int mi = interval(MACH, mach);
+		final double mf = fraction(MACH, mi, mach);
+
+		// Warnings change at grid points, so use the row at or above the Mach number
+		warnings.addAll(this.warnings[mach > MACH[mi] ? Math.min(mi + 1, MACH.length - 1) : mi]);
+
+		AerodynamicForces total = new AerodynamicForces().zero();
+
+		// Non-axial forces
+		final int ai = interval(AOA, conditions.getAOA());
+		final double af = fraction(AOA, ai, conditions.getAOA());
+		double weight = interpolate(cpWeight, mi, mf, ai, af);
+		total.setCP(new Coordinate(interpolate(cpx, mi, mf, ai, af), 0, 0, weight));
+		total.setCN(interpolate(cn, mi, mf, ai, af));
+		total.setCm(interpolate(cm, mi, mf, ai, af));
+		total.setCside(interpolate(cside, mi, mf, ai, af));
+		total.setCyaw(interpolate(cyaw, mi, mf, ai, af));
+		total.setCrollForce(interpolate(crollForce, mi, mf, ai, af));
+
+		// Roll damping
+		final double rollRate = conditions.getRollRate();
+		final double velocity = conditions.getVelocity();
+		double rollDamp = 0;
+		if (Math.abs(rollRate) >= MIN_ROLL_RATE && velocity > 0) {
+			double p = Math.abs(rollRate) / velocity;
+			int ri = interval(ROLL, p);
+			rollDamp = Math.signum(rollRate) * interpolate(crollDamp, mi, mf, ri, fraction(ROLL, ri, p));
+		}
+		total.setCrollDamp(rollDamp);
+		total.setCroll(total.getCrollForce() - rollDamp);
+
+		// Drag
+		final double re = velocity * lengthAerodynamic /
+				conditions.getAtmosphericConditions().getKinematicViscosity();
+		final double logRe = re > 0 ? Math.log10(re) : LOG_RE[0];
+		final int ri = interval(LOG_RE, logRe);
+		final double rf = fraction(LOG_RE, ri, logRe);
+		total.setFrictionCD(interpolate(frictionCD, mi, mf, ri, rf));
+		total.setPressureCD(interpolate(pressureCD, mi, mf, ri, rf));
+		total.setBaseCD(interpolate(baseCD, mi, mf, ri, rf));
+		total.setOverrideCD(overrideCD);
+		total.setCD(total.getFrictionCD() + total.getPressureCD() + total.getBaseCD() + total.getOverrideCD());
+		total.setCDaxial(BarrowmanCalculator.calculateAxialCD(conditions, total.getCD()));
+
+		// Pitch and yaw damping
+		BarrowmanCalculator.applyDampingMoments(conditions, total,
+				getDampingMultiplier(conditions.getPitchCenter().getX()));
+		total.setCm(total.getCm() - total.getPitchDampingMoment());
+		total.setCyaw(total.getCyaw() - total.getYawDampingMoment());
+
+		return total;
+	}
+
+	private double getDampingMultiplier(double cgx) {
+		double pos = MathUtil.clamp((cgx - cgMin) / cgStep, 0, CG_POINTS - 1);
+		int i = Math.min((int) pos, CG_POINTS - 2);
+		double f = pos - i;
+		return (1 - f) * dampingMultiplier[i] + f * dampingMultiplier[i + 1];
+	}
+
+	/**
+	 * Return the index i of the grid interval [grid[i], grid[i+1]] containing the value.
+	 * Values outside the grid return the first or last interval.
+	 */
+	static int interval(double[] grid, double value) {
+		int i = Arrays.binarySearch(grid, value);
+		if (i < 0) {
+			i = -i - 2;
+		}
+		return MathUtil.clamp(i, 0, grid.length - 2);
+	}
+
+	/**
+	 * Return the position of the value within the interval i, clamped to [0, 1].
+	 */
+	static double fraction(double[] grid, int i, double value) {
+		return MathUtil.clamp((value - grid[i]) / (grid[i + 1] - grid[i]), 0, 1);
+	}
+
+	private static double interpolate(double[][] table, int i, double fi, int j, double fj) {
+		double[] row0 = table[i];
+		double[] row1 = table[i + 1];
+		double v0 = row0[j] + fj * (row0[j + 1] - row0[j]);
+		double v1 = row1[j] + fj * (row1[j + 1] - row1[j]);
+		return v0 + fi * (v1 - v0);
+	}
+
+
+	private static double[] range(double from, double to, double step) {
+		int n = (int) Math.round((to - from) / step) + 1;
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			// Round to avoid accumulating errors at grid points like Mach 1.1
+			values[i] = Math.round((from + i * step) * 1.0e6) / 1.0e6;
+		}
+		return values;
+	}
+
+	private static double[] logRange(double from, double to, int n) {
+		double[] values = new double[n];
+		double logFrom = Math.log(from);
+		double logStep = (Math.log(to) - logFrom) / (n - 1);
+		for (int i = 0; i < n; i++) {
+			values[i] = Math.exp(logFrom + i * logStep);
+		}
+		return values;
+	}
+
+	private static double[] concat(double[]... arrays) {
+		return Arrays.stream(arrays).flatMapToDouble(Arrays::stream).toArray();
+	}
+
+	private static double[] toRadians(double[] degrees) {
+		return Arrays.stream(degrees).map(Math::toRadians).toArray();
+	}
+}
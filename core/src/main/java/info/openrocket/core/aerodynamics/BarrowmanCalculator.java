@@ -57,7 +57,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	private double cacheDiameter = -1;
 	private double cacheLength = -1;
 
-	private final double stallAngle = 17.5 * Math.PI / 180;
+	static final double STALL_ANGLE = 17.5 * Math.PI / 180;
 	private double stallMargin;
 	
 	public BarrowmanCalculator() {
@@ -94,6 +94,37 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		AerodynamicForces forces = calculateNonAxialForces(configuration, conditions, warnings);
 		return forces.getCP();
 	}
+
+	/**
+	 * Only the fins depend on the roll angle.  The CNa of a fin is proportional to the squared
+	 * sine of the roll angle relative to the fin, so it repeats every half turn, and the fins of
+	 * a set of N fins are 2*PI/N apart.  The CP of a fin set thus repeats every 2*PI/lcm(N, 2),
+	 * and the CP of the rocket every 2*PI divided by the gcd of these symmetry orders.
+	 */
+	@Override
+	protected double getRollPeriod(FlightConfiguration configuration) {
+		int symmetry = 0;
+		for (RocketComponent component : configuration.getActiveComponents()) {
+			if (component instanceof FinSet) {
+				int finCount = ((FinSet) component).getFinCount();
+				symmetry = gcd(symmetry, finCount % 2 == 0 ? finCount : 2 * finCount);
+			}
+		}
+		// Without fins the CP does not depend on the roll angle
+		if (symmetry == 0) {
+			return Math.PI;
+		}
+		return 2 * Math.PI / symmetry;
+	}
+
+	private static int gcd(int a, int b) {
+		while (b != 0) {
+			int t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
 	
 	
 	
@@ -242,7 +273,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		total.setCyaw(total.getCyaw() - total.getYawDampingMoment());
 
 		// How far are we from stalling?
-		stallMargin = stallAngle - conditions.getAOA();
+		stallMargin = STALL_ANGLE - conditions.getAOA();
 
 		return total;
 	}
@@ -279,7 +310,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * Perform the actual CP calculation.
 	 */
-	private AerodynamicForces calculateNonAxialForces(FlightConfiguration configuration, FlightConditions conditions,
+	AerodynamicForces calculateNonAxialForces(FlightConfiguration configuration, FlightConditions conditions,
 			WarningSet warnings) {
 
 		checkCache(configuration);
@@ -368,11 +399,11 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 						// as the case for radius, since we never actually display the absolute X
 						// position
 
-						double symXfore = sym.toAbsolute(Coordinate.NUL)[0].getX();
-						double prevXfore = prevComp.toAbsolute(Coordinate.NUL)[0].getX();
+						double symXfore = sym.getComponentLocationList().get(0).getX();
+						double prevXfore = prevComp.getComponentLocationList().get(0).getX();
 
-						double symXaft = sym.toAbsolute(new Coordinate(comp.getLength(), 0, 0, 0))[0].getX();
-						double prevXaft = prevComp.toAbsolute(new Coordinate(prevComp.getLength(), 0, 0, 0))[0].getX();
+						double symXaft = symXfore + comp.getLength();
+						double prevXaft = prevXfore + prevComp.getLength();
 
 						if (!UnitGroup.UNITS_LENGTH.getDefaultUnit().toStringUnit(symXfore)
 								.equals(UnitGroup.UNITS_LENGTH.getDefaultUnit().toStringUnit(prevXaft))) {
@@ -394,7 +425,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 										firstComp = scout;
 										scout = scout.getPreviousSymmetricComponent();
 									}
-									double firstCompXfore = firstComp.toAbsolute(Coordinate.NUL)[0].getX();
+									double firstCompXfore = firstComp.getComponentLocationList().get(0).getX();
 
 									SymmetricComponent lastComp = sym;
 									scout = sym;
@@ -402,8 +433,8 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 										lastComp = scout;
 										scout = scout.getNextSymmetricComponent();
 									}
-									double lastCompXaft = lastComp
-											.toAbsolute(new Coordinate(lastComp.getLength(), 0, 0, 0))[0].getX();
+									double lastCompXaft = lastComp.getComponentLocationList().get(0).getX() +
+											lastComp.getLength();
 
 									// completely forward vs. overlap
 									if (lastCompXaft <= firstCompXfore) {
@@ -918,7 +949,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	 * @param cd
 	 * @return
 	 */
-	private double calculateAxialCD(FlightConditions conditions, double cd) {
+	static double calculateAxialCD(FlightConditions conditions, double cd) {
 		double aoa = MathUtil.clamp(conditions.getAOA(), 0, Math.PI);
 		double mul;
 
@@ -994,6 +1025,17 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		// Calculate pitch and yaw damping moments
 		double mul = getDampingMultiplier(configuration, conditions,
 				conditions.getPitchCenter().getX());
+		applyDampingMoments(conditions, total, mul);
+	}
+
+	/**
+	 * Set the pitch and yaw damping moments of the forces from the damping multiplier.
+	 *
+	 * @param conditions	flight conditions in consideration
+	 * @param total			acting aerodynamic forces
+	 * @param mul			the damping multiplier, see {@link #getDampingMultiplier}
+	 */
+	static void applyDampingMoments(FlightConditions conditions, AerodynamicForces total, double mul) {
 		double pitchRate = conditions.getPitchRate();
 		double yawRate = conditions.getYawRate();
 		double velocity = conditions.getVelocity();
@@ -1010,7 +1052,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		total.setYawDampingMoment(MathUtil.sign(yawRate) * yawDampingMomentMagnitude);
 	}
 
-	private double getDampingMultiplier(FlightConfiguration configuration, FlightConditions conditions,
+	double getDampingMultiplier(FlightConfiguration configuration, FlightConditions conditions,
 			double cgx) {
 		if (cacheDiameter < 0) {
 			double area = 0;
@@ -0,0 +1,198 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.CoordinateIF;
+import info.openrocket.core.util.ModID;
+
+/**
+ * An aerodynamic calculator that interpolates the forces from tables precomputed with
+ * the {@link BarrowmanCalculator}, see {@link AerodynamicTable}.  This is considerably faster
+ * than evaluating the Barrowman method at every simulation step, at the cost of a small
+ * interpolation error and the one-time cost of computing the table.
+ * <p>
+ * The tables are shared between all instances of this calculator and are identified by
+ * the aerodynamic and tree modification IDs of the rocket and the active stages, so the
+ * simulations of the same rocket (e.g. Monte Carlo or optimization runs) compute the table
+ * only once.  A change of the rocket results in a new table being computed.
+ * <p>
+ * Configurations whose aerodynamics depend on the lateral wind direction (e.g. fin sets
+ * with one or two fins) cannot be tabulated, and are calculated with the Barrowman method.
+ * The CP and force analysis methods are always delegated to the Barrowman calculator.
+ */
+public class TabulatedAerodynamicCalculator extends AbstractAerodynamicCalculator {
+	private static final Logger log = LoggerFactory.getLogger(TabulatedAerodynamicCalculator.class);
+
+	/** Maximum number of tables kept in memory */
+	private static final int MAX_TABLES = 16;
+
+	private record TableKey(ModID aerodynamicModID, ModID treeModID, List<Integer> activeStages) {
+	}
+
+	/** Shared tables.  Tables not supported by the configuration are stored as null. */
+	private static final Map<TableKey, FutureTask<AerodynamicTable>> tables =
+			new LinkedHashMap<>(MAX_TABLES, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<TableKey, FutureTask<AerodynamicTable>> eldest) {
+					return size() > MAX_TABLES;
+				}
+			};
+
+	private final BarrowmanCalculator delegate = new BarrowmanCalculator();
+
+	private FlightConfiguration tableConfiguration = null;
+	private ModID tableConfigurationModID = ModID.INVALID;
+	private AerodynamicTable table = null;
+
+	private double stallMargin;
+
+	@Override
+	public TabulatedAerodynamicCalculator newInstance() {
+		return new TabulatedAerodynamicCalculator();
+	}
+
+	@Override
+	public double getStallMargin() {
+		return stallMargin;
+	}
+
+	@Override
+	public AerodynamicForces getAerodynamicForces(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		checkCache(configuration);
+
+		if (warnings == null)
+			warnings = ignoreWarningSet;
+
+		AerodynamicTable table = getTable(configuration);
+		if (table == null) {
+			AerodynamicForces forces = delegate.getAerodynamicForces(configuration, conditions, warnings);
+			stallMargin = delegate.getStallMargin();
+			return forces;
+		}
+
+		AerodynamicForces forces = table.getAerodynamicForces(conditions, warnings);
+		stallMargin = BarrowmanCalculator.STALL_ANGLE - conditions.getAOA();
+		return forces;
+	}
+
+	@Override
+	public CoordinateIF getCP(FlightConfiguration configuration, FlightConditions conditions, WarningSet warnings) {
+		return delegate.getCP(configuration, conditions, warnings);
+	}
+
+	@Override
+	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		return delegate.getForceAnalysis(configuration, conditions, warnings);
+	}
+
+	@Override
+	public CoordinateIF getWorstCP(FlightConfiguration configuration, FlightConditions conditions,
+			WarningSet warnings) {
+		return delegate.getWorstCP(configuration, conditions, warnings);
+	}
+
+	@Override
+	public void checkGeometry(FlightConfiguration configuration, RocketComponent component, WarningSet warnings) {
+		delegate.checkGeometry(configuration, component, warnings);
+	}
+
+	@Override
+	public ModID getModID() {
+		// Only cached data is stored, return constant mod ID
+		return ModID.ZERO;
+	}
+
+	@Override
+	protected void voidAerodynamicCache() {
+		super.voidAerodynamicCache();
+
+		tableConfiguration = null;
+		tableConfigurationModID = ModID.INVALID;
+		table = null;
+	}
+
+
+	/**
+	 * Return the table of the configuration, or <code>null</code> if the configuration
+	 * cannot be tabulated.  The table is computed if no other calculator has computed it yet.
+	 */
+	private AerodynamicTable getTable(FlightConfiguration configuration) {
+		if (configuration == tableConfiguration && configuration.getModID() == tableConfigurationModID) {
+			return table;
+		}
+
+		List<Integer> activeStages = new ArrayList<>();
+		for (AxialStage stage : configuration.getActiveStages()) {
+			activeStages.add(stage.getStageNumber());
+		}
+		TableKey key = new TableKey(configuration.getRocket().getAerodynamicModID(),
+				configuration.getRocket().getTreeModID(), activeStages);
+
+		FutureTask<AerodynamicTable> task;
+		boolean compute = false;
+		synchronized (tables) {
+			task = tables.get(key);
+			if (task == null) {
+				task = new FutureTask<>(() -> computeTable(configuration));
+				tables.put(key, task);
+				compute = true;
+			}
+		}
+		if (compute) {
+			task.run();
+		}
+
+		try {
+			table = task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BugException("Interrupted while waiting for aerodynamic table", e);
+		} catch (ExecutionException e) {
+			// Do not keep the failed table, so that the computation is retried
+			synchronized (tables) {
+				tables.remove(key, task);
+			}
+			throw new BugException("Unable to compute aerodynamic table", e.getCause());
+		}
+		tableConfiguration = configuration;
+		tableConfigurationModID = configuration.getModID();
+		return table;
+	}
+
+	private AerodynamicTable computeTable(FlightConfiguration configuration) {
+		if (!AerodynamicTable.isSupported(delegate, configuration)) {
+			log.info("Aerodynamics of configuration " + configuration.getName() +
+					" depend on the wind direction, using the Barrowman method");
+			return null;
+		}
+		long t0 = System.nanoTime();
+		AerodynamicTable table = AerodynamicTable.build(configuration);
+		log.debug("Computed aerodynamic table of configuration " + configuration.getName() + " in " +
+				(System.nanoTime() - t0) / 1000000 + " ms");
+		return table;
+	}
+
+	/**
+	 * Remove all shared tables.
+	 */
+	static void clearTables() {
+		synchronized (tables) {
+			tables.clear();
+		}
+	}
+}
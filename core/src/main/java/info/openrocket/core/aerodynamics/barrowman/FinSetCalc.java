@@ -673,9 +673,10 @@ public class FinSetCalc extends RocketComponentCalc {
 			throw new IllegalStateException("fin set without parent component");
 		}
 		
-		double lead = component.toRelative(Coordinate.NUL, parent)[0].getX();
-		double trail = component.toRelative(new Coordinate(component.getLength()),
-				parent)[0].getX();
+		final double parentX = parent.getComponentLocationList().get(0).getX();
+		final double x = component.getComponentLocationList().get(0).getX();
+		double lead = x - parentX;
+		double trail = (x + component.getLength()) - parentX;
 		
 		/*
 		 * The counting fails if the fin root chord is very small, in that case assume
@@ -687,8 +688,9 @@ public class FinSetCalc extends RocketComponentCalc {
 			interferenceFinCount = 0;
 			for (RocketComponent c : parent.getChildren()) {
 				if (c instanceof FinSet) {
-					double finLead = c.toRelative(Coordinate.NUL, parent)[0].getX();
-					double finTrail = c.toRelative(new Coordinate(c.getLength()), parent)[0].getX();
+					final double finX = c.getComponentLocationList().get(0).getX();
+					double finLead = finX - parentX;
+					double finTrail = (finX + c.getLength()) - parentX;
 					
 					// Compute overlap of the fins
 					
@@ -19,6 +19,7 @@ import info.openrocket.core.file.iterator.DirectoryIterator;
 import info.openrocket.core.file.iterator.FileIterator;
 import info.openrocket.core.file.motor.GeneralMotorLoader;
 import info.openrocket.core.gui.util.SimpleFileFilter;
+import info.openrocket.core.motor.CompactMotorFormat;
 import info.openrocket.core.motor.ThrustCurveMotor;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.util.BugException;
@@ -87,9 +88,21 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 
 	/**
 	 * Loads the default, with established serialized manufacturing and data
-	 * uses directory "datafiles/thrustcurves" for data  
+	 * uses directory "datafiles/thrustcurves" for data.  The compact motor database
+	 * is used if present, else the legacy Java serialized one.
 	 */
 	private void loadSerializedMotorDatabase() {
+		log.info("Starting reading compact motor database");
+		FileIterator compactIterator = DirectoryIterator.findDirectory(THRUSTCURVE_DIRECTORY,
+				new SimpleFileFilter("", false, CompactMotorFormat.EXTENSION));
+		if (compactIterator != null) {
+			while (compactIterator.hasNext()) {
+				loadCompact(compactIterator.next());
+			}
+			log.info("Ending reading compact motor database, motorCount=" + motorCount);
+			return;
+		}
+
 		log.info("Starting reading serialized motor database");
 		FileIterator iterator = DirectoryIterator.findDirectory(THRUSTCURVE_DIRECTORY, new SimpleFileFilter("", false, "ser"));
 		if (iterator == null) {
@@ -104,6 +117,26 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	}
 	
 	
+	/**
+	 * loads a compact motor database, memory mapping it if it is a file on the file system
+	 * 
+	 * @param f	the pair of a File and the input stream
+	 */
+	private void loadCompact(Pair<File, InputStream> f) {
+		log.debug("Reading motors from file " + f.getU().getPath());
+		try (InputStream is = f.getV()) {
+			List<ThrustCurveMotor> motors;
+			if (f.getU().isFile()) {
+				motors = CompactMotorFormat.read(f.getU());
+			} else {
+				motors = CompactMotorFormat.read(is);
+			}
+			addMotors(motors);
+		} catch (Exception ex) {
+			throw new BugException(ex);
+		}
+	}
+	
 	/**
 	 * loads a serailized motor data from an stream
 	 * 
@@ -1,12 +1,19 @@
 package info.openrocket.core.database.motor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import info.openrocket.core.motor.Manufacturer;
 import info.openrocket.core.motor.Motor;
 import info.openrocket.core.motor.ThrustCurveMotor;
 
@@ -21,60 +28,13 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 
 	private final List<ThrustCurveMotorSet> motorSets = new ArrayList<>();
 
+	// Index of the motors for findMotors, built on first use after motors have been added
+	private volatile MotorIndex index;
+
 	@Override
 	public List<ThrustCurveMotor> findMotors(String digest, Motor.Type type, String manufacturer, String designation,
 			double diameter, double length) {
-		ArrayList<ThrustCurveMotor> fullMatches = new ArrayList<>();
-		ArrayList<ThrustCurveMotor> digestMatches = new ArrayList<>();
-		ArrayList<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
-
-		// Apply filters to see if we can find any motors that match the given criteria.
-		// We'll return
-		// the most restrictive nonempty list we find, or empty list if no matches at
-		// all
-		for (ThrustCurveMotorSet set : motorSets) {
-			for (ThrustCurveMotor m : set.getMotors()) {
-				boolean matchDescription = true;
-				boolean matchDigest = true;
-
-				// unlike the description, digest must be present in search criteria to get a
-				// match
-				if (digest == null || !digest.equals(m.getDigest()))
-					matchDigest = false;
-
-				// match description
-				if (type != null && type != set.getType())
-					matchDescription = false;
-				else if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
-					matchDescription = false;
-				else if (designation != null &&
-						!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
-						!designation.toUpperCase().contains(m.getCommonName().toUpperCase()))
-					matchDescription = false;
-				else if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > 0.005))
-					matchDescription = false;
-				else if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > 0.005))
-					matchDescription = false;
-
-				if (matchDigest)
-					digestMatches.add(m);
-
-				if (matchDescription)
-					descriptionMatches.add(m);
-
-				if (matchDigest && matchDescription)
-					fullMatches.add(m);
-			}
-		}
-
-		if (!fullMatches.isEmpty())
-			return fullMatches;
-
-		if (!digestMatches.isEmpty())
-			return digestMatches;
-
-		return descriptionMatches;
-
+		return getIndex().findMotors(digest, type, manufacturer, designation, diameter, length);
 	}
 
 	/**
@@ -93,6 +53,8 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 	 * @param motor the motor to add
 	 */
 	public void addMotor(ThrustCurveMotor motor) {
+		index = null;
+
 		// Iterate from last to first, as this is most likely to hit early when loading
 		// files
 		for (int i = motorSets.size() - 1; i >= 0; i--) {
@@ -108,4 +70,241 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 		motorSets.add(newSet);
 	}
 
+	private MotorIndex getIndex() {
+		MotorIndex current = index;
+		if (current == null) {
+			synchronized (this) {
+				current = index;
+				if (current == null) {
+					current = new MotorIndex(motorSets);
+					index = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Index of the motors of the database.  The motors are numbered in the order of the motor
+	 * sets and the motors within the sets, and the candidates of a query are kept in this order,
+	 * so the results are in the same order as when scanning all motors.
+	 */
+	private static final class MotorIndex {
+		private static final double TOLERANCE = 0.005;
+		private static final int[] NONE = {};
+
+		private final ThrustCurveMotor[] motors;
+		private final Motor.Type[] types;
+		private final String[] designations;
+		private final String[] commonNames;
+
+		private final Map<String, int[]> byDigest;
+		private final Map<Manufacturer, int[]> byManufacturer;
+		// Motor numbers sorted by diameter, motors without a diameter last
+		private final int[] byDiameter;
+		private final double[] sortedDiameters;
+		private final int diameterCount;
+
+		MotorIndex(List<ThrustCurveMotorSet> motorSets) {
+			List<ThrustCurveMotor> motorList = new ArrayList<>();
+			List<Motor.Type> typeList = new ArrayList<>();
+			for (ThrustCurveMotorSet set : motorSets) {
+				for (ThrustCurveMotor m : set.getMotors()) {
+					motorList.add(m);
+					typeList.add(set.getType());
+				}
+			}
+			final int count = motorList.size();
+			motors = motorList.toArray(new ThrustCurveMotor[0]);
+			types = typeList.toArray(new Motor.Type[0]);
+			designations = new String[count];
+			commonNames = new String[count];
+
+			Map<String, List<Integer>> digests = new HashMap<>();
+			Map<Manufacturer, List<Integer>> manufacturers = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				ThrustCurveMotor m = motors[i];
+				designations[i] = m.getDesignation().toUpperCase();
+				commonNames[i] = m.getCommonName().toUpperCase();
+				if (m.getDigest() != null) {
+					digests.computeIfAbsent(m.getDigest(), k -> new ArrayList<>()).add(i);
+				}
+				manufacturers.computeIfAbsent(m.getManufacturer(), k -> new ArrayList<>()).add(i);
+			}
+			byDigest = toArrays(digests);
+			byManufacturer = toArrays(manufacturers);
+
+			Integer[] order = new Integer[count];
+			for (int i = 0; i < count; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparingDouble(i -> motors[i].getDiameter()));
+			byDiameter = new int[count];
+			sortedDiameters = new double[count];
+			for (int i = 0; i < count; i++) {
+				byDiameter[i] = order[i];
+				sortedDiameters[i] = motors[order[i]].getDiameter();
+			}
+			diameterCount = lowerBound(Double.POSITIVE_INFINITY, count);
+		}
+
+		private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> lists) {
+			Map<K, int[]> arrays = new HashMap<>(lists.size() * 2);
+			for (Map.Entry<K, List<Integer>> e : lists.entrySet()) {
+				arrays.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+			}
+			return arrays;
+		}
+
+		/**
+		 * Return the full matches of the digest and the description if any, else the digest
+		 * matches if any, else the description matches.
+		 */
+		List<ThrustCurveMotor> findMotors(String digest, Motor.Type type, String manufacturer, String designation,
+				double diameter, double length) {
+			final String upperDesignation = designation != null ? designation.toUpperCase() : null;
+			final Set<Manufacturer> manufacturers = manufacturer != null ? findManufacturers(manufacturer) : null;
+
+			// Unlike the description, the digest must be present in the search criteria to get a match
+			int[] digestMatches = digest != null ? byDigest.getOrDefault(digest, NONE) : NONE;
+			if (digestMatches.length > 0) {
+				List<ThrustCurveMotor> fullMatches = new ArrayList<>();
+				for (int i : digestMatches) {
+					if (matchesDescription(i, type, manufacturers, upperDesignation, diameter, length)) {
+						fullMatches.add(motors[i]);
+					}
+				}
+				if (!fullMatches.isEmpty()) {
+					return fullMatches;
+				}
+				return toMotors(digestMatches);
+			}
+
+			// Narrow down the candidates by the most selective of the indexed criteria
+			int[] candidates = null;
+			if (manufacturers != null) {
+				candidates = findByManufacturers(manufacturers);
+			}
+			if (!Double.isNaN(diameter) && (candidates == null || candidates.length > 0)) {
+				int[] diameterMatches = findByDiameter(diameter);
+				if (candidates == null || diameterMatches.length < candidates.length) {
+					candidates = diameterMatches;
+				}
+			}
+
+			List<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
+			if (candidates == null) {
+				for (int i = 0; i < motors.length; i++) {
+					if (matchesDescription(i, type, manufacturers, upperDesignation, diameter, length)) {
+						descriptionMatches.add(motors[i]);
+					}
+				}
+			} else {
+				for (int i : candidates) {
+					if (matchesDescription(i, type, manufacturers, upperDesignation, diameter, length)) {
+						descriptionMatches.add(motors[i]);
+					}
+				}
+			}
+			return descriptionMatches;
+		}
+
+		private boolean matchesDescription(int i, Motor.Type type, Set<Manufacturer> manufacturers,
+				String upperDesignation, double diameter, double length) {
+			ThrustCurveMotor m = motors[i];
+			if (type != null && type != types[i])
+				return false;
+			if (manufacturers != null && !manufacturers.contains(m.getManufacturer()))
+				return false;
+			if (upperDesignation != null &&
+					!designations[i].contains(upperDesignation) &&
+					!upperDesignation.contains(commonNames[i]))
+				return false;
+			if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > TOLERANCE))
+				return false;
+			if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > TOLERANCE))
+				return false;
+			return true;
+		}
+
+		/**
+		 * Return the manufacturers of the database matching the name.
+		 */
+		private Set<Manufacturer> findManufacturers(String manufacturer) {
+			Set<Manufacturer> result = new HashSet<>();
+			for (Manufacturer m : byManufacturer.keySet()) {
+				if (m.matches(manufacturer)) {
+					result.add(m);
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Return the motors of the manufacturers, in motor order.
+		 */
+		private int[] findByManufacturers(Set<Manufacturer> manufacturers) {
+			int[] result = NONE;
+			for (Manufacturer m : manufacturers) {
+				int[] indices = byManufacturer.get(m);
+				result = result.length == 0 ? indices : merge(result, indices);
+			}
+			return result;
+		}
+
+		/**
+		 * Return the motors whose diameter may be within the tolerance, in motor order.  The
+		 * range is widened slightly, the exact comparison is done when matching the description.
+		 * Motors without a diameter are always included, as they are not excluded by the comparison.
+		 */
+		private int[] findByDiameter(double diameter) {
+			double margin = TOLERANCE * 1.001;
+			int from = lowerBound(diameter - margin, diameterCount);
+			int to = lowerBound(Math.nextUp(diameter + margin), diameterCount);
+			int undefined = byDiameter.length - diameterCount;
+			int[] result = new int[to - from + undefined];
+			System.arraycopy(byDiameter, from, result, 0, to - from);
+			System.arraycopy(byDiameter, diameterCount, result, to - from, undefined);
+			Arrays.sort(result);
+			return result;
+		}
+
+		private int lowerBound(double value, int limit) {
+			int low = 0;
+			int high = limit;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (sortedDiameters[middle] < value) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private static int[] merge(int[] a, int[] b) {
+			int[] result = new int[a.length + b.length];
+			int i = 0, j = 0, k = 0;
+			while (i < a.length && j < b.length) {
+				result[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+			}
+			while (i < a.length) {
+				result[k++] = a[i++];
+			}
+			while (j < b.length) {
+				result[k++] = b[j++];
+			}
+			return result;
+		}
+
+		private List<ThrustCurveMotor> toMotors(int[] indices) {
+			List<ThrustCurveMotor> list = new ArrayList<>(indices.length);
+			for (int i : indices) {
+				list.add(motors[i]);
+			}
+			return list;
+		}
+	}
+
 }
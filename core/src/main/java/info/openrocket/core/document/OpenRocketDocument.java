@@ -6,11 +6,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EventObject;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import info.openrocket.core.file.wavefrontobj.export.OBJExportOptions;
 import info.openrocket.core.material.Material;
@@ -90,9 +92,10 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	
 	/** 
 	 * The undo history of the rocket.   Whenever a new undo position is created while the
-	 * rocket is in "dirty" state, the rocket is copied here.
+	 * rocket is in "dirty" state, a snapshot of the rocket is stored here.  The snapshots
+	 * share the copies of the components that have not changed between them.
 	 */
-	private final LinkedList<Rocket> undoHistory = new LinkedList<>();
+	private final LinkedList<RocketSnapshot> undoHistory = new LinkedList<>();
 	private final LinkedList<String> undoDescription = new LinkedList<>();
 	
 	/**
@@ -101,6 +104,12 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	 * "clean" state.
 	 */
 	private int undoPosition = -1; // Illegal position, init in constructor
+
+	/**
+	 * The IDs of the components that have been changed since the last snapshot in the
+	 * undo history was taken or restored.
+	 */
+	private final Set<UUID> changedComponents = new HashSet<>();
 	
 	/**
 	 * The description of the next action that modifies this rocket.
@@ -548,7 +557,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	 */
 	private void addStateToUndoHistory(String description) {
 		// Add the current state to the undo history
-		undoHistory.add(rocket.copyWithOriginalID());
+		addSnapshot();
 		undoDescription.add(null);
 		nextDescription = description;
 		undoPosition++;
@@ -637,7 +646,8 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		undoHistory.clear();
 		undoDescription.clear();
 		
-		undoHistory.add(rocket.copyWithOriginalID());
+		undoHistory.add(RocketSnapshot.create(rocket));
+		changedComponents.clear();
 		undoDescription.add(null);
 		undoPosition = 0;
 		
@@ -649,6 +659,19 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	public void componentChanged(ComponentChangeEvent e) {
 		
 		if (!e.isUndoChange()) {
+			for (RocketComponent source : e.getSources()) {
+				if (source instanceof Rocket && (e.isMassChange() || e.isAerodynamicChange() || e.isTreeChange())) {
+					// Changes made with events disabled, e.g. scaling, are announced by the rocket
+					for (RocketComponent component : rocket) {
+						changedComponents.add(component.getID());
+					}
+				}
+				// Multi-component edits modify the config listeners without events
+				changedComponents.add(source.getID());
+				for (RocketComponent listener : source.getConfigListeners()) {
+					changedComponents.add(listener.getID());
+				}
+			}
 			if (undoPosition < undoHistory.size() - 1) {
 				log.info("Rocket changed while in undo history, removing redo information for " + this +
 						" undoPosition=" + undoPosition + " undoHistory.size=" + undoHistory.size() +
@@ -758,12 +781,13 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 				logUndoError("undo position inconsistency");
 			}
 			// Modifications have been made, save the state and restore previous state
-			undoHistory.add(rocket.copyWithOriginalID());
+			addSnapshot();
 			undoDescription.add(null);
 		}
 		
 		rocket.checkComponentStructure();
-		rocket.loadFrom(undoHistory.get(undoPosition));
+		undoHistory.get(undoPosition).restore(rocket);
+		changedComponents.clear();
 		rocket.checkComponentStructure();
 	}
 	
@@ -785,7 +809,17 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		
 		undoPosition++;
 		
-		rocket.loadFrom(undoHistory.get(undoPosition).copyWithOriginalID());
+		undoHistory.get(undoPosition).restore(rocket);
+		changedComponents.clear();
+	}
+
+	/**
+	 * Add a snapshot of the current state of the rocket to the end of the undo history,
+	 * sharing the unchanged components with the previous snapshot.
+	 */
+	private void addSnapshot() {
+		undoHistory.add(RocketSnapshot.create(rocket, undoHistory.peekLast(), changedComponents));
+		changedComponents.clear();
 	}
 	
 	
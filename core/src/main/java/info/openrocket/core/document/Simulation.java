@@ -21,11 +21,14 @@ import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.BasicEventSimulationEngine;
 import info.openrocket.core.simulation.DefaultSimulationOptionFactory;
 import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.SimulationCheckpoints;
 import info.openrocket.core.simulation.SimulationConditions;
 import info.openrocket.core.simulation.SimulationEngine;
 import info.openrocket.core.simulation.SimulationOptions;
 import info.openrocket.core.simulation.SimulationStepper;
+import info.openrocket.core.simulation.cache.SimulationResultCache;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.simulation.listeners.SimulationListener;
@@ -165,6 +168,21 @@ public class Simulation implements ChangeSource, Cloneable {
 	private FlightData simulatedData = null;
 	private ModID simulatedConfigurationModID = ModID.INVALID;
 
+	/** Checkpoints of the previous simulation, for resuming after changes to the recovery devices */
+	private SimulationCheckpoints checkpoints = new SimulationCheckpoints();
+	/** Whether the simulation is run interactively, see {@link #setInteractive(boolean)} */
+	private boolean interactive = false;
+
+	/** The key of the checkpoints, and the inputs it was computed for */
+	private String checkpointKey = null;
+	private ModID checkpointKeyModID = ModID.INVALID;
+	private ModID checkpointKeyInputsModID = ModID.INVALID;
+	private int checkpointKeySeed = 0;
+	private String checkpointKeyListeners = null;
+
+	/** Changed when the options or the configuration of the simulation change */
+	private ModID inputsModID = new ModID();
+
 	/**
 	 * Create a new simulation for the rocket. Parent document should also be provided.
 	 * The initial motor configuration is taken from the default rocket configuration.
@@ -398,6 +416,16 @@ public class Simulation implements ChangeSource, Cloneable {
 			}
 		}
 
+		// The saved data points may have been lost with the file they were loaded from
+		if ((status == Status.LOADED || status == Status.UPTODATE) && simulatedData != null) {
+			for (FlightDataBranch branch : simulatedData.getBranches()) {
+				if (branch.isDataUnavailable()) {
+					status = Status.OUTDATED;
+					break;
+				}
+			}
+		}
+
 		// if the id hasn't been set yet, skip.
 		if (getId().hasError()) {
 			log.warn(" simulationOptions lacks a valid id. Skipping.");
@@ -461,7 +489,9 @@ public class Simulation implements ChangeSource, Cloneable {
 	
 	
 	/**
-	 * Simulate the flight.
+	 * Simulate the flight.  If the application has a result cache and a simulation with identical
+	 * inputs has been run before, the results are taken from the cache without running the
+	 * simulation, see {@link SimulationResultCache}.
 	 *
 	 * @param additionalListeners	additional simulation listeners (those defined by the simulation are used in any case)
 	 * @throws SimulationException	if a problem occurs during simulation
@@ -470,6 +500,7 @@ public class Simulation implements ChangeSource, Cloneable {
 			throws SimulationException {
 		mutex.lock("simulate");
 		SimulationEngine simulator = null;
+		FlightData cachedData = null;
 		simulatedData = null;
 		try {
 			
@@ -477,6 +508,16 @@ public class Simulation implements ChangeSource, Cloneable {
 				throw new SimulationException("Cannot simulate imported simulation.");
 			}
 			
+			SimulationResultCache cache = SimulationResultCache.getApplicationCache();
+			String cacheKey = cache != null ? SimulationResultCache.computeKey(this, additionalListeners) : null;
+			if (cacheKey != null) {
+				cachedData = cache.get(cacheKey);
+				if (cachedData != null) {
+					log.debug("Simulation: results taken from the result cache");
+					return;
+				}
+			}
+			
 			try {
 				simulator = simulationEngineClass.getConstructor().newInstance();
 			} catch (InstantiationException e) {
@@ -497,6 +538,13 @@ public class Simulation implements ChangeSource, Cloneable {
 			for (SimulationListener l : additionalListeners) {
 				simulationConditions.getSimulationListenerList().add(l);
 			}
+
+			String checkpointKey = interactive ? getCheckpointKey(
+					simulationConditions.getSimulationListenerList().toArray(new SimulationListener[0])) : null;
+			checkpoints.setKey(checkpointKey);
+			if (checkpointKey != null) {
+				simulationConditions.setCheckpoints(checkpoints);
+			}
 			
 			long t1, t2;
 			log.debug("Simulation: calling simulator");
@@ -505,6 +553,10 @@ public class Simulation implements ChangeSource, Cloneable {
 			t2 = System.currentTimeMillis();
 			log.debug("Simulation: returning from simulator, simulation took " + (t2 - t1) + "ms");
 
+			if (cacheKey != null) {
+				cache.put(cacheKey, this, simulator.getFlightData(), interactive);
+			}
+
 		} catch (SimulationException e) {
 			throw e;
 		} finally {
@@ -512,7 +564,9 @@ public class Simulation implements ChangeSource, Cloneable {
 			simulatedConditions = options.clone();
 			simulatedConfigurationDescription = descriptor.format(this.rocket, getId());
 			simulatedConfigurationModID = getActiveConfiguration().getModID();
-			if (simulator != null) {
+			if (cachedData != null) {
+				simulatedData = cachedData;
+			} else if (simulator != null) {
 				simulatedData = simulator.getFlightData();
 			}
 			
@@ -524,6 +578,65 @@ public class Simulation implements ChangeSource, Cloneable {
 	}
 	
 	
+	/**
+	 * Return the key of the checkpoints of a run with the given listeners.  Computing the key
+	 * requires copying and serializing the rocket, so the key is computed again only when the
+	 * rocket, the options or the listeners have changed since the previous run.
+	 */
+	private String getCheckpointKey(SimulationListener[] listeners) {
+		StringBuilder listenerKeys = new StringBuilder();
+		for (SimulationListener listener : listeners) {
+			String key = listener.getResultCacheKey();
+			if (key == null) {
+				return null;
+			}
+			listenerKeys.append(key).append('\n');
+		}
+
+		// The seed is changed without firing an event
+		ModID modID = rocket.getModID();
+		if (checkpointKeyModID != modID || checkpointKeyInputsModID != inputsModID
+				|| checkpointKeySeed != options.getRandomSeed()
+				|| !listenerKeys.toString().equals(checkpointKeyListeners)) {
+			checkpointKey = SimulationResultCache.computeCheckpointKey(this, listeners);
+			checkpointKeyModID = modID;
+			checkpointKeyInputsModID = inputsModID;
+			checkpointKeySeed = options.getRandomSeed();
+			checkpointKeyListeners = listenerKeys.toString();
+		}
+		return checkpointKey;
+	}
+
+	/**
+	 * Return whether this simulation is run interactively.
+	 */
+	public boolean isInteractive() {
+		return interactive;
+	}
+
+	/**
+	 * Set whether this simulation is run interactively by the user.  The runs of interactive
+	 * simulations take checkpoints for resuming the next run after changes to the recovery
+	 * devices, and their results are written to the disk cache.  Both cost a copy of the rocket
+	 * per run, so they are disabled by default for optimizer, batch and other automated runs.
+	 *
+	 * @param interactive	whether the simulation is run interactively
+	 */
+	public void setInteractive(boolean interactive) {
+		this.interactive = interactive;
+		if (!interactive) {
+			checkpoints.clear();
+		}
+	}
+
+	/**
+	 * Return the checkpoints taken in the previous simulation.
+	 */
+	public SimulationCheckpoints getCheckpoints() {
+		return checkpoints;
+	}
+	
+	
 	/**
 	 * Return the conditions used in the previous simulation, or <code>null</code>
 	 * if this simulation has not been run.
@@ -625,6 +738,12 @@ public class Simulation implements ChangeSource, Cloneable {
 			copy.simulatedConfigurationDescription = null;
 			copy.simulatedData = null;
 			copy.simulatedConfigurationModID = ModID.INVALID;
+			copy.checkpoints = new SimulationCheckpoints();
+			copy.interactive = false;
+			copy.checkpointKey = null;
+			copy.checkpointKeyModID = ModID.INVALID;
+			copy.checkpointKeyInputsModID = ModID.INVALID;
+			copy.checkpointKeyListeners = null;
 			
 			return copy;
 			
@@ -645,6 +764,12 @@ public class Simulation implements ChangeSource, Cloneable {
 			clone.configId = this.configId;
 			clone.simulatedConfigurationDescription = this.simulatedConfigurationDescription;
 			clone.simulatedConfigurationModID = this.simulatedConfigurationModID;
+			clone.checkpoints = new SimulationCheckpoints();
+			clone.interactive = false;
+			clone.checkpointKey = null;
+			clone.checkpointKeyModID = ModID.INVALID;
+			clone.checkpointKeyInputsModID = ModID.INVALID;
+			clone.checkpointKeyListeners = null;
 			clone.options = this.options.clone();
 			clone.listeners = new ArrayList<>();
 			if (this.simulatedConditions != null) {
@@ -743,6 +868,7 @@ public class Simulation implements ChangeSource, Cloneable {
 	}
 	
 	protected void fireChangeEvent() {
+		inputsModID = new ModID();
 		EventObject e = new EventObject(this);
 		// Copy the list before iterating to prevent concurrent modification exceptions.
 		EventListener[] ls = listeners.toArray(new EventListener[0]);
@@ -11,9 +11,20 @@ public class StorageOptions implements Cloneable {
 		WAVEFRONT_OBJ
 	}
 
+	/**
+	 * The format of the simulated data points in OpenRocket files.
+	 */
+	public enum SimulationDataFormat {
+		/** Data points as XML elements, readable by all versions */
+		XML,
+		/** Data points as compressed binary columns in separate entries of the file */
+		BINARY
+	}
+
 	private FileType fileType = FileType.OPENROCKET;
 
 	private boolean saveSimulationData = false;
+	private SimulationDataFormat simulationDataFormat = SimulationDataFormat.XML;
 
 	private boolean explicitlySet = false;
 	private byte[] previewImage;		// File preview image data
@@ -34,6 +45,21 @@ public class StorageOptions implements Cloneable {
 		saveSimulationData = s;
 	}
 
+	public SimulationDataFormat getSimulationDataFormat() {
+		return simulationDataFormat;
+	}
+
+	/**
+	 * Set the format of the simulated data points.  The binary format is used only when the
+	 * document is saved into a zip container; older versions of OpenRocket open such files
+	 * with the summary data of the simulations only.
+	 *
+	 * @param simulationDataFormat	the format of the data points.
+	 */
+	public void setSimulationDataFormat(SimulationDataFormat simulationDataFormat) {
+		this.simulationDataFormat = simulationDataFormat;
+	}
+
 	public boolean isExplicitlySet() {
 		return explicitlySet;
 	}
@@ -1,10 +1,13 @@
 package info.openrocket.core.document.attachments;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import info.openrocket.core.document.Attachment;
@@ -24,6 +27,27 @@ public class ZipFileAttachment extends Attachment {
 	public InputStream getBytes() throws DecalNotFoundException, IOException {
 		String name = getName();
 
+		// Look up the entry directly in zip files on the file system
+		if ("file".equals(zipFileLocation.getProtocol())) {
+			File file;
+			try {
+				file = new File(zipFileLocation.toURI());
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				file = null;
+			}
+			if (file != null && file.isFile()) {
+				try (ZipFile zipFile = new ZipFile(file)) {
+					ZipEntry entry = zipFile.getEntry(name);
+					if (entry == null) {
+						throw new DecalNotFoundException(name, null);
+					}
+					try (InputStream is = zipFile.getInputStream(entry)) {
+						return new ByteArrayInputStream(FileUtils.readBytes(is));
+					}
+				}
+			}
+		}
+
 		try (ZipInputStream zis = new ZipInputStream(zipFileLocation.openStream())) {
 			ZipEntry entry = zis.getNextEntry();
 			while (entry != null) {
@@ -3,6 +3,7 @@ package info.openrocket.core.file;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.DoubleBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -156,10 +157,10 @@ public class CSVExport {
 								  String fieldSeparator, int decimalPlaces, boolean isExponentialNotation,
 								  boolean eventComments, String commentStarter) {
 		// Time variable
-		final List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		final DoubleBuffer time = branch.getBuffer(FlightDataType.TYPE_TIME);
 
 		// Number of data points
-		int n = time != null ? time.size() : branch.getLength();
+		int n = time != null ? time.limit() : branch.getLength();
 
 		// Flight events in occurrence order
 		List<FlightEvent> events = branch.getEvents();
@@ -167,10 +168,9 @@ public class CSVExport {
 		int eventPosition = 0;
 
 		// List of field values
-		List<List<Double>> fieldValues = new ArrayList<>();
-		for (FlightDataType t : fields) {
-			final List<Double> values = branch.get(t);
-			fieldValues.add(values);
+		DoubleBuffer[] fieldValues = new DoubleBuffer[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			fieldValues[i] = branch.getBuffer(fields[i]);
 		}
 
 		// If time information is not available, print events at beginning of file
@@ -196,7 +196,7 @@ public class CSVExport {
 
 			// Store CSV line
 			for (int i = 0; i < fields.length; i++) {
-				double value = fieldValues.get(i).get(pos);
+				double value = fieldValues[i].get(pos);
 				writer.print(TextUtil.doubleToString(units[i].toUnit(value), decimalPlaces, isExponentialNotation));
 
 				if (i < fields.length - 1) {
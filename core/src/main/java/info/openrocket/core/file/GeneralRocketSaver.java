@@ -7,6 +7,7 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.zip.ZipEntry;
@@ -16,8 +17,10 @@ import info.openrocket.core.appearance.Appearance;
 import info.openrocket.core.appearance.Decal;
 import info.openrocket.core.appearance.DecalImage;
 import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
 import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.document.StorageOptions.FileType;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.openrocket.OpenRocketSaver;
 import info.openrocket.core.file.rasaero.export.RASAeroSaver;
 import info.openrocket.core.file.rocksim.export.RockSimSaver;
@@ -25,6 +28,8 @@ import info.openrocket.core.logging.ErrorSet;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.InsideColorComponent;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.util.DecalNotFoundException;
 import info.openrocket.core.util.MathUtil;
 
@@ -109,6 +114,9 @@ public class GeneralRocketSaver {
 		// (hopefully unique)
 		// file, then if the save is successful, it will copy the file over the old one.
 
+		// Data that has not been loaded yet may be read from the file being replaced
+		loadSimulationData(doc);
+
 		// Write to a temporary file in the same directory as the specified file.
 		File temporaryNewFile = File.createTempFile("ORSave", ".tmp", dest.getParentFile());
 
@@ -174,6 +182,18 @@ public class GeneralRocketSaver {
 		}
 	}
 
+	private static void loadSimulationData(OpenRocketDocument doc) {
+		for (Simulation simulation : doc.getSimulations()) {
+			FlightData data = simulation.getSimulatedData();
+			if (data == null) {
+				continue;
+			}
+			for (FlightDataBranch branch : data.getBranches()) {
+				branch.loadData();
+			}
+		}
+	}
+
 	private void save(String fileName, OutputStream output, OpenRocketDocument document, StorageOptions options)
 			throws IOException, DecalNotFoundException {
 
@@ -224,9 +244,18 @@ public class GeneralRocketSaver {
 
 			ZipEntry mainFile = new ZipEntry("rocket.ork");
 			zos.putNextEntry(mainFile);
-			saveInternal(zos, document, options);
+			RocketSaver saver = saveInternal(zos, document, options);
 			zos.closeEntry();
 
+			// Save the flight data stored outside the XML, the main file must remain the first entry
+			if (saver instanceof OpenRocketSaver openRocketSaver) {
+				for (Map.Entry<String, FlightDataBranch> entry : openRocketSaver.getFlightDataEntries().entrySet()) {
+					zos.putNextEntry(new ZipEntry(entry.getKey()));
+					FlightDataBinaryFormat.write(entry.getValue(), zos);
+					zos.closeEntry();
+				}
+			}
+
 			// Save the file preview image, if any.
 			byte[] previewImage = options.getPreviewImage();
 			if (previewImage != null && previewImage.length > 0) {
@@ -264,18 +293,21 @@ public class GeneralRocketSaver {
 
 	// package scope for testing.
 
-	private void saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options)
+	private RocketSaver saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options)
 			throws IOException {
 		warnings.clear();
 		errors.clear();
 
+		RocketSaver saver;
 		if (options.getFileType() == FileType.ROCKSIM) {
-			new RockSimSaver().save(output, document, options, warnings, errors);
+			saver = new RockSimSaver();
 		} else if (options.getFileType() == FileType.RASAERO) {
-			new RASAeroSaver().save(output, document, options, warnings, errors);
+			saver = new RASAeroSaver();
 		} else {
-			new OpenRocketSaver().save(output, document, options, warnings, errors);
+			saver = new OpenRocketSaver();
 		}
+		saver.save(output, document, options, warnings, errors);
+		return saver;
 	}
 
 	/**
@@ -0,0 +1,179 @@
+package info.openrocket.core.file.openrocket;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+
+/**
+ * The binary format of the data points of a flight data branch, stored as a separate entry of
+ * the .ork zip container.  The XML of the branch holds its name, types and events and refers to
+ * the entry by name.
+ * <p>
+ * The data is stored column by column in the order of the types of the branch.  Each value is
+ * XORed with the previous value of the same column, which zeroes the sign, exponent and leading
+ * mantissa bits of slowly changing values, and the bytes of the column are stored plane by plane
+ * (first the most significant byte of each value, then the second and so on) so that the zeroed
+ * bytes end up in long runs the deflate compression of the zip entry removes.  Columns whose
+ * values are all exactly representable as floats are stored as floats.  The encoding is lossless.
+ * <p>
+ * The layout is: magic, format version, number of data points and number of columns as
+ * big-endian integers, followed by each column as an encoding byte and the byte planes.
+ */
+public final class FlightDataBinaryFormat {
+
+	/** Directory of the flight data entries in the zip container */
+	public static final String ENTRY_PREFIX = "flightdata/";
+
+	private static final int MAGIC = 0x4F524644; // "ORFD"
+	private static final int VERSION = 1;
+
+	private static final int ENCODING_DOUBLE = 0;
+	private static final int ENCODING_FLOAT = 1;
+
+	private FlightDataBinaryFormat() {
+	}
+
+	/**
+	 * Return the name of the zip entry of a flight data branch.
+	 *
+	 * @param simulation	the index of the simulation in the document
+	 * @param branch		the index of the branch in the flight data
+	 * @return the entry name
+	 */
+	public static String getEntryName(int simulation, int branch) {
+		return ENTRY_PREFIX + "simulation" + (simulation + 1) + "-branch" + (branch + 1) + ".bin";
+	}
+
+	/**
+	 * Write the data points of a branch.
+	 *
+	 * @param branch	the branch
+	 * @param output	the stream to write to, not closed
+	 * @throws IOException	if an I/O error occurs
+	 */
+	public static void write(FlightDataBranch branch, OutputStream output) throws IOException {
+		final int length = branch.getLength();
+		final int typeCount = branch.getTypeCount();
+
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(length);
+		out.writeInt(typeCount);
+
+		double[] values = new double[length];
+		byte[] planes = new byte[8 * length];
+		for (int slot = 0; slot < typeCount; slot++) {
+			boolean isFloat = true;
+			for (int i = 0; i < length; i++) {
+				values[i] = branch.getValue(slot, i);
+				isFloat &= (double) (float) values[i] == values[i] || Double.isNaN(values[i]);
+			}
+
+			if (isFloat) {
+				int previous = 0;
+				for (int i = 0; i < length; i++) {
+					int bits = Float.floatToRawIntBits((float) values[i]);
+					int delta = bits ^ previous;
+					previous = bits;
+					for (int b = 0; b < 4; b++) {
+						planes[b * length + i] = (byte) (delta >>> (24 - 8 * b));
+					}
+				}
+				out.writeByte(ENCODING_FLOAT);
+				out.write(planes, 0, 4 * length);
+			} else {
+				long previous = 0;
+				for (int i = 0; i < length; i++) {
+					long bits = Double.doubleToRawLongBits(values[i]);
+					long delta = bits ^ previous;
+					previous = bits;
+					for (int b = 0; b < 8; b++) {
+						planes[b * length + i] = (byte) (delta >>> (56 - 8 * b));
+					}
+				}
+				out.writeByte(ENCODING_DOUBLE);
+				out.write(planes, 0, 8 * length);
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Read the data points of a branch into the branch.  The branch must have the same types in
+	 * the same order as the branch written.
+	 *
+	 * @param input		the stream to read from, not closed
+	 * @param branch	the branch to set the data points of
+	 * @throws IOException	if an I/O error occurs or the data is not in the expected format
+	 */
+	public static void read(InputStream input, FlightDataBranch branch) throws IOException {
+		double[][] columns = readColumns(input, branch.getTypeCount());
+		branch.setColumns(columns.length > 0 ? columns[0].length : 0, columns);
+	}
+
+	/**
+	 * Read the data points of a branch as columns.
+	 *
+	 * @param input		the stream to read from, not closed
+	 * @param typeCount	the number of types of the branch written
+	 * @return the values of each type, each array having the number of data points as length
+	 * @throws IOException	if an I/O error occurs or the data is not in the expected format
+	 */
+	public static double[][] readColumns(InputStream input, int typeCount) throws IOException {
+		DataInputStream in = new DataInputStream(input);
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a flight data entry");
+		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported flight data format version " + version);
+		}
+		final int length = in.readInt();
+		final int columnCount = in.readInt();
+		if (length < 0 || length > Integer.MAX_VALUE / 8) {
+			throw new IOException("Illegal number of data points " + length);
+		}
+		if (columnCount != typeCount) {
+			throw new IOException("Flight data has " + columnCount + " columns, expected " + typeCount);
+		}
+
+		double[][] columns = new double[typeCount][];
+		byte[] planes = new byte[8 * length];
+		for (int slot = 0; slot < typeCount; slot++) {
+			double[] column = new double[length];
+			int encoding = in.readUnsignedByte();
+			if (encoding == ENCODING_FLOAT) {
+				in.readFully(planes, 0, 4 * length);
+				int bits = 0;
+				for (int i = 0; i < length; i++) {
+					int delta = 0;
+					for (int b = 0; b < 4; b++) {
+						delta = (delta << 8) | (planes[b * length + i] & 0xFF);
+					}
+					bits ^= delta;
+					column[i] = Float.intBitsToFloat(bits);
+				}
+			} else if (encoding == ENCODING_DOUBLE) {
+				in.readFully(planes, 0, 8 * length);
+				long bits = 0;
+				for (int i = 0; i < length; i++) {
+					long delta = 0;
+					for (int b = 0; b < 8; b++) {
+						delta = (delta << 8) | (planes[b * length + i] & 0xFF);
+					}
+					bits ^= delta;
+					column[i] = Double.longBitsToDouble(bits);
+				}
+			} else {
+				throw new IOException("Unknown flight data column encoding " + encoding);
+			}
+			columns[slot] = column;
+		}
+		return columns;
+	}
+}
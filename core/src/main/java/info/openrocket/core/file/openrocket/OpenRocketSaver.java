@@ -5,8 +5,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -67,17 +68,24 @@ public class OpenRocketSaver extends RocketSaver {
 	private static final int BYTES_PER_COMPONENT_COMPRESSED = 80;
 	private static final int BYTES_PER_SIMULATION_COMPRESSED = 100;
 	private static final int BYTES_PER_DATAPOINT_COMPRESSED = 100;
+	private static final int BYTES_PER_DATAPOINT_BINARY_COMPRESSED = 30;
 	
 	
 	private int indent;
 	private Writer dest;
 	
+	// Branches written as references to binary entries, by entry name
+	private final Map<String, FlightDataBranch> flightDataEntries = new LinkedHashMap<>();
+	private boolean binaryFlightData;
+	
 	@Override
 	public void save(OutputStream output, OpenRocketDocument document, StorageOptions options, WarningSet warnings, ErrorSet errors) throws IOException {
 		
 		log.info("Saving .ork file");
 		
 		dest = new BufferedWriter(new OutputStreamWriter(output, OPENROCKET_CHARSET));
+		flightDataEntries.clear();
+		binaryFlightData = options.getSimulationDataFormat() == StorageOptions.SimulationDataFormat.BINARY;
 		
 		// Select file version number
 		final int fileVersion = calculateNecessaryFileVersion(document, options);
@@ -105,12 +113,11 @@ public class OpenRocketSaver extends RocketSaver {
 		// Save all simulations
 		writeln("<simulations>");
 		indent++;
-		boolean first = true;
-		for (Simulation s : document.getSimulations()) {
-			if (!first)
+		List<Simulation> simulations = document.getSimulations();
+		for (int i = 0; i < simulations.size(); i++) {
+			if (i > 0)
 				writeln("");
-			first = false;
-			saveSimulation(s, options.getSaveSimulationData());
+			saveSimulation(simulations.get(i), i, options.getSaveSimulationData(), warnings);
 		}
 		indent--;
 		writeln("</simulations>");
@@ -128,6 +135,36 @@ public class OpenRocketSaver extends RocketSaver {
 		dest.flush();
 	}
 	
+	/**
+	 * Write the inputs of a simulation, that is the rocket design, the simulation conditions and
+	 * the simulation extensions, in the same format as in .ork files.  The name and the results of
+	 * the simulation are not written.  Used for identifying simulations with identical inputs.
+	 *
+	 * @param output		the stream to write to
+	 * @param simulation	the simulation
+	 */
+	public void saveSimulationInputs(OutputStream output, Simulation simulation) throws IOException {
+		saveSimulationInputs(output, simulation.getRocket(), simulation);
+	}
+
+	/**
+	 * Write the inputs of a simulation with the given rocket in place of the rocket of the simulation.
+	 *
+	 * @param output		the output stream
+	 * @param rocket		the rocket to write
+	 * @param simulation	the simulation whose conditions to write
+	 * @throws IOException	if an I/O error occurs
+	 */
+	public void saveSimulationInputs(OutputStream output, Rocket rocket, Simulation simulation) throws IOException {
+		dest = new BufferedWriter(new OutputStreamWriter(output, OPENROCKET_CHARSET));
+		this.indent = 0;
+
+		saveComponent(rocket);
+		saveSimulationConditions(simulation);
+
+		dest.flush();
+	}
+	
 	/*
 	 * Save all the custom expressions
 	 */
@@ -200,7 +237,11 @@ public class OpenRocketSaver extends RocketSaver {
 			}
 		}
 		
-		size += pointCount * BYTES_PER_DATAPOINT_COMPRESSED;
+		if (options.getSimulationDataFormat() == StorageOptions.SimulationDataFormat.BINARY) {
+			size += pointCount * BYTES_PER_DATAPOINT_BINARY_COMPRESSED;
+		} else {
+			size += pointCount * BYTES_PER_DATAPOINT_COMPRESSED;
+		}
 		
 		return size;
 	}
@@ -318,9 +359,21 @@ public class OpenRocketSaver extends RocketSaver {
 	}
 	
 	
-	private void saveSimulation(Simulation simulation, boolean saveSimulationData) throws IOException {
-		SimulationOptions cond = simulation.getOptions();
-
+	/**
+	 * Return the flight data branches whose data points were written as references to binary
+	 * entries in the last call to {@link #save}, by entry name.  This is the case when the
+	 * storage options select {@link StorageOptions.SimulationDataFormat#BINARY}, and the caller
+	 * must then write the entries into the same zip container with
+	 * {@link FlightDataBinaryFormat#write}.
+	 *
+	 * @return	the branches by entry name, in the order they were written.
+	 */
+	public Map<String, FlightDataBranch> getFlightDataEntries() {
+		return flightDataEntries;
+	}
+	
+	private void saveSimulation(Simulation simulation, int simulationIndex, boolean saveSimulationData,
+			WarningSet warnings) throws IOException {
 		Simulation.Status simStatus;
 		simStatus = saveSimulationData ? simulation.getStatus() : Simulation.Status.NOT_SIMULATED;
 
@@ -333,6 +386,103 @@ public class OpenRocketSaver extends RocketSaver {
 		writeln("<simulator>RK4Simulator</simulator>");
 		writeln("<calculator>BarrowmanCalculator</calculator>");
 		
+		saveSimulationConditions(simulation);
+		
+		// Write basic simulation data
+		
+		FlightData data = simulation.getSimulatedData();
+		if (data != null) {
+			String str = "<flightdata";
+			if (!Double.isNaN(data.getMaxAltitude()))
+				str += " maxaltitude=\"" + TextUtil.doubleToString(data.getMaxAltitude()) + "\"";
+			if (!Double.isNaN(data.getMaxVelocity()))
+				str += " maxvelocity=\"" + TextUtil.doubleToString(data.getMaxVelocity()) + "\"";
+			if (!Double.isNaN(data.getMaxAcceleration()))
+				str += " maxacceleration=\"" + TextUtil.doubleToString(data.getMaxAcceleration()) + "\"";
+			if (!Double.isNaN(data.getMaxMachNumber()))
+				str += " maxmach=\"" + TextUtil.doubleToString(data.getMaxMachNumber()) + "\"";
+			if (!Double.isNaN(data.getTimeToApogee()))
+				str += " timetoapogee=\"" + TextUtil.doubleToString(data.getTimeToApogee()) + "\"";
+			if (!Double.isNaN(data.getFlightTime()))
+				str += " flighttime=\"" + TextUtil.doubleToString(data.getFlightTime()) + "\"";
+			if (!Double.isNaN(data.getGroundHitVelocity()))
+				str += " groundhitvelocity=\"" + TextUtil.doubleToString(data.getGroundHitVelocity()) + "\"";
+			if (!Double.isNaN(data.getLaunchRodVelocity()))
+				str += " launchrodvelocity=\"" + TextUtil.doubleToString(data.getLaunchRodVelocity()) + "\"";
+			if (!Double.isNaN(data.getDeploymentVelocity()))
+				str += " deploymentvelocity=\"" + TextUtil.doubleToString(data.getDeploymentVelocity()) + "\"";
+			if (!Double.isNaN(data.getOptimumDelay()))
+				str += " optimumdelay=\"" + TextUtil.doubleToString(data.getOptimumDelay()) + "\"";
+			str += ">";
+			writeln(str);
+			indent++;
+			
+			for (Warning w : data.getWarningSet()) {
+				writeln("<warning type=\"" + w.getClass().getSimpleName() + "\">");
+				indent++; 
+
+				writeElement("id", w.getID().toString());
+				writeElement("description", w.getMessageDescription());
+				writeElement("priority", w.getPriority());
+
+				if (null != w.getSources()) {
+					for (RocketComponent c : w.getSources()) {
+						// Save component ID if it's still in the tree, else nil UUID
+						writeElement("source", null != simulation.getRocket().findComponent(c.getID()) ? c.getID() : new UUID(0, 0));
+					}
+				}
+
+				// Data for specific warning types
+				if (w instanceof Warning.LargeAOA) {
+					writeElement("parameter", ((Warning.LargeAOA) w).getAOA());
+				}
+
+				if (w instanceof Warning.HighSpeedDeployment) {
+					writeElement("parameter", ((Warning.HighSpeedDeployment) w).getSpeed());
+				}
+
+				// We write the whole string content for backwards compatibility with old versions
+				writeln(TextUtil.escapeXML(w.toString()));
+
+				indent--;
+				writeln("</warning>");
+			}
+			
+			// Check whether to store data
+			if ((simulation.getStatus() == Simulation.Status.EXTERNAL) || // Always store external data
+				saveSimulationData) {
+				boolean dataUnavailable = false;
+				for (FlightDataBranch branch : data.getBranches()) {
+					branch.loadData();
+					dataUnavailable |= branch.isDataUnavailable();
+				}
+				if (dataUnavailable) {
+					// Store only the summary instead of empty branches in place of the lost data
+					warnings.add(Warning.fromString("The simulated data of simulation '" + simulation.getName() +
+							"' could not be read from the original file, only summary data was saved."));
+				}
+				for (int i = 0; i < data.getBranchCount() && !dataUnavailable; i++) {
+					FlightDataBranch branch = data.getBranch(i);
+					String entryName = binaryFlightData ? FlightDataBinaryFormat.getEntryName(simulationIndex, i) : null;
+					saveFlightDataBranch(branch, entryName);
+				}
+			}
+			
+			indent--;
+			writeln("</flightdata>");
+		}
+		
+		indent--;
+		writeln("</simulation>");
+		
+	}
+
+	/*
+	 * Save the conditions and extensions of a simulation
+	 */
+	private void saveSimulationConditions(Simulation simulation) throws IOException {
+		SimulationOptions cond = simulation.getOptions();
+
 		writeln("<conditions>");
 		indent++;
 		
@@ -418,83 +568,6 @@ public class OpenRocketSaver extends RocketSaver {
 			indent--;
 			writeln("</extension>");
 		}
-		
-		// Write basic simulation data
-		
-		FlightData data = simulation.getSimulatedData();
-		if (data != null) {
-			String str = "<flightdata";
-			if (!Double.isNaN(data.getMaxAltitude()))
-				str += " maxaltitude=\"" + TextUtil.doubleToString(data.getMaxAltitude()) + "\"";
-			if (!Double.isNaN(data.getMaxVelocity()))
-				str += " maxvelocity=\"" + TextUtil.doubleToString(data.getMaxVelocity()) + "\"";
-			if (!Double.isNaN(data.getMaxAcceleration()))
-				str += " maxacceleration=\"" + TextUtil.doubleToString(data.getMaxAcceleration()) + "\"";
-			if (!Double.isNaN(data.getMaxMachNumber()))
-				str += " maxmach=\"" + TextUtil.doubleToString(data.getMaxMachNumber()) + "\"";
-			if (!Double.isNaN(data.getTimeToApogee()))
-				str += " timetoapogee=\"" + TextUtil.doubleToString(data.getTimeToApogee()) + "\"";
-			if (!Double.isNaN(data.getFlightTime()))
-				str += " flighttime=\"" + TextUtil.doubleToString(data.getFlightTime()) + "\"";
-			if (!Double.isNaN(data.getGroundHitVelocity()))
-				str += " groundhitvelocity=\"" + TextUtil.doubleToString(data.getGroundHitVelocity()) + "\"";
-			if (!Double.isNaN(data.getLaunchRodVelocity()))
-				str += " launchrodvelocity=\"" + TextUtil.doubleToString(data.getLaunchRodVelocity()) + "\"";
-			if (!Double.isNaN(data.getDeploymentVelocity()))
-				str += " deploymentvelocity=\"" + TextUtil.doubleToString(data.getDeploymentVelocity()) + "\"";
-			if (!Double.isNaN(data.getOptimumDelay()))
-				str += " optimumdelay=\"" + TextUtil.doubleToString(data.getOptimumDelay()) + "\"";
-			str += ">";
-			writeln(str);
-			indent++;
-			
-			for (Warning w : data.getWarningSet()) {
-				writeln("<warning type=\"" + w.getClass().getSimpleName() + "\">");
-				indent++; 
-
-				writeElement("id", w.getID().toString());
-				writeElement("description", w.getMessageDescription());
-				writeElement("priority", w.getPriority());
-
-				if (null != w.getSources()) {
-					for (RocketComponent c : w.getSources()) {
-						// Save component ID if it's still in the tree, else nil UUID
-						writeElement("source", null != simulation.getRocket().findComponent(c.getID()) ? c.getID() : new UUID(0, 0));
-					}
-				}
-
-				// Data for specific warning types
-				if (w instanceof Warning.LargeAOA) {
-					writeElement("parameter", ((Warning.LargeAOA) w).getAOA());
-				}
-
-				if (w instanceof Warning.HighSpeedDeployment) {
-					writeElement("parameter", ((Warning.HighSpeedDeployment) w).getSpeed());
-				}
-
-				// We write the whole string content for backwards compatibility with old versions
-				writeln(TextUtil.escapeXML(w.toString()));
-
-				indent--;
-				writeln("</warning>");
-			}
-			
-			// Check whether to store data
-			if ((simulation.getStatus() == Simulation.Status.EXTERNAL) || // Always store external data
-				saveSimulationData) {
-				for (int i = 0; i < data.getBranchCount(); i++) {
-					FlightDataBranch branch = data.getBranch(i);
-					saveFlightDataBranch(branch);
-				}
-			}
-			
-			indent--;
-			writeln("</flightdata>");
-		}
-		
-		indent--;
-		writeln("</simulation>");
-		
 	}
 
 	private void savePhotoSettings(Map<String, String> p) throws IOException {
@@ -593,7 +666,14 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 	}
 	
-	private void saveFlightDataBranch(FlightDataBranch branch)
+	/**
+	 * Save a flight data branch.
+	 * 
+	 * @param branch		the branch to save.
+	 * @param entryName		the name of the binary entry to store the data points in, or
+	 * 						<code>null</code> to write them as XML.
+	 */
+	private void saveFlightDataBranch(FlightDataBranch branch, String entryName)
 			throws IOException {
 		
 		if (branch == null)
@@ -606,9 +686,9 @@ public class OpenRocketSaver extends RocketSaver {
 			return;
 		
 		// Retrieve the data from the branch
-		List<List<Double>> data = new ArrayList<>(types.length);
-		for (FlightDataType type : types) {
-			data.add(branch.getClone(type));
+		DoubleBuffer[] data = new DoubleBuffer[types.length];
+		for (int i = 0; i < types.length; i++) {
+			data[i] = branch.getBuffer(types[i]);
 		}
 		
 		// Build the <databranch> tag
@@ -645,7 +725,16 @@ public class OpenRocketSaver extends RocketSaver {
 				sb.append(",");
 			sb.append(TextUtil.escapeXML(types[i].getName()));
 		}
-		sb.append("\">");
+		sb.append("\"");
+		
+		// Older versions ignore the reference and load only the summary data
+		if (entryName != null) {
+			sb.append(" data=\"");
+			sb.append(TextUtil.escapeXML(entryName));
+			sb.append("\"");
+			flightDataEntries.put(entryName, branch);
+		}
+		sb.append(">");
 		writeln(sb.toString());
 		indent++;
 		
@@ -678,9 +767,11 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 		
 		// Write the data
-		int length = branch.getLength();
-		for (int i = 0; i < length; i++) {
-			writeDataPointString(data, i, sb);
+		if (entryName == null) {
+			int length = branch.getLength();
+			for (int i = 0; i < length; i++) {
+				writeDataPointString(data, i, sb);
+			}
 		}
 		
 		indent--;
@@ -700,8 +791,7 @@ public class OpenRocketSaver extends RocketSaver {
 		if (types.length == 0)
 			return 0;
 		
-		final List<Double> timeData = branch.get(FlightDataType.TYPE_TIME);
-		if (timeData == null) {
+		if (branch.getSlot(FlightDataType.TYPE_TIME) < 0) {
 			// If time data not available, store all points
 			return branch.getLength();
 		}
@@ -714,14 +804,14 @@ public class OpenRocketSaver extends RocketSaver {
 	
 	
 	
-	private void writeDataPointString(List<List<Double>> data, int index, StringBuilder sb)
+	private void writeDataPointString(DoubleBuffer[] data, int index, StringBuilder sb)
 			throws IOException {
 		sb.setLength(0);
 		sb.append("<datapoint>");
-		for (int j = 0; j < data.size(); j++) {
+		for (int j = 0; j < data.length; j++) {
 			if (j > 0)
 				sb.append(",");
-			sb.append(TextUtil.doubleToString(data.get(j).get(index)));
+			sb.append(TextUtil.doubleToString(data[j].get(index)));
 		}
 		sb.append("</datapoint>");
 		writeln(sb.toString());
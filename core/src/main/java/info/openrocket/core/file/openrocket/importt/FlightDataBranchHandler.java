@@ -1,5 +1,8 @@
 package info.openrocket.core.file.openrocket.importt;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.UUID;
 
@@ -8,7 +11,10 @@ import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.logging.SimulationAbort.Cause;
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.document.Attachment;
+import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.file.DocumentLoadingContext;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.simplesax.AbstractElementHandler;
 import info.openrocket.core.file.simplesax.ElementHandler;
 import info.openrocket.core.file.simplesax.PlainTextHandler;
@@ -22,12 +28,12 @@ import info.openrocket.core.simulation.FlightEvent.Type;
 import info.openrocket.core.simulation.customexpression.CustomExpression;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.DecalNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 class FlightDataBranchHandler extends AbstractElementHandler {
-	@SuppressWarnings("unused")
 	private final DocumentLoadingContext context;
 	private final FlightDataType[] types;
 	private final FlightDataBranch branch;
@@ -108,6 +114,34 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		return FlightDataType.getType(name, "Unknown", UnitGroup.UNITS_NONE);
 	}
 	
+	/**
+	 * Set the data points of the branch to be read from a binary entry of the file when they are
+	 * first accessed.  If the entry cannot be read then, the branch is left without data points.
+	 * 
+	 * @param entryName	the name of the entry
+	 * @see FlightDataBinaryFormat
+	 */
+	public void setBinaryData(String entryName) {
+		final Attachment attachment = context.getAttachmentFactory().getAttachment(entryName);
+		final int typeCount = types.length;
+		branch.setColumnLoader(() -> {
+			try (InputStream is = attachment.getBytes()) {
+				return FlightDataBinaryFormat.readColumns(new BufferedInputStream(is), typeCount);
+			} catch (DecalNotFoundException e) {
+				throw new IOException("Flight data entry " + entryName + " not found", e);
+			}
+		});
+		context.getOpenRocketDocument().getDefaultStorageOptions()
+				.setSimulationDataFormat(StorageOptions.SimulationDataFormat.BINARY);
+	}
+	
+	/**
+	 * Return whether the data points of the branch are read from a binary entry of the file.
+	 */
+	public boolean hasBinaryData() {
+		return !branch.isDataLoaded();
+	}
+	
 	public FlightDataBranch getBranch() {
 		branch.immute();
 		return branch;
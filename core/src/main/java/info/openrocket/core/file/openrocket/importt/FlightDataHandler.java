@@ -20,6 +20,7 @@ class FlightDataHandler extends AbstractElementHandler {
 	private FlightDataBranchHandler dataHandler;
 	private final WarningSet warningSet = new WarningSet();
 	private final List<FlightDataBranch> branches = new ArrayList<>();
+	private boolean hasBinaryBranches = false;
 	
 	private final SingleSimulationHandler simHandler;
 	private FlightData data;
@@ -66,6 +67,9 @@ class FlightDataHandler extends AbstractElementHandler {
 				}
 				dataHandler.setTimeToOptimumAltitude(timeToOptimumAltitude);
 			}
+			if (attributes.get("data") != null) {
+				dataHandler.setBinaryData(attributes.get("data"));
+			}
 			return dataHandler;
 		}
 		
@@ -79,8 +83,13 @@ class FlightDataHandler extends AbstractElementHandler {
 			String content, WarningSet warnings) {
 		
 		if (element.equals("databranch")) {
+			// The length of a branch read from a binary entry is not known until its data is loaded
+			boolean binary = dataHandler.hasBinaryData();
 			FlightDataBranch branch = dataHandler.getBranch();
-			if (branch.getLength() > 0) {
+			if (binary) {
+				branches.add(branch);
+				hasBinaryBranches = true;
+			} else if (branch.getLength() > 0) {
 				branches.add(branch);
 			}
 			//		} else if (element.equals("warning")) {
@@ -95,9 +104,10 @@ class FlightDataHandler extends AbstractElementHandler {
 	public void endHandler(String element, HashMap<String, String> attributes,
 			String content, WarningSet warnings) {
 
-		if (branches.size() > 0) {
+		if (branches.size() > 0 && !hasBinaryBranches) {
 			data = new FlightData(branches.toArray(new FlightDataBranch[0]));
 		} else {
+			// Use the saved summary values, so that binary data is not loaded before it is needed
 			double maxAltitude = Double.NaN;
 			double maxVelocity = Double.NaN;
 			double maxAcceleration = Double.NaN;
@@ -152,6 +162,9 @@ class FlightDataHandler extends AbstractElementHandler {
 
 			data = new FlightData(maxAltitude, maxVelocity, maxAcceleration, maxMach,
 					timeToApogee, flightTime, groundHitVelocity, launchRodVelocity, deploymentVelocity, optimumDelay);
+			for (FlightDataBranch branch : branches) {
+				data.addBranch(branch);
+			}
 		}
 		
 		data.getWarningSet().addAll(warningSet);
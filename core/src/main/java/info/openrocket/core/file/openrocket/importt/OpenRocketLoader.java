@@ -2,7 +2,6 @@ package info.openrocket.core.file.openrocket.importt;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
 
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import org.slf4j.Logger;
@@ -73,8 +72,7 @@ public class OpenRocketLoader extends AbstractRocketLoader {
 			FlightDataBranch branch = s.getSimulatedData().getBranch(0);
 			if (branch == null)
 				continue;
-			List<Double> list = branch.getClone(FlightDataType.TYPE_TIME);
-			if (list == null)
+			if (branch.getSlot(FlightDataType.TYPE_TIME) < 0)
 				continue;
 
 			doc.getDefaultStorageOptions().setSaveSimulationData(true);
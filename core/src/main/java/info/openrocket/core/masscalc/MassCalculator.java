@@ -1,13 +1,23 @@
 package info.openrocket.core.masscalc;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.motor.MotorSample;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.CoordinateIF;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.ModID;
 import info.openrocket.core.util.Monitorable;
@@ -16,14 +26,14 @@ public class MassCalculator implements Monitorable {
 
 	public static final double MIN_MASS = MathUtil.EPSILON;
 
+	// Upper bound for the number of configurations cached at a time
+	private static final int MAX_CACHED_CONFIGURATIONS = 16;
+
 	/*
-	 * Cached data. All CG data is in absolute coordinates. All moments of inertia
-	 * are relative to their respective CG.
+	 * Cached data, per flight configuration instance.  All CG data is in absolute coordinates.
+	 * All moments of inertia are relative to their respective CG.
 	 */
-	// private HashMap< Integer, MassData> stageMassCache = new HashMap<Integer,
-	// MassData >();
-	// private MassData rocketSpentMassCache;
-	// private MassData motorMassCache;
+	private final Map<FlightConfiguration, CachedConfiguration> cache = new IdentityHashMap<>();
 
 	private final ModID modID = ModID.ZERO;
 
@@ -31,6 +41,15 @@ public class MassCalculator implements Monitorable {
 	public MassCalculator() {
 	}
 
+	/**
+	 * Return a new instance of this mass calculator type.
+	 *
+	 * @return a new, independent instance of this mass calculator type
+	 */
+	public MassCalculator newInstance() {
+		return new MassCalculator();
+	}
+
 	////////////////// Public Accessors ///////////////////
 
 	/**
@@ -99,6 +118,108 @@ public class MassCalculator implements Monitorable {
 		return calculate(MassCalculation.Type.MOTOR, status);
 	}
 
+	/**
+	 * Calculates mass data of the rocket's structure, like {@link #calculateStructure(FlightConfiguration)}.
+	 * The result is cached and reused until the rocket, the configuration or its set of
+	 * active stages changes.
+	 *
+	 * @param config the rocket configuration to calculate for
+	 * @return the MassData struct of the rocket
+	 */
+	public RigidBody getStructureMass(final FlightConfiguration config) {
+		return getCachedConfiguration(config).structure;
+	}
+
+	/**
+	 * Calculates the mass data of all motors in the rocket given the simulation status, like
+	 * {@link #calculateMotor(SimulationStatus)}.  The placement of the motors within the rocket
+	 * is cached, so only the mass and CG of each active motor are evaluated for the current time.
+	 * - excludes structure
+	 * - includes motors
+	 * - includes propellant
+	 *
+	 * @param status CurrentSimulation status to calculate data with
+	 * @return combined mass data for all propellant
+	 */
+	public RigidBody getMotorMass(final SimulationStatus status) {
+		final List<MountPlacement> mounts = getCachedConfiguration(status.getConfiguration()).mounts;
+		final double time = status.getSimulationTime();
+		final Collection<MotorClusterState> activeMotorList = status.getActiveMotors();
+
+		// Accumulate the center of mass in the same way as MassCalculation.addMass()
+		final int count = mounts.size();
+		final CoordinateIF[] clusterCMs = new CoordinateIF[count];
+		final double[] eachMasses = new double[count];
+		CoordinateIF centerOfMass = Coordinate.ZERO;
+		for (int i = 0; i < count; i++) {
+			final MountPlacement mount = mounts.get(i);
+
+			MotorClusterState motorState = null;
+			for (MotorClusterState currentMotorState : activeMotorList) {
+				if (currentMotorState.getMotor() == mount.motor) {
+					motorState = currentMotorState;
+					break;
+				}
+			}
+
+			final double eachMass;
+			final double eachCMx;
+			if (motorState != null) {
+				final MotorSample sample = motorState.getSample(time);
+				eachMass = sample.getTotalMass();
+				eachCMx = sample.getCMx();
+			} else {
+				eachMass = mount.motor.getTotalMass(time);
+				eachCMx = mount.motor.getCMx(time);
+			}
+			final CoordinateIF clusterCM = mount.transform.transform(
+					new Coordinate(mount.motorX + eachCMx, 0, 0, eachMass * mount.instanceCount));
+			clusterCMs[i] = clusterCM;
+			eachMasses[i] = eachMass;
+
+			if (MIN_MASS > centerOfMass.getWeight()) {
+				centerOfMass = clusterCM;
+			} else {
+				centerOfMass = centerOfMass.average(clusterCM);
+			}
+		}
+
+		// Move the moments of inertia to the common CM, as MassCalculation.calculateMomentOfInertia()
+		double Ir = 0, It = 0;
+		for (int i = 0; i < count; i++) {
+			final MountPlacement mount = mounts.get(i);
+			final CoordinateIF clusterCM = clusterCMs[i];
+			final double eachMass = eachMasses[i];
+			final double clusterIr = mount.unitRotationalInertia * mount.instanceCount * eachMass
+					+ eachMass * mount.offsetDistanceSquared;
+			final double clusterIt = mount.unitLongitudinalInertia * mount.instanceCount * eachMass;
+
+			final RigidBody eachGlobal = new RigidBody(clusterCM, clusterIr, clusterIt, clusterIt).rebase(centerOfMass);
+			Ir += eachGlobal.Ixx;
+			It += eachGlobal.Iyy;
+		}
+
+		return new RigidBody(centerOfMass, Ir, It, It);
+	}
+
+	/**
+	 * Return the cached data of a configuration, recalculating it if the rocket or the
+	 * configuration has changed since it was stored.
+	 */
+	private synchronized CachedConfiguration getCachedConfiguration(final FlightConfiguration config) {
+		CachedConfiguration cached = cache.get(config);
+		if (cached != null && cached.isValid(config)) {
+			return cached;
+		}
+
+		if (cache.size() >= MAX_CACHED_CONFIGURATIONS) {
+			cache.clear();
+		}
+		cached = new CachedConfiguration(config);
+		cache.put(config, cached);
+		return cached;
+	}
+
 	////////////////// Mass property Wrappers ///////////////////
 	// all mass calculation calls should probably call through one of these two
 	////////////////// wrappers.
@@ -181,4 +302,105 @@ public class MassCalculator implements Monitorable {
 		return modID;
 	}
 
+	/**
+	 * The mass data of a configuration that stays constant during a simulation step: the
+	 * structure, and the placement of each motor cluster in the rocket.
+	 *
+	 * The structure is cached as a whole rather than per stage, since mass and CG overrides
+	 * of stages and of the rocket itself may span several stages.
+	 */
+	private static final class CachedConfiguration {
+		private final ModID rocketModID;
+		private final ModID configModID;
+		// Not all stage activation changes update the configuration modID
+		private final boolean[] activeStages;
+
+		private final RigidBody structure;
+		private final List<MountPlacement> mounts = new ArrayList<>();
+
+		private CachedConfiguration(final FlightConfiguration config) {
+			final Rocket rocket = config.getRocket();
+			this.rocketModID = rocket.getModID();
+			this.configModID = config.getModID();
+			this.activeStages = new boolean[rocket.getStageCount()];
+			for (int i = 0; i < activeStages.length; i++) {
+				activeStages[i] = config.isStageActive(i);
+			}
+
+			this.structure = calculateStructure(config);
+			collectMounts(rocket, Transformation.IDENTITY, config);
+		}
+
+		private boolean isValid(final FlightConfiguration config) {
+			final Rocket rocket = config.getRocket();
+			if (rocket.getModID() != rocketModID || config.getModID() != configModID ||
+					rocket.getStageCount() != activeStages.length) {
+				return false;
+			}
+			for (int i = 0; i < activeStages.length; i++) {
+				if (config.isStageActive(i) != activeStages[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Walk the component tree in the same order as MassCalculation.calculateMotors() and
+		 * store the placement of each active, loaded motor mount.
+		 */
+		private void collectMounts(final RocketComponent component, final Transformation parentTransform,
+				final FlightConfiguration config) {
+			if (component.isMotorMount() && config.isComponentActive(component)) {
+				final MotorConfiguration motorConfig = ((MotorMount) component).getMotorConfig(config.getId());
+				if (!motorConfig.isEmpty()) {
+					mounts.add(new MountPlacement(component, motorConfig, parentTransform));
+				}
+			}
+
+			final int instanceCount = component.getInstanceCount();
+			final CoordinateIF[] instanceLocations = component.getInstanceLocations();
+			for (int instanceNumber = 0; instanceNumber < instanceCount; ++instanceNumber) {
+				final Transformation currentTransform = parentTransform.applyTransformation(
+						Transformation.getTranslationTransform(instanceLocations[instanceNumber]));
+				for (RocketComponent child : component.getChildren()) {
+					collectMounts(child, currentTransform, config);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The time-independent data of a motor cluster, as used by MassCalculation.calculateMountData().
+	 */
+	private static final class MountPlacement {
+		private final Motor motor;
+		private final Transformation transform;
+		private final int instanceCount;
+		// location of the motor's beginning in the mount's parent frame
+		private final double motorX;
+		private final double unitRotationalInertia;
+		private final double unitLongitudinalInertia;
+		// sum of the squared radial offsets of the motors, zero for a single motor
+		private final double offsetDistanceSquared;
+
+		private MountPlacement(final RocketComponent mount, final MotorConfiguration motorConfig,
+				final Transformation transform) {
+			this.motor = motorConfig.getMotor();
+			this.transform = transform;
+			this.instanceCount = mount.getInstanceCount();
+			this.motorX = mount.getPosition().getX() + motorConfig.getX();
+			this.unitRotationalInertia = motorConfig.getUnitRotationalInertia();
+			this.unitLongitudinalInertia = motorConfig.getUnitLongitudinalInertia();
+
+			double distanceSquared = 0;
+			if (1 < instanceCount) {
+				for (CoordinateIF coord : mount.getInstanceOffsets()) {
+					distanceSquared += Math.pow(Math.hypot(coord.getY(), coord.getZ()), 2);
+				}
+			}
+			this.offsetDistanceSquared = distanceSquared;
+		}
+	}
+
 }
@@ -11,20 +11,24 @@ import info.openrocket.core.util.WorldCoordinate;
  */
 public class WGSGravityModel implements GravityModel {
 
-	// Cache the previously computed value
-	private WorldCoordinate lastWorldCoordinate;
-	private double lastg;
+	private record CachedGravity(WorldCoordinate worldCoordinate, double gravity) {
+	}
+
+	// Cache the previously computed value.  The coordinate and value are stored in a single
+	// object so that the model can be used by concurrently simulated branches.
+	private CachedGravity last;
 
 	@Override
 	public double getGravity(WorldCoordinate wc) {
 
 		// This is a proxy method to calcGravity, to avoid repeated calculation
-		if (wc != this.lastWorldCoordinate) {
-			this.lastg = calcGravity(wc);
-			this.lastWorldCoordinate = wc;
+		CachedGravity cached = this.last;
+		if (cached == null || wc != cached.worldCoordinate()) {
+			cached = new CachedGravity(wc, calcGravity(wc));
+			this.last = cached;
 		}
 
-		return this.lastg;
+		return cached.gravity();
 
 	}
 
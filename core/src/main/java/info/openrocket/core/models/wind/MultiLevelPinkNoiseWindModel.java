@@ -13,6 +13,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Random;
 
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.preferences.ApplicationPreferences;
@@ -44,7 +45,21 @@ public class MultiLevelPinkNoiseWindModel implements WindModel {
 	}
 
 	public void addWindLevel(double altitude, double speed, double direction, Double standardDeviation) {
-		PinkNoiseWindModel pinkNoiseModel = new PinkNoiseWindModel();
+		addWindLevel(altitude, speed, direction, standardDeviation, new Random().nextInt());
+	}
+
+	/**
+	 * Add a wind level whose turbulence is generated from the given random seed, so that
+	 * the wind is reproducible between simulations.
+	 *
+	 * @param altitude			the altitude of the level
+	 * @param speed				the average wind speed
+	 * @param direction			the wind direction
+	 * @param standardDeviation	the standard deviation of the wind speed, or <code>null</code> for the default
+	 * @param seed				the random seed of the turbulence
+	 */
+	public void addWindLevel(double altitude, double speed, double direction, Double standardDeviation, int seed) {
+		PinkNoiseWindModel pinkNoiseModel = new PinkNoiseWindModel(seed);
 		pinkNoiseModel.setDirection(direction);
 		pinkNoiseModel.setAverage(speed);
 		if (standardDeviation != null) {
@@ -0,0 +1,282 @@
+package info.openrocket.core.motor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.CoordinateIF;
+
+/**
+ * The compact binary format of the built-in thrust curve motor database.
+ * <p>
+ * The file is read through a memory mapped buffer.  Opening the database only decodes the string
+ * table and a fixed size header record per motor, which holds the properties and the statistics of
+ * the motor shown in the motor selection dialog.  The curves of a motor are stored as packed
+ * doubles and are only decoded when the motor is selected or simulated, so opening the database
+ * does not scale with the size of the curves.
+ * <p>
+ * The layout is big-endian: magic, format version, number of motors and number of strings as
+ * integers; the string table, each string as its length in bytes followed by its UTF-8 bytes;
+ * the header records of the motors; and the delays and curves of each motor.
+ */
+public final class CompactMotorFormat {
+
+	/** File name extension of the format */
+	public static final String EXTENSION = "motordb";
+
+	private static final int MAGIC = 0x4F524D44; // "ORMD"
+	private static final int VERSION = 1;
+
+	/** String index of a missing string */
+	private static final int NULL_STRING = -1;
+
+	// Header record: string indices (or NULL_STRING) of manufacturer, digest, code, common name,
+	// designation, description, case info, propellant info and motor type, availability, number of delays
+	// and number of curve points as integers, offset of the curve data as long, and diameter,
+	// length, initial mass, max thrust, burn time estimate, average thrust, total impulse,
+	// cut-off time, launch CG (x, y, z, weight) and burnout CG (x, y, z, weight) as doubles.
+	private static final int RECORD_SIZE = 12 * Integer.BYTES + Long.BYTES + 16 * Double.BYTES;
+
+	private CompactMotorFormat() {
+	}
+
+	/**
+	 * Write motors in the compact format.
+	 *
+	 * @param motors	the motors to write
+	 * @param output	the stream to write to, not closed
+	 * @throws IOException	if an I/O error occurs
+	 */
+	public static void write(List<ThrustCurveMotor> motors, OutputStream output) throws IOException {
+		List<String> strings = new ArrayList<>();
+		Map<String, Integer> stringIndices = new HashMap<>();
+		ByteArrayOutputStream stringTable = new ByteArrayOutputStream();
+		DataOutputStream stringOut = new DataOutputStream(stringTable);
+		int[][] stringRefs = new int[motors.size()][];
+		for (int i = 0; i < motors.size(); i++) {
+			ThrustCurveMotor motor = motors.get(i);
+			String[] values = { motor.getManufacturer().getDisplayName(), motor.getDigest(), motor.getCode(),
+					motor.getCommonName(), motor.getDesignation(), motor.getDescription(), motor.getCaseInfo(),
+					motor.getPropellantInfo(), motor.getMotorType().name() };
+			stringRefs[i] = new int[values.length];
+			for (int j = 0; j < values.length; j++) {
+				String value = values[j];
+				if (value == null) {
+					stringRefs[i][j] = NULL_STRING;
+					continue;
+				}
+				Integer index = stringIndices.get(value);
+				if (index == null) {
+					index = strings.size();
+					strings.add(value);
+					stringIndices.put(value, index);
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					stringOut.writeInt(bytes.length);
+					stringOut.write(bytes);
+				}
+				stringRefs[i][j] = index;
+			}
+		}
+		stringOut.flush();
+
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(motors.size());
+		out.writeInt(strings.size());
+		stringTable.writeTo(out);
+
+		long dataOffset = 4L * Integer.BYTES + stringTable.size() + (long) motors.size() * RECORD_SIZE;
+		for (int i = 0; i < motors.size(); i++) {
+			ThrustCurveMotor motor = motors.get(i);
+			ThrustCurveMotor.CurveSummary summary = motor.getCurveSummary();
+			int delayCount = motor.getStandardDelays().length;
+			for (int ref : stringRefs[i]) {
+				out.writeInt(ref);
+			}
+			out.writeInt(motor.isAvailable() ? 1 : 0);
+			out.writeInt(delayCount);
+			out.writeInt(summary.sampleSize());
+			out.writeLong(dataOffset);
+			out.writeDouble(motor.getDiameter());
+			out.writeDouble(motor.getLength());
+			out.writeDouble(motor.getInitialMass());
+			out.writeDouble(summary.maxThrust());
+			out.writeDouble(summary.burnTimeEstimate());
+			out.writeDouble(summary.averageThrust());
+			out.writeDouble(summary.totalImpulse());
+			out.writeDouble(summary.cutOffTime());
+			writeCoordinate(out, summary.launchCG());
+			writeCoordinate(out, summary.burnoutCG());
+			dataOffset += (long) (delayCount + 6 * summary.sampleSize()) * Double.BYTES;
+		}
+
+		for (ThrustCurveMotor motor : motors) {
+			for (double delay : motor.getStandardDelays()) {
+				out.writeDouble(delay);
+			}
+			for (double t : motor.getTimePoints()) {
+				out.writeDouble(t);
+			}
+			for (double f : motor.getThrustPoints()) {
+				out.writeDouble(f);
+			}
+			CoordinateIF[] cg = motor.getCGPoints();
+			for (CoordinateIF c : cg) {
+				out.writeDouble(c.getX());
+			}
+			for (CoordinateIF c : cg) {
+				out.writeDouble(c.getY());
+			}
+			for (CoordinateIF c : cg) {
+				out.writeDouble(c.getZ());
+			}
+			for (CoordinateIF c : cg) {
+				out.writeDouble(c.getWeight());
+			}
+		}
+		out.flush();
+	}
+
+	private static void writeCoordinate(DataOutputStream out, CoordinateIF c) throws IOException {
+		out.writeDouble(c.getX());
+		out.writeDouble(c.getY());
+		out.writeDouble(c.getZ());
+		out.writeDouble(c.getWeight());
+	}
+
+	/**
+	 * Read the motors of a file.  The file is memory mapped, and the curves of the motors are
+	 * read from it when they are first needed.
+	 *
+	 * @param file	the file to read
+	 * @return the motors
+	 * @throws IOException	if an I/O error occurs or the file is not in the compact format
+	 */
+	public static List<ThrustCurveMotor> read(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Read the motors of a stream, for files that cannot be memory mapped, such as entries of
+	 * a JAR file.  The contents of the stream are kept in memory to read the curves from.
+	 *
+	 * @param input	the stream to read, not closed
+	 * @return the motors
+	 * @throws IOException	if an I/O error occurs or the data is not in the compact format
+	 */
+	public static List<ThrustCurveMotor> read(InputStream input) throws IOException {
+		return read(ByteBuffer.wrap(input.readAllBytes()));
+	}
+
+	/**
+	 * Read the motors of a buffer.  The buffer must not be modified afterwards, as the curves
+	 * of the motors are read from it when they are first needed.
+	 *
+	 * @param buffer	the buffer holding the database
+	 * @return the motors
+	 * @throws IOException	if the data is not in the compact format
+	 */
+	public static List<ThrustCurveMotor> read(ByteBuffer buffer) throws IOException {
+		try {
+			buffer.position(0);
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a motor database");
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported motor database version " + version);
+			}
+			int motorCount = buffer.getInt();
+			int stringCount = buffer.getInt();
+			if (motorCount < 0 || stringCount < 0) {
+				throw new IOException("Illegal motor database header");
+			}
+
+			String[] strings = new String[stringCount];
+			for (int i = 0; i < stringCount; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			List<ThrustCurveMotor> motors = new ArrayList<>(motorCount);
+			int position = buffer.position();
+			for (int i = 0; i < motorCount; i++) {
+				motors.add(readMotor(buffer, position, strings));
+				position += RECORD_SIZE;
+			}
+			return motors;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Corrupted motor database", e);
+		}
+	}
+
+	private static ThrustCurveMotor readMotor(ByteBuffer buffer, int position, String[] strings) {
+		ThrustCurveMotor.Builder builder = new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer(getString(strings, buffer.getInt(position))))
+				.setDigest(getString(strings, buffer.getInt(position + 4)))
+				.setCode(getString(strings, buffer.getInt(position + 8)))
+				.setCommonName(getString(strings, buffer.getInt(position + 12)))
+				.setDesignation(getString(strings, buffer.getInt(position + 16)))
+				.setDescription(getString(strings, buffer.getInt(position + 20)))
+				.setCaseInfo(getString(strings, buffer.getInt(position + 24)))
+				.setPropellantInfo(getString(strings, buffer.getInt(position + 28)))
+				.setMotorType(Motor.Type.valueOf(getString(strings, buffer.getInt(position + 32))))
+				.setAvailability(buffer.getInt(position + 36) != 0);
+		final int delayCount = buffer.getInt(position + 40);
+		final int sampleCount = buffer.getInt(position + 44);
+		final long offset = buffer.getLong(position + 48);
+		if (delayCount < 0 || sampleCount < 2 || offset < 0
+				|| offset + (long) (delayCount + 6 * sampleCount) * Double.BYTES > buffer.limit()) {
+			throw new IllegalArgumentException("Illegal curve data of motor " + getString(strings, buffer.getInt(position + 16)));
+		}
+
+		int p = position + 56;
+		builder.setDiameter(buffer.getDouble(p));
+		builder.setLength(buffer.getDouble(p + 8));
+		builder.setInitialMass(buffer.getDouble(p + 16));
+		ThrustCurveMotor.CurveSummary summary = new ThrustCurveMotor.CurveSummary(sampleCount,
+				buffer.getDouble(p + 56), readCoordinate(buffer, p + 64), readCoordinate(buffer, p + 96),
+				buffer.getDouble(p + 24), buffer.getDouble(p + 32), buffer.getDouble(p + 40), buffer.getDouble(p + 48));
+
+		final int dataOffset = (int) offset;
+		double[] delays = new double[delayCount];
+		buffer.slice(dataOffset, delayCount * Double.BYTES).asDoubleBuffer().get(delays);
+		builder.setStandardDelays(delays);
+
+		final int curveOffset = dataOffset + delayCount * Double.BYTES;
+		return builder.build(summary, () -> {
+			double[][] curves = new double[6][sampleCount];
+			for (int i = 0; i < curves.length; i++) {
+				buffer.slice(curveOffset + i * sampleCount * Double.BYTES, sampleCount * Double.BYTES)
+						.asDoubleBuffer().get(curves[i]);
+			}
+			return curves;
+		});
+	}
+
+	private static String getString(String[] strings, int index) {
+		return index == NULL_STRING ? null : strings[index];
+	}
+
+	private static CoordinateIF readCoordinate(ByteBuffer buffer, int position) {
+		return new Coordinate(buffer.getDouble(position), buffer.getDouble(position + 8),
+				buffer.getDouble(position + 16), buffer.getDouble(position + 24));
+	}
+}
@@ -225,6 +225,21 @@ public interface Motor {
 	 */
 	public double getCMx(final double motorTime);
 
+	/**
+	 * Sample the thrust, total mass and CG position at a time offset from motor ignition.
+	 * The values are the same as returned by {@link #getThrust(double)},
+	 * {@link #getTotalMass(double)} and {@link #getCMx(double)}, but may be computed
+	 * with a single lookup of the motor data.
+	 *
+	 * @param motorTime time (in seconds) since motor ignition
+	 * @param sample the sample to store the values to; it should be reused for subsequent
+	 *               lookups of this motor
+	 * @return the <code>sample</code> argument
+	 */
+	public default MotorSample getSample(final double motorTime, final MotorSample sample) {
+		return sample.set(motorTime, getThrust(motorTime), getTotalMass(motorTime), getCMx(motorTime));
+	}
+
 	public double getUnitIxx();
 
 	public double getUnitIyy();
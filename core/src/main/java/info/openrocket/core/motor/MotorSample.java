@@ -0,0 +1,71 @@
+package info.openrocket.core.motor;
+
+/**
+ * The thrust, total mass and CG position of a motor at a single time offset from motor ignition,
+ * as returned by {@link Motor#getSample(double, MotorSample)}.
+ * <p>
+ * A sample also remembers where in the motor data the previous lookup ended, so that sampling
+ * a motor repeatedly at increasing times does not need to search the data from the start.
+ * The same sample object is meant to be reused for subsequent lookups of a single motor, and
+ * is not thread-safe.
+ */
+public class MotorSample {
+
+	private double motorTime = Double.NaN;
+	private double thrust = Double.NaN;
+	private double totalMass = Double.NaN;
+	private double cmx = Double.NaN;
+
+	// Index of the motor data segment found by the previous lookup
+	private int cursor = 0;
+
+	/**
+	 * Return the time since motor ignition this sample was taken at, or NaN if the sample
+	 * has not yet been taken.
+	 */
+	public double getMotorTime() {
+		return motorTime;
+	}
+
+	/**
+	 * Return the thrust of the motor, in Newtons.
+	 */
+	public double getThrust() {
+		return thrust;
+	}
+
+	/**
+	 * Return the total mass of the motor.
+	 */
+	public double getTotalMass() {
+		return totalMass;
+	}
+
+	/**
+	 * Return the CG position of the motor, measured from the beginning of the motor.
+	 */
+	public double getCMx() {
+		return cmx;
+	}
+
+	int getCursor() {
+		return cursor;
+	}
+
+	void setCursor(int cursor) {
+		this.cursor = cursor;
+	}
+
+	MotorSample set(double motorTime, double thrust, double totalMass, double cmx) {
+		this.motorTime = motorTime;
+		this.thrust = thrust;
+		this.totalMass = totalMass;
+		this.cmx = cmx;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return "MotorSample[t=" + motorTime + ", thrust=" + thrust + ", mass=" + totalMass + ", cmx=" + cmx + "]";
+	}
+}
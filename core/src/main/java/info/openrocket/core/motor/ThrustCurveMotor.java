@@ -1,5 +1,8 @@
 package info.openrocket.core.motor;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.Collator;
 import java.util.Arrays;
@@ -7,6 +10,7 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.CoordinateIF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +65,15 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	private double unitRotationalInertia;
 	private double unitLongitudinalInertia;
 
+	// Ends of the curves, available before the curves are loaded
+	private transient int sampleSize;
+	private transient double cutOffTime;
+	private transient CoordinateIF launchCG;
+	private transient CoordinateIF burnoutCG;
+
+	// Loader of the curves of a motor read from a motor database file, or null once they are loaded
+	private transient volatile CurveLoader curveLoader;
+
 	public static class Builder {
 
 		ThrustCurveMotor motor = new ThrustCurveMotor();
@@ -258,6 +271,39 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 			}
 
 			motor.computeStatistics();
+			motor.computeCurveEnds();
+
+			return motor;
+		}
+
+		/**
+		 * Build a motor whose curves are loaded when they are first needed.  The statistics of
+		 * the curves are taken from the summary instead of computed, and the curves are not
+		 * validated.
+		 *
+		 * @param summary	the statistics of the curves.
+		 * @param loader	the loader of the curves.
+		 * @return the motor.
+		 */
+		ThrustCurveMotor build(CurveSummary summary, CurveLoader loader) {
+			motor.unitRotationalInertia = Inertia.filledCylinderRotational(motor.diameter / 2);
+			motor.unitLongitudinalInertia = Inertia.filledCylinderLongitudinal(motor.diameter / 2, motor.length);
+			if (motor.designation.isEmpty()) {
+				motor.designation = motor.code;
+			}
+			if (motor.commonName.isEmpty()) {
+				motor.commonName = simplifyDesignation(motor.designation);
+			}
+
+			motor.maxThrust = summary.maxThrust();
+			motor.burnTimeEstimate = summary.burnTimeEstimate();
+			motor.averageThrust = summary.averageThrust();
+			motor.totalImpulse = summary.totalImpulse();
+			motor.sampleSize = summary.sampleSize();
+			motor.cutOffTime = summary.cutOffTime();
+			motor.launchCG = summary.launchCG();
+			motor.burnoutCG = summary.burnoutCG();
+			motor.curveLoader = loader;
 
 			return motor;
 		}
@@ -279,6 +325,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return an array of time points where the thrust is sampled
 	 */
 	public double[] getTimePoints() {
+		ensureCurves();
 		return time.clone();
 	}
 
@@ -295,6 +342,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return a pseudo index to this motor's data.
 	 */
 	protected double getPseudoIndex(final double motorTime) {
+		ensureCurves();
 		if ((time.length == 0) || (0 > motorTime)) {
 			return Double.NaN;
 		}
@@ -305,14 +353,42 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	private int getIndex(final double motorTime) {
+		// binary search for the first time point after motorTime
 		int lowerBoundIndex = 0;
-		int upperBoundIndex = 0;
-		while ((upperBoundIndex < time.length) && (motorTime >= time[upperBoundIndex])) {
-			lowerBoundIndex = upperBoundIndex;
-			++upperBoundIndex;
+		int upperBoundIndex = time.length;
+		while (lowerBoundIndex < upperBoundIndex) {
+			final int middleIndex = (lowerBoundIndex + upperBoundIndex) >>> 1;
+			if (motorTime >= time[middleIndex]) {
+				lowerBoundIndex = middleIndex + 1;
+			} else {
+				upperBoundIndex = middleIndex;
+			}
 		}
 
-		return lowerBoundIndex;
+		return Math.max(lowerBoundIndex - 1, 0);
+	}
+
+	/*
+	 * find the index to data that corresponds to the given time, starting from the index
+	 * of a previous lookup.  Simulation time normally only moves forward in small steps, so
+	 * the segment is usually the hinted one or one of the next ones.  Otherwise falls back
+	 * to a binary search.
+	 */
+	private int getIndex(final double motorTime, final int hintIndex) {
+		final int MAX_STEPS = 2;
+
+		if ((0 <= hintIndex) && (hintIndex < time.length) && (motorTime >= time[hintIndex])) {
+			int index = hintIndex;
+			final int lastIndex = Math.min(time.length - 1, hintIndex + MAX_STEPS);
+			while ((index < lastIndex) && (motorTime >= time[index + 1])) {
+				++index;
+			}
+			if ((index == time.length - 1) || (motorTime < time[index + 1])) {
+				return index;
+			}
+		}
+
+		return getIndex(motorTime);
 	}
 
 	private double getIndexFraction(final double motorTime, final int index) {
@@ -357,6 +433,20 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 		return this.interpolateCenterOfMassAtIndex(pseudoIndex).getX();
 	}
 
+	@Override
+	public MotorSample getSample(final double motorTime, final MotorSample sample) {
+		ensureCurves();
+		if ((time.length == 0) || (0 > motorTime)) {
+			return sample.set(motorTime, Double.NaN, Double.NaN, Double.NaN);
+		}
+
+		final int lowerIndex = getIndex(motorTime, sample.getCursor());
+		final double pseudoIndex = ((double) lowerIndex) + getIndexFraction(motorTime, lowerIndex);
+		final CoordinateIF cgAtTime = interpolateCenterOfMassAtIndex(pseudoIndex);
+		sample.setCursor(lowerIndex);
+		return sample.set(motorTime, interpolateAtIndex(thrust, pseudoIndex), cgAtTime.getWeight(), cgAtTime.getX());
+	}
+
 	public String getCaseInfo() {
 		return caseInfo;
 	}
@@ -387,6 +477,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return an array of thrust samples
 	 */
 	public double[] getThrustPoints() {
+		ensureCurves();
 		return thrust.clone();
 	}
 
@@ -399,6 +490,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	// }
 
 	public CoordinateIF[] getCGPoints() {
+		ensureCurves();
 		return cg;
 	}
 
@@ -496,27 +588,27 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 
 	@Override
 	public double getLaunchCGx() {
-		return cg[0].getX();// cgx[0];
+		return launchCG.getX();
 	}
 
 	@Override
 	public double getBurnoutCGx() {
-		return cg[cg.length - 1].getX();// cgx[ cg.length - 1];
+		return burnoutCG.getX();
 	}
 
 	@Override
 	public double getLaunchMass() {
-		return cg[0].getWeight();// mass[0];
+		return launchCG.getWeight();
 	}
 
 	@Override
 	public double getBurnoutMass() {
-		return cg[cg.length - 1].getWeight(); // mass[mass.length - 1];
+		return burnoutCG.getWeight();
 	}
 
 	@Override
 	public double getBurnTime() {
-		return time[time.length - 1];
+		return cutOffTime;
 	}
 
 	private static double interpolateAtIndex(final double[] values, final double pseudoIndex) {
@@ -597,7 +689,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	public int getDataSize() {
-		return this.time.length;
+		return sampleSize;
 	}
 
 	@Override
@@ -626,7 +718,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	public double getCutOffTime() {
-		return time[time.length - 1];
+		return cutOffTime;
 	}
 
 	public boolean isAvailable() {
@@ -726,6 +818,81 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 
 	}
 
+	/**
+	 * Store the ends of the curves, which are available without loading the curves.
+	 */
+	private void computeCurveEnds() {
+		sampleSize = time.length;
+		cutOffTime = time[time.length - 1];
+		launchCG = cg[0];
+		burnoutCG = cg[cg.length - 1];
+	}
+
+	/**
+	 * Return the statistics of the curves of this motor, which are stored with the motor in a
+	 * motor database file.
+	 */
+	CurveSummary getCurveSummary() {
+		return new CurveSummary(sampleSize, cutOffTime, launchCG, burnoutCG,
+				maxThrust, burnTimeEstimate, averageThrust, totalImpulse);
+	}
+
+	private void ensureCurves() {
+		if (curveLoader != null) {
+			loadCurves();
+		}
+	}
+
+	private synchronized void loadCurves() {
+		CurveLoader loader = curveLoader;
+		if (loader == null) {
+			return;
+		}
+		double[][] curves = loader.loadCurves();
+		double[] x = curves[2];
+		double[] y = curves[3];
+		double[] z = curves[4];
+		double[] weight = curves[5];
+		CoordinateIF[] points = new CoordinateIF[x.length];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Coordinate(x[i], y[i], z[i], weight[i]);
+		}
+		time = curves[0];
+		thrust = curves[1];
+		cg = points;
+		curveLoader = null;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ensureCurves();
+		out.defaultWriteObject();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		computeCurveEnds();
+	}
+
+	/**
+	 * The statistics of the curves of a motor.
+	 */
+	record CurveSummary(int sampleSize, double cutOffTime, CoordinateIF launchCG, CoordinateIF burnoutCG,
+			double maxThrust, double burnTimeEstimate, double averageThrust, double totalImpulse) {
+	}
+
+	/**
+	 * Loader of the curves of a motor.
+	 */
+	@FunctionalInterface
+	interface CurveLoader {
+		/**
+		 * Load the curves.
+		 *
+		 * @return	the time, thrust, CG x, CG y, CG z and mass points, in this order.
+		 */
+		double[][] loadCurves();
+	}
+
 	////////// Static methods
 
 	/**
@@ -764,7 +931,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return return the size of the data arrays
 	 */
 	public int getSampleSize() {
-		return time.length;
+		return sampleSize;
 	}
 
 	@Override
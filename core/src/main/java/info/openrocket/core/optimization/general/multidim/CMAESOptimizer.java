@@ -0,0 +1,300 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.optimization.general.OptimizationController;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelFunctionCache;
+import info.openrocket.core.optimization.general.Point;
+
+/**
+ * An implementation of the covariance matrix adaptation evolution strategy (CMA-ES) by Hansen,
+ * using weighted recombination, cumulative step size adaptation and rank-one and rank-mu
+ * updates of the covariance matrix.
+ * <p>
+ * Each generation samples the population from a multivariate normal distribution and evaluates
+ * all of its points concurrently.  The distribution is moved towards the best points, and its
+ * shape and size are adapted to the successful steps, which makes the algorithm robust on noisy
+ * and badly scaled functions.  Sampled points outside of the bounds are moved onto the bounds,
+ * and the moved points are used in the update.
+ * <p>
+ * The step size reported to the optimization controller is the standard deviation of the
+ * distribution along its longest coordinate axis.
+ */
+public class CMAESOptimizer extends PopulationOptimizer {
+	private static final Logger log = LoggerFactory.getLogger(CMAESOptimizer.class);
+
+	/** Initial standard deviation relative to the size of the bounds */
+	private static final double INITIAL_SIGMA = 0.3;
+
+	private int eigenFailures = 0;
+
+	public CMAESOptimizer() {
+		// No-op
+	}
+
+	public CMAESOptimizer(ParallelFunctionCache functionCache) {
+		super(functionCache);
+	}
+
+	@Override
+	protected int getMinimumPopulationSize(int dim) {
+		return 4 + (int) (3 * Math.log(dim));
+	}
+
+	@Override
+	public void optimize(Point initial, OptimizationController control) throws OptimizationException {
+		final int n = initial.dim();
+		final int lambda = getPopulationSize(n);
+		final int mu = lambda / 2;
+		optimumPoint = null;
+		log.info("Starting CMA-ES at " + initial + " with population size " + lambda);
+
+		// Recombination weights
+		double[] weights = new double[mu];
+		double sum = 0;
+		for (int i = 0; i < mu; i++) {
+			weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+			sum += weights[i];
+		}
+		double sum2 = 0;
+		for (int i = 0; i < mu; i++) {
+			weights[i] /= sum;
+			sum2 += weights[i] * weights[i];
+		}
+		final double mueff = 1 / sum2;
+
+		// Adaptation parameters
+		final double cc = (4 + mueff / n) / (n + 4 + 2 * mueff / n);
+		final double cs = (mueff + 2) / (n + mueff + 5);
+		final double c1 = 2 / ((n + 1.3) * (n + 1.3) + mueff);
+		final double cmu = Math.min(1 - c1, 2 * (mueff - 2 + 1 / mueff) / ((n + 2) * (n + 2) + mueff));
+		final double damps = 1 + 2 * Math.max(0, Math.sqrt((mueff - 1) / (n + 1)) - 1) + cs;
+		final double chiN = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21.0 * n * n));
+
+		// Distribution state
+		double[] mean = clamp(initial).asArray();
+		double sigma = INITIAL_SIGMA;
+		double[] pc = new double[n];
+		double[] ps = new double[n];
+		double[][] cov = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			double range = getUpperBound(i) - getLowerBound(i);
+			cov[i][i] = range * range;
+		}
+		double[][] basis = new double[n][n];
+		double[] scale = new double[n];
+
+		try {
+			List<Point> population = new ArrayList<>(lambda);
+			double[][] steps = new double[lambda][n];
+			boolean continueOptimization = true;
+			while (continueOptimization) {
+				Point current = optimumPoint;
+				double currentValue = current != null ? functionExecutor.getValue(current) : Double.NaN;
+
+				decompose(cov, basis, scale);
+
+				// Sample and evaluate the generation
+				population.clear();
+				double[] z = new double[n];
+				for (int k = 0; k < lambda; k++) {
+					for (int i = 0; i < n; i++) {
+						z[i] = scale[i] * random.nextGaussian();
+					}
+					double[] x = new double[n];
+					for (int i = 0; i < n; i++) {
+						double y = 0;
+						for (int j = 0; j < n; j++) {
+							y += basis[i][j] * z[j];
+						}
+						x[i] = Math.min(Math.max(mean[i] + sigma * y, getLowerBound(i)), getUpperBound(i));
+						steps[k][i] = (x[i] - mean[i]) / sigma;
+					}
+					population.add(new Point(x));
+				}
+				if (current == null) {
+					// Evaluate the initial point together with the first generation
+					population.add(new Point(mean));
+				}
+				final double[] values = evaluate(population);
+				if (current == null) {
+					population.remove(lambda);
+				}
+
+				Integer[] order = new Integer[lambda];
+				for (int k = 0; k < lambda; k++) {
+					order[k] = k;
+				}
+				Arrays.sort(order, Comparator.comparingDouble(k -> values[k]));
+
+				// Move the mean to the weighted mean of the best steps
+				double[] meanStep = new double[n];
+				for (int r = 0; r < mu; r++) {
+					double[] step = steps[order[r]];
+					for (int i = 0; i < n; i++) {
+						meanStep[i] += weights[r] * step[i];
+					}
+				}
+				for (int i = 0; i < n; i++) {
+					mean[i] += sigma * meanStep[i];
+				}
+
+				// Evolution paths
+				double[] whitened = new double[n];
+				for (int j = 0; j < n; j++) {
+					double d = 0;
+					for (int i = 0; i < n; i++) {
+						d += basis[i][j] * meanStep[i];
+					}
+					d /= scale[j];
+					for (int i = 0; i < n; i++) {
+						whitened[i] += basis[i][j] * d;
+					}
+				}
+				double psNorm2 = 0;
+				for (int i = 0; i < n; i++) {
+					ps[i] = (1 - cs) * ps[i] + Math.sqrt(cs * (2 - cs) * mueff) * whitened[i];
+					psNorm2 += ps[i] * ps[i];
+				}
+				final double psNorm = Math.sqrt(psNorm2);
+				final boolean hsig = psNorm / Math.sqrt(1 - Math.pow(1 - cs, 2.0 * generationCount)) / chiN
+						< 1.4 + 2.0 / (n + 1);
+				for (int i = 0; i < n; i++) {
+					pc[i] = (1 - cc) * pc[i] + (hsig ? Math.sqrt(cc * (2 - cc) * mueff) * meanStep[i] : 0);
+				}
+
+				// Covariance matrix
+				final double c1a = c1 * (hsig ? 1 : 1 - cc * (2 - cc));
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j <= i; j++) {
+						double rankMu = 0;
+						for (int r = 0; r < mu; r++) {
+							double[] step = steps[order[r]];
+							rankMu += weights[r] * step[i] * step[j];
+						}
+						double c = (1 - c1a - cmu) * cov[i][j] + c1 * pc[i] * pc[j] + cmu * rankMu;
+						cov[i][j] = c;
+						cov[j][i] = c;
+					}
+				}
+
+				// Step size
+				sigma *= Math.exp((cs / damps) * (psNorm / chiN - 1));
+
+				double stepSize = 0;
+				for (int i = 0; i < n; i++) {
+					stepSize = Math.max(stepSize, sigma * Math.sqrt(cov[i][i]));
+				}
+
+				log.debug("Generation " + generationCount + " best point " + optimumPoint + " sigma=" + sigma);
+
+				if (current == null) {
+					current = optimumPoint;
+					currentValue = functionExecutor.getValue(current);
+				}
+				continueOptimization = control.stepTaken(current, currentValue, optimumPoint,
+						functionExecutor.getValue(optimumPoint), stepSize);
+
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
+
+		} catch (InterruptedException e) {
+			log.info("Optimization was interrupted with InterruptedException");
+			functionExecutor.abortAll();
+		}
+
+		if (optimumPoint != null) {
+			log.info("Finishing optimization at point " + optimumPoint + " value = " +
+					functionExecutor.getValue(optimumPoint));
+		}
+		log.info("Optimization statistics: " + getStatistics());
+	}
+
+	/**
+	 * Compute the eigendecomposition of the covariance matrix by Jacobi rotations.  The columns
+	 * of the basis are the eigenvectors, and the scale holds the square roots of the eigenvalues.
+	 */
+	private void decompose(double[][] cov, double[][] basis, double[] scale) {
+		final int n = cov.length;
+		double[][] a = new double[n][];
+		for (int i = 0; i < n; i++) {
+			a[i] = cov[i].clone();
+			Arrays.fill(basis[i], 0);
+			basis[i][i] = 1;
+		}
+
+		for (int sweep = 0; sweep < 50; sweep++) {
+			double off = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					off += a[i][j] * a[i][j];
+				}
+			}
+			if (off < 1e-30) {
+				break;
+			}
+			if (sweep == 49) {
+				eigenFailures++;
+			}
+
+			for (int p = 0; p < n; p++) {
+				for (int q = p + 1; q < n; q++) {
+					if (a[p][q] == 0) {
+						continue;
+					}
+					double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+					double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+					if (theta == 0) {
+						t = 1;
+					}
+					double c = 1 / Math.sqrt(t * t + 1);
+					double s = t * c;
+					for (int k = 0; k < n; k++) {
+						double akp = a[k][p];
+						double akq = a[k][q];
+						a[k][p] = c * akp - s * akq;
+						a[k][q] = s * akp + c * akq;
+					}
+					for (int k = 0; k < n; k++) {
+						double apk = a[p][k];
+						double aqk = a[q][k];
+						a[p][k] = c * apk - s * aqk;
+						a[q][k] = s * apk + c * aqk;
+					}
+					for (int k = 0; k < n; k++) {
+						double vkp = basis[k][p];
+						double vkq = basis[k][q];
+						basis[k][p] = c * vkp - s * vkq;
+						basis[k][q] = s * vkp + c * vkq;
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			scale[i] = Math.sqrt(Math.max(a[i][i], 1e-20));
+		}
+	}
+
+	@Override
+	public String getStatistics() {
+		return "CMAESOptimizer[generationCount=" + generationCount +
+				", evaluationCount=" + evaluationCount +
+				", eigenFailures=" + eigenFailures + "]";
+	}
+
+	@Override
+	public void resetStatistics() {
+		super.resetStatistics();
+		eigenFailures = 0;
+	}
+}
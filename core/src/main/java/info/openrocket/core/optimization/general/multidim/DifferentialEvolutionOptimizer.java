@@ -0,0 +1,169 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.optimization.general.OptimizationController;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelFunctionCache;
+import info.openrocket.core.optimization.general.Point;
+
+/**
+ * An implementation of the differential evolution algorithm by Storn and Price, using the
+ * DE/rand/1/bin strategy.
+ * <p>
+ * Each generation creates a trial point for every member of the population by adding the
+ * scaled difference of two random members to a third one and crossing the result over with
+ * the member.  All trial points of a generation are evaluated concurrently, and each trial
+ * replaces its member if it is not worse.  Coordinates of trial points outside of the bounds
+ * are moved halfway between the member and the violated bound.
+ * <p>
+ * The step size reported to the optimization controller is the largest extent of the
+ * population along any coordinate, so the optimization ends when the population has converged.
+ */
+public class DifferentialEvolutionOptimizer extends PopulationOptimizer {
+	private static final Logger log = LoggerFactory.getLogger(DifferentialEvolutionOptimizer.class);
+
+	/** Differential weight */
+	private static final double WEIGHT = 0.7;
+	/** Crossover probability */
+	private static final double CROSSOVER = 0.9;
+
+	private int acceptedCount = 0;
+
+	public DifferentialEvolutionOptimizer() {
+		// No-op
+	}
+
+	public DifferentialEvolutionOptimizer(ParallelFunctionCache functionCache) {
+		super(functionCache);
+	}
+
+	@Override
+	protected int getMinimumPopulationSize(int dim) {
+		return Math.max(8, 5 * dim);
+	}
+
+	@Override
+	public void optimize(Point initial, OptimizationController control) throws OptimizationException {
+		final int dim = initial.dim();
+		final int size = getPopulationSize(dim);
+		optimumPoint = null;
+		log.info("Starting differential evolution at " + initial + " with population size " + size);
+
+		try {
+			// The initial point is included in the otherwise random initial population
+			List<Point> population = new ArrayList<>(size);
+			population.add(clamp(initial));
+			while (population.size() < size) {
+				population.add(randomPoint(dim));
+			}
+			double[] values = evaluate(population);
+
+			List<Point> trials = new ArrayList<>(size);
+			boolean continueOptimization = true;
+			while (continueOptimization) {
+				Point current = optimumPoint;
+				double currentValue = functionExecutor.getValue(current);
+
+				trials.clear();
+				for (int i = 0; i < size; i++) {
+					trials.add(createTrial(population, i));
+				}
+				double[] trialValues = evaluate(trials);
+
+				for (int i = 0; i < size; i++) {
+					if (trialValues[i] <= values[i]) {
+						population.set(i, trials.get(i));
+						values[i] = trialValues[i];
+						acceptedCount++;
+					}
+				}
+
+				log.debug("Generation " + generationCount + " best point " + optimumPoint);
+
+				continueOptimization = control.stepTaken(current, currentValue, optimumPoint,
+						functionExecutor.getValue(optimumPoint), getExtent(population));
+
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
+
+		} catch (InterruptedException e) {
+			log.info("Optimization was interrupted with InterruptedException");
+			functionExecutor.abortAll();
+		}
+
+		if (optimumPoint != null) {
+			log.info("Finishing optimization at point " + optimumPoint + " value = " +
+					functionExecutor.getValue(optimumPoint));
+		}
+		log.info("Optimization statistics: " + getStatistics());
+	}
+
+	private Point createTrial(List<Point> population, int i) {
+		final int size = population.size();
+		int a, b, c;
+		do {
+			a = random.nextInt(size);
+		} while (a == i);
+		do {
+			b = random.nextInt(size);
+		} while (b == i || b == a);
+		do {
+			c = random.nextInt(size);
+		} while (c == i || c == a || c == b);
+
+		Point member = population.get(i);
+		Point pa = population.get(a);
+		Point pb = population.get(b);
+		Point pc = population.get(c);
+
+		final int dim = member.dim();
+		final int forced = random.nextInt(dim);
+		double[] x = member.asArray();
+		for (int j = 0; j < dim; j++) {
+			if (j == forced || random.nextDouble() < CROSSOVER) {
+				double v = pa.get(j) + WEIGHT * (pb.get(j) - pc.get(j));
+				if (v < getLowerBound(j)) {
+					v = (member.get(j) + getLowerBound(j)) / 2;
+				} else if (v > getUpperBound(j)) {
+					v = (member.get(j) + getUpperBound(j)) / 2;
+				}
+				x[j] = v;
+			}
+		}
+		return new Point(x);
+	}
+
+	private static double getExtent(List<Point> population) {
+		double extent = 0;
+		for (int j = 0; j < population.get(0).dim(); j++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (Point p : population) {
+				min = Math.min(min, p.get(j));
+				max = Math.max(max, p.get(j));
+			}
+			extent = Math.max(extent, max - min);
+		}
+		return extent;
+	}
+
+	@Override
+	public String getStatistics() {
+		return "DifferentialEvolutionOptimizer[generationCount=" + generationCount +
+				", evaluationCount=" + evaluationCount +
+				", acceptedCount=" + acceptedCount + "]";
+	}
+
+	@Override
+	public void resetStatistics() {
+		super.resetStatistics();
+		acceptedCount = 0;
+	}
+}
@@ -0,0 +1,194 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import java.util.List;
+import java.util.Random;
+
+import info.openrocket.core.optimization.general.FunctionCache;
+import info.openrocket.core.optimization.general.FunctionOptimizer;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelFunctionCache;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.util.Statistics;
+
+/**
+ * Base class of population-based optimization algorithms.  Each generation of points is
+ * scheduled to the parallel function cache at once, so that all of its points are evaluated
+ * concurrently.
+ * <p>
+ * The search is limited to bounds, by default the unit hypercube [0...1]^n, which corresponds to
+ * the minimum and maximum values of the simulation modifiers in rocket optimization.
+ * <p>
+ * The optimization can be aborted by interrupting the current thread.
+ */
+public abstract class PopulationOptimizer implements FunctionOptimizer, Statistics {
+
+	protected ParallelFunctionCache functionExecutor;
+
+	protected Random random = new Random();
+
+	private Point lowerBound = null;
+	private Point upperBound = null;
+	private int populationSize = 0;
+
+	protected Point optimumPoint = null;
+
+	protected int generationCount = 0;
+	protected int evaluationCount = 0;
+
+	protected PopulationOptimizer() {
+		// No-op
+	}
+
+	protected PopulationOptimizer(ParallelFunctionCache functionCache) {
+		this.functionExecutor = functionCache;
+	}
+
+	/**
+	 * Set the bounds of the search.  Each coordinate of the searched points is kept between the
+	 * corresponding coordinates of the bounds.
+	 *
+	 * @param lower	the lower bound, or <code>null</code> for the default 0
+	 * @param upper	the upper bound, or <code>null</code> for the default 1
+	 */
+	public void setBounds(Point lower, Point upper) {
+		if (lower != null && upper != null) {
+			if (lower.dim() != upper.dim()) {
+				throw new IllegalArgumentException("Bounds have different dimensions: " + lower + " " + upper);
+			}
+			for (int i = 0; i < lower.dim(); i++) {
+				if (!(lower.get(i) < upper.get(i))) {
+					throw new IllegalArgumentException("Empty bounds " + lower + " " + upper);
+				}
+			}
+		}
+		this.lowerBound = lower;
+		this.upperBound = upper;
+	}
+
+	/**
+	 * Set the number of points in each generation.  Larger populations explore the search space
+	 * more thoroughly and allow more function evaluations to be run concurrently.
+	 *
+	 * @param populationSize	the population size, or 0 to use the default of the algorithm
+	 */
+	public void setPopulationSize(int populationSize) {
+		if (populationSize < 0) {
+			throw new IllegalArgumentException("Negative population size " + populationSize);
+		}
+		this.populationSize = populationSize;
+	}
+
+	/**
+	 * Return the number of points in each generation for a problem of the given dimension.
+	 *
+	 * @param dim	the dimension of the problem
+	 * @return the population size
+	 */
+	public int getPopulationSize(int dim) {
+		return Math.max(populationSize, getMinimumPopulationSize(dim));
+	}
+
+	/**
+	 * Return the default, and smallest allowed, population size of the algorithm.
+	 */
+	protected abstract int getMinimumPopulationSize(int dim);
+
+	/**
+	 * Set the seed of the random number generator, for reproducible optimization.
+	 *
+	 * @param seed	the seed
+	 */
+	public void setSeed(long seed) {
+		random = new Random(seed);
+	}
+
+	protected double getLowerBound(int i) {
+		return lowerBound != null ? lowerBound.get(i) : 0;
+	}
+
+	protected double getUpperBound(int i) {
+		return upperBound != null ? upperBound.get(i) : 1;
+	}
+
+	/**
+	 * Return the point moved inside the bounds.
+	 */
+	protected Point clamp(Point p) {
+		double[] x = p.asArray();
+		boolean changed = false;
+		for (int i = 0; i < x.length; i++) {
+			double v = Math.min(Math.max(x[i], getLowerBound(i)), getUpperBound(i));
+			if (v != x[i]) {
+				x[i] = v;
+				changed = true;
+			}
+		}
+		return changed ? new Point(x) : p;
+	}
+
+	/**
+	 * Return a uniformly distributed random point within the bounds.
+	 */
+	protected Point randomPoint(int dim) {
+		double[] x = new double[dim];
+		for (int i = 0; i < dim; i++) {
+			x[i] = getLowerBound(i) + random.nextDouble() * (getUpperBound(i) - getLowerBound(i));
+		}
+		return new Point(x);
+	}
+
+	/**
+	 * Evaluate all points of a generation concurrently and wait for the results.  The best point
+	 * found so far is updated from the results.
+	 *
+	 * @param points	the points to evaluate
+	 * @return the function values of the points
+	 */
+	protected double[] evaluate(List<Point> points) throws InterruptedException, OptimizationException {
+		functionExecutor.compute(points);
+		functionExecutor.waitFor(points);
+		generationCount++;
+		evaluationCount += points.size();
+
+		double[] values = new double[points.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = functionExecutor.getValue(points.get(i));
+			if (optimumPoint == null || values[i] < functionExecutor.getValue(optimumPoint)) {
+				optimumPoint = points.get(i);
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public Point getOptimumPoint() {
+		if (optimumPoint == null) {
+			throw new IllegalStateException("Optimization has not been called, no points have been evaluated");
+		}
+		return optimumPoint;
+	}
+
+	@Override
+	public double getOptimumValue() {
+		return functionExecutor.getValue(getOptimumPoint());
+	}
+
+	@Override
+	public FunctionCache getFunctionCache() {
+		return functionExecutor;
+	}
+
+	@Override
+	public void setFunctionCache(FunctionCache functionCache) {
+		if (!(functionCache instanceof ParallelFunctionCache)) {
+			throw new IllegalArgumentException("Function cache needs to be a ParallelFunctionCache: " + functionCache);
+		}
+		this.functionExecutor = (ParallelFunctionCache) functionCache;
+	}
+
+	@Override
+	public void resetStatistics() {
+		generationCount = 0;
+		evaluationCount = 0;
+	}
+}
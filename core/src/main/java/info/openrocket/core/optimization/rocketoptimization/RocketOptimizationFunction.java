@@ -2,7 +2,10 @@ package info.openrocket.core.optimization.rocketoptimization;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +41,11 @@ public class RocketOptimizationFunction implements Function {
 
 	private final List<RocketOptimizationListener> listeners = new ArrayList<>();
 
+	// The components modified by the modifiers, or null if the modifiers do not tell
+	private final Set<UUID> modifiedComponents;
+	// The simulation instance of each evaluating thread
+	private final ThreadLocal<Simulation> simulationInstances = new ThreadLocal<>();
+
 	/**
 	 * Sole constructor.
 	 * <p>
@@ -59,6 +67,17 @@ public class RocketOptimizationFunction implements Function {
 		if (modifiers.length == 0) {
 			throw new IllegalArgumentException("No SimulationModifiers specified");
 		}
+
+		Set<UUID> components = new LinkedHashSet<>();
+		for (SimulationModifier modifier : modifiers) {
+			UUID id = modifier.getModifiedComponentId();
+			if (id == null) {
+				components = null;
+				break;
+			}
+			components.add(id);
+		}
+		this.modifiedComponents = components;
 	}
 
 	@Override
@@ -79,7 +98,7 @@ public class RocketOptimizationFunction implements Function {
 					modifiers.length + " simulation modifiers");
 		}
 
-		final Simulation simulation = newSimulationInstance(baseSimulation);
+		final Simulation simulation = getSimulationInstance();
 
 		for (int i = 0; i < modifiers.length; i++) {
 			modifiers[i].modify(simulation, p[i]);
@@ -121,6 +140,34 @@ public class RocketOptimizationFunction implements Function {
 		return goalValue;
 	}
 
+	/**
+	 * Return the simulation to evaluate a point in.  Each thread reuses its simulation instance,
+	 * after restoring the components modified by its previous evaluation from the base simulation,
+	 * so the whole rocket is not copied for every evaluation.  A new instance is created if the
+	 * thread has none yet, or if the modified components cannot be restored.
+	 */
+	private Simulation getSimulationInstance() {
+		if (modifiedComponents == null) {
+			return newSimulationInstance(baseSimulation);
+		}
+
+		Simulation simulation = simulationInstances.get();
+		if (simulation != null) {
+			boolean restored;
+			synchronized (baseSimulation) {
+				restored = simulation.getRocket().restoreComponents(baseSimulation.getRocket(), modifiedComponents);
+			}
+			if (restored) {
+				return simulation;
+			}
+			log.debug("Modified components could not be restored, creating a new simulation instance");
+		}
+
+		simulation = newSimulationInstance(baseSimulation);
+		simulationInstances.set(simulation);
+		return simulation;
+	}
+
 	/**
 	 * Returns a new deep copy of the simulation and rocket.
 	 * <p>
@@ -129,7 +176,10 @@ public class RocketOptimizationFunction implements Function {
 	 * @return a new deep copy of the simulation and rocket
 	 */
 	Simulation newSimulationInstance(Simulation simulation) {
-		return simulation.duplicateSimulation(simulation.getRocket().copyWithOriginalID());
+		// Function evaluations may run concurrently, copy the base simulation in one thread at a time
+		synchronized (simulation) {
+			return simulation.duplicateSimulation(simulation.getRocket().copyWithOriginalID());
+		}
 	}
 
 	/**
@@ -1,5 +1,7 @@
 package info.openrocket.core.optimization.rocketoptimization;
 
+import java.util.UUID;
+
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.unit.UnitGroup;
@@ -113,6 +115,18 @@ public interface SimulationModifier extends ChangeSource {
 	 */
 	public void initialize(Simulation simulation) throws OptimizationException;
 
+	/**
+	 * Return the ID of the rocket component that {@link #modify(Simulation, double)} modifies.
+	 * This allows reusing a copy of a simulation for several modifications by restoring only the
+	 * modified component.
+	 * 
+	 * @return the ID of the modified component, or <code>null</code> if the modifier may modify
+	 *         other parts of the simulation
+	 */
+	public default UUID getModifiedComponentId() {
+		return null;
+	}
+
 	/**
 	 * Compare whether this SimulationModifier is equivalent to another simulation
 	 * modifier.
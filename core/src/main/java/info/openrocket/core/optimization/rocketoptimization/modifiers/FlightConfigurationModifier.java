@@ -66,6 +66,11 @@ public class FlightConfigurationModifier<E extends FlightConfigurableParameter<E
 
 	}
 
+	@Override
+	public UUID getModifiedComponentId() {
+		return componentId;
+	}
+
 	@Override
 	protected E getModifiedObject(Simulation simulation) throws OptimizationException {
 
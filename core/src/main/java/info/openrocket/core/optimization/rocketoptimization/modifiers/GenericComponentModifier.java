@@ -48,6 +48,11 @@ public class GenericComponentModifier extends GenericModifier<RocketComponent> {
 		this.componentId = componentId;
 	}
 
+	@Override
+	public UUID getModifiedComponentId() {
+		return componentId;
+	}
+
 	@Override
 	protected RocketComponent getModifiedObject(Simulation simulation) throws OptimizationException {
 		final RocketComponent c = simulation.getRocket().findComponent(componentId);
@@ -1,20 +1,237 @@
 package info.openrocket.core.plugin;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 
+import info.openrocket.core.arch.SystemInfo;
+
 /**
- * An AnnotationFinder that uses annotation-detector library to scan
- * the class path. Compatible with the JIJ loader.
+ * An AnnotationFinder that finds plugins from the plugin index generated at build time
+ * and scans only the user plugin JAR files for annotated types.
+ * <p>
+ * The plugin annotation processor writes the names of the plugin types of each build to the
+ * resource {@value #INDEX_RESOURCE}, and all these resources on the class path are read.  Plugin
+ * JAR files of the user may have been built without the processor, so they are scanned with
+ * ClassGraph.  The results of the scan are cached in the user application directory and reused
+ * as long as the modification time and size of the JAR file are unchanged.  If the index of the
+ * core or the swing classes is missing, e.g. when they were compiled without the processor, the
+ * whole class path is scanned.  Compatible with the JIJ loader.
  */
 public class AnnotationFinderImpl implements AnnotationFinder {
+	private static final Logger log = LoggerFactory.getLogger(AnnotationFinderImpl.class);
+
+	/** The resource the plugin annotation processor writes the plugin index to */
+	public static final String INDEX_RESOURCE = "META-INF/openrocket/plugins";
+
+	/** Classes of the class path entries that contain plugins, and must have a plugin index */
+	static final String[] INDEXED_CLASSES = {
+			"info.openrocket.core.plugin.AnnotationFinderImpl",
+			"info.openrocket.swing.startup.SwingStartup" };
+
+	private static final String CUSTOM_PLUGIN_PROPERTY = "openrocket.plugins";
+	private static final String CACHE_FILE = "PluginIndex.properties";
+	private static final String SEPARATOR = ",";
+
+	private final File cacheFile;
+
+	public AnnotationFinderImpl() {
+		this(null);
+	}
+
+	/**
+	 * @param cacheFile	the file caching the plugin types of the user plugin JAR files, or
+	 *                  <code>null</code> for the default file in the user application directory
+	 */
+	AnnotationFinderImpl(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
 
 	@Override
 	public List<Class<?>> findAnnotatedTypes(Class<? extends Annotation> annotation) {
+		ClassLoader loader = getClassLoader();
+		Set<String> names = null;
+		if (annotation == Plugin.class) {
+			names = readIndexes(loader);
+		}
+		if (names == null) {
+			log.info("Plugin index incomplete, scanning the class path for " + annotation.getName());
+			return scanClassPath(annotation);
+		}
+
+		names.addAll(scanPluginJars(annotation, cacheFile));
+
+		List<Class<?>> classes = new ArrayList<>(names.size());
+		for (String name : names) {
+			try {
+				classes.add(Class.forName(name, false, loader));
+			} catch (ClassNotFoundException | LinkageError e) {
+				log.warn("Unable to load plugin class " + name, e);
+			}
+		}
+		return classes;
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader != null ? loader : AnnotationFinderImpl.class.getClassLoader();
+	}
+
+	/**
+	 * Read the plugin type names of all plugin indexes on the class path.  The indexes are only
+	 * complete if the class path entries of all {@link #INDEXED_CLASSES} have one.
+	 *
+	 * @return the type names, or <code>null</code> if an index is missing
+	 */
+	static Set<String> readIndexes(ClassLoader loader) {
+		Set<String> names = new LinkedHashSet<>();
+		Set<String> indexes = new HashSet<>();
+		try {
+			Enumeration<URL> resources = loader.getResources(INDEX_RESOURCE);
+			while (resources.hasMoreElements()) {
+				URL url = resources.nextElement();
+				indexes.add(url.toString());
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						line = line.trim();
+						if (!line.isEmpty() && !line.startsWith("#")) {
+							names.add(line);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Unable to read plugin index", e);
+			return null;
+		}
+
+		for (String className : INDEXED_CLASSES) {
+			String classResource = className.replace('.', '/') + ".class";
+			URL url = loader.getResource(classResource);
+			if (url == null) {
+				continue;
+			}
+			String entry = url.toString();
+			entry = entry.substring(0, entry.length() - classResource.length());
+			if (!indexes.contains(entry + INDEX_RESOURCE)) {
+				log.info("No plugin index in " + entry);
+				return null;
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Scan the user plugin JAR files for annotated types, using the cached results of the
+	 * JAR files that have not changed since they were last scanned.
+	 */
+	private static List<String> scanPluginJars(Class<? extends Annotation> annotation, File cacheFile) {
+		List<File> jars = getPluginJars();
+		List<String> names = new ArrayList<>();
+		if (jars.isEmpty()) {
+			return names;
+		}
+
+		if (cacheFile == null) {
+			cacheFile = new File(SystemInfo.getUserApplicationDirectory(), CACHE_FILE);
+		}
+		Properties cache = loadCache(cacheFile);
+		Properties updated = new Properties();
+		boolean modified = false;
+		for (File jar : jars) {
+			String key = annotation.getName() + "|" + jar.getAbsolutePath();
+			String stamp = jar.lastModified() + SEPARATOR + jar.length();
+			String value = cache.getProperty(key);
+			if (value == null || !value.startsWith(stamp + SEPARATOR)) {
+				value = stamp + SEPARATOR + String.join(SEPARATOR, scanJar(jar, annotation));
+				modified = true;
+			}
+			updated.setProperty(key, value);
+
+			String[] fields = value.split(SEPARATOR);
+			for (int i = 2; i < fields.length; i++) {
+				if (!fields[i].isEmpty()) {
+					names.add(fields[i]);
+				}
+			}
+		}
+
+		if (modified || !updated.keySet().equals(cache.keySet())) {
+			saveCache(cacheFile, updated);
+		}
+		return names;
+	}
+
+	private static List<File> getPluginJars() {
+		List<File> jars = new ArrayList<>(PluginHelper.getPluginJars());
+		String prop = System.getProperty(CUSTOM_PLUGIN_PROPERTY);
+		if (prop != null) {
+			for (String s : prop.split(File.pathSeparator)) {
+				s = s.trim();
+				if (!s.isEmpty()) {
+					jars.add(new File(s));
+				}
+			}
+		}
+		jars.removeIf(f -> !f.isFile());
+		return jars;
+	}
+
+	private static List<String> scanJar(File jar, Class<? extends Annotation> annotation) {
+		log.info("Scanning plugin JAR file " + jar);
+		try (ScanResult scanResult = new ClassGraph().overrideClasspath(jar).enableAnnotationInfo().scan()) {
+			return scanResult.getClassesWithAnnotation(annotation.getName()).getNames();
+		} catch (RuntimeException e) {
+			log.warn("Unable to scan plugin JAR file " + jar, e);
+			return List.of();
+		}
+	}
+
+	private static Properties loadCache(File file) {
+		Properties cache = new Properties();
+		if (file.isFile()) {
+			try (InputStream in = new FileInputStream(file)) {
+				cache.load(in);
+			} catch (IOException | IllegalArgumentException e) {
+				log.warn("Unable to read plugin cache " + file, e);
+				cache.clear();
+			}
+		}
+		return cache;
+	}
+
+	private static void saveCache(File file, Properties cache) {
+		try (OutputStream out = new FileOutputStream(file)) {
+			cache.store(out, "Plugin types of the plugin JAR files, regenerated automatically");
+		} catch (IOException e) {
+			log.warn("Unable to write plugin cache " + file, e);
+		}
+	}
+
+	private static List<Class<?>> scanClassPath(Class<? extends Annotation> annotation) {
 		List<Class<?>> classes;
 		try (ScanResult scanResult = new ClassGraph().enableAllInfo().scan()) {
 			classes = new ArrayList<>(scanResult.getClassesWithAnnotation(annotation.getName()).loadClasses());
@@ -151,6 +151,8 @@ public abstract class ApplicationPreferences implements ChangeSource, ORPreferen
 	public static final String GRAVITY_MODEL = "GravityModel";
 	public static final String CONSTANT_GRAVITY_VALUE = "ConstantGravityValue";
 	public static final String SIMULATION_STEPPER_METHOD = "SimulationStepperMethod";
+	public static final String SIMULATION_PARALLEL_BRANCHES = "SimulationParallelBranches";
+	public static final String SIMULATION_RESULT_CACHE = "SimulationResultCache";
 
 	public static final String UI_THEME = "UITheme";
 
@@ -614,6 +616,28 @@ public abstract class ApplicationPreferences implements ChangeSource, ORPreferen
 		this.putEnum(SIMULATION_STEPPER_METHOD, choice);
 	}
 
+	/**
+	 * Return whether the branches of separated stages are simulated concurrently.
+	 */
+	public boolean getSimulationParallelBranches() {
+		return this.getBoolean(SIMULATION_PARALLEL_BRANCHES, false);
+	}
+
+	public void setSimulationParallelBranches(boolean parallel) {
+		this.putBoolean(SIMULATION_PARALLEL_BRANCHES, parallel);
+	}
+
+	/**
+	 * Return whether simulation results are taken from the result cache of the application.
+	 */
+	public boolean isSimulationResultCacheEnabled() {
+		return this.getBoolean(SIMULATION_RESULT_CACHE, true);
+	}
+
+	public void setSimulationResultCacheEnabled(boolean enabled) {
+		this.putBoolean(SIMULATION_RESULT_CACHE, enabled);
+	}
+
 
 	public double getTimeStep() {
 		return this.getDouble(ApplicationPreferences.SIMULATION_TIME_STEP, RK4SimulationStepper.RECOMMENDED_TIME_STEP);
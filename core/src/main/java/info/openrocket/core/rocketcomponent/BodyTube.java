@@ -527,8 +527,8 @@ public class BodyTube extends SymmetricComponent implements BoxBounded, MotorMou
 	}
 	
 	@Override
-	protected RocketComponent copyWithOriginalID() {
-		BodyTube copy = (BodyTube) super.copyWithOriginalID();
+	protected RocketComponent copyComponentWithOriginalID() {
+		BodyTube copy = (BodyTube) super.copyComponentWithOriginalID();
 
 		copy.motors = new MotorConfigurationSet(this.motors, copy);
 		return copy;
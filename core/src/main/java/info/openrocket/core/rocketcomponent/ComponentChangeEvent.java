@@ -1,6 +1,8 @@
 package info.openrocket.core.rocketcomponent;
 
+import java.util.Collection;
 import java.util.EventObject;
+import java.util.List;
 
 public class ComponentChangeEvent extends EventObject {
 	private static final long serialVersionUID = 1L;
@@ -68,10 +70,26 @@ public class ComponentChangeEvent extends EventObject {
 	// public static final int ALL_CHANGE = 0xFFFFFFFF;
 
 	private final int type;
+	private final Collection<RocketComponent> sources;
 
 	public ComponentChangeEvent(RocketComponent component, final int type) {
 		super(component);
 		this.type = type;
+		this.sources = null;
+	}
+
+	/**
+	 * Create an event that combines changes of several components, e.g. the changes made
+	 * while the rocket was frozen.
+	 *
+	 * @param component	the source component of the event
+	 * @param type		the type of the combined change
+	 * @param sources	all components that have been changed, including the source
+	 */
+	public ComponentChangeEvent(RocketComponent component, final int type, Collection<RocketComponent> sources) {
+		super(component);
+		this.type = type;
+		this.sources = List.copyOf(sources);
 	}
 
 	public ComponentChangeEvent(RocketComponent component, final ComponentChangeEvent.TYPE type) {
@@ -80,6 +98,7 @@ public class ComponentChangeEvent extends EventObject {
 			throw new IllegalArgumentException("no event type provided");
 		}
 		this.type = type.value;
+		this.sources = null;
 	}
 
 	public static TYPE getTypeEnum(final int typeNumber) {
@@ -99,6 +118,17 @@ public class ComponentChangeEvent extends EventObject {
 		return (RocketComponent) super.getSource();
 	}
 
+	/**
+	 * Return all components changed in this event.  This is the source component, unless the
+	 * event combines the changes of several components.
+	 */
+	public Collection<RocketComponent> getSources() {
+		if (sources == null) {
+			return List.of(getSource());
+		}
+		return sources;
+	}
+
 	public boolean isAerodynamicChange() {
 		return TYPE.AERODYNAMIC.matches(this.type);
 	}
@@ -86,6 +86,9 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 
 	private ModID modID = ModID.ZERO;
 
+	// Whether the stages, motors and instances above need to be updated before use
+	private boolean updateRequired = false;
+
 	/**
 	 * Create a Default configuration with the specified <code>Rocket</code>.
 	 *
@@ -129,6 +132,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	private void _setAllStages(final boolean _active) {
+		validate();
 		for (StageFlags cur : stages.values()) {
 			cur.active = _active;
 		}
@@ -137,6 +141,8 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	public void copyStages(FlightConfiguration other) {
+		validate();
+		other.validate();
 		for (StageFlags cur : other.stages.values())
 			stages.put(cur.stageNumber, new StageFlags(cur.stageNumber, cur.stageId, cur.active));
 		updateMotors();
@@ -149,6 +155,8 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 * @param other the configuration to copy the stage active flags from.
 	 */
 	public void copyStageActiveness(FlightConfiguration other) {
+		validate();
+		other.validate();
 		for (StageFlags flags : this.stages.values()) {
 			StageFlags otherFlags = other.stages.get(flags.stageNumber);
 			if (otherFlags != null) {
@@ -239,6 +247,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 *                          be activated as well.
 	 */
 	public void _setStageActive(final int stageNumber, final boolean _active, final boolean activateSubStages) {
+		validate();
 		if ((0 <= stageNumber) && (stages.containsKey(stageNumber))) {
 			stages.get(stageNumber).active = _active;
 			if (activateSubStages) {
@@ -266,6 +275,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	public void toggleStage(final int stageNumber) {
+		validate();
 		if ((0 <= stageNumber) && (stages.containsKey(stageNumber))) {
 			StageFlags flags = stages.get(stageNumber);
 			flags.active = !flags.active;
@@ -287,6 +297,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 		if (-1 == stageNumber) {
 			return true;
 		}
+		validate();
 
 		AxialStage stage = rocket.getStage(stageNumber);
 		return stage != null && stage.getChildCount() > 0 && // Stages with no children are marked as inactive
@@ -411,6 +422,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	public InstanceMap getActiveInstances() {
+		validate();
 		return activeInstances;
 	}
 
@@ -424,6 +436,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 *         present in {@link #getActiveInstances()}.
 	 */
 	public InstanceMap getExtraRenderInstances() {
+		validate();
 		return extraRenderInstances;
 	}
 
@@ -482,6 +495,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 * @return all the stages in this configuration.
 	 */
 	public List<AxialStage> getAllStages() {
+		validate();
 		List<AxialStage> stages = new ArrayList<>();
 		for (StageFlags flags : this.stages.values()) {
 			stages.add(rocket.getStage(flags.stageId));
@@ -490,6 +504,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	public List<AxialStage> getActiveStages() {
+		validate();
 		List<AxialStage> activeStages = new ArrayList<>();
 
 		for (StageFlags flags : this.stages.values()) {
@@ -513,6 +528,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 * @return the component for the bottom-most center, active stage.
 	 */
 	public AxialStage getBottomStage() {
+		validate();
 		AxialStage bottomStage = null;
 		for (StageFlags curFlags : this.stages.values()) {
 			if (isStageActive(curFlags.stageNumber)) {
@@ -523,6 +539,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	public int getStageCount() {
+		validate();
 		return stages.size();
 	}
 
@@ -560,9 +577,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 		boundsModID = ModID.INVALID;
 		refLengthModID = ModID.INVALID;
 
-		updateStages();
-		updateMotors();
-		updateActiveInstances();
+		update();
 	}
 
 	/**
@@ -572,6 +587,26 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 		modID = new ModID();
 	}
 
+	/**
+	 * Mark the stages, motors and active instances of this configuration as out of date.
+	 * They are updated when they are next accessed, so invalidating a configuration that
+	 * is not used is cheap.
+	 */
+	synchronized void invalidate() {
+		updateRequired = true;
+	}
+
+	/**
+	 * Update the stages, motors and active instances if the configuration has been invalidated.
+	 * Simulations running in parallel read the same configuration, so the update is done by
+	 * only one thread while the others wait for it.
+	 */
+	private synchronized void validate() {
+		if (updateRequired) {
+			update();
+		}
+	}
+
 	private void updateStages() {
 		Map<Integer, FlightConfiguration.StageFlags> stagesBackup = new HashMap<>(this.stages);
 		this.stages.clear();
@@ -647,24 +682,29 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 					new IllegalArgumentException("empty MotorInstance: " + motorConfig.toDebugDetail()));
 		}
 
+		validate();
 		this.motors.put(motorConfig.getID(), motorConfig);
 
 		modID = new ModID();
 	}
 
 	public boolean hasMotors() {
+		validate();
 		return !motors.isEmpty();
 	}
 
 	public Collection<MotorConfiguration> getAllMotors() {
+		validate();
 		return this.motors.values();
 	}
 
 	public Collection<MotorConfiguration> getActiveMotors() {
+		validate();
 		return activeMotors;
 	}
 
 	public void clearAllMotors() {
+		validate();
 		for (RocketComponent comp : getActiveComponents()) {
 			if ((comp instanceof MotorMount) && (((MotorMount) comp).isMotorMount())) {
 				MotorMount mount = (MotorMount) comp;
@@ -699,7 +739,8 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	}
 
 	@Override
-	public void update() {
+	public synchronized void update() {
+		updateRequired = false;
 		updateStages();
 		updateMotors();
 		updateActiveInstances();
@@ -926,6 +967,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 		final FlightConfigurationId copyId = copy.getId();
 
 		// copy motor instances.
+		validate();
 		for (final MotorConfiguration sourceMotor : motors.values()) {
 			MotorConfiguration cloneMotor = sourceMotor.copy(copyId);
 			copy.addMotor(cloneMotor);
@@ -978,6 +1020,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 
 	// DEBUG / DEVEL
 	public String toStageListDetail() {
+		validate();
 		StringBuilder buf = new StringBuilder();
 		buf.append(String.format("\nDumping %d stages for config: %s: (%s)(#: %d)\n",
 				stages.size(), getName(), getId().toShortKey(), configurationInstanceId));
@@ -993,6 +1036,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 
 	// DEBUG / DEVEL
 	public String toMotorDetail() {
+		validate();
 		StringBuilder buf = new StringBuilder();
 		buf.append(String.format("\nDumping %2d Motors for configuration %s (%s)(#: %s)\n",
 				motors.size(), getName(), getId().toShortKey(), this.configurationInstanceId));
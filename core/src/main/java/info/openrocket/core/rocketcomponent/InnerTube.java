@@ -434,8 +434,8 @@ public class InnerTube extends ThicknessRingComponent
 	}
 	
 	@Override
-	protected RocketComponent copyWithOriginalID() {
-		InnerTube copy = (InnerTube) super.copyWithOriginalID();
+	protected RocketComponent copyComponentWithOriginalID() {
+		InnerTube copy = (InnerTube) super.copyComponentWithOriginalID();
 		if( copy == this ){
 			new IllegalArgumentException(" copyWithOriginalID should return a different instance! ");
 		}
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.EventListener;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,12 @@ public class Rocket extends ComponentAssembly {
 	private ModID treeModID;
 	private ModID functionalModID;
 
+	/**
+	 * Modification ID of the component positions, used to cache the absolute component locations.
+	 * INVALID while a geometry change is being propagated to the components.
+	 */
+	private ModID positionModID = new ModID();
+
 	private boolean eventsEnabled = false;
 
 	private OpenRocketDocument document;
@@ -476,32 +483,41 @@ public class Rocket extends ComponentAssembly {
 	@Override
 	public Rocket copyWithOriginalID() {
 		final Rocket copyRocket = (Rocket) super.copyWithOriginalID();
+		copyRocket.initializeCopy(this);
+		return copyRocket;
+	}
 
+	/**
+	 * Set up the stages and flight configurations of a copy of the source rocket, after
+	 * the copies of the subcomponents have been added to it.  The copies must have the
+	 * original component IDs.
+	 *
+	 * @param source	the rocket this rocket was copied from
+	 */
+	void initializeCopy(Rocket source) {
 		// Rocket copy is cloned, so non-trivial members must be cloned as well:
-		copyRocket.stageMap = new ConcurrentHashMap<>();
-		for (Map.Entry<Integer,AxialStage> entry : this.stageMap.entrySet()){
-			final AxialStage stage = (AxialStage)copyRocket.findComponent(entry.getValue().getID());
+		this.stageMap = new ConcurrentHashMap<>();
+		for (Map.Entry<Integer,AxialStage> entry : source.stageMap.entrySet()){
+			final AxialStage stage = (AxialStage)this.findComponent(entry.getValue().getID());
 			if (stage == null) {
 				throw new IllegalStateException("Stage not found in copy");
 			}
-			copyRocket.stageMap.put(entry.getKey(), stage);
+			this.stageMap.put(entry.getKey(), stage);
 		}
 
 		// these flight configurations need to reference the _new_ Rocket copy
 		// the default value needs to be explicitly set, because it has different semantics
-		copyRocket.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(copyRocket));
-		for (FlightConfigurationId configID : this.configSet.getIds()) {
-			FlightConfiguration originalCfg = this.configSet.get(configID);
-			FlightConfiguration newCfg = new FlightConfiguration(copyRocket, configID);
+		this.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(this));
+		for (FlightConfigurationId configID : source.configSet.getIds()) {
+			FlightConfiguration originalCfg = source.configSet.get(configID);
+			FlightConfiguration newCfg = new FlightConfiguration(this, configID);
 			newCfg.setName(originalCfg.getNameRaw());			// Copy config name
 			newCfg.copyStageActiveness(originalCfg);
-			copyRocket.configSet.set(configID, newCfg);
+			this.configSet.set(configID, newCfg);
 		}
 
-		copyRocket.selectedConfiguration = copyRocket.configSet.get( this.getSelectedConfiguration().getId());
-		copyRocket.listenerList = new HashSet<>();
-		
-		return copyRocket;
+		this.selectedConfiguration = this.configSet.get( source.getSelectedConfiguration().getId());
+		this.listenerList = new HashSet<>();
 	}
 	
 	public int getFlightConfigurationCount() {
@@ -569,6 +585,63 @@ public class Rocket extends ComponentAssembly {
 		mutex.unlock("loadFrom");
 	}
 	
+	/**
+	 * Restore components of this rocket to the state of the corresponding components of the
+	 * source rocket.  The source must have the same structure and component IDs as this rocket,
+	 * like the rocket this rocket was copied from by {@link #copyWithOriginalID()}.  Each component
+	 * is replaced by a copy of the source component and its subcomponents, so a copy of a rocket
+	 * can be reused after modifying a few of its components without copying the whole rocket.
+	 * <p>
+	 * Components containing stages or pods are not restored, as the stages are tracked by the
+	 * rocket.  Nothing is changed if any of the components cannot be restored.  This method
+	 * fires a tree change event if the components were restored.
+	 *
+	 * @param source	the rocket to restore the components from
+	 * @param ids		the IDs of the components to restore
+	 * @return			<code>true</code> if the components were restored, <code>false</code> if
+	 * 					some of them were not found or contain stages or pods
+	 */
+	public boolean restoreComponents(Rocket source, Collection<UUID> ids) {
+		checkState();
+		for (UUID id : ids) {
+			RocketComponent target = this.findComponent(id);
+			RocketComponent original = source.findComponent(id);
+			if (target == null || original == null || target.parent == null
+					|| target.getClass() != original.getClass()
+					|| containsAssembly(target) || containsAssembly(original)) {
+				return false;
+			}
+		}
+		
+		mutex.lock("restoreComponents");
+		try {
+			for (UUID id : ids) {
+				RocketComponent target = this.findComponent(id);
+				RocketComponent parent = target.parent;
+				RocketComponent copy = source.findComponent(id).copyWithOriginalID();
+				parent.children.set(parent.children.indexOf(target), copy);
+				copy.parent = parent;
+				target.parent = null;
+			}
+			this.checkComponentStructure();
+			fireComponentChangeEvent(ComponentChangeEvent.TREE_CHANGE | ComponentChangeEvent.AEROMASS_CHANGE |
+					ComponentChangeEvent.MOTOR_CHANGE | ComponentChangeEvent.EVENT_CHANGE);
+		} finally {
+			mutex.unlock("restoreComponents");
+		}
+		return true;
+	}
+	
+	private static boolean containsAssembly(RocketComponent component) {
+		Iterator<RocketComponent> iterator = component.iterator(true);
+		while (iterator.hasNext()) {
+			if (iterator.next() instanceof ComponentAssembly) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	
 	
 	
@@ -647,6 +720,12 @@ public class Rocket extends ComponentAssembly {
 		try {
 			checkState();
 
+			// The components may be moved until they have all been notified
+			final boolean geometryChange = isGeometryChange(cce);
+			if (geometryChange) {
+				positionModID = ModID.INVALID;
+			}
+
 			// Update modification ID's only for normal (not undo/redo) events
 			if (!cce.isUndoChange()) {
 				modID = new ModID();
@@ -669,13 +748,18 @@ public class Rocket extends ComponentAssembly {
 				return;
 			}
 
-			// Notify all components first
-			Iterator<RocketComponent> iterator = this.iterator(true);
-			while (iterator.hasNext()) {
-				RocketComponent next = iterator.next();
-				next.componentChanged(cce);
+			// Notify all components first.  A change of the geometry may move or resize components
+			// anywhere in the tree, e.g. through automatic radii or relative positions, but other
+			// changes do not affect the cached data of the components.
+			if (geometryChange) {
+				Iterator<RocketComponent> iterator = this.iterator(true);
+				while (iterator.hasNext()) {
+					RocketComponent next = iterator.next();
+					next.componentChanged(cce);
+				}
+				positionModID = new ModID();
 			}
-			updateConfigurations(ids);
+			invalidateConfigurations(ids);
 
 			notifyAllListeners(cce);
 
@@ -688,12 +772,29 @@ public class Rocket extends ComponentAssembly {
 	protected void fireComponentChangeEvent(ComponentChangeEvent cce) {
 		fireComponentChangeEvent(cce, null);
 	}
+
+	/**
+	 * Return the modification ID of the positions of the components.  The ID changes whenever
+	 * a component may have been moved.  {@link ModID#INVALID} is returned when the positions
+	 * cannot be tracked, i.e. when events are disabled or a change is being propagated.
+	 */
+	ModID getPositionModID() {
+		return eventsEnabled ? positionModID : ModID.INVALID;
+	}
+
+	/**
+	 * Return whether the event may change the size, shape, position or structure of the components.
+	 */
+	private static boolean isGeometryChange(ComponentChangeEvent cce) {
+		return cce.isAerodynamicChange() || cce.isMassChange() || cce.isTreeChange() ||
+				cce.isTreeChildrenChange() || cce.isUndoChange();
+	}
 	
 	@Override
 	public void update() {
 		updateStageNumbers();
 		updateStageMap();
-		updateConfigurations();
+		invalidateConfigurations(null);
 	}
 
 	/**
@@ -737,30 +838,27 @@ public class Rocket extends ComponentAssembly {
 	}
 
 	/**
-	 * Update the flight configurations.
+	 * Mark the flight configurations out of date.  Each configuration updates its stages, motors
+	 * and instances when it is next used.
 	 *
-	 * @param ids IDs of the flight configurations to update, or null to update all.
+	 * @param ids IDs of the flight configurations to invalidate, or null to invalidate all.
 	 */
-	private void updateConfigurations(FlightConfigurationId[] ids) {
+	private void invalidateConfigurations(FlightConfigurationId[] ids) {
 		if (ids == null) {
 			for (FlightConfiguration config : configSet) {
-				config.update();
+				config.invalidate();
 			}
 			return;
 		}
 		for (FlightConfiguration config : configSet) {
 			for (FlightConfigurationId id : ids) {
 				if (config.getId().equals(id)) {
-					config.update();
+					config.invalidate();
 					break;
 				}
 			}
 		}
 	}
-	
-	private void updateConfigurations() {
-		updateConfigurations(null);
-	}
 
 	private void notifyAllListeners(final ComponentChangeEvent cce) {
 		// Copy the list before iterating to prevent concurrent modification exceptions.
@@ -833,13 +931,15 @@ public class Rocket extends ComponentAssembly {
 		
 		int type = 0;
 		Object c = null;
+		Set<RocketComponent> sources = new LinkedHashSet<>();
 		for (ComponentChangeEvent e : freezeList) {
 			type = type | e.getType();
 			c = e.getSource();
+			sources.addAll(e.getSources());
 		}
 		freezeList = null;
 		
-		fireComponentChangeEvent(new ComponentChangeEvent((RocketComponent) c, type));
+		fireComponentChangeEvent(new ComponentChangeEvent((RocketComponent) c, type, sources));
 	}
 	
 	
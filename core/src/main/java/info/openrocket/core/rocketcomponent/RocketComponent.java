@@ -1,7 +1,9 @@
 package info.openrocket.core.rocketcomponent;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.EventObject;
 import java.util.Iterator;
@@ -104,6 +106,15 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 */
 	protected CoordinateIF position = new Coordinate();
 
+	/*
+	 * Cached absolute instance locations and angles, valid while the position modification ID
+	 * of the rocket equals locationsModID.  See getComponentLocations().
+	 */
+	private ModID locationsModID = ModID.INVALID;
+	private CoordinateIF[] cachedLocations = null;
+	private CoordinateIF[] cachedAngles = null;
+	private List<CoordinateIF> cachedLocationList = null;
+
 	// ORColor of the component, null means to use the default color
 	private ORColor color = null;
 	private LineStyle lineStyle = null;
@@ -412,17 +423,48 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * undo/redo mechanism.  This method should not be used for other purposes,
 	 * such as copy/paste.  This method does not fire any events.
 	 * <p>
-	 * This method must be overridden by any component that refers to mutable objects,
-	 * or if some fields should not be copied.  This should be performed by
-	 * <code>RocketComponent c = super.copyWithOriginalID();</code> and then cloning/modifying
-	 * the appropriate fields.
+	 * Each component is copied by {@link #copyComponentWithOriginalID()}.
 	 * <p>
 	 * This is not performed as serializing/deserializing for performance reasons.
 	 *
 	 * @return A deep copy of the structure.
 	 */
 	protected RocketComponent copyWithOriginalID() {
+		RocketComponent clone = copyComponentWithOriginalID();
 		mutex.lock("copyWithOriginalID");
+		try {
+			checkState();
+
+			// Add copied children to the structure without firing events.
+			for (RocketComponent child : this.children) {
+				RocketComponent childCopy = child.copyWithOriginalID();
+				// Don't use addChild(...) method since it fires events
+				clone.children.add(childCopy);
+				childCopy.parent = clone;
+			}
+			
+			this.checkComponentStructure();
+			clone.checkComponentStructure();
+			
+			return clone;
+		} finally {
+			mutex.unlock("copyWithOriginalID");
+		}
+	}
+
+	/**
+	 * Make a copy of this component without its subcomponents while maintaining the
+	 * component ID.  The copy has no parent or children.  This method does not fire any events.
+	 * <p>
+	 * This method must be overridden by any component that refers to mutable objects,
+	 * or if some fields should not be copied.  This should be performed by
+	 * <code>RocketComponent c = super.copyComponentWithOriginalID();</code> and then
+	 * cloning/modifying the appropriate fields.
+	 *
+	 * @return A copy of this component.
+	 */
+	protected RocketComponent copyComponentWithOriginalID() {
+		mutex.lock("copyComponentWithOriginalID");
 		try {
 			checkState();
 			RocketComponent clone;
@@ -440,20 +482,9 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 			clone.parent = null;
 			clone.children = new ArrayList<>();
 			
-			// Add copied children to the structure without firing events.
-			for (RocketComponent child : this.children) {
-				RocketComponent childCopy = child.copyWithOriginalID();
-				// Don't use addChild(...) method since it fires events
-				clone.children.add(childCopy);
-				childCopy.parent = clone;
-			}
-			
-			this.checkComponentStructure();
-			clone.checkComponentStructure();
-			
 			return clone;
 		} finally {
-			mutex.unlock("copyWithOriginalID");
+			mutex.unlock("copyComponentWithOriginalID");
 		}
 	}
 
@@ -469,6 +500,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		// Make sure the config listeners aren't cloned
 		clone.configListeners = new LinkedList<>();
 		clone.bypassComponentChangeEvent = false;
+		clone.clearLocationCache();
 		return clone;
 	}
 	
@@ -1406,7 +1438,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		}
 
 		if(AxialMethod.ABSOLUTE == asMethod){
-			return this.getComponentLocations()[0].getX();
+			return this.getFirstComponentLocation().getX();
 		}else {
 			return asMethod.getAsOffset(this.position.getX(), getLength(), parentLength);
 		}
@@ -1507,7 +1539,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 			newX = requestedOffset;
 		} else if (AxialMethod.ABSOLUTE == requestedMethod) {
 			// in this case, this is simply the intended result
-			newX = requestedOffset - this.parent.getComponentLocations()[0].getX();
+			newX = requestedOffset - this.parent.getFirstComponentLocation().getX();
 		} else if (this.isAfter()) {
 			this.setAfter();
 			return;
@@ -1594,11 +1626,97 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * @return Coordinates of all instance locations in the rocket, relative to the rocket's origin
 	 */
 	public CoordinateIF[] getComponentLocations() {
+		return getCachedComponentLocations().clone();
+	}
+
+	/**
+	 * Provides a read-only view of the locations of all instances of the component, accounting for
+	 * all parent instancing, as returned by {@link #getComponentLocations()}.  The locations are
+	 * cached while the component is in a rocket, so repeated calls do not allocate memory.  The
+	 * returned list must not be kept after the rocket has been changed.
+	 *
+	 * @return Coordinates of all instance locations in the rocket, relative to the rocket's origin
+	 */
+	public List<CoordinateIF> getComponentLocationList() {
+		CoordinateIF[] locations = getCachedComponentLocations();
+		if (locations != cachedLocations) {
+			return Collections.unmodifiableList(Arrays.asList(locations));
+		}
+		if (cachedLocationList == null) {
+			cachedLocationList = Collections.unmodifiableList(Arrays.asList(locations));
+		}
+		return cachedLocationList;
+	}
+
+	/**
+	 * Return the absolute location of the first instance of this component.
+	 */
+	private CoordinateIF getFirstComponentLocation() {
+		return getCachedComponentLocations()[0];
+	}
+
+	/**
+	 * Return the absolute instance locations, from the cache if possible.  The returned array
+	 * must not be modified.
+	 */
+	private CoordinateIF[] getCachedComponentLocations() {
+		if (!validateLocationCache()) {
+			return computeComponentLocations();
+		}
+		if (cachedLocations == null) {
+			cachedLocations = computeComponentLocations();
+		}
+		return cachedLocations;
+	}
+
+	/**
+	 * Return the absolute instance angles, from the cache if possible.  The returned array
+	 * must not be modified.
+	 */
+	private CoordinateIF[] getCachedComponentAngles() {
+		if (!validateLocationCache()) {
+			return computeComponentAngles();
+		}
+		if (cachedAngles == null) {
+			cachedAngles = computeComponentAngles();
+		}
+		return cachedAngles;
+	}
+
+	/**
+	 * Clear the cached locations if the components of the rocket have moved since they were cached.
+	 *
+	 * @return whether the locations of this component may be cached
+	 */
+	private boolean validateLocationCache() {
+		final RocketComponent root = getRoot();
+		if (!(root instanceof Rocket)) {
+			return false;
+		}
+		final ModID positionModID = ((Rocket) root).getPositionModID();
+		if (positionModID == ModID.INVALID) {
+			return false;
+		}
+		if (positionModID != locationsModID) {
+			clearLocationCache();
+			locationsModID = positionModID;
+		}
+		return true;
+	}
+
+	private void clearLocationCache() {
+		locationsModID = ModID.INVALID;
+		cachedLocations = null;
+		cachedAngles = null;
+		cachedLocationList = null;
+	}
+
+	private CoordinateIF[] computeComponentLocations() {
 		if (this.parent == null) {
 			// == improperly initialized components OR the root Rocket instance 
 			return getInstanceOffsets();
 		} else {
-			CoordinateIF[] parentPositions = this.parent.getComponentLocations();
+			CoordinateIF[] parentPositions = this.parent.getCachedComponentLocations();
 			int parentCount = parentPositions.length;
 			
 			// override <instance>.getInstanceLocations() in each subclass
@@ -1606,7 +1724,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 			int instanceCount = instanceLocations.length;
 
 			// We also need to include the parent rotations
-			CoordinateIF[] parentRotations = this.parent.getComponentAngles();
+			CoordinateIF[] parentRotations = this.parent.getCachedComponentAngles();
 			
 			// usual case optimization
 			if ((parentCount == 1) && (instanceCount == 1)) {
@@ -1644,11 +1762,15 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * 	  			!!! OpenRocket rotations follow left-hand rule of rotation !!!
 	 */
 	public CoordinateIF[] getComponentAngles() {
+		return getCachedComponentAngles().clone();
+	}
+
+	private CoordinateIF[] computeComponentAngles() {
 		if (this.parent == null) {
 			// == improperly initialized components OR the root Rocket instance
 			return axialRotToCoord(getInstanceAngles());
 		} else {
-			CoordinateIF[] parentAngles = this.parent.getComponentAngles();
+			CoordinateIF[] parentAngles = this.parent.getCachedComponentAngles();
 			int parentCount = parentAngles.length;
 
 			// override <instance>.getInstanceAngles() in each subclass
@@ -1700,7 +1822,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		checkState();
 		final String lockText = "toAbsolute";
 		mutex.lock(lockText);
-		CoordinateIF[] thesePositions = this.getComponentLocations();
+		CoordinateIF[] thesePositions = this.getCachedComponentLocations();
 		
 		final int instanceCount = thesePositions.length;
 		
@@ -1739,10 +1861,11 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		
 		// not sure if this will give us an answer, or THE answer... 
 		//final Coordinate sourceLoc = this.getLocation()[0];
-		final CoordinateIF[] destLocs = dest.getComponentLocations();
+		final CoordinateIF[] destLocs = dest.getCachedComponentLocations();
+		final CoordinateIF sourceLoc = this.getFirstComponentLocation().add(c);
 		CoordinateIF[] toReturn = new CoordinateIF[destLocs.length];
 		for (int coordIndex = 0; coordIndex < destLocs.length; coordIndex++) {
-			toReturn[coordIndex] = this.getComponentLocations()[0].add(c).sub(destLocs[coordIndex]);
+			toReturn[coordIndex] = sourceLoc.sub(destLocs[coordIndex]);
 		}
 		
 		mutex.unlock("toRelative");
@@ -2973,6 +3096,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		this.length = src.length;
 		this.axialMethod = src.axialMethod;
 		this.position = src.position;
+		this.clearLocationCache();
 		this.color = src.color;
 		this.lineStyle = src.lineStyle;
 		this.overrideMass = src.overrideMass;
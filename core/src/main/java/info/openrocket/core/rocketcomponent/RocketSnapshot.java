@@ -0,0 +1,160 @@
+package info.openrocket.core.rocketcomponent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import info.openrocket.core.util.ModID;
+
+/**
+ * An immutable snapshot of the state of a rocket, used for the undo history.
+ * <p>
+ * The snapshot holds a copy of the rocket with the original component IDs.  Snapshots
+ * are created incrementally from the previous snapshot:  the copy of a component is shared
+ * with the previous snapshot if the component has not changed and its subcomponents are the
+ * same copies in the same order.  Only the changed components, their ancestors and the rocket
+ * itself are copied, so a snapshot costs roughly what has changed since the previous one.
+ * A copy is never shared if the component object has been replaced, even if the new object
+ * has the same ID.
+ * <p>
+ * The shared copies have no fixed parent.  Their parent links are set when the snapshot is
+ * created or restored, and the copies must not be used for anything else.
+ */
+public final class RocketSnapshot {
+
+	private final Rocket rocket;
+
+	/** The live components that have the state of the copies, by component ID */
+	private final Map<UUID, RocketComponent> originals;
+
+	private RocketSnapshot(Rocket rocket, Map<UUID, RocketComponent> originals) {
+		this.rocket = rocket;
+		this.originals = originals;
+	}
+
+	/**
+	 * Create a snapshot of the current state of the rocket.
+	 *
+	 * @param rocket	the rocket
+	 * @return			a snapshot copying all components of the rocket
+	 */
+	public static RocketSnapshot create(Rocket rocket) {
+		return create(rocket, null, List.of());
+	}
+
+	/**
+	 * Create a snapshot of the current state of the rocket, sharing the unchanged components
+	 * with the previous snapshot.  All components that have changed since the previous snapshot
+	 * was created must be included in the changed components; the structure of the component
+	 * tree and the rocket itself are always compared.
+	 *
+	 * @param rocket			the rocket
+	 * @param previous			the previous snapshot of the rocket, or <code>null</code> to copy all components
+	 * @param changedComponents	the IDs of the components changed since the previous snapshot
+	 * @return					the snapshot of the rocket
+	 */
+	public static RocketSnapshot create(Rocket rocket, RocketSnapshot previous, Collection<UUID> changedComponents) {
+		Map<UUID, RocketComponent> previousCopies = new HashMap<>();
+		Map<UUID, RocketComponent> previousOriginals = Map.of();
+		if (previous != null) {
+			for (RocketComponent child : previous.rocket.children) {
+				collectCopies(child, previousCopies);
+			}
+			previousOriginals = previous.originals;
+		}
+
+		Map<UUID, RocketComponent> originals = new HashMap<>();
+		Rocket copy = (Rocket) rocket.copyComponentWithOriginalID();
+		for (RocketComponent child : rocket.children) {
+			copy.children.add(copy(child, previousCopies, previousOriginals, changedComponents, originals));
+		}
+		linkParents(copy);
+		copy.initializeCopy(rocket);
+
+		return new RocketSnapshot(copy, originals);
+	}
+
+	/**
+	 * Return the modification ID of the rocket when the snapshot was created.
+	 */
+	public ModID getModID() {
+		return rocket.getModID();
+	}
+
+	/**
+	 * Load the state of this snapshot into the rocket with {@link Rocket#loadFrom(Rocket)}.
+	 * The rocket is loaded from a copy, as loading invalidates the source components, which
+	 * may be shared with other snapshots.
+	 *
+	 * @param target	the rocket to load the state into
+	 */
+	public void restore(Rocket target) {
+		linkParents(rocket);
+		target.loadFrom(rocket.copyWithOriginalID());
+
+		// The target now has new component objects with the state of this snapshot
+		originals.clear();
+		for (RocketComponent child : target.children) {
+			collectCopies(child, originals);
+		}
+	}
+
+	/**
+	 * Return the copy of the rocket held by this snapshot.  The copy must not be modified.
+	 */
+	Rocket getRocket() {
+		linkParents(rocket);
+		return rocket;
+	}
+
+	private static RocketComponent copy(RocketComponent component, Map<UUID, RocketComponent> previousCopies,
+			Map<UUID, RocketComponent> previousOriginals, Collection<UUID> changedComponents,
+			Map<UUID, RocketComponent> originals) {
+		List<RocketComponent> children = new ArrayList<>(component.children.size());
+		for (RocketComponent child : component.children) {
+			children.add(copy(child, previousCopies, previousOriginals, changedComponents, originals));
+		}
+		originals.put(component.getID(), component);
+
+		RocketComponent previous = previousCopies.get(component.getID());
+		if (previous != null && previousOriginals.get(component.getID()) == component &&
+				!changedComponents.contains(component.getID())) {
+			if (isSame(previous.children, children)) {
+				return previous;
+			}
+		}
+
+		RocketComponent copy = component.copyComponentWithOriginalID();
+		copy.children.addAll(children);
+		return copy;
+	}
+
+	private static boolean isSame(List<RocketComponent> list1, List<RocketComponent> list2) {
+		if (list1.size() != list2.size()) {
+			return false;
+		}
+		for (int i = 0; i < list1.size(); i++) {
+			if (list1.get(i) != list2.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void collectCopies(RocketComponent component, Map<UUID, RocketComponent> components) {
+		components.put(component.getID(), component);
+		for (RocketComponent child : component.children) {
+			collectCopies(child, components);
+		}
+	}
+
+	private static void linkParents(RocketComponent copy) {
+		for (RocketComponent child : copy.children) {
+			child.parent = copy;
+			linkParents(child);
+		}
+	}
+}
@@ -1,5 +1,12 @@
 package info.openrocket.core.simulation;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.CoordinateIF;
 import org.slf4j.Logger;
@@ -25,6 +32,27 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 
 	private final MutableCoordinate tempVelocity = new MutableCoordinate();
 	private final MutableCoordinate tempRotation = new MutableCoordinate();
+
+	// Intermediate status reused for the stages of each step
+	private SimulationStatus scratchStatus = null;
+
+	/**
+	 * Return an independent copy of a random number generator, which continues with the same
+	 * sequence of numbers as the original.
+	 */
+	protected static Random copyRandom(Random random) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(random);
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+				return (Random) in.readObject();
+			}
+		} catch (IOException | ClassNotFoundException e) {
+			throw new BugException("Unable to copy random number generator", e);
+		}
+	}
 	
 	/*
 	 * calculate acceleration at a given point in time
@@ -114,6 +142,23 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 	}
 
+	/**
+	 * Return the status object to use for an intermediate stage of a step, reset to a shallow
+	 * copy of the given status.  The same object is returned on every call, so it must not be
+	 * retained beyond the current stage.
+	 *
+	 * @param status	the status at the beginning of the step
+	 * @return			the intermediate status
+	 */
+	protected SimulationStatus getScratchStatus(SimulationStatus status) {
+		if (scratchStatus == null) {
+			scratchStatus = status.clone();
+		} else {
+			scratchStatus.copyFrom(status);
+		}
+		return scratchStatus;
+	}
+
 	/**
 	 * Compute the atmospheric conditions, allowing listeners to override.
 	 * 
@@ -215,7 +260,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return structureMass;
 		}
 
-		structureMass = MassCalculator.calculateStructure(status.getConfiguration());
+		MassCalculator massCalculator = status.getSimulationConditions().getMassCalculator();
+		if (massCalculator != null) {
+			structureMass = massCalculator.getStructureMass(status.getConfiguration());
+		} else {
+			structureMass = MassCalculator.calculateStructure(status.getConfiguration());
+		}
 
 		// Call post-listener
 		structureMass = SimulationListenerHelper.firePostMassCalculation(status, structureMass);
@@ -236,7 +286,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return motorMass;
 		}
 
-		motorMass = MassCalculator.calculateMotor(status);
+		MassCalculator massCalculator = status.getSimulationConditions().getMassCalculator();
+		if (massCalculator != null) {
+			motorMass = massCalculator.getMotorMass(status);
+		} else {
+			motorMass = MassCalculator.calculateMotor(status);
+		}
 
 				
 		// Call post-listener
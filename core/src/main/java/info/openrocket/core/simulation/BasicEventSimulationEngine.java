@@ -1,7 +1,14 @@
 package info.openrocket.core.simulation;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.motor.ThrustCurveMotor;
@@ -29,6 +36,7 @@ import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.SimulationListenerHelper;
 import info.openrocket.core.simulation.listeners.system.OptimumCoastListener;
 import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.Pair;
 
@@ -56,6 +64,25 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	// this is just a list of simulation branches to
 	Deque<SimulationStatus> toSimulate = new ArrayDeque<>();
 
+	// the branch simulated by this engine when simulating the branches in parallel, otherwise null
+	private BranchTask branch;
+
+	// the checkpoints of the simulation, null if no checkpoints are used
+	private SimulationCheckpoints checkpoints;
+
+	// the checkpoint the main branch is resumed from, null if simulated from launch
+	private SimulationCheckpoint resumeCheckpoint;
+
+	// whether checkpoints are taken, until the deployment of a recovery device is queued
+	private boolean takeCheckpoints;
+
+	// the events handled in the main branch that could deploy a recovery device
+	private final List<FlightEvent> deploymentTriggers = new ArrayList<>();
+
+	// launch position and velocity of the current branch
+	private CoordinateIF origin;
+	private CoordinateIF originVelocity;
+
 	FlightData flightData;
 	
 	@Override
@@ -64,13 +91,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		// Set up flight data
 		flightData = new FlightData();
 
-		// Choose which Runge Kutta Method to use according to the options.
-		SimulationStepperMethod stepperMethod = simulationConditions.getSimulation().getOptions().getSimulationStepperMethodChoice();
-		switch (stepperMethod) {
-			case RK4 -> flightStepper = new RK4SimulationStepper();
-			case RK6 -> flightStepper = new RK6SimulationStepper();
-			default -> throw new SimulationException("Unsupported simulation stepper method: " + stepperMethod);
-		}
+		flightStepper = createFlightStepper(simulationConditions);
+
+		checkpoints = simulationConditions.isParallelBranches() ? null : simulationConditions.getCheckpoints();
+		takeCheckpoints = checkpoints != null;
 
 		try {
 			// Set up rocket configuration
@@ -78,6 +102,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			FlightConfiguration origConfig = simulationConditions.getRocket().getFlightConfiguration(this.fcid);
 			FlightConfiguration simulationConfig = origConfig.clone(simulationConditions.getRocket().copyWithOriginalID());
 			simulationConfig.copyStages(origConfig); // Clone the stage activation configuration
+
+			if (checkpoints != null) {
+				resumeCheckpoint = checkpoints.startSimulation(simulationConfig);
+			}
 			
 			currentStatus = new SimulationStatus(simulationConfig, simulationConditions);
 			// main simulation branch. Need to watch for pathological case with no stages defined
@@ -91,56 +119,71 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			FlightDataBranch initialBranch = new FlightDataBranch( branchName, FlightDataType.TYPE_TIME);
 			currentStatus.setWarnings(flightData.getWarningSet());
 			currentStatus.setFlightDataBranch(initialBranch);
-			
-			// Sanity checks on design and configuration
-			
-			// Problems that keep us from simulating at all
-			
-			// No active stages
-			if (topStage == null) {
-				currentStatus.abortSimulation(SimulationAbort.Cause.NO_ACTIVE_STAGES);
-			}
-			
-			// No motors in configuration
-			if (!simulationConfig.hasMotors() ) {
-				currentStatus.abortSimulation(SimulationAbort.Cause.NO_MOTORS_DEFINED);
-			}
-			
-			// Problems that let us simulate, but result is likely bad
-			
-			// No recovery device
-			if (!simulationConfig.hasRecoveryDevice()) {
-				currentStatus.addWarning(Warning.NO_RECOVERY_DEVICE);
+
+			if (resumeCheckpoint != null) {
+				// Continue from the checkpoint, the sanity checks have been done before it
+				log.info("Resuming simulation from " + resumeCheckpoint);
+				resumeCheckpoint.restore(currentStatus, checkpoints.getBranch(), toSimulate, flightData.getWarningSet());
+				deploymentTriggers.addAll(resumeCheckpoint.getDeploymentTriggers());
+			} else {
+				// Sanity checks on design and configuration
+
+				// Problems that keep us from simulating at all
+
+				// No active stages
+				if (topStage == null) {
+					currentStatus.abortSimulation(SimulationAbort.Cause.NO_ACTIVE_STAGES);
+				}
+
+				// No motors in configuration
+				if (!simulationConfig.hasMotors() ) {
+					currentStatus.abortSimulation(SimulationAbort.Cause.NO_MOTORS_DEFINED);
+				}
+
+				// Problems that let us simulate, but result is likely bad
+
+				// No recovery device
+				if (!simulationConfig.hasRecoveryDevice()) {
+					currentStatus.addWarning(Warning.NO_RECOVERY_DEVICE);
+				}
+
+				currentStatus.addEvent(new FlightEvent(FlightEvent.Type.LAUNCH, 0, simulationConditions.getRocket()));
 			}
-			
-			currentStatus.addEvent(new FlightEvent(FlightEvent.Type.LAUNCH, 0, simulationConditions.getRocket()));
 			toSimulate.push(currentStatus);
 		
 			SimulationListenerHelper.fireStartSimulation(currentStatus);
-			do {
-				if (toSimulate.peek() == null) {
-					break;
-				}
-				currentStatus = toSimulate.pop();
-				currentStatus.setWarnings(flightData.getWarningSet());
-				FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
-				flightData.addBranch(dataBranch);
+			if (simulationConditions.isParallelBranches()) {
+				simulateBranchesInParallel(simulationConditions);
+			} else {
+				do {
+					if (toSimulate.peek() == null) {
+						break;
+					}
+					currentStatus = toSimulate.pop();
+					currentStatus.setWarnings(flightData.getWarningSet());
+					FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
+					flightData.addBranch(dataBranch);
 
-				log.info(">>Starting simulation of branch: " + currentStatus.getFlightDataBranch().getName());
-				simulateLoop(simulationConditions);
+					log.info(">>Starting simulation of branch: " + currentStatus.getFlightDataBranch().getName());
+					simulateLoop(simulationConditions);
 				
-				dataBranch.immute();
-				log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s",
-									   dataBranch.getName(),
-									   currentStatus.getSimulationTime(),
-									   dataBranch.getLast(FlightDataType.TYPE_TIME)));
+					dataBranch.immute();
+					log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s",
+										   dataBranch.getName(),
+										   currentStatus.getSimulationTime(),
+										   dataBranch.getLast(FlightDataType.TYPE_TIME)));
 				
 				
-				// Did the branch generate any data?
-				if (dataBranch.getLength() == 0) {
-					flightData.getWarningSet().add(Warning.EMPTY_BRANCH, dataBranch.getName());
-				}
-			} while (!toSimulate.isEmpty());
+					// Did the branch generate any data?
+					if (dataBranch.getLength() == 0) {
+						flightData.getWarningSet().add(Warning.EMPTY_BRANCH, dataBranch.getName());
+					}
+				} while (!toSimulate.isEmpty());
+			}
+
+			if (checkpoints != null) {
+				checkpoints.finishSimulation(flightData.getBranch(0));
+			}
 			
 			SimulationListenerHelper.fireEndSimulation(currentStatus, null);
 			
@@ -155,6 +198,64 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		}
 	}
 	
+	/**
+	 * Choose which Runge Kutta Method to use according to the options.
+	 */
+	private static SimulationStepper createFlightStepper(SimulationConditions simulationConditions)
+			throws SimulationException {
+		SimulationStepperMethod stepperMethod = simulationConditions.getSimulation().getOptions().getSimulationStepperMethodChoice();
+		return switch (stepperMethod) {
+			case RK4 -> new RK4SimulationStepper();
+			case RK6 -> new RK6SimulationStepper();
+			case RK45 -> new RK45SimulationStepper();
+			default -> throw new SimulationException("Unsupported simulation stepper method: " + stepperMethod);
+		};
+	}
+
+	/**
+	 * Simulate the branch on top of the stack and all branches separating from it concurrently.
+	 * Each branch is simulated by its own engine with its own steppers, aerodynamic and mass
+	 * calculators and wind model.  The branches and their warnings are added to the flight data
+	 * in the same order as when simulating the branches one after another, and the simulation
+	 * fails with the exception of the first failed branch in that order.
+	 */
+	private void simulateBranchesInParallel(SimulationConditions simulationConditions) throws SimulationException {
+		AtomicBoolean cancelled = new AtomicBoolean(false);
+		Deque<BranchTask> stack = new ArrayDeque<>();
+		stack.push(new BranchTask(toSimulate.pop(), simulationConditions, cancelled));
+		try {
+			while (!stack.isEmpty()) {
+				BranchTask task = stack.pop();
+				currentStatus = task.status;
+				FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
+				flightData.addBranch(dataBranch);
+
+				// Run the branch on this thread unless a worker has already started it
+				task.run();
+				try {
+					currentStatus = task.get();
+				} finally {
+					WarningSet warnings = task.status.getWarnings();
+					if (warnings != flightData.getWarningSet()) {
+						flightData.getWarningSet().addAll(warnings);
+					}
+				}
+
+				if (dataBranch.getLength() == 0) {
+					flightData.getWarningSet().add(Warning.EMPTY_BRANCH, dataBranch.getName());
+				}
+
+				// The children are complete once the branch has been simulated
+				for (BranchTask child : task.children) {
+					stack.push(child);
+				}
+			}
+		} finally {
+			// Do not start branches whose results are not needed anymore
+			cancelled.set(true);
+		}
+	}
+
 	private void simulateLoop(SimulationConditions simulationConditions) throws SimulationException {
 		// Initialize the simulation.
 
@@ -178,12 +279,25 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		double previousSimulationTime = currentStatus.getSimulationTime();
 		
 		// Get originating position (in case listener has modified launch position)
-		CoordinateIF origin = currentStatus.getRocketPosition();
-		CoordinateIF originVelocity = currentStatus.getRocketVelocity();
+		origin = currentStatus.getRocketPosition();
+		originVelocity = currentStatus.getRocketVelocity();
+
+		// Continue the flight of the checkpoint the branch is resumed from
+		SimulationCheckpoint checkpoint = resumeCheckpoint;
+		resumeCheckpoint = null;
+		if (checkpoint != null) {
+			currentStepper.restoreState(checkpoint.getStepperState());
+			currentStatus.setMaxAlt(checkpoint.getMaxAlt());
+			currentStatus.setMaxAltTime(checkpoint.getMaxAltTime());
+			origin = checkpoint.getOrigin();
+			originVelocity = checkpoint.getOriginVelocity();
+		}
 		
 		try {
 
-			checkGeometry(currentStatus);
+			if (checkpoint == null) {
+				checkGeometry(currentStatus);
+			}
 			
 			// Start the simulation
 			while (handleEvents(simulationConditions)) {
@@ -337,6 +451,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			log.trace("Obtained event from queue:  " + event.toString());
 			log.trace("Remaining EventQueue = " + currentStatus.getEventQueue().toString());
 
+			if (takeCheckpoints && currentStatus.getFlightDataBranch() == flightData.getBranch(0)) {
+				takeCheckpoint(event);
+			}
+
 			// Check for motor ignition events, add ignition events to queue
 			for (MotorClusterState state : currentStatus.getActiveMotors() ){
 				if (state.testForIgnition(currentStatus.getConfiguration(), event)) {
@@ -534,7 +652,11 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 						boosterStatus.getConfiguration().clearStagesAbove(stageNumber);
 						boosterStatus.removeUnattachedEvents();
 						
-						toSimulate.push(boosterStatus);
+						if (branch != null) {
+							branch.fork(boosterStatus);
+						} else {
+							toSimulate.push(boosterStatus);
+						}
 
 					// Make sure upper stages can still be simulated
 					checkGeometry(currentStatus);
@@ -685,6 +807,49 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	
 
 	
+	/**
+	 * Take a checkpoint of the main branch before handling the event if it is a burnout, ejection
+	 * charge, stage separation or apogee event, and record the events that could deploy a
+	 * recovery device.  No checkpoints are taken once the deployment of a recovery device has
+	 * been queued, as the flight after it depends on the recovery devices.
+	 */
+	private void takeCheckpoint(FlightEvent event) {
+		if (isDeploymentQueued(event)) {
+			takeCheckpoints = false;
+			return;
+		}
+
+		switch (event.getType()) {
+			case BURNOUT, EJECTION_CHARGE, STAGE_SEPARATION, APOGEE -> {
+				SimulationCheckpoint checkpoint = new SimulationCheckpoint(event, currentStatus, toSimulate,
+						flightData.getWarningSet(), currentStepper.saveState(), origin, originVelocity, deploymentTriggers);
+				log.debug("Taking " + checkpoint);
+				checkpoints.addCheckpoint(checkpoint);
+			}
+			default -> {
+			}
+		}
+
+		// Altitude events deploy recovery devices only when descending
+		if (event.getType() != FlightEvent.Type.ALTITUDE ||
+				(event.getData() instanceof Pair<?, ?> altitude && (Double) altitude.getU() >= (Double) altitude.getV())) {
+			deploymentTriggers.add(event);
+		}
+	}
+
+	private boolean isDeploymentQueued(FlightEvent event) {
+		if (event.getType() == FlightEvent.Type.RECOVERY_DEVICE_DEPLOYMENT ||
+				!currentStatus.getDeployedRecoveryDevices().isEmpty()) {
+			return true;
+		}
+		for (FlightEvent queued : currentStatus.getEventQueue()) {
+			if (queued.getType() == FlightEvent.Type.RECOVERY_DEVICE_DEPLOYMENT) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Return the next flight event to handle, or null if no more events should be
 	 * handled.
@@ -769,6 +934,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		try {
 			SimulationConditions conds = currentStatus.getSimulationConditions().clone();
 			conds.getSimulationListenerList().add(OptimumCoastListener.INSTANCE);
+			conds.setCheckpoints(null);
 			BasicEventSimulationEngine coastEngine = new BasicEventSimulationEngine();
 		
 			coastEngine.simulate(conds);
@@ -784,4 +950,97 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	public FlightData getFlightData() {
 		return flightData;
 	}
+
+	/**
+	 * A simulation branch simulated concurrently with the other branches.  The branches separating
+	 * from it are recorded in the order of separation and submitted to the common pool as soon as
+	 * they are created.  The thread collecting the results runs any branch not yet started by the
+	 * pool itself, so that the simulation makes progress even if the pool is busy.
+	 */
+	private static class BranchTask {
+		private final SimulationStatus status;
+		private final SimulationConditions simulationConditions;
+		private final FutureTask<SimulationStatus> future;
+		private final List<BranchTask> children = new ArrayList<>();
+		private final AtomicBoolean cancelled;
+
+		BranchTask(SimulationStatus status, SimulationConditions simulationConditions, AtomicBoolean cancelled) {
+			this.status = status;
+			this.simulationConditions = simulationConditions;
+			this.cancelled = cancelled;
+			this.future = new FutureTask<>(() -> {
+				if (cancelled.get()) {
+					throw new CancellationException();
+				}
+				return new BasicEventSimulationEngine().simulateBranch(this);
+			});
+		}
+
+		/**
+		 * Create a concurrently simulated branch.  The branch gets its own copies of the models
+		 * that cache state during the simulation.
+		 */
+		void fork(SimulationStatus boosterStatus) {
+			SimulationConditions conditions = boosterStatus.getSimulationConditions();
+			conditions.setAerodynamicCalculator(conditions.getAerodynamicCalculator().newInstance());
+			conditions.setMassCalculator(conditions.getMassCalculator().newInstance());
+			if (conditions.getWindModel() != null) {
+				conditions.setWindModel(conditions.getWindModel().clone());
+			}
+
+			BranchTask child = new BranchTask(boosterStatus, simulationConditions, cancelled);
+			children.add(child);
+			if (!cancelled.get()) {
+				ForkJoinPool.commonPool().execute(child.future);
+			}
+		}
+
+		void run() {
+			future.run();
+		}
+
+		SimulationStatus get() throws SimulationException {
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new BugException("Interrupted while waiting for simulation branch", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SimulationException) {
+					throw (SimulationException) cause;
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new BugException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Simulate a single branch as part of simulating the branches in parallel.
+	 *
+	 * @return the status at the end of the branch
+	 */
+	private SimulationStatus simulateBranch(BranchTask branch) throws SimulationException {
+		SimulationConditions simulationConditions = branch.simulationConditions;
+		this.branch = branch;
+		this.fcid = simulationConditions.getFlightConfigurationID();
+		this.flightData = new FlightData();
+		this.flightStepper = createFlightStepper(simulationConditions);
+		this.currentStatus = branch.status;
+
+		log.info(">>Starting simulation of branch: " + currentStatus.getFlightDataBranch().getName());
+		simulateLoop(simulationConditions);
+
+		FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
+		dataBranch.immute();
+		log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s",
+							   dataBranch.getName(),
+							   currentStatus.getSimulationTime(),
+							   dataBranch.getLast(FlightDataType.TYPE_TIME)));
+		return currentStatus;
+	}
 }
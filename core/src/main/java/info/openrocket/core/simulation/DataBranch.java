@@ -5,27 +5,58 @@ import info.openrocket.core.util.ModID;
 import info.openrocket.core.util.Monitorable;
 import info.openrocket.core.util.Mutable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.RandomAccess;
 
 /**
  * A branch of data / collection of data points for a specific type of data.
+ * <p>
+ * The data is stored column-wise in primitive <code>double[]</code> arrays.  Every data type
+ * is assigned a dense integer slot when it is registered to the branch, and the slot can be
+ * used with {@link #setValue(int, double)} and {@link #getValue(int, int)} to access the data
+ * without any hash lookups or boxing.  Running minimum and maximum values are tracked per slot.
+ * <p>
+ * The data points of a branch may be loaded lazily by a {@link ColumnLoader}, for instance
+ * when a document is opened.  The types of the branch are known up front, and the data points
+ * are loaded the first time any of them, the length or the extreme values are accessed.
+ *
  * @param <T> the type of data in this branch
  */
 public abstract class DataBranch<T extends DataType> implements Monitorable {
+	private static final Logger log = LoggerFactory.getLogger(DataBranch.class);
+	private static final int INITIAL_CAPACITY = 64;
+
 	protected final String name;
-	protected final Map<T, ArrayList<Double>> values = new LinkedHashMap<>();
-	protected final Map<T, Double> maxValues = new HashMap<>();
-	protected final Map<T, Double> minValues = new HashMap<>();
+
+	// Slot assignment of the data types, in registration order
+	private final Map<T, Integer> slots = new HashMap<>();
+	private final ArrayList<T> slotTypes = new ArrayList<>();
+
+	// Column storage, indexed by slot
+	private double[][] columns = new double[0][];
+	private double[] minValues = new double[0];
+	private double[] maxValues = new double[0];
+	private int length = 0;
+	private int capacity = INITIAL_CAPACITY;
+
+	// Loader of the data points, or null once they have been loaded
+	private volatile ColumnLoader columnLoader;
+	// Whether loading the data points failed
+	private volatile boolean dataUnavailable = false;
 
 	protected final Mutable mutable = new Mutable();
 	protected ModID modID = ModID.INVALID;
+	private boolean modIDStale = false;
 
 	/**
 	 * Sole constructor.  Defines the name of the DataBranch and at least one variable type.
@@ -51,42 +82,96 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	}
 
 	public void addType(T type) {
-		if (values.containsKey(type)) {
+		if (slots.containsKey(type)) {
 			throw new IllegalArgumentException("Value type " + type + " already exists.");
 		}
 
-		values.put(type, new ArrayList<>());
-		minValues.put(type, Double.NaN);
-		maxValues.put(type, Double.NaN);
+		registerSlot(type);
 	}
 
 	/**
-	 * Adds a new point into the data branch.  The value for all types is set to NaN by default.
+	 * Return the storage slot of the given data type, registering the type to this branch if
+	 * it has not yet been added.  The slot of a type never changes during the lifetime of the
+	 * branch, so it can be looked up once and then used for repeated access.
 	 *
-	 * @throws IllegalStateException	if this object has been made immutable.
+	 * @param type	the data type.
+	 * @return		the slot of the data type.
+	 * @throws IllegalStateException	if the type is new and this object has been made immutable.
 	 */
-	public void addPoint() {
-		mutable.check();
-		for (Map.Entry<T, ArrayList<Double>> entry : values.entrySet()) {
-			sanityCheckValues(entry.getKey(), Double.NaN);
-			entry.getValue().add(Double.NaN);
+	public int getOrCreateSlot(T type) {
+		Integer slot = slots.get(type);
+		if (slot != null) {
+			return slot;
 		}
-		modID = new ModID();
+		mutable.check();
+		return registerSlot(type);
 	}
 
-	private void sanityCheckValues(T type, Double value) {
-		ArrayList<Double> list = values.get(type);
+	/**
+	 * Return the storage slot of the given data type.
+	 *
+	 * @param type	the data type.
+	 * @return		the slot of the data type, or -1 if the type hasn't been added to this branch.
+	 */
+	public int getSlot(T type) {
+		Integer slot = slots.get(type);
+		return slot != null ? slot : -1;
+	}
+
+	/**
+	 * Return the data type stored in the given slot.
+	 *
+	 * @param slot	the storage slot.
+	 * @return		the data type of the slot.
+	 */
+	public T getSlotType(int slot) {
+		return slotTypes.get(slot);
+	}
 
-		if (list == null) {
-			list = new info.openrocket.core.util.ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				list.add(Double.NaN);
+	/**
+	 * Return the number of data types (slots) in this branch.
+	 */
+	public int getTypeCount() {
+		return slotTypes.size();
+	}
+
+	private int registerSlot(T type) {
+		final int slot = slotTypes.size();
+		slots.put(type, slot);
+		slotTypes.add(type);
+
+		double[] column = new double[capacity];
+		Arrays.fill(column, 0, length, Double.NaN);
+
+		columns = Arrays.copyOf(columns, slot + 1);
+		columns[slot] = column;
+		minValues = Arrays.copyOf(minValues, slot + 1);
+		minValues[slot] = Double.NaN;
+		maxValues = Arrays.copyOf(maxValues, slot + 1);
+		maxValues[slot] = Double.NaN;
+
+		return slot;
+	}
+
+	/**
+	 * Adds a new point into the data branch.  The value for all types is set to NaN by default.
+	 *
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void addPoint() {
+		mutable.check();
+		ensureLoaded();
+		if (length == capacity) {
+			capacity = capacity + (capacity >> 1);
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], capacity);
 			}
-			values.put(type, list);
-			minValues.put(type, value);
-			maxValues.put(type, value);
 		}
+		for (double[] column : columns) {
+			column[length] = Double.NaN;
+		}
+		length++;
+		markModified();
 	}
 
 	/**
@@ -99,34 +184,181 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 */
 	public void setValue(T type, double value) {
 		mutable.check();
+		setValue(getOrCreateSlot(type), value);
+	}
 
-		ArrayList<Double> list = values.computeIfAbsent(type, k -> {
-			ArrayList<Double> newList = new ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				newList.add(Double.NaN);
-			}
-			minValues.put(k, Double.NaN);
-			maxValues.put(k, Double.NaN);
-			return newList;
-		});
+	/**
+	 * Set the value of the data type in the given slot at the latest point.
+	 *
+	 * @param slot		the storage slot, as returned by {@link #getOrCreateSlot(DataType)}.
+	 * @param value		the value to set.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void setValue(int slot, double value) {
+		mutable.check();
+		ensureLoaded();
 
-		if (list.size() > 0) {
-			list.set(list.size() - 1, value);
+		if (length > 0) {
+			columns[slot][length - 1] = value;
 		}
 
-		double min = minValues.get(type);
-		double max = maxValues.get(type);
+		double min = minValues[slot];
+		double max = maxValues[slot];
 
 		if (Double.isNaN(min) || (value < min)) {
-			minValues.put(type, value);
+			minValues[slot] = value;
 		}
 		if (Double.isNaN(max) || (value > max)) {
-			maxValues.put(type, value);
+			maxValues[slot] = value;
+		}
+		markModified();
+	}
+
+	/**
+	 * Remove all data points and data types from this branch.
+	 *
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	protected void clearValues() {
+		mutable.check();
+		columnLoader = null;
+		dataUnavailable = false;
+		slots.clear();
+		slotTypes.clear();
+		columns = new double[0][];
+		minValues = new double[0];
+		maxValues = new double[0];
+		length = 0;
+		capacity = INITIAL_CAPACITY;
+		markModified();
+	}
+
+	/**
+	 * Replace the data of this branch with a copy of the data of another branch.  The slots
+	 * of the source branch are retained.
+	 *
+	 * @param src	the branch to copy the data from.
+	 */
+	protected void copyValuesFrom(DataBranch<T> src) {
+		slots.clear();
+		slots.putAll(src.slots);
+		slotTypes.clear();
+		slotTypes.addAll(src.slotTypes);
+
+		// Share the loader of a branch whose data points have not been loaded
+		ColumnLoader loader = src.columnLoader;
+		dataUnavailable = src.dataUnavailable;
+		if (loader != null) {
+			columns = new double[slotTypes.size()][INITIAL_CAPACITY];
+			minValues = new double[columns.length];
+			maxValues = new double[columns.length];
+			Arrays.fill(minValues, Double.NaN);
+			Arrays.fill(maxValues, Double.NaN);
+			length = 0;
+			capacity = INITIAL_CAPACITY;
+			columnLoader = loader;
+			return;
 		}
-		modID = new ModID();
+
+		columnLoader = null;
+		capacity = Math.max(src.length, INITIAL_CAPACITY);
+		columns = new double[src.columns.length][];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Arrays.copyOf(src.columns[i], capacity);
+		}
+		minValues = src.minValues.clone();
+		maxValues = src.maxValues.clone();
+		length = src.length;
 	}
 
+	/**
+	 * Replace the data of this branch with a copy of the first data points of another branch.
+	 * The slots of the source branch are retained.
+	 *
+	 * @param src		the branch to copy the data from.
+	 * @param length	the number of data points to copy.
+	 */
+	protected void copyValuesFrom(DataBranch<T> src, int length) {
+		src.ensureLoaded();
+		columnLoader = null;
+		dataUnavailable = src.dataUnavailable;
+		if (length > src.length) {
+			throw new IllegalArgumentException("Branch has only " + src.getLength() + " points, requested " + length);
+		}
+		slots.clear();
+		slots.putAll(src.slots);
+		slotTypes.clear();
+		slotTypes.addAll(src.slotTypes);
+		capacity = Math.max(length, INITIAL_CAPACITY);
+		columns = new double[src.columns.length][];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Arrays.copyOf(src.columns[i], capacity);
+		}
+		this.length = length;
+		computeExtremes();
+		markModified();
+	}
+
+	/**
+	 * Replace the data points of this branch with the given columns.  The arrays are used as
+	 * the storage of the branch without copying, so they must not be modified afterwards.
+	 *
+	 * @param length	the number of data points.
+	 * @param values	the values of each slot, each array holding at least <code>length</code> values.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 * @throws IllegalArgumentException	if the number or the lengths of the arrays do not match.
+	 */
+	public void setColumns(int length, double[][] values) {
+		mutable.check();
+		columnLoader = null;
+		dataUnavailable = false;
+		storeColumns(length, values);
+		markModified();
+	}
+
+	private void storeColumns(int length, double[][] values) {
+		if (values.length != slotTypes.size()) {
+			throw new IllegalArgumentException("Branch has " + slotTypes.size() + " types, got " + values.length + " columns");
+		}
+		int newCapacity = values.length > 0 ? Integer.MAX_VALUE : length;
+		for (double[] column : values) {
+			if (column.length < length) {
+				throw new IllegalArgumentException("Column has only " + column.length + " values, requested " + length);
+			}
+			newCapacity = Math.min(newCapacity, column.length);
+		}
+		if (newCapacity < INITIAL_CAPACITY) {
+			newCapacity = INITIAL_CAPACITY;
+			values = values.clone();
+			for (int i = 0; i < values.length; i++) {
+				values[i] = Arrays.copyOf(values[i], newCapacity);
+			}
+		}
+		columns = values;
+		capacity = newCapacity;
+		this.length = length;
+		computeExtremes();
+	}
+
+	private void computeExtremes() {
+		minValues = new double[columns.length];
+		maxValues = new double[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			double min = Double.NaN;
+			double max = Double.NaN;
+			for (int j = 0; j < length; j++) {
+				double value = columns[i][j];
+				if (Double.isNaN(min) || (value < min)) {
+					min = value;
+				}
+				if (Double.isNaN(max) || (value > max)) {
+					max = value;
+				}
+			}
+			minValues[i] = min;
+			maxValues[i] = max;
+		}
+	}
 
 	/**
 	 * Return an array of values for the specified variable type.
@@ -136,10 +368,16 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * 				the variable type hasn't been added to this branch.
 	 */
 	public List<Double> getClone(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null)
+		ensureLoaded();
+		Integer slot = slots.get(type);
+		if (slot == null)
 			return null;
-		return list.clone();
+		final double[] column = columns[slot];
+		ArrayList<Double> list = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			list.add(column[i]);
+		}
+		return list;
 	}
 
 	/**
@@ -150,11 +388,30 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * 				the variable type hasn't been added to this branch.
 	 */
 	public List<Double> get(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null) {
+		ensureLoaded();
+		Integer slot = slots.get(type);
+		if (slot == null) {
 			return null;
 		}
-		return Collections.unmodifiableList(list);
+		return new ColumnView(slot);
+	}
+
+	/**
+	 * Return a read-only buffer of the values for the specified type without copying the data.
+	 * The buffer covers the data points present at the time of the call; values set to the last
+	 * point afterwards may or may not be visible through the buffer.
+	 *
+	 * @param type	the variable type.
+	 * @return		a read-only buffer backed by the internal storage, or null if
+	 * 				the variable type hasn't been added to this branch.
+	 */
+	public DoubleBuffer getBuffer(T type) {
+		ensureLoaded();
+		Integer slot = slots.get(type);
+		if (slot == null) {
+			return null;
+		}
+		return DoubleBuffer.wrap(columns[slot], 0, length).slice().asReadOnlyBuffer();
 	}
 
 	/**
@@ -167,11 +424,26 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		if (index < 0 || index >= getLength()) {
 			throw new IllegalArgumentException("Index out of bounds");
 		}
-		ArrayList<Double> list = values.get(type);
-		if (list == null) {
+		Integer slot = slots.get(type);
+		if (slot == null) {
 			return null;
 		}
-		return list.get(index);
+		return columns[slot][index];
+	}
+
+	/**
+	 * Return the value in the given slot at the specified index.
+	 *
+	 * @param slot	the storage slot.
+	 * @param index	the data index of the value.
+	 * @return		the value at the specified index.
+	 */
+	public double getValue(int slot, int index) {
+		ensureLoaded();
+		if (index < 0 || index >= length) {
+			throw new IllegalArgumentException("Index out of bounds");
+		}
+		return columns[slot][index];
 	}
 
 	/**
@@ -182,10 +454,23 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the last value in this branch, or NaN.
 	 */
 	public double getLast(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null || list.isEmpty())
+		Integer slot = slots.get(type);
+		if (slot == null)
 			return Double.NaN;
-		return list.get(list.size() - 1);
+		return getLast(slot);
+	}
+
+	/**
+	 * Return the last value in the given slot, or NaN if the branch contains no data points.
+	 *
+	 * @param slot	the storage slot.
+	 * @return		the last value in this branch, or NaN.
+	 */
+	public double getLast(int slot) {
+		ensureLoaded();
+		if (length == 0)
+			return Double.NaN;
+		return columns[slot][length - 1];
 	}
 
 	/**
@@ -196,10 +481,11 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the minimum value in this branch, or NaN.
 	 */
 	public double getMinimum(T type) {
-		Double v = minValues.get(type);
-		if (v == null)
+		Integer slot = slots.get(type);
+		if (slot == null)
 			return Double.NaN;
-		return v;
+		ensureLoaded();
+		return minValues[slot];
 	}
 
 	/**
@@ -210,20 +496,81 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the maximum value in this branch, or NaN.
 	 */
 	public double getMaximum(T type) {
-		Double v = maxValues.get(type);
-		if (v == null)
+		Integer slot = slots.get(type);
+		if (slot == null)
 			return Double.NaN;
-		return v;
+		ensureLoaded();
+		return maxValues[slot];
 	}
 
 	/**
 	 * Return the number of data points in this branch.
 	 */
 	public int getLength() {
-		for (ArrayList<Double> doubles : values.values()) {
-			return doubles.size();
+		ensureLoaded();
+		return length;
+	}
+
+	/**
+	 * Load the data points of this branch from the given loader the first time they are
+	 * accessed, replacing the current data points.  The types of the branch must already have
+	 * been added, in the order of the columns the loader returns.
+	 *
+	 * @param loader	the loader of the data points.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void setColumnLoader(ColumnLoader loader) {
+		mutable.check();
+		columnLoader = loader;
+		dataUnavailable = false;
+		markModified();
+	}
+
+	/**
+	 * Return whether the data points of this branch are available without loading them.
+	 */
+	public boolean isDataLoaded() {
+		return columnLoader == null;
+	}
+
+	/**
+	 * Return whether the data points of this branch could not be loaded, for instance because
+	 * the file they were saved in has been removed.  The branch has no data points then, although
+	 * it had some when it was saved.  The result is known only after the data has been loaded.
+	 */
+	public boolean isDataUnavailable() {
+		return dataUnavailable;
+	}
+
+	/**
+	 * Load the data points of this branch if they have not been loaded yet.  This is done
+	 * implicitly when the data is accessed, but can be done explicitly before the source of the
+	 * data becomes unavailable.
+	 */
+	public void loadData() {
+		ensureLoaded();
+	}
+
+	private void ensureLoaded() {
+		if (columnLoader != null) {
+			load();
 		}
-		return 0;
+	}
+
+	private synchronized void load() {
+		ColumnLoader loader = columnLoader;
+		if (loader == null) {
+			return;
+		}
+		try {
+			double[][] values = loader.loadColumns();
+			storeColumns(values.length > 0 ? values[0].length : 0, values);
+		} catch (IOException | IllegalArgumentException e) {
+			// Leave the branch without data points, but remember that they are missing
+			log.warn("Unable to load the data of branch " + name, e);
+			dataUnavailable = true;
+		}
+		columnLoader = null;
 	}
 
 	/**
@@ -232,9 +579,8 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 */
 	@SuppressWarnings("unchecked")
 	public T[] getTypes() {
-		Set<T> keySet = values.keySet();
-		T[] array = (T[]) Array.newInstance(keySet.iterator().next().getClass(), keySet.size());
-		keySet.toArray(array);
+		T[] array = (T[]) Array.newInstance(slotTypes.get(0).getClass(), slotTypes.size());
+		slotTypes.toArray(array);
 		Arrays.sort(array);
 		return array;
 	}
@@ -261,7 +607,58 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		return mutable.isMutable();
 	}
 
+	/**
+	 * Mark this branch as modified.  A new modification ID is created lazily on the next call
+	 * to {@link #getModID()}, so that storing data points does not allocate.
+	 */
+	protected void markModified() {
+		modIDStale = true;
+	}
+
 	public ModID getModID() {
+		if (modIDStale) {
+			modID = new ModID();
+			modIDStale = false;
+		}
 		return modID;
 	}
+
+	/**
+	 * Loader of the data points of a branch.
+	 */
+	@FunctionalInterface
+	public interface ColumnLoader {
+		/**
+		 * Load the data points.
+		 *
+		 * @return	the values of each slot of the branch, all arrays having the number of data points as length.
+		 * @throws IOException	if the data points cannot be loaded.
+		 */
+		double[][] loadColumns() throws IOException;
+	}
+
+	/**
+	 * Read-only list view of a single column.  The view reads through to the branch storage,
+	 * so it reflects points appended after its creation.
+	 */
+	private class ColumnView extends AbstractList<Double> implements RandomAccess {
+		private final int slot;
+
+		private ColumnView(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public Double get(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+			}
+			return columns[slot][index];
+		}
+
+		@Override
+		public int size() {
+			return length;
+		}
+	}
 }
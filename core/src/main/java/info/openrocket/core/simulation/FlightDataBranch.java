@@ -1,7 +1,6 @@
 package info.openrocket.core.simulation;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import info.openrocket.core.rocketcomponent.AxialStage;
@@ -57,6 +56,23 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		copyValuesFromBranch(parent, srcComponent);
 	}
 	
+	/**
+	 * Make a flight data branch with the first data points of another branch and the given
+	 * events.  Used when resuming a simulation from a checkpoint.
+	 *
+	 * @param name		the name of the new branch.
+	 * @param source	the branch to copy the data points from.
+	 * @param length	the number of data points to copy.
+	 * @param events	the flight events of the new branch.
+	 */
+	FlightDataBranch(String name, FlightDataBranch source, int length, List<FlightEvent> events) {
+		super(name);
+		copyValuesFrom(source, length);
+		for (FlightEvent event : events) {
+			addEvent(event);
+		}
+	}
+
 	/**
 	 * Makes an 'empty' flight data branch which has no data but all built in data types are defined.
 	 */
@@ -75,22 +91,27 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 	 * @param srcComponent 	the component that is the source of this branch (used for copying events)
 	 */
 	private void copyValuesFromBranch(FlightDataBranch srcBranch, RocketComponent srcComponent) {
-		this.values.clear();
+		clearValues();
 
 		// Need to have at least one type to set up values
-		values.put(FlightDataType.TYPE_TIME, new ArrayList<>());
-		minValues.put(FlightDataType.TYPE_TIME, Double.NaN);
-		maxValues.put(FlightDataType.TYPE_TIME, Double.NaN);
+		addType(FlightDataType.TYPE_TIME);
 
 		if (srcBranch == null) {
 			return;
 		}
 
 		// Copy flight data
+		FlightDataType[] types = srcBranch.getTypes();
+		int[] srcSlots = new int[types.length];
+		int[] dstSlots = new int[types.length];
+		for (int j = 0; j < types.length; j++) {
+			srcSlots[j] = srcBranch.getSlot(types[j]);
+			dstSlots[j] = this.getOrCreateSlot(types[j]);
+		}
 		for (int i = 0; i < srcBranch.getLength(); i++) {
 			this.addPoint();
-			for (FlightDataType type : srcBranch.getTypes()) {
-				this.setValue(type, srcBranch.getByIndex(type, i));
+			for (int j = 0; j < types.length; j++) {
+				this.setValue(dstSlots[j], srcBranch.getValue(srcSlots[j], i));
 			}
 		}
 
@@ -188,7 +209,7 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		if (event.getType() == FlightEvent.Type.STAGE_SEPARATION) {
 			separationTime = event.getTime();
 		}
-		modID = new ModID();
+		markModified();
 	}
 	
 	
@@ -262,12 +283,12 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 		if (Double.isNaN(time)) {
 			return -1;
 		}
-		List<Double> times = get(FlightDataType.TYPE_TIME);
-		if (times == null) {
+		int slot = getSlot(FlightDataType.TYPE_TIME);
+		if (slot < 0) {
 			return -1;
 		}
-		for (int i = 0; i < times.size(); i++) {
-			if (times.get(i) >= time) {
+		for (int i = 0; i < getLength(); i++) {
+			if (getValue(slot, i) >= time) {
 				return i;
 			}
 		}
@@ -277,15 +298,11 @@ public class FlightDataBranch extends DataBranch<FlightDataType> {
 	public FlightDataBranch clone() {
 		FlightDataType[] types = getTypes();
 		FlightDataBranch clone = new FlightDataBranch(name, types);
-		for (Map.Entry<FlightDataType, ArrayList<Double>> entry : values.entrySet()) {
-			clone.values.put(entry.getKey(), entry.getValue().clone());
-		}
-		clone.minValues.putAll(minValues);
-		clone.maxValues.putAll(maxValues);
+		clone.copyValuesFrom(this);
 		clone.events.addAll(events);
 		clone.timeToOptimumAltitude = timeToOptimumAltitude;
 		clone.optimumAltitude = optimumAltitude;
-		clone.modID = modID;
+		clone.modID = getModID();
 		return clone;
 	}
 	
@@ -4,6 +4,7 @@ import info.openrocket.core.motor.IgnitionEvent;
 import info.openrocket.core.motor.Motor;
 import info.openrocket.core.motor.MotorConfiguration;
 import info.openrocket.core.motor.MotorConfigurationId;
+import info.openrocket.core.motor.MotorSample;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.RocketComponent;
@@ -22,6 +23,9 @@ public class MotorClusterState {
 	protected double ejectionTime = Double.NaN;
 	protected ThrustState currentState = ThrustState.ARMED;
 
+	// last sample of the motor, also tracks the position in the thrust curve
+	private final MotorSample sample = new MotorSample();
+
 	public MotorClusterState(final MotorConfiguration _config) {
 		this.config = _config;
 
@@ -32,6 +36,32 @@ public class MotorClusterState {
 		this.reset();
 	}
 
+	/**
+	 * Copy constructor, used to keep the state of the motors at a simulation checkpoint.
+	 *
+	 * @param other the motor cluster state to copy
+	 */
+	MotorClusterState(final MotorClusterState other) {
+		this.config = other.config;
+		this.motor = other.motor;
+		this.motorCount = other.motorCount;
+		this.thrustDuration = other.thrustDuration;
+
+		this.copyState(other);
+	}
+
+	/**
+	 * Copy the ignition, burnout and ejection state of another motor cluster.
+	 *
+	 * @param other the motor cluster state to copy the state from
+	 */
+	void copyState(final MotorClusterState other) {
+		this.ignitionTime = other.ignitionTime;
+		this.cutoffTime = other.cutoffTime;
+		this.ejectionTime = other.ejectionTime;
+		this.currentState = other.currentState;
+	}
+
 	public double getIgnitionTime() {
 		return ignitionTime;
 	}
@@ -130,14 +160,29 @@ public class MotorClusterState {
 	 */
 	public double getThrust(final double simulationTime) {
 		if (this.currentState.isThrusting()) {
-			double motorTime = this.getMotorTime(simulationTime);
-			return this.motorCount * motor.getThrust(motorTime);
+			return this.motorCount * getSample(simulationTime).getThrust();
 
 		} else {
 			return 0.0;
 		}
 	}
 
+	/**
+	 * Sample the thrust, mass and CG of a single motor of this cluster at the given simulation
+	 * time.  Successive calls reuse the same sample object, so the values must be read before
+	 * the next call.
+	 *
+	 * @param simulationTime the simulation time
+	 * @return the motor sample at the corresponding motor time
+	 */
+	public MotorSample getSample(final double simulationTime) {
+		final double motorTime = this.getMotorTime(simulationTime);
+		if (motorTime != sample.getMotorTime()) {
+			motor.getSample(motorTime, sample);
+		}
+		return sample;
+	}
+
 	public boolean isPlugged() {
 		return (this.config.getEjectionDelay() == Motor.PLUGGED_DELAY);
 	}
@@ -0,0 +1,389 @@
+package info.openrocket.core.simulation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.simulation.exception.SimulationCalculationException;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.CoordinateIF;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.MutableCoordinate;
+import info.openrocket.core.util.Quaternion;
+import info.openrocket.core.util.WorldCoordinate;
+
+/**
+ * A flight stepper using the embedded Dormand-Prince 5(4) Runge-Kutta pair with local error
+ * control.  Every step is integrated to fifth order, and the difference to the embedded fourth
+ * order solution is used as an estimate of the local error.  Steps whose error exceeds the
+ * tolerance are rejected and retried with a shorter time step, and the time step of the next
+ * step is chosen from the error of the current one.  This allows long steps during coast while
+ * keeping short steps around motor burnout and other rapid changes.
+ * <p>
+ * The acceleration computations are the same as those of {@link RK4SimulationStepper}.  As with
+ * the other steppers, the steps never extend past the next event in the event queue.
+ */
+public class RK45SimulationStepper extends RK4SimulationStepper {
+
+	private static final Logger log = LoggerFactory.getLogger(RK45SimulationStepper.class);
+	private static final Translator trans = Application.getTranslator();
+
+	/**
+	 * Maximum allowed local error relative to the magnitude of the state variables.
+	 */
+	public static final double RELATIVE_TOLERANCE = 1e-5;
+
+	/**
+	 * Maximum allowed local error of the position (m), velocity (m/s) and rotation
+	 * velocity (rad/s) components for state variables close to zero.
+	 */
+	public static final double ABSOLUTE_TOLERANCE = 1e-3;
+
+	/**
+	 * Maximum time step as a multiple of the user-specified time step.
+	 */
+	private static final double MAX_TIME_STEP_FACTOR = 10;
+
+	/** Safety factor and limits of the change of the time step between steps */
+	private static final double SAFETY_FACTOR = 0.9;
+	private static final double MIN_STEP_FACTOR = 0.2;
+	private static final double MAX_STEP_FACTOR = 5.0;
+
+	/** Same as in {@link RK4SimulationStepper}, see there */
+	private static final double MAX_ROLL_STEP_ANGLE = 2 * 28.32 * Math.PI / 180;
+
+	/*
+	 * Dormand-Prince 5(4) coefficients from Dormand, J. R., & Prince, P. J. (1980).
+	 * A family of embedded Runge-Kutta formulae. Journal of Computational and Applied
+	 * Mathematics, 6(1), 19-26.
+	 *
+	 * The last row of TABLEAU_A contains the fifth order weights, so the last stage is
+	 * evaluated at the end point of the step.
+	 */
+	private static final double[][] TABLEAU_A = {
+			{},
+			{ 1.0/5 },
+			{ 3.0/40, 9.0/40 },
+			{ 44.0/45, -56.0/15, 32.0/9 },
+			{ 19372.0/6561, -25360.0/2187, 64448.0/6561, -212.0/729 },
+			{ 9017.0/3168, -355.0/33, 46732.0/5247, 49.0/176, -5103.0/18656 },
+			{ 35.0/384, 0, 500.0/1113, 125.0/192, -2187.0/6784, 11.0/84 },
+	};
+	private static final double[] TABLEAU_C = { 0, 1.0/5, 3.0/10, 4.0/5, 8.0/9, 1, 1 };
+	private static final double[] WEIGHTS = TABLEAU_A[6];
+	/** Difference between the fifth and fourth order weights */
+	private static final double[] ERROR_WEIGHTS = {
+			71.0/57600, 0, -71.0/16695, 71.0/1920, -17253.0/339200, 22.0/525, -1.0/40
+	};
+
+	// Data store of the stages after the first one, so that the data of the first stage
+	// is retained for storing once the step is accepted
+	private final DataStore stageStore = new DataStore();
+
+	private final RK45Parameters[] stages = new RK45Parameters[7];
+
+	private final MutableCoordinate mutableCoordA = new MutableCoordinate();
+	private final MutableCoordinate mutableCoordB = new MutableCoordinate();
+	private final MutableCoordinate mutableCoordC = new MutableCoordinate();
+
+	// State of the intermediate status, owned by the stepper
+	private final MutableCoordinate scratchPosition = new MutableCoordinate();
+	private final MutableCoordinate scratchVelocity = new MutableCoordinate();
+	private final MutableCoordinate scratchRotationVelocity = new MutableCoordinate();
+
+	// Time step proposed by the error control for the next step, NaN before the first step
+	private double nextTimeStep = Double.NaN;
+
+	public RK45SimulationStepper() {
+		for (int i = 0; i < stages.length; i++) {
+			stages[i] = new RK45Parameters();
+		}
+	}
+
+	@Override
+	public SimulationStatus initialize(SimulationStatus original) {
+		SimulationStatus status = super.initialize(original);
+		stageStore.launchRodDirection = store.launchRodDirection;
+		nextTimeStep = Double.NaN;
+		return status;
+	}
+
+	@Override
+	public Object saveState() {
+		return new RK45State(super.saveState(), nextTimeStep);
+	}
+
+	@Override
+	public void restoreState(Object state) {
+		RK45State rk45State = (RK45State) state;
+		super.restoreState(rk45State.randomState());
+		nextTimeStep = rk45State.nextTimeStep();
+	}
+
+	@Override
+	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
+
+		status.storeData();
+
+		/*
+		 * Get the current atmospheric conditions
+		 */
+		calculateFlightConditions(status, store);
+
+		//// First stage, k1 = f(t, y)
+
+		computeParameters(status, store, stages[0]);
+
+		// If maxTimeStep is NaN we'll just record sim params and leave
+		if (Double.isNaN(maxTimeStep)) {
+			store.timeStep = maxTimeStep;
+			store.storeData(status);
+
+			landedValues(status, store);
+			return;
+		}
+
+		/*
+		 * Select the time step to try.  It is the minimum of the following:
+		 *  - the time step proposed by the error control of the previous step (initially the
+		 *    user-specified time step)
+		 *  - MAX_TIME_STEP_FACTOR times the user-specified time step
+		 *  - the value of maxTimeStep
+		 *  - the maximum pitch step angle limit
+		 *  - the maximum roll step angle limit
+		 *  - 1/5th of the user-specified time step and 1/10th of the launch rod length if
+		 *    still on the launch rod
+		 *
+		 * The step is still at least 1/20th of the user-selected time step.
+		 */
+		final double userTimeStep = MathUtil.max(status.getSimulationConditions().getTimeStep(), MIN_TIME_STEP);
+		final double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
+
+		double controlTimeStep = Double.isNaN(nextTimeStep) ? userTimeStep : nextTimeStep;
+		double timeStep = MathUtil.min(controlTimeStep, MAX_TIME_STEP_FACTOR * userTimeStep, maxTimeStep);
+		timeStep = MathUtil.min(timeStep,
+				status.getSimulationConditions().getMaximumAngleStep() / store.lateralPitchRate,
+				Math.abs(MAX_ROLL_STEP_ANGLE / store.flightConditions.getRollRate()));
+		if (!status.isLaunchRodCleared()) {
+			timeStep = MathUtil.min(timeStep, userTimeStep / 5.0,
+					status.getSimulationConditions().getLaunchRodLength() / stages[0].v.length() / 10);
+		}
+
+		boolean rejected = false;
+		while (true) {
+			// If our selected time step is too close to our next scheduled event,
+			// (passed in as maxTimeStep) adjust
+			if (Math.abs(maxTimeStep - timeStep) < minTimeStep) {
+				timeStep = maxTimeStep;
+			}
+
+			// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
+			// cost of not being *quite* on an event
+			if (timeStep < minTimeStep) {
+				timeStep = minTimeStep;
+			}
+			checkNaN(timeStep, "timeStep");
+
+			for (int stage = 1; stage < stages.length; stage++) {
+				// The flight conditions are only recomputed if the aerodynamic forces are not given by
+				// a listener, otherwise those of the first stage are used as in the RK4 stepper
+				stageStore.flightConditions = store.flightConditions;
+				stageStore.thetaRotation = store.thetaRotation;
+				stageStore.lateralPitchRate = store.lateralPitchRate;
+				computeParameters(intermediateStatus(status, stage, timeStep), stageStore, stages[stage]);
+			}
+
+			// The last stage was evaluated at the fifth order solution, held in the scratch coordinates
+			double error = errorRatio(ERROR_WEIGHTS, timeStep, status);
+			checkNaN(error, "error");
+			double factor = (error > 0) ? SAFETY_FACTOR * Math.pow(error, -0.2) : MAX_STEP_FACTOR;
+			factor = MathUtil.clamp(factor, MIN_STEP_FACTOR, MAX_STEP_FACTOR);
+
+			if (error <= 1 || timeStep <= minTimeStep) {
+				// Do not increase the time step right after a rejected step.  If the step was
+				// shortened for other reasons than the error, keep the previous proposal.
+				if (rejected) {
+					nextTimeStep = timeStep * Math.min(factor, 1);
+				} else {
+					nextTimeStep = Math.max(timeStep * factor, controlTimeStep);
+				}
+				break;
+			}
+
+			if (log.isTraceEnabled()) {
+				log.trace("Rejected time step " + timeStep + " with error ratio " + error);
+			}
+			rejected = true;
+			timeStep *= factor;
+		}
+
+		if (log.isTraceEnabled()) {
+			log.trace("Selected time step " + timeStep + ", next proposed time step " + nextTimeStep);
+		}
+
+		store.timeStep = timeStep;
+		store.storeData(status);
+
+		//// Sum all together,  y(n+1) = y(n) + h*(b1*k1 + b3*k3 + b4*k4 + b5*k5 + b6*k6)
+		status.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
+				.add(weightedSum(WEIGHTS, timeStep, RK45Parameters.ACCELERATION))
+				.toImmutable());
+		status.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
+				.add(weightedSum(WEIGHTS, timeStep, RK45Parameters.VELOCITY))
+				.toImmutable());
+		status.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
+				.add(weightedSum(WEIGHTS, timeStep, RK45Parameters.ROTATION_ACCELERATION))
+				.toImmutable());
+		status.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
+				.multiplyLeftRotation(weightedSum(WEIGHTS, timeStep, RK45Parameters.ROTATION_VELOCITY))
+				.normalizeIfNecessary());
+
+		WorldCoordinate w = status.getSimulationConditions().getLaunchSite();
+		w = status.getSimulationConditions().getGeodeticComputation().addCoordinate(w, status.getRocketPosition());
+		status.setRocketWorldPosition(w);
+
+		if (!(0 <= timeStep)) {
+			// Also catches NaN
+			throw new IllegalArgumentException("Stepping backwards in time, timestep=" + timeStep);
+		}
+		status.setSimulationTime(status.getSimulationTime() + timeStep);
+
+		// Verify that values don't run out of range
+		if (status.getRocketVelocity().length2() > 1.0e18 ||
+				status.getRocketPosition().length2() > 1.0e18 ||
+				status.getRocketRotationVelocity().length2() > 1.0e18) {
+			throw new SimulationCalculationException(trans.get("error.valuesTooLarge"), status.getFlightDataBranch());
+		}
+	}
+
+	/**
+	 * Return the intermediate status for the given stage of the Butcher tableau,
+	 * y + h*(a[stage][0]*k1 + a[stage][1]*k2 + ...) at time t + c[stage]*h, where y is the
+	 * state of <code>status</code> at time t.  The returned status and its coordinates are
+	 * reused for every stage.
+	 */
+	private SimulationStatus intermediateStatus(SimulationStatus status, int stage, double h) {
+		final double[] weights = TABLEAU_A[stage];
+
+		scratchPosition.set(status.getRocketPosition());
+		scratchVelocity.set(status.getRocketVelocity());
+		scratchRotationVelocity.set(status.getRocketRotationVelocity());
+		Quaternion orientation = status.getRocketOrientationQuaternion();
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] == 0) {
+				continue;
+			}
+			final RK45Parameters k = stages[i];
+			final double weight = h * weights[i];
+			scratchPosition.addScaled(k.v, weight);
+			scratchVelocity.addScaled(k.a, weight);
+			orientation = orientation.multiplyLeftRotation(mutableCoordC.set(k.rv)
+					.multiply(weight));
+			scratchRotationVelocity.addScaled(k.ra, weight);
+		}
+
+		SimulationStatus status2 = getScratchStatus(status);
+		status2.setSimulationTime(status.getSimulationTime() + h * TABLEAU_C[stage]);
+		status2.setRocketPosition(scratchPosition);
+		status2.setRocketVelocity(scratchVelocity);
+		status2.setRocketOrientationQuaternion(orientation);
+		status2.setRocketRotationVelocity(scratchRotationVelocity);
+		return status2;
+	}
+
+	/**
+	 * Return h * sum(weights[i] * k[i]) of the given derivative of the stages.  The returned
+	 * coordinate is reused.
+	 */
+	private MutableCoordinate weightedSum(double[] weights, double h, int derivative) {
+		mutableCoordB.clear();
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] != 0) {
+				mutableCoordB.addScaled(stages[i].get(derivative), weights[i]);
+			}
+		}
+		mutableCoordB.multiply(h);
+		return mutableCoordB;
+	}
+
+	/**
+	 * Return the largest ratio of the estimated local error to the allowed error over the
+	 * position, velocity and rotation velocity components.  The step is acceptable if the
+	 * ratio is at most one.
+	 */
+	private double errorRatio(double[] errorWeights, double h, SimulationStatus status) {
+		double ratio = errorRatio(weightedSum(errorWeights, h, RK45Parameters.VELOCITY),
+				status.getRocketPosition(), scratchPosition);
+		ratio = Math.max(ratio, errorRatio(weightedSum(errorWeights, h, RK45Parameters.ACCELERATION),
+				status.getRocketVelocity(), scratchVelocity));
+		ratio = Math.max(ratio, errorRatio(weightedSum(errorWeights, h, RK45Parameters.ROTATION_ACCELERATION),
+				status.getRocketRotationVelocity(), scratchRotationVelocity));
+		return ratio;
+	}
+
+	private static double errorRatio(CoordinateIF error, CoordinateIF start, CoordinateIF end) {
+		double ratio = errorRatio(error.getX(), start.getX(), end.getX());
+		ratio = Math.max(ratio, errorRatio(error.getY(), start.getY(), end.getY()));
+		ratio = Math.max(ratio, errorRatio(error.getZ(), start.getZ(), end.getZ()));
+		return ratio;
+	}
+
+	private static double errorRatio(double error, double start, double end) {
+		double scale = ABSOLUTE_TOLERANCE + RELATIVE_TOLERANCE * Math.max(Math.abs(start), Math.abs(end));
+		return Math.abs(error) / scale;
+	}
+
+	private void computeParameters(SimulationStatus status, DataStore store, RK45Parameters params)
+			throws SimulationException {
+		calculateAcceleration(status, store);
+
+		params.a.set(store.accelerationData.getLinearAccelerationWC());
+		params.ra.set(store.accelerationData.getRotationalAccelerationWC());
+		params.v.set(status.getRocketVelocity());
+		params.rv.set(status.getRocketRotationVelocity());
+
+		checkNaN(params.a, "params.a");
+		checkNaN(params.ra, "params.ra");
+		checkNaN(params.v, "params.v");
+		checkNaN(params.rv, "params.rv");
+	}
+
+
+	private static class RK45Parameters {
+		static final int ACCELERATION = 0;
+		static final int VELOCITY = 1;
+		static final int ROTATION_ACCELERATION = 2;
+		static final int ROTATION_VELOCITY = 3;
+
+		/** Linear acceleration */
+		public final MutableCoordinate a = new MutableCoordinate();
+		/** Linear velocity */
+		public final MutableCoordinate v = new MutableCoordinate();
+		/** Rotational acceleration */
+		public final MutableCoordinate ra = new MutableCoordinate();
+		/** Rotational velocity */
+		public final MutableCoordinate rv = new MutableCoordinate();
+
+		MutableCoordinate get(int derivative) {
+			switch (derivative) {
+				case ACCELERATION:
+					return a;
+				case VELOCITY:
+					return v;
+				case ROTATION_ACCELERATION:
+					return ra;
+				default:
+					return rv;
+			}
+		}
+
+		public String toString() {
+			return "----\na: " + a + "\nv:" + v + "\nra:" + ra + "\nrv:" + rv + "\n----";
+		}
+	}
+
+	/** State of the stepper carried from one step to the next */
+	private record RK45State(Object randomState, double nextTimeStep) {
+	}
+}
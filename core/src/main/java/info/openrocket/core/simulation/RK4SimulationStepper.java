@@ -20,7 +20,6 @@ import info.openrocket.core.simulation.listeners.SimulationListenerHelper;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.MutableCoordinate;
-import info.openrocket.core.util.Quaternion;
 import info.openrocket.core.util.WorldCoordinate;
 
 public class RK4SimulationStepper extends AbstractSimulationStepper {
@@ -69,6 +68,18 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
     private final MutableCoordinate mutableCoordA = new MutableCoordinate();
     private final MutableCoordinate mutableCoordB = new MutableCoordinate();
     private final MutableCoordinate mutableCoordC = new MutableCoordinate();
+
+    // Reused for every step, see intermediateStatus()
+    private final RK4Parameters k1 = new RK4Parameters();
+    private final RK4Parameters k2 = new RK4Parameters();
+    private final RK4Parameters k3 = new RK4Parameters();
+    private final RK4Parameters k4 = new RK4Parameters();
+    private final double[] dt = new double[8];
+
+    // State of the intermediate status, owned by the stepper
+    private final MutableCoordinate scratchPosition = new MutableCoordinate();
+    private final MutableCoordinate scratchVelocity = new MutableCoordinate();
+    private final MutableCoordinate scratchRotationVelocity = new MutableCoordinate();
 	
 	@Override
 	public SimulationStatus initialize(SimulationStatus original) {
@@ -88,6 +99,16 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		
 		return status;
 	}
+
+	@Override
+	public Object saveState() {
+		return copyRandom(random);
+	}
+
+	@Override
+	public void restoreState(Object state) {
+		this.random = copyRandom((Random) state);
+	}
 	
 	
 
@@ -100,7 +121,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		////////  Perform RK4 integration:  ////////
 		
 		SimulationStatus status2;
-		RK4Parameters k1, k2, k3, k4;
 
 		/*
 		 * Get the current atmospheric conditions
@@ -113,7 +133,7 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 		//// First position, k1 = f(t, y)
 		
-		k1 = computeParameters(status, store);
+		computeParameters(status, store, k1);
 
 		// If maxTimeStep is NaN we'll just record sim params and leave
 		if (Double.isNaN(maxTimeStep)) {
@@ -140,7 +160,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		 * 
 		 * The step is still at least 1/20th of the user-selected time step.
 		 */
-		double[] dt = new double[8];
 		Arrays.fill(dt, Double.MAX_VALUE);
 
 		// If the user selected a really small timestep, use MIN_TIME_STEP instead.
@@ -167,7 +186,9 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 			}
 		}
 
-		log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
+		if (log.isTraceEnabled()) {
+			log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
+		}
 
 		// If our selected time step is too close to our next scheduled event,
 		// (passed in as maxTimeStep) adjust
@@ -175,14 +196,18 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 		if (Math.abs(maxTimeStep - store.timeStep) < minTimeStep) {
 			store.timeStep = maxTimeStep;
-			log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
+			if (log.isTraceEnabled()) {
+				log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
+			}
 		}
 
 		// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
 		// cost of not being *quite* on an event
 		if (store.timeStep < minTimeStep) {
-			log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
-					minTimeStep + " instead.");
+			if (log.isTraceEnabled()) {
+				log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
+						minTimeStep + " instead.");
+			}
 			store.timeStep = minTimeStep;
 		}
 
@@ -192,109 +217,61 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 		//// Second position, k2 = f(t + h/2, y + k1*h/2)
 		
-	status2 = status.clone();
-	status2.setSimulationTime(status.getSimulationTime() + store.timeStep / 2);
-	status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-		.addScaled(k1.v, store.timeStep / 2)
-		.toImmutable());
-	status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-		.addScaled(k1.a, store.timeStep / 2)
-		.toImmutable());
-	status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
-		.multiplyLeft(Quaternion.rotation(mutableCoordB.set(k1.rv)
-			.multiply(store.timeStep / 2)
-			.toImmutable())));
-	status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-		.addScaled(k1.ra, store.timeStep / 2)
-		.toImmutable());
-		
-		k2 = computeParameters(status2, store);
+		status2 = intermediateStatus(status, k1, store.timeStep / 2);
+		computeParameters(status2, store, k2);
 		
 
 		//// Third position, k3 = f(t + h/2, y + k2*h/2)
 		
-	status2 = status.clone();
-	status2.setSimulationTime(status.getSimulationTime() + store.timeStep / 2);
-	status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-		.addScaled(k2.v, store.timeStep / 2)
-		.toImmutable());
-	status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-		.addScaled(k2.a, store.timeStep / 2)
-		.toImmutable());
-	status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-		.multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-			.multiply(store.timeStep / 2)
-			.toImmutable())));
-	status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-		.addScaled(k2.ra, store.timeStep / 2)
-		.toImmutable());
-		
-		k3 = computeParameters(status2, store);
+		status2 = intermediateStatus(status, k2, store.timeStep / 2);
+		computeParameters(status2, store, k3);
 		
 
 		//// Fourth position, k4 = f(t + h, y + k3*h)
 		
-	status2 = status.clone();
-	status2.setSimulationTime(status.getSimulationTime() + store.timeStep);
-	status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-		.addScaled(k3.v, store.timeStep)
-		.toImmutable());
-	status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-		.addScaled(k3.a, store.timeStep)
-		.toImmutable());
-	status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-		.multiplyLeft(Quaternion.rotation(mutableCoordB.set(k3.rv)
-			.multiply(store.timeStep)
-			.toImmutable())));
-	status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-		.addScaled(k3.ra, store.timeStep)
-		.toImmutable());
-		
-		k4 = computeParameters(status2, store);
+		status2 = intermediateStatus(status, k3, store.timeStep);
+		computeParameters(status2, store, k4);
 		
 
 		//// Sum all together,  y(n+1) = y(n) + h*(k1 + 2*k2 + 2*k3 + k4)/6
-	CoordinateIF deltaO;
-	CoordinateIF deltaVCoord = mutableCoordA.clear()
-		.addScaled(k2.a, 2)
-		.addScaled(k3.a, 2)
-		.add(k1.a)
-		.add(k4.a)
-		.multiply(store.timeStep / 6)
-		.toImmutable();
-	CoordinateIF deltaPCoord = mutableCoordB.clear()
-		.addScaled(k2.v, 2)
-		.addScaled(k3.v, 2)
-		.add(k1.v)
-		.add(k4.v)
-		.multiply(store.timeStep / 6)
-		.toImmutable();
-	CoordinateIF deltaRCoord = mutableCoordC.clear()
-		.addScaled(k2.ra, 2)
-		.addScaled(k3.ra, 2)
-		.add(k1.ra)
-		.add(k4.ra)
-		.multiply(store.timeStep / 6)
-		.toImmutable();
-	deltaO = mutableCoordA.clear()
-		.addScaled(k2.rv, 2)
-		.addScaled(k3.rv, 2)
-		.add(k1.rv)
-		.add(k4.rv)
-		.multiply(store.timeStep / 6)
-		.toImmutable();
-
-	status.setRocketVelocity(mutableCoordB.set(status.getRocketVelocity())
-		.add(deltaVCoord)
-		.toImmutable());
-	status.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-		.add(deltaPCoord)
-		.toImmutable());
-	status.setRocketRotationVelocity(mutableCoordC.set(status.getRocketRotationVelocity())
-		.add(deltaRCoord)
-		.toImmutable());
-	status.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
-		.multiplyLeft(Quaternion.rotation(deltaO)).normalizeIfNecessary());
+		mutableCoordB.clear()
+			.addScaled(k2.a, 2)
+			.addScaled(k3.a, 2)
+			.add(k1.a)
+			.add(k4.a)
+			.multiply(store.timeStep / 6);
+		status.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
+			.add(mutableCoordB)
+			.toImmutable());
+
+		mutableCoordB.clear()
+			.addScaled(k2.v, 2)
+			.addScaled(k3.v, 2)
+			.add(k1.v)
+			.add(k4.v)
+			.multiply(store.timeStep / 6);
+		status.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
+			.add(mutableCoordB)
+			.toImmutable());
+
+		mutableCoordB.clear()
+			.addScaled(k2.ra, 2)
+			.addScaled(k3.ra, 2)
+			.add(k1.ra)
+			.add(k4.ra)
+			.multiply(store.timeStep / 6);
+		status.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
+			.add(mutableCoordB)
+			.toImmutable());
+
+		mutableCoordB.clear()
+			.addScaled(k2.rv, 2)
+			.addScaled(k3.rv, 2)
+			.add(k1.rv)
+			.add(k4.rv)
+			.multiply(store.timeStep / 6);
+		status.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
+			.multiplyLeftRotation(mutableCoordB).normalizeIfNecessary());
 		
 		WorldCoordinate w = status.getSimulationConditions().getLaunchSite();
 		w = status.getSimulationConditions().getGeodeticComputation().addCoordinate(w, status.getRocketPosition());
@@ -314,23 +291,39 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		}
 	}
 
-	private RK4Parameters computeParameters(SimulationStatus status, DataStore store)
-			throws SimulationException {
-		RK4Parameters params = new RK4Parameters();
+	/**
+	 * Return the intermediate status y + h*k at time t + h, where y is the state of
+	 * <code>status</code> at time t.  The returned status and its coordinates are reused
+	 * for every stage.
+	 */
+	private SimulationStatus intermediateStatus(SimulationStatus status, RK4Parameters k, double h) {
+		SimulationStatus status2 = getScratchStatus(status);
+		status2.setSimulationTime(status.getSimulationTime() + h);
+		status2.setRocketPosition(scratchPosition.set(status.getRocketPosition())
+			.addScaled(k.v, h));
+		status2.setRocketVelocity(scratchVelocity.set(status.getRocketVelocity())
+			.addScaled(k.a, h));
+		status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
+			.multiplyLeftRotation(mutableCoordC.set(k.rv)
+				.multiply(h)));
+		status2.setRocketRotationVelocity(scratchRotationVelocity.set(status.getRocketRotationVelocity())
+			.addScaled(k.ra, h));
+		return status2;
+	}
 
+	private void computeParameters(SimulationStatus status, DataStore store, RK4Parameters params)
+			throws SimulationException {
 		calculateAcceleration(status, store);
 
-		params.a = store.accelerationData.getLinearAccelerationWC();
-		params.ra = store.accelerationData.getRotationalAccelerationWC();
-		params.v = status.getRocketVelocity();
-		params.rv = status.getRocketRotationVelocity();
+		params.a.set(store.accelerationData.getLinearAccelerationWC());
+		params.ra.set(store.accelerationData.getRotationalAccelerationWC());
+		params.v.set(status.getRocketVelocity());
+		params.rv.set(status.getRocketRotationVelocity());
 		
 		checkNaN(params.a, "params.a");
 		checkNaN(params.ra, "params.ra");
 		checkNaN(params.v, "params.v");
 		checkNaN(params.rv, "params.rv");
-		
-		return params;
 	}
 	
 	@Override
@@ -545,12 +538,12 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 	private static class RK4Parameters {
 		/** Linear acceleration */
-		public CoordinateIF a;
+		public final MutableCoordinate a = new MutableCoordinate();
 		/** Linear velocity */
-		public CoordinateIF v;
+		public final MutableCoordinate v = new MutableCoordinate();
 		/** Rotational acceleration */
-		public CoordinateIF ra;
+		public final MutableCoordinate ra = new MutableCoordinate();
 		/** Rotational velocity */
-		public CoordinateIF rv;
+		public final MutableCoordinate rv = new MutableCoordinate();
 	}
 }
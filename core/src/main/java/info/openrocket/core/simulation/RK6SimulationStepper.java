@@ -70,6 +70,35 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
     private final MutableCoordinate mutableCoordB = new MutableCoordinate();
     private final MutableCoordinate mutableCoordC = new MutableCoordinate();
 
+    /** Butcher tableau coefficients a[i][j] of stages k2..k7, indexed by stage */
+    private static final double[][] TABLEAU_A = {
+            {},
+            { 1.0/3 },
+            { 0, 2.0/3 },
+            { 1.0/12, 1.0/3, -1.0/12 },
+            { -1.0/16, 9.0/8, -3.0/16, -3.0/8 },
+            { 0, 9.0/8, -3.0/8, -3.0/4, 1.0/2 },
+            { 9.0/44, -9.0/11, 63.0/44, 18.0/11, 0, -16.0/11 },
+    };
+    /** Butcher tableau time fractions c[i] of the stages */
+    private static final double[] TABLEAU_C = { 0, 1.0/3, 2.0/3, 1.0/3, 1.0/2, 1.0/2, 1 };
+
+    // Reused for every step, see intermediateStatus()
+    private final RK6Parameters k1 = new RK6Parameters();
+    private final RK6Parameters k2 = new RK6Parameters();
+    private final RK6Parameters k3 = new RK6Parameters();
+    private final RK6Parameters k4 = new RK6Parameters();
+    private final RK6Parameters k5 = new RK6Parameters();
+    private final RK6Parameters k6 = new RK6Parameters();
+    private final RK6Parameters k7 = new RK6Parameters();
+    private final RK6Parameters[] stages = { k1, k2, k3, k4, k5, k6, k7 };
+    private final double[] dt = new double[8];
+
+    // State of the intermediate status, owned by the stepper
+    private final MutableCoordinate scratchPosition = new MutableCoordinate();
+    private final MutableCoordinate scratchVelocity = new MutableCoordinate();
+    private final MutableCoordinate scratchRotationVelocity = new MutableCoordinate();
+
     @Override
     public SimulationStatus initialize(SimulationStatus original) {
 
@@ -89,6 +118,16 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
         return status;
     }
 
+    @Override
+    public Object saveState() {
+        return copyRandom(random);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        this.random = copyRandom((Random) state);
+    }
+
 
     @Override
     public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
@@ -98,7 +137,6 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
         ////////  Perform RK6 integration:  ////////
 
         SimulationStatus status2;
-        RK6Parameters k1, k2, k3, k4, k5, k6, k7;
 
         /*
          * Get the current atmospheric conditions
@@ -142,7 +180,7 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
 
         //// First position, k1 = f(t, y)
 
-        k1 = computeParameters(status, store);
+        computeParameters(status, store, k1);
 
 
 
@@ -171,7 +209,6 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
          *
          * The step is still at least 1/20th of the user-selected time step.
          */
-        double[] dt = new double[8];
         Arrays.fill(dt, Double.MAX_VALUE);
 
 
@@ -206,14 +243,18 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
 
         if (Math.abs(maxTimeStep - store.timeStep) < minTimeStep) {
             store.timeStep = maxTimeStep;
-            log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
+            if (log.isTraceEnabled()) {
+                log.trace("selected time step too close to maxTimeStep; adjusted to " + store.timeStep);
+            }
         }
 
         // If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
         // cost of not being *quite* on an event
         if (store.timeStep < minTimeStep) {
-            log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
-                    minTimeStep + " instead.");
+            if (log.isTraceEnabled()) {
+                log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
+                        minTimeStep + " instead.");
+            }
             store.timeStep = minTimeStep;
         }
 
@@ -222,364 +263,82 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
         checkNaN(store.timeStep, "store.timeStep");
 
         //// Second position, k2 = f(t + h/3, y + 1/3*h*k1)
-        double weightk1 = 1.0/3;
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep / 3);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k1.v, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k1.a, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k1.rv)
-                        .multiply(store.timeStep * weightk1)
-                        .toImmutable())));
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k1.ra, store.timeStep * weightk1)
-                .toImmutable());
-
-        k2 = computeParameters(status2, store);
+        status2 = intermediateStatus(status, 1, store.timeStep);
+        computeParameters(status2, store, k2);
 
 
         //// Third position, k3 = f(t + h*2/3, y + 2/3*h*k2)
-        double weightk2 = 2.0/3;
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep * 2/3);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k2.v, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k2.a, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-                        .multiply(store.timeStep * weightk2)
-                        .toImmutable())));
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k2.ra, store.timeStep * weightk2)
-                .toImmutable());
-
-        k3 = computeParameters(status2, store);
+        status2 = intermediateStatus(status, 2, store.timeStep);
+        computeParameters(status2, store, k3);
 
 
         //// Fourth position, k4 = f(t + h*1/3, y + 1/12*h*k1 + 1/3*h*k2 - 1/12*h*k3)
-        weightk1 = 1.0/12;
-        weightk2 = 1.0/3;
-        double weightk3 = -1.0/12;
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep*1/3);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k1.v, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k2.v, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k3.v, store.timeStep * weightk3)
-                .toImmutable());
-
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k1.a, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k2.a, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k3.a, store.timeStep * weightk3)
-                .toImmutable());
-
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k1.rv)
-                        .multiply(store.timeStep * weightk1)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-                        .multiply(store.timeStep * weightk2)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k3.rv)
-                        .multiply(store.timeStep * weightk3)
-                        .toImmutable())));
-
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k1.ra, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k2.ra, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k3.ra, store.timeStep * weightk3)
-                .toImmutable());
-
-        k4 = computeParameters(status2, store);
+        status2 = intermediateStatus(status, 3, store.timeStep);
+        computeParameters(status2, store, k4);
 
 
         //// Fifth position, k5 = f(t + h*1/2, y - 1/16*h*k1 + 9/8*h*k2 - 3/16*h*k3 - 3/8*h*k4)
-        weightk1 = -1.0/16;
-        weightk2 = 9.0/8;
-        weightk3 = -3.0/16;
-        double weightk4 = -3.0/8;
-
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep*1/2);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k1.v, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k2.v, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k3.v, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k4.v, store.timeStep * weightk4)
-                .toImmutable());
-
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k1.a, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k2.a, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k3.a, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k4.a, store.timeStep * weightk4)
-                .toImmutable());
-
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k1.rv)
-                        .multiply(store.timeStep * weightk1)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-                        .multiply(store.timeStep * weightk2)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k3.rv)
-                        .multiply(store.timeStep * weightk3)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k4.rv)
-                        .multiply(store.timeStep * weightk4)
-                        .toImmutable())));
-
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k1.ra, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k2.ra, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k3.ra, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k4.ra, store.timeStep * weightk4)
-                .toImmutable());
-
-        k5 = computeParameters(status2, store);
-
+        status2 = intermediateStatus(status, 4, store.timeStep);
+        computeParameters(status2, store, k5);
 
 
         //// Sixth position, k6 = f(t + h*1/2, y + 9/8*h*k2 - 3/8*h*k3 - 3/4*h*k4 + 1/2*h*k5)
-        weightk2 = 9.0/8;
-        weightk3 = -3.0/8;
-        weightk4 = -3.0/4;
-        double weightk5 = 1.0/2;
-
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep*1/2);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k2.v, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k3.v, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k4.v, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k5.v, store.timeStep * weightk5)
-                .toImmutable());
-
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k2.a, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k3.a, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k4.a, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k5.a, store.timeStep * weightk5)
-                .toImmutable());
-
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-                        .multiply(store.timeStep * weightk2)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k3.rv)
-                        .multiply(store.timeStep * weightk3)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k4.rv)
-                        .multiply(store.timeStep * weightk4)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k5.rv)
-                        .multiply(store.timeStep * weightk5)
-                        .toImmutable())));
-
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k2.ra, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k3.ra, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k4.ra, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k5.ra, store.timeStep * weightk5)
-                .toImmutable());
-
-        k6 = computeParameters(status2, store);
+        status2 = intermediateStatus(status, 5, store.timeStep);
+        computeParameters(status2, store, k6);
 
 
         //// Seventh position, k7 = f(t + h, y + 9/44*h*k1 - 9/11*h*k2 + 63/44*h*k3 + 18/11*h*k4 - 16/11*h*k6)
-        weightk1 = 9.0/44;
-        weightk2 = -9.0/11;
-        weightk3 = 63.0/44;
-        weightk4 = 18.0/11;
-        double weightk6 = -16.0/11;
-
-        status2 = status.clone();
-        status2.setSimulationTime(status.getSimulationTime() + store.timeStep);
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k1.v, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k2.v, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k3.v, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k4.v, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .addScaled(k6.v, store.timeStep * weightk6)
-                .toImmutable());
-
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k1.a, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k2.a, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k3.a, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k4.a, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
-                .addScaled(k6.a, store.timeStep * weightk6)
-                .toImmutable());
-
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k1.rv)
-                        .multiply(store.timeStep * weightk1)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k2.rv)
-                        .multiply(store.timeStep * weightk2)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k3.rv)
-                        .multiply(store.timeStep * weightk3)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k4.rv)
-                        .multiply(store.timeStep * weightk4)
-                        .toImmutable())));
-        status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(mutableCoordB.set(k6.rv)
-                        .multiply(store.timeStep * weightk6)
-                        .toImmutable())));
-
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k1.ra, store.timeStep * weightk1)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k2.ra, store.timeStep * weightk2)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k3.ra, store.timeStep * weightk3)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k4.ra, store.timeStep * weightk4)
-                .toImmutable());
-        status2.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
-                .addScaled(k6.ra, store.timeStep * weightk6)
-                .toImmutable());
+        status2 = intermediateStatus(status, 6, store.timeStep);
+        computeParameters(status2, store, k7);
 
-        k7 = computeParameters(status2, store);
 
         //// Sum all together,  y(n+1) = y(n) + dt*(11/120*k1 + 27/40*k3 + 27/40*k4 - 4/15*k5 - 4/15*k6 + 11/120*k7)
-        CoordinateIF deltaO;
-        CoordinateIF deltaVCoord = mutableCoordA.clear()
+        mutableCoordB.clear()
                 .addScaled(k1.a, 11.0/120)
                 .addScaled(k3.a, 27.0/40)
                 .addScaled(k4.a, 27.0/40)
                 .addScaled(k5.a, -4.0/15)
                 .addScaled(k6.a, -4.0/15)
                 .addScaled(k7.a, 11.0/120)
-                .multiply(store.timeStep)
-                .toImmutable();
-        CoordinateIF deltaPCoord = mutableCoordB.clear()
+                .multiply(store.timeStep);
+        status.setRocketVelocity(mutableCoordA.set(status.getRocketVelocity())
+                .add(mutableCoordB)
+                .toImmutable());
+
+        mutableCoordB.clear()
                 .addScaled(k1.v, 11.0/120)
                 .addScaled(k3.v, 27.0/40)
                 .addScaled(k4.v, 27.0/40)
                 .addScaled(k5.v, -4.0/15)
                 .addScaled(k6.v, -4.0/15)
                 .addScaled(k7.v, 11.0/120)
-                .multiply(store.timeStep)
-                .toImmutable();
-        CoordinateIF deltaRCoord = mutableCoordC.clear()
+                .multiply(store.timeStep);
+        status.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
+                .add(mutableCoordB)
+                .toImmutable());
+
+        mutableCoordB.clear()
                 .addScaled(k1.ra, 11.0/120)
                 .addScaled(k3.ra, 27.0/40)
                 .addScaled(k4.ra, 27.0/40)
                 .addScaled(k5.ra, -4.0/15)
                 .addScaled(k6.ra, -4.0/15)
                 .addScaled(k7.ra, 11.0/120)
-                .multiply(store.timeStep)
-                .toImmutable();
-        deltaO = mutableCoordA.clear()
+                .multiply(store.timeStep);
+        status.setRocketRotationVelocity(mutableCoordA.set(status.getRocketRotationVelocity())
+                .add(mutableCoordB)
+                .toImmutable());
+
+        mutableCoordB.clear()
                 .addScaled(k1.rv, 11.0/120)
                 .addScaled(k3.rv, 27.0/40)
                 .addScaled(k4.rv, 27.0/40)
                 .addScaled(k5.rv, -4.0/15)
                 .addScaled(k6.rv, -4.0/15)
                 .addScaled(k7.rv, 11.0/120)
-                .multiply(store.timeStep)
-                .toImmutable();
-
-        status.setRocketVelocity(mutableCoordB.set(status.getRocketVelocity())
-                .add(deltaVCoord)
-                .toImmutable());
-        status.setRocketPosition(mutableCoordA.set(status.getRocketPosition())
-                .add(deltaPCoord)
-                .toImmutable());
-        status.setRocketRotationVelocity(mutableCoordC.set(status.getRocketRotationVelocity())
-                .add(deltaRCoord)
-                .toImmutable());
+                .multiply(store.timeStep);
         status.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
-                .multiplyLeft(Quaternion.rotation(deltaO)).normalizeIfNecessary());
+                .multiplyLeftRotation(mutableCoordB).normalizeIfNecessary());
 
         WorldCoordinate w = status.getSimulationConditions().getLaunchSite();
         w = status.getSimulationConditions().getGeodeticComputation().addCoordinate(w, status.getRocketPosition());
@@ -599,22 +358,54 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
         }
     }
 
-    private RK6Parameters computeParameters(SimulationStatus status, DataStore store)
+    /**
+     * Return the intermediate status for the given stage of the Butcher tableau,
+     * y + h*(a[stage][0]*k1 + a[stage][1]*k2 + ...) at time t + c[stage]*h, where y is the
+     * state of <code>status</code> at time t.  The returned status and its coordinates are
+     * reused for every stage.
+     */
+    private SimulationStatus intermediateStatus(SimulationStatus status, int stage, double h) {
+        final double[] weights = TABLEAU_A[stage];
+
+        scratchPosition.set(status.getRocketPosition());
+        scratchVelocity.set(status.getRocketVelocity());
+        scratchRotationVelocity.set(status.getRocketRotationVelocity());
+        Quaternion orientation = status.getRocketOrientationQuaternion();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0) {
+                continue;
+            }
+            final RK6Parameters k = stages[i];
+            final double weight = h * weights[i];
+            scratchPosition.addScaled(k.v, weight);
+            scratchVelocity.addScaled(k.a, weight);
+            orientation = orientation.multiplyLeftRotation(mutableCoordC.set(k.rv)
+                    .multiply(weight));
+            scratchRotationVelocity.addScaled(k.ra, weight);
+        }
+
+        SimulationStatus status2 = getScratchStatus(status);
+        status2.setSimulationTime(status.getSimulationTime() + h * TABLEAU_C[stage]);
+        status2.setRocketPosition(scratchPosition);
+        status2.setRocketVelocity(scratchVelocity);
+        status2.setRocketOrientationQuaternion(orientation);
+        status2.setRocketRotationVelocity(scratchRotationVelocity);
+        return status2;
+    }
+
+    private void computeParameters(SimulationStatus status, DataStore store, RK6Parameters params)
             throws SimulationException {
-        RK6Parameters params = new RK6Parameters();
         calculateAcceleration(status, store);
 
-        params.a = store.accelerationData.getLinearAccelerationWC();
-        params.ra = store.accelerationData.getRotationalAccelerationWC();
-        params.v = status.getRocketVelocity();
-        params.rv = status.getRocketRotationVelocity();
+        params.a.set(store.accelerationData.getLinearAccelerationWC());
+        params.ra.set(store.accelerationData.getRotationalAccelerationWC());
+        params.v.set(status.getRocketVelocity());
+        params.rv.set(status.getRocketRotationVelocity());
 
         checkNaN(params.a, "params.a");
         checkNaN(params.ra, "params.ra");
         checkNaN(params.v, "params.v");
         checkNaN(params.rv, "params.rv");
-
-        return params;
     }
 
     @Override
@@ -827,13 +618,13 @@ public class RK6SimulationStepper extends AbstractSimulationStepper {
 
     private static class RK6Parameters {
         /** Linear acceleration */
-        public CoordinateIF a;
+        public final MutableCoordinate a = new MutableCoordinate();
         /** Linear velocity */
-        public CoordinateIF v;
+        public final MutableCoordinate v = new MutableCoordinate();
         /** Rotational acceleration */
-        public CoordinateIF ra;
+        public final MutableCoordinate ra = new MutableCoordinate();
         /** Rotational velocity */
-        public CoordinateIF rv;
+        public final MutableCoordinate rv = new MutableCoordinate();
 
 
         public String toString() {
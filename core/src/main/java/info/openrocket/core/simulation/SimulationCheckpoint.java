@@ -0,0 +1,185 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.DeploymentConfiguration;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.RecoveryDevice;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.CoordinateIF;
+
+/**
+ * The state of a simulation just before a flight event of the main branch is handled.  This
+ * includes the status of the main branch and of the branches of the separated stages waiting to
+ * be simulated, the warnings, and the state of the stepper.  The flight data is not copied; the
+ * checkpoint refers to the first points of the main branch of the simulation it was taken in.
+ */
+final class SimulationCheckpoint {
+
+	private final FlightEvent.Type eventType;
+	private final double time;
+	private final BranchState main;
+	private final List<BranchState> pending;
+	private final WarningSet warnings;
+	private final Object stepperState;
+	private final CoordinateIF origin;
+	private final CoordinateIF originVelocity;
+	private final long elapsedWallTime;
+	private final List<FlightEvent> deploymentTriggers;
+
+	/**
+	 * Take a checkpoint before handling an event.
+	 *
+	 * @param event					the event about to be handled, already removed from the event queue
+	 * @param status				the status of the main branch
+	 * @param pendingBranches		the statuses of the branches waiting to be simulated
+	 * @param warnings				the warnings of the simulation
+	 * @param stepperState			the state of the current stepper
+	 * @param origin				the launch position of the main branch
+	 * @param originVelocity		the launch velocity of the main branch
+	 * @param deploymentTriggers	the events handled before that could deploy a recovery device
+	 */
+	SimulationCheckpoint(FlightEvent event, SimulationStatus status, Collection<SimulationStatus> pendingBranches,
+			WarningSet warnings, Object stepperState, CoordinateIF origin, CoordinateIF originVelocity,
+			List<FlightEvent> deploymentTriggers) {
+		this.eventType = event.getType();
+		this.time = event.getTime();
+		this.main = BranchState.of(status);
+		this.main.status().getEventQueue().add(event);
+		this.pending = new ArrayList<>(pendingBranches.size());
+		for (SimulationStatus pendingStatus : pendingBranches) {
+			this.pending.add(BranchState.of(pendingStatus));
+		}
+		this.warnings = warnings.clone();
+		this.stepperState = stepperState;
+		this.origin = origin;
+		this.originVelocity = originVelocity;
+		this.elapsedWallTime = System.nanoTime() - status.getSimulationStartWallTime();
+		this.deploymentTriggers = List.copyOf(deploymentTriggers);
+	}
+
+	FlightEvent.Type getEventType() {
+		return eventType;
+	}
+
+	double getTime() {
+		return time;
+	}
+
+	Object getStepperState() {
+		return stepperState;
+	}
+
+	CoordinateIF getOrigin() {
+		return origin;
+	}
+
+	CoordinateIF getOriginVelocity() {
+		return originVelocity;
+	}
+
+	double getMaxAlt() {
+		return main.status().getMaxAlt();
+	}
+
+	double getMaxAltTime() {
+		return main.status().getMaxAltTime();
+	}
+
+	List<FlightEvent> getDeploymentTriggers() {
+		return deploymentTriggers;
+	}
+
+	/**
+	 * Return whether the flight up to this checkpoint is unchanged in a simulation of the given
+	 * configuration, whose inputs differ from the simulation the checkpoint was taken in at most
+	 * in the deployment and drag of the recovery devices.  This is the case unless one of the
+	 * events handled before the checkpoint deploys a recovery device of the configuration.
+	 *
+	 * @param configuration		the configuration of the simulation to resume
+	 * @return whether the simulation can be resumed from this checkpoint
+	 */
+	boolean isValidFor(FlightConfiguration configuration) {
+		FlightConfigurationId id = configuration.getFlightConfigurationID();
+		for (RocketComponent component : configuration.getRocket()) {
+			if (!(component instanceof RecoveryDevice device)) {
+				continue;
+			}
+			DeploymentConfiguration deployment = device.getDeploymentConfigurations().get(id);
+			for (FlightEvent event : deploymentTriggers) {
+				if (deployment.isActivationEvent(event, device)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Restore the branches of this checkpoint in a simulation of a changed design.
+	 *
+	 * @param status			the status of the main branch, newly created for the configuration of the simulation
+	 * @param previousBranch	the main branch of the simulation the checkpoint was taken in
+	 * @param pendingBranches	the branches to simulate, to which the waiting branches are added
+	 * @param warnings			the warnings of the simulation, to which the warnings are added
+	 */
+	void restore(SimulationStatus status, FlightDataBranch previousBranch, Deque<SimulationStatus> pendingBranches,
+			WarningSet warnings) {
+		Map<UUID, RocketComponent> components = new HashMap<>();
+		for (RocketComponent component : status.getConfiguration().getRocket()) {
+			components.put(component.getID(), component);
+		}
+		long startWallTime = System.nanoTime() - elapsedWallTime;
+
+		main.restore(status, previousBranch, components);
+		status.setSimulationStartWallTime(startWallTime);
+		for (BranchState state : pending) {
+			SimulationStatus pendingStatus = new SimulationStatus(status.getConfiguration().clone(),
+					status.getSimulationConditions());
+			state.restore(pendingStatus, previousBranch, components);
+			pendingStatus.setSimulationStartWallTime(startWallTime);
+			pendingBranches.addLast(pendingStatus);
+		}
+		warnings.addAll(this.warnings);
+	}
+
+	@Override
+	public String toString() {
+		return "SimulationCheckpoint[" + eventType + " @" + time + "]";
+	}
+
+	/**
+	 * The status of a branch at the checkpoint.  The data of every branch existing at a checkpoint
+	 * are the first points of the main branch, as the branches of the separated stages are copies
+	 * of the main branch that are not simulated until the main branch is complete.
+	 */
+	private record BranchState(SimulationStatus status, String name, int length, List<FlightEvent> events,
+			double optimumAltitude, double timeToOptimumAltitude) {
+
+		static BranchState of(SimulationStatus status) {
+			FlightDataBranch branch = status.getFlightDataBranch();
+			return new BranchState(status.copyForCheckpoint(), branch.getName(), branch.getLength(), branch.getEvents(),
+					branch.getOptimumAltitude(), branch.getTimeToOptimumAltitude());
+		}
+
+		void restore(SimulationStatus target, FlightDataBranch previousBranch, Map<UUID, RocketComponent> components) {
+			target.restoreCheckpoint(status, components);
+			List<FlightEvent> branchEvents = new ArrayList<>(events.size());
+			for (FlightEvent event : events) {
+				branchEvents.add(target.mapEvent(event, components));
+			}
+			FlightDataBranch branch = new FlightDataBranch(name, previousBranch, length, branchEvents);
+			branch.setOptimumAltitude(optimumAltitude);
+			branch.setTimeToOptimumAltitude(timeToOptimumAltitude);
+			target.setFlightDataBranch(branch);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+
+/**
+ * The checkpoints taken in the last run of a simulation.  The simulation engine takes a
+ * checkpoint of the main branch just before each burnout, ejection charge, stage separation and
+ * apogee event, until the deployment of a recovery device is queued.  When the simulation is run
+ * again after changing only the deployment or the drag of its recovery devices, for instance the
+ * size or the deployment altitude of a parachute, it is resumed from the latest checkpoint before
+ * the first event that deploys a recovery device instead of being simulated again from launch.
+ * <p>
+ * The checkpoints are identified by a key of the simulation inputs that affect the flight before
+ * the recovery devices are deployed, see
+ * {@link info.openrocket.core.simulation.cache.SimulationResultCache#computeCheckpointKey}.  The
+ * checkpoints are discarded when the key changes.
+ */
+public class SimulationCheckpoints {
+
+	private final List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+	private String key;
+	private FlightDataBranch branch;
+	private boolean resumed;
+
+	/**
+	 * Set the key of the inputs of the next run of the simulation.  The checkpoints are kept only
+	 * if the key is the same as the key of the previous run.
+	 *
+	 * @param key	the key of the inputs, or <code>null</code> if checkpoints cannot be used
+	 */
+	public void setKey(String key) {
+		resumed = false;
+		if (!Objects.equals(this.key, key)) {
+			clear();
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Discard all checkpoints.
+	 */
+	public void clear() {
+		checkpoints.clear();
+		branch = null;
+	}
+
+	/**
+	 * Return the number of checkpoints available for resuming the next run.
+	 */
+	public int getCheckpointCount() {
+		return branch != null ? checkpoints.size() : 0;
+	}
+
+	/**
+	 * Start a run of the simulation.  Find the latest checkpoint the simulation of the given
+	 * configuration can be resumed from, and discard it and the checkpoints after it; they are
+	 * taken again when the simulation continues.
+	 *
+	 * @param configuration		the configuration of the simulation
+	 * @return the checkpoint to resume from, or <code>null</code> to simulate from launch
+	 */
+	SimulationCheckpoint startSimulation(FlightConfiguration configuration) {
+		int index = branch != null ? checkpoints.size() - 1 : -1;
+		while (index >= 0 && !checkpoints.get(index).isValidFor(configuration)) {
+			index--;
+		}
+		if (index < 0) {
+			clear();
+			return null;
+		}
+		SimulationCheckpoint checkpoint = checkpoints.get(index);
+		checkpoints.subList(index, checkpoints.size()).clear();
+		resumed = true;
+		return checkpoint;
+	}
+
+	/**
+	 * Return whether the last run of the simulation was resumed from a checkpoint.
+	 */
+	public boolean isResumed() {
+		return resumed;
+	}
+
+	/**
+	 * Return the main branch of the run the checkpoints were taken in.
+	 */
+	FlightDataBranch getBranch() {
+		return branch;
+	}
+
+	/**
+	 * Add a checkpoint taken in the current run.  The checkpoints cannot be used until the run
+	 * is complete, so they are discarded if the run fails or is cancelled.
+	 *
+	 * @param checkpoint	the checkpoint
+	 */
+	void addCheckpoint(SimulationCheckpoint checkpoint) {
+		checkpoints.add(checkpoint);
+		branch = null;
+	}
+
+	/**
+	 * Complete a run of the simulation.
+	 *
+	 * @param mainBranch	the main branch of the run, which the checkpoints refer to
+	 */
+	void finishSimulation(FlightDataBranch mainBranch) {
+		this.branch = mainBranch;
+	}
+}
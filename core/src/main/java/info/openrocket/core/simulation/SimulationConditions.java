@@ -65,6 +65,10 @@ public class SimulationConditions implements Monitorable, Cloneable {
 
 	private int randomSeed = 0;
 
+	private boolean parallelBranches = false;
+
+	private SimulationCheckpoints checkpoints = null;
+
 	private ModID modID = ModID.INVALID;
 	private ModID modIDadd = ModID.INVALID;
 
@@ -252,6 +256,33 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		return simulationListeners;
 	}
 
+	/**
+	 * Return whether the branches of separated stages are simulated concurrently.  The flight
+	 * data is the same as when simulating the branches one after another, except that each
+	 * branch records the warning events of its own warnings.
+	 */
+	public boolean isParallelBranches() {
+		return parallelBranches;
+	}
+
+	public void setParallelBranches(boolean parallelBranches) {
+		this.parallelBranches = parallelBranches;
+		this.modID = new ModID();
+	}
+
+	/**
+	 * Return the checkpoints used to resume the simulation and taken during the simulation, or
+	 * <code>null</code> if the simulation is always simulated from launch.  Checkpoints are not
+	 * used when simulating the branches concurrently.
+	 */
+	public SimulationCheckpoints getCheckpoints() {
+		return checkpoints;
+	}
+
+	public void setCheckpoints(SimulationCheckpoints checkpoints) {
+		this.checkpoints = checkpoints;
+	}
+
 	@Override
 	public ModID getModID() {
 		return modID;
@@ -646,6 +646,7 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		conditions.setTimeStep(getTimeStep());
 		conditions.setMaxSimulationTime(getMaxSimulationTime());
 		conditions.setMaximumAngleStep(getMaximumStepAngle());
+		conditions.setParallelBranches(preferences.getSimulationParallelBranches());
 
 		return conditions;
 	}
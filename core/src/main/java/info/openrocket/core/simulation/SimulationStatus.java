@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import info.openrocket.core.aerodynamics.FlightConditions;
 import info.openrocket.core.logging.SimulationAbort;
@@ -73,7 +74,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	private double effectiveLaunchRodLength;
 
 	// Set of all motors
-	private final List<MotorClusterState> motorStateList = new ArrayList<>();
+	private List<MotorClusterState> motorStateList = new ArrayList<>();
 
 	/** Nanosecond time when the simulation was started. */
 	private long simulationStartWallTime = Long.MIN_VALUE;
@@ -97,20 +98,21 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	private boolean landed = false;
 
 	/** Contains a list of deployed recovery devices. */
-	private final MonitorableSet<RecoveryDevice> deployedRecoveryDevices = new MonitorableSet<>();
+	private MonitorableSet<RecoveryDevice> deployedRecoveryDevices = new MonitorableSet<>();
 
 	/** The flight event queue */
-	private final EventQueue eventQueue = new EventQueue();
+	private EventQueue eventQueue = new EventQueue();
 
 	private WarningSet warnings;
 
 	/** Available for special purposes by the listeners. */
-	private final Map<String, Object> extraData = new HashMap<>();
+	private Map<String, Object> extraData = new HashMap<>();
 
 	double maxAlt = Double.NEGATIVE_INFINITY;
 	double maxAltTime = 0;
 
 	private ModID modID = ModID.INVALID;
+	private boolean modIDStale = false;
 	private ModID modIDadd = ModID.INVALID;
 
 	public SimulationStatus(FlightConfiguration configuration, SimulationConditions simulationConditions) {
@@ -223,13 +225,13 @@ public class SimulationStatus implements Cloneable, Monitorable {
 		this.extraData.clear();
 		this.extraData.putAll(orig.extraData);
 
-		this.modID = orig.modID;
+		this.modID = orig.getModID();
 		this.modIDadd = orig.modIDadd;
 	}
 
 	public void setSimulationTime(double time) {
 		this.time = time;
-		this.modID = new ModID();
+		markModified();
 	}
 
 	public double getSimulationTime() {
@@ -281,7 +283,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	 */
 	public void setRocketPosition(CoordinateIF position) {
 		this.position = position;
-		modID = new ModID();
+		markModified();
 	}
 
 	/**
@@ -298,7 +300,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	 */
 	public void setRocketWorldPosition(WorldCoordinate wc) {
 		this.worldPosition = wc;
-		modID = new ModID();
+		markModified();
 	}
 
 	/**
@@ -311,7 +313,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setRocketVelocity(CoordinateIF velocity) {
 		this.velocity = velocity;
-		modID = new ModID();
+		markModified();
 	}
 
 	public CoordinateIF getRocketVelocity() {
@@ -331,7 +333,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setRocketOrientationQuaternion(Quaternion orientation) {
 		this.orientation = orientation;
-		modID = new ModID();
+		markModified();
 	}
 
 	public CoordinateIF getRocketRotationVelocity() {
@@ -344,7 +346,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setEffectiveLaunchRodLength(double effectiveLaunchRodLength) {
 		this.effectiveLaunchRodLength = effectiveLaunchRodLength;
-		modID = new ModID();
+		markModified();
 	}
 
 	public double getEffectiveLaunchRodLength() {
@@ -353,7 +355,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setSimulationStartWallTime(long simulationStartWallTime) {
 		this.simulationStartWallTime = simulationStartWallTime;
-		modID = new ModID();
+		markModified();
 	}
 
 	public long getSimulationStartWallTime() {
@@ -362,7 +364,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setMotorIgnited(boolean motorIgnited) {
 		this.motorIgnited = motorIgnited;
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isMotorIgnited() {
@@ -371,7 +373,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setLiftoff(boolean liftoff) {
 		this.liftoff = liftoff;
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isLiftoff() {
@@ -383,7 +385,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 		if (launchRod) {
 			startWarningsTime = getSimulationTime() + WARNINGS_WAIT;
 		}
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isLaunchRodCleared() {
@@ -392,7 +394,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setApogeeReached(boolean apogeeReached) {
 		this.apogeeReached = apogeeReached;
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isApogeeReached() {
@@ -401,7 +403,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setTumbling(boolean tumbling) {
 		this.tumbling = tumbling;
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isTumbling() {
@@ -410,7 +412,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setLanded(boolean landed) {
 		this.landed = landed;
-		modID = new ModID();
+		markModified();
 	}
 
 	public boolean isLanded() {
@@ -423,7 +425,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setMaxAlt(double maxAlt) {
 		this.maxAlt = maxAlt;
-		modID = new ModID();
+		markModified();
 	}
 
 	public double getMaxAltTime() {
@@ -432,7 +434,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 	public void setMaxAltTime(double maxAltTime) {
 		this.maxAltTime = maxAltTime;
-		modID = new ModID();
+		markModified();
 	}
 
 	public Set<RecoveryDevice> getDeployedRecoveryDevices() {
@@ -557,6 +559,47 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	}
 
 
+	/**
+	 * Make this object a shallow copy of <code>orig</code>, equivalent to the object returned
+	 * by {@link #clone()}.  This allows the simulation steppers to reuse a single object for
+	 * the intermediate states of every step instead of cloning a new one for each.
+	 * <p>
+	 * All fields of this class must be copied here.
+	 *
+	 * @param orig the status to copy
+	 */
+	public void copyFrom(SimulationStatus orig) {
+		this.simulationConditions = orig.simulationConditions;
+		this.configuration = orig.configuration;
+		this.flightDataBranch = orig.flightDataBranch;
+		this.time = orig.time;
+		this.position = orig.position;
+		this.worldPosition = orig.worldPosition;
+		this.velocity = orig.velocity;
+		this.orientation = orig.orientation;
+		this.rotationVelocity = orig.rotationVelocity;
+		this.maxZVelocity = orig.maxZVelocity;
+		this.startWarningsTime = orig.startWarningsTime;
+		this.effectiveLaunchRodLength = orig.effectiveLaunchRodLength;
+		this.motorStateList = orig.motorStateList;
+		this.simulationStartWallTime = orig.simulationStartWallTime;
+		this.motorIgnited = orig.motorIgnited;
+		this.liftoff = orig.liftoff;
+		this.launchRodCleared = orig.launchRodCleared;
+		this.apogeeReached = orig.apogeeReached;
+		this.tumbling = orig.tumbling;
+		this.landed = orig.landed;
+		this.deployedRecoveryDevices = orig.deployedRecoveryDevices;
+		this.eventQueue = orig.eventQueue;
+		this.warnings = orig.warnings;
+		this.extraData = orig.extraData;
+		this.maxAlt = orig.maxAlt;
+		this.maxAltTime = orig.maxAltTime;
+		this.modID = orig.modID;
+		this.modIDStale = orig.modIDStale;
+		this.modIDadd = orig.modIDadd;
+	}
+
 	/**
 	 * Copies simulation status data from the specified {@code SimulationStatus} object <code>orig</code>
 	 * to this instance, in particular the physical kinematics as well as boolean flags of <code>motorIgnited</code>, etc.
@@ -580,8 +623,120 @@ public class SimulationStatus implements Cloneable, Monitorable {
 
 
 
+	/**
+	 * Return a copy of this status to keep at a simulation checkpoint.  In addition to the
+	 * copy made by {@link #SimulationStatus(SimulationStatus)}, the states of the motors are
+	 * copied, so that the copy is not affected by continuing the simulation.
+	 */
+	SimulationStatus copyForCheckpoint() {
+		SimulationStatus copy = new SimulationStatus(this);
+		copy.motorStateList = new ArrayList<>(motorStateList.size());
+		for (MotorClusterState state : motorStateList) {
+			copy.motorStateList.add(new MotorClusterState(state));
+		}
+		copy.maxAlt = maxAlt;
+		copy.maxAltTime = maxAltTime;
+		return copy;
+	}
+
+	/**
+	 * Continue the flight of a checkpoint of another simulation of the same design in this
+	 * status, which must have been newly created for the configuration of this simulation.
+	 * The flight state, the active stages, the states of the motors and the event queue are
+	 * copied from the checkpoint.  The rocket components and motor states referred to by the
+	 * events are replaced by the ones of this simulation.
+	 *
+	 * @param checkpoint	the status kept at the checkpoint
+	 * @param components	the components of the rocket of this simulation by their IDs
+	 */
+	void restoreCheckpoint(SimulationStatus checkpoint, Map<UUID, RocketComponent> components) {
+		this.configuration.copyStages(checkpoint.configuration);
+		this.time = checkpoint.time;
+		this.position = checkpoint.position;
+		this.worldPosition = checkpoint.worldPosition;
+		this.velocity = checkpoint.velocity;
+		this.orientation = checkpoint.orientation;
+		this.rotationVelocity = checkpoint.rotationVelocity;
+		this.maxZVelocity = checkpoint.maxZVelocity;
+		this.startWarningsTime = checkpoint.startWarningsTime;
+		this.effectiveLaunchRodLength = checkpoint.effectiveLaunchRodLength;
+		this.motorIgnited = checkpoint.motorIgnited;
+		this.liftoff = checkpoint.liftoff;
+		this.launchRodCleared = checkpoint.launchRodCleared;
+		this.apogeeReached = checkpoint.apogeeReached;
+		this.tumbling = checkpoint.tumbling;
+		this.landed = checkpoint.landed;
+		this.maxAlt = checkpoint.maxAlt;
+		this.maxAltTime = checkpoint.maxAltTime;
+
+		for (MotorClusterState state : this.motorStateList) {
+			MotorClusterState source = checkpoint.getMotorState(state.getID());
+			if (source != null) {
+				state.copyState(source);
+			}
+		}
+
+		this.deployedRecoveryDevices.clear();
+		for (RecoveryDevice device : checkpoint.deployedRecoveryDevices) {
+			this.deployedRecoveryDevices.add((RecoveryDevice) components.getOrDefault(device.getID(), device));
+		}
+
+		this.eventQueue.clear();
+		for (FlightEvent event : checkpoint.eventQueue) {
+			this.eventQueue.add(mapEvent(event, components));
+		}
+
+		this.extraData.clear();
+		this.extraData.putAll(checkpoint.extraData);
+		markModified();
+	}
+
+	/**
+	 * Return an event of another simulation of the same design with the rocket component and
+	 * the motor state replaced by the ones of this simulation.
+	 *
+	 * @param event			the event of the other simulation
+	 * @param components	the components of the rocket of this simulation by their IDs
+	 * @return the corresponding event of this simulation
+	 */
+	FlightEvent mapEvent(FlightEvent event, Map<UUID, RocketComponent> components) {
+		RocketComponent source = event.getSource();
+		if (source != null) {
+			source = components.getOrDefault(source.getID(), source);
+		}
+		Object data = event.getData();
+		if (data instanceof MotorClusterState state) {
+			MotorClusterState motorState = getMotorState(state.getID());
+			if (motorState != null) {
+				data = motorState;
+			}
+		}
+		return new FlightEvent(event.getType(), event.getTime(), source, data, event.getID());
+	}
+
+	private MotorClusterState getMotorState(MotorConfigurationId id) {
+		for (MotorClusterState state : motorStateList) {
+			if (state.getID().equals(id)) {
+				return state;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Mark this status as modified.  A new modification ID is created lazily on the next call
+	 * to {@link #getModID()}, so that updating the status during a step does not allocate.
+	 */
+	private void markModified() {
+		modIDStale = true;
+	}
+
 	@Override
 	public ModID getModID() {
+		if (modIDStale) {
+			modID = new ModID();
+			modIDStale = false;
+		}
 		return modID;
 	}
 
@@ -669,7 +824,7 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	private void setMaxZVelocity(double zVel) {
 		if (zVel > maxZVelocity) {
 			maxZVelocity = zVel;
-			modID = new ModID();
+			markModified();
 		}
 	}
 	
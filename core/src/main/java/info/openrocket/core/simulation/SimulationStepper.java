@@ -38,4 +38,24 @@ public interface SimulationStepper {
 	 */
 	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException;
 
+	/**
+	 * Return a copy of the internal state this stepper carries from one step to the next,
+	 * such as the state of its random number generator.  Used to checkpoint a simulation.
+	 *
+	 * @return the state of this stepper, or <code>null</code> if the stepper has no state.
+	 */
+	public default Object saveState() {
+		return null;
+	}
+
+	/**
+	 * Restore the internal state returned by {@link #saveState()}.  This is called after
+	 * {@link #initialize(SimulationStatus)} when resuming a simulation from a checkpoint.  The
+	 * state object must not be modified, as it may be restored again.
+	 *
+	 * @param state the state returned by {@link #saveState()}.
+	 */
+	public default void restoreState(Object state) {
+	}
+
 }
@@ -46,6 +46,26 @@ public enum SimulationStepperMethod {
 		public String getDescription() {
 			return trans.get("SimulationStepperMethod.RK6.desc");
 		}
+	},
+
+	/**
+	 * Perform computations using an adaptive Dormand-Prince 5(4) stepper.
+	 */
+	RK45 {
+		@Override
+		public String getName() {
+			return trans.get("SimulationStepperMethod.RK45.name");
+		}
+
+		@Override
+		public String getShortName() {
+			return trans.get("SimulationStepperMethod.RK45.shortName");
+		}
+
+		@Override
+		public String getDescription() {
+			return trans.get("SimulationStepperMethod.RK45.desc");
+		}
 	};
 
 	private static final Translator trans = Application.getTranslator();
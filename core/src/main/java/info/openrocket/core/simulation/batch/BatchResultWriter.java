@@ -0,0 +1,230 @@
+package info.openrocket.core.simulation.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.CSVExport;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.unit.Unit;
+
+/**
+ * Writes the results of a batch simulation run.  All values are written in SI units.
+ */
+public class BatchResultWriter {
+
+	private static final String[] SUMMARY_COLUMNS = {
+			"file", "simulation", "status", "wallTimeMs", "maxAltitude", "maxVelocity", "maxAcceleration",
+			"maxMachNumber", "timeToApogee", "flightTime", "groundHitVelocity", "launchRodVelocity",
+			"deploymentVelocity", "optimumDelay", "warnings", "message"
+	};
+
+	private static final int DECIMAL_PLACES = 6;
+
+	private BatchResultWriter() {
+	}
+
+	/**
+	 * Write a CSV summary with one line per simulation result.
+	 *
+	 * @param stream	the stream to write to.
+	 * @param results	the results to write.
+	 */
+	public static void writeSummaryCSV(OutputStream stream, List<BatchSimulationResult> results) {
+		PrintWriter writer = new PrintWriter(stream, false, StandardCharsets.UTF_8);
+		writer.println(String.join(",", SUMMARY_COLUMNS));
+		for (BatchSimulationResult result : results) {
+			StringBuilder sb = new StringBuilder();
+			sb.append(quote(result.getFile().getPath())).append(',');
+			sb.append(quote(result.getSimulationName())).append(',');
+			sb.append(result.getStatus()).append(',');
+			sb.append(result.getWallTime()).append(',');
+			for (double value : summaryValues(result.getFlightSummary())) {
+				sb.append(Double.isNaN(value) ? "" : String.valueOf(value)).append(',');
+			}
+			sb.append(result.getWarningCount()).append(',');
+			sb.append(quote(result.getMessage()));
+			writer.println(sb);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Write a JSON summary of the simulation results, including the total wall time and the
+	 * throughput of the run.
+	 *
+	 * @param stream		the stream to write to.
+	 * @param results		the results to write.
+	 * @param totalWallTime	the total wall time of the run, in milliseconds.
+	 * @param threadCount	the number of threads used for the run.
+	 */
+	public static void writeSummaryJSON(OutputStream stream, List<BatchSimulationResult> results,
+			double totalWallTime, int threadCount) {
+		JsonGenerator json = createGenerator(stream);
+		json.writeStartObject();
+		json.write("threads", threadCount);
+		writeNumber(json, "totalWallTimeMs", totalWallTime);
+		writeNumber(json, "simulationsPerSecond", getThroughput(results, totalWallTime));
+		json.writeStartArray("results");
+		for (BatchSimulationResult result : results) {
+			json.writeStartObject();
+			json.write(SUMMARY_COLUMNS[0], result.getFile().getPath());
+			writeString(json, SUMMARY_COLUMNS[1], result.getSimulationName());
+			json.write(SUMMARY_COLUMNS[2], result.getStatus().name());
+			writeNumber(json, SUMMARY_COLUMNS[3], result.getWallTime());
+			double[] values = summaryValues(result.getFlightSummary());
+			for (int i = 0; i < values.length; i++) {
+				writeNumber(json, SUMMARY_COLUMNS[4 + i], values[i]);
+			}
+			json.write(SUMMARY_COLUMNS[14], result.getWarningCount());
+			writeString(json, SUMMARY_COLUMNS[15], result.getMessage());
+			json.writeEnd();
+		}
+		json.writeEnd();
+		json.writeEnd();
+		json.flush();
+	}
+
+	/**
+	 * Write all data of a flight data branch as CSV, with the simulation and event comments.
+	 *
+	 * @param stream		the stream to write to.
+	 * @param simulation	the simulation the branch belongs to.
+	 * @param branch		the branch to write.
+	 */
+	public static void writeBranchCSV(OutputStream stream, Simulation simulation, FlightDataBranch branch)
+			throws IOException {
+		FlightDataType[] types = branch.getTypes();
+		Unit[] units = new Unit[types.length];
+		for (int i = 0; i < types.length; i++) {
+			units[i] = types[i].getUnitGroup().getSIUnit();
+		}
+		CSVExport.exportCSV(stream, simulation, branch, types, units, ",", DECIMAL_PLACES, false,
+				"#", true, true, true);
+	}
+
+	/**
+	 * Write all data of a flight data branch as JSON.  The data is written column-wise, with
+	 * the data type symbols as keys.
+	 *
+	 * @param stream		the stream to write to.
+	 * @param simulation	the simulation the branch belongs to.
+	 * @param branch		the branch to write.
+	 */
+	public static void writeBranchJSON(OutputStream stream, Simulation simulation, FlightDataBranch branch) {
+		JsonGenerator json = createGenerator(stream);
+		json.writeStartObject();
+		json.write("simulation", simulation.getName());
+		json.write("branch", branch.getName());
+
+		FlightDataType[] types = branch.getTypes();
+		json.writeStartArray("types");
+		for (FlightDataType type : types) {
+			json.writeStartObject();
+			json.write("symbol", type.getSymbol());
+			json.write("name", type.getName());
+			json.write("unit", type.getUnitGroup().getSIUnit().getUnit());
+			json.writeEnd();
+		}
+		json.writeEnd();
+
+		json.writeStartArray("events");
+		for (FlightEvent event : branch.getEvents()) {
+			json.writeStartObject();
+			json.write("type", event.getType().name());
+			writeNumber(json, "time", event.getTime());
+			json.writeEnd();
+		}
+		json.writeEnd();
+
+		json.writeStartObject("data");
+		final int length = branch.getLength();
+		for (FlightDataType type : types) {
+			int slot = branch.getSlot(type);
+			json.writeStartArray(type.getSymbol());
+			for (int i = 0; i < length; i++) {
+				double value = branch.getValue(slot, i);
+				if (Double.isNaN(value) || Double.isInfinite(value)) {
+					json.writeNull();
+				} else {
+					json.write(value);
+				}
+			}
+			json.writeEnd();
+		}
+		json.writeEnd();
+
+		json.writeEnd();
+		json.flush();
+	}
+
+	/**
+	 * Return the number of simulations run per second of wall time.
+	 */
+	public static double getThroughput(List<BatchSimulationResult> results, double totalWallTime) {
+		int count = 0;
+		for (BatchSimulationResult result : results) {
+			if (result.getStatus() == BatchSimulationResult.Status.OK ||
+					result.getStatus() == BatchSimulationResult.Status.ABORTED) {
+				count++;
+			}
+		}
+		return count / (totalWallTime / 1000);
+	}
+
+	private static double[] summaryValues(FlightData data) {
+		if (data == null) {
+			double[] values = new double[10];
+			Arrays.fill(values, Double.NaN);
+			return values;
+		}
+		return new double[] {
+				data.getMaxAltitude(), data.getMaxVelocity(), data.getMaxAcceleration(), data.getMaxMachNumber(),
+				data.getTimeToApogee(), data.getFlightTime(), data.getGroundHitVelocity(),
+				data.getLaunchRodVelocity(), data.getDeploymentVelocity(), data.getOptimumDelay()
+		};
+	}
+
+	private static JsonGenerator createGenerator(OutputStream stream) {
+		return Json.createGeneratorFactory(Map.of(JsonGenerator.PRETTY_PRINTING, true))
+				.createGenerator(stream, StandardCharsets.UTF_8);
+	}
+
+	private static void writeNumber(JsonGenerator json, String name, double value) {
+		// JSON has no representation for NaN or infinity
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			json.writeNull(name);
+		} else {
+			json.write(name, value);
+		}
+	}
+
+	private static void writeString(JsonGenerator json, String name, String value) {
+		if (value == null) {
+			json.writeNull(name);
+		} else {
+			json.write(name, value);
+		}
+	}
+
+	private static String quote(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+}
@@ -0,0 +1,169 @@
+package info.openrocket.core.simulation.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import info.openrocket.core.startup.OpenRocketCore;
+
+/**
+ * Command line entry point for running the simulations of OpenRocket documents without the
+ * graphical user interface.  Only the core module is needed on the class path.
+ * <p>
+ * Usage: <code>BatchSimulationMain [options] &lt;file or directory&gt;...</code>  Directories
+ * are searched recursively for .ork files.  See {@link #usage()} for the options.
+ * <p>
+ * The exit code is 0 if all simulations ran, 1 if some simulation or document failed and
+ * 2 for invalid arguments.
+ */
+public class BatchSimulationMain {
+
+	private static final String SUMMARY_FILE_NAME = "summary";
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		BatchSimulationRunner runner = new BatchSimulationRunner();
+		List<String> simulationNames = new ArrayList<>();
+		List<File> files = new ArrayList<>();
+		File outputDirectory = null;
+		Set<BatchSimulationRunner.Format> formats = EnumSet.of(BatchSimulationRunner.Format.CSV);
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				String arg = args[i];
+				switch (arg) {
+					case "-t", "--threads" -> runner.setThreadCount(Integer.parseInt(value(args, ++i)));
+					case "-s", "--simulation" -> simulationNames.add(value(args, ++i));
+					case "-o", "--output" -> outputDirectory = new File(value(args, ++i));
+					case "-f", "--format" -> formats = parseFormats(value(args, ++i));
+					case "-b", "--branches" -> runner.setExportBranches(true);
+					case "--save" -> runner.setSaveDocuments(true);
+					case "-h", "--help" -> {
+						usage();
+						return;
+					}
+					default -> {
+						if (arg.startsWith("-")) {
+							throw new IllegalArgumentException("Unknown option " + arg);
+						}
+						addFiles(new File(arg), files);
+					}
+				}
+			}
+			if (files.isEmpty()) {
+				throw new IllegalArgumentException("No files specified");
+			}
+		} catch (IllegalArgumentException e) {
+			System.err.println("Error: " + e.getMessage());
+			usage();
+			System.exit(2);
+			return;
+		}
+
+		runner.setSimulationNames(simulationNames);
+		runner.setOutputDirectory(outputDirectory);
+		runner.setFormats(formats);
+
+		OpenRocketCore.initialize();
+
+		System.out.println("Running simulations of " + files.size() + " files using " + runner.getThreadCount() +
+				" threads");
+		long t0 = System.nanoTime();
+		List<BatchSimulationResult> results = runner.run(files);
+		double totalWallTime = (System.nanoTime() - t0) / 1.0e6;
+
+		boolean failed = false;
+		for (BatchSimulationResult result : results) {
+			System.out.println(String.format(Locale.ENGLISH, "%-8s %8.1f ms  %s%s%s", result.getStatus(),
+					result.getWallTime(), result.getFile().getPath(),
+					result.getSimulationName() != null ? " : " + result.getSimulationName() : "",
+					result.getMessage() != null ? "  (" + result.getMessage() + ")" : ""));
+			failed |= result.getStatus() == BatchSimulationResult.Status.FAILED;
+		}
+		System.out.println(String.format(Locale.ENGLISH, "%d results in %.1f s, %.2f simulations/s",
+				results.size(), totalWallTime / 1000, BatchResultWriter.getThroughput(results, totalWallTime)));
+
+		if (outputDirectory != null) {
+			writeSummary(outputDirectory, formats, results, totalWallTime, runner.getThreadCount());
+		}
+
+		System.exit(failed ? 1 : 0);
+	}
+
+	private static void writeSummary(File dir, Set<BatchSimulationRunner.Format> formats,
+			List<BatchSimulationResult> results, double totalWallTime, int threadCount) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create directory " + dir);
+		}
+		for (BatchSimulationRunner.Format format : formats) {
+			File file = new File(dir, SUMMARY_FILE_NAME + "." + format.getExtension());
+			try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file))) {
+				switch (format) {
+					case CSV -> BatchResultWriter.writeSummaryCSV(os, results);
+					case JSON -> BatchResultWriter.writeSummaryJSON(os, results, totalWallTime, threadCount);
+				}
+			}
+			System.out.println("Wrote " + file);
+		}
+	}
+
+	private static String value(String[] args, int i) {
+		if (i >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+		}
+		return args[i];
+	}
+
+	private static Set<BatchSimulationRunner.Format> parseFormats(String value) {
+		Set<BatchSimulationRunner.Format> formats = EnumSet.noneOf(BatchSimulationRunner.Format.class);
+		for (String s : value.split(",")) {
+			s = s.trim();
+			if (s.equalsIgnoreCase("both")) {
+				formats.addAll(Arrays.asList(BatchSimulationRunner.Format.values()));
+			} else {
+				formats.add(BatchSimulationRunner.Format.valueOf(s.toUpperCase(Locale.ENGLISH)));
+			}
+		}
+		return formats;
+	}
+
+	private static void addFiles(File file, List<File> files) {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children == null) {
+				return;
+			}
+			Arrays.sort(children);
+			for (File child : children) {
+				if (child.isDirectory() || child.getName().toLowerCase(Locale.ENGLISH).endsWith(".ork")) {
+					addFiles(child, files);
+				}
+			}
+		} else if (file.isFile()) {
+			files.add(file);
+		} else {
+			throw new IllegalArgumentException("File not found: " + file);
+		}
+	}
+
+	private static void usage() {
+		System.err.println("Usage: BatchSimulationMain [options] <file or directory>...");
+		System.err.println("Options:");
+		System.err.println("  -t, --threads <n>        number of simulations to run in parallel");
+		System.err.println("  -s, --simulation <name>  run only the simulations with this name (repeatable)");
+		System.err.println("  -o, --output <dir>       write the summary (and branches) into this directory");
+		System.err.println("  -f, --format <formats>   csv, json or both (default csv)");
+		System.err.println("  -b, --branches           export all flight data branches into the output directory");
+		System.err.println("      --save               save the simulated data back into the .ork files");
+		System.err.println("  -h, --help               show this help");
+	}
+}
@@ -0,0 +1,102 @@
+package info.openrocket.core.simulation.batch;
+
+import java.io.File;
+
+import info.openrocket.core.simulation.FlightData;
+
+/**
+ * The outcome of a single simulation run by the {@link BatchSimulationRunner}.  Results that
+ * concern a whole document (e.g. a file that could not be loaded or saved) have no
+ * simulation name.
+ */
+public class BatchSimulationResult {
+
+	public enum Status {
+		/** The simulation completed */
+		OK,
+		/** The simulation ran, but was aborted by the simulation engine */
+		ABORTED,
+		/** The simulation or document could not be processed because of an error */
+		FAILED,
+		/** The simulation cannot be run, e.g. it contains imported data */
+		SKIPPED
+	}
+
+	private final File file;
+	private final String simulationName;
+	private final Status status;
+	private final String message;
+	private final long wallTimeNanos;
+	private final FlightData summary;
+	private final int warningCount;
+
+	BatchSimulationResult(File file, String simulationName, Status status, String message, long wallTimeNanos,
+			FlightData summary, int warningCount) {
+		this.file = file;
+		this.simulationName = simulationName;
+		this.status = status;
+		this.message = message;
+		this.wallTimeNanos = wallTimeNanos;
+		this.summary = summary;
+		this.warningCount = warningCount;
+	}
+
+	static BatchSimulationResult failed(File file, String simulationName, String message, long wallTimeNanos) {
+		return new BatchSimulationResult(file, simulationName, Status.FAILED, message, wallTimeNanos, null, 0);
+	}
+
+	/**
+	 * Return the document file the simulation was loaded from.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Return the name of the simulation, or <code>null</code> for a result that concerns the
+	 * whole document.
+	 */
+	public String getSimulationName() {
+		return simulationName;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Return the error or abort message, or <code>null</code> if none.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Return the wall clock time used to run the simulation, in milliseconds.
+	 */
+	public double getWallTime() {
+		return wallTimeNanos / 1.0e6;
+	}
+
+	/**
+	 * Return the summary values of the simulated flight, or <code>null</code> if the simulation
+	 * did not run.  The returned object does not contain the flight data branches, so that the
+	 * results of large batches can be kept in memory.
+	 */
+	public FlightData getFlightSummary() {
+		return summary;
+	}
+
+	/**
+	 * Return the number of warnings produced by the simulation.
+	 */
+	public int getWarningCount() {
+		return warningCount;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchSimulationResult[file=" + file + ", simulation=" + simulationName + ", status=" + status +
+				", wallTime=" + getWallTime() + "ms" + (message != null ? ", message=" + message : "") + "]";
+	}
+}
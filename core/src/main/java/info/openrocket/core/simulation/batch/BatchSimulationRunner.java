@@ -0,0 +1,410 @@
+package info.openrocket.core.simulation.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.logging.SimulationAbort;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.util.BugException;
+
+/**
+ * Runs the simulations of a set of OpenRocket documents without any user interface.
+ * <p>
+ * The documents are loaded with {@link GeneralRocketLoader} and all simulations, or the
+ * simulations with the selected names, are run on a fixed number of worker threads.  Only a
+ * limited number of documents is kept in memory at a time.  The flight data branches can
+ * optionally be exported as CSV and/or JSON files, and the simulated documents can be written
+ * back to their files with {@link GeneralRocketSaver}.
+ * <p>
+ * The data of each document is exported into a directory named after the document file, and the
+ * files are named after the simulation and the branch number.  If several documents or simulations
+ * have the same name, their index is appended to the name to keep the exported files apart.
+ * <p>
+ * The simulations are run with the random seeds stored in the documents, so repeated runs of
+ * the same files give the same results.
+ */
+public class BatchSimulationRunner {
+	private static final Logger log = LoggerFactory.getLogger(BatchSimulationRunner.class);
+
+	/**
+	 * Output file formats.
+	 */
+	public enum Format {
+		CSV("csv"),
+		JSON("json");
+
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+	}
+
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+	private final Set<String> simulationNames = new HashSet<>();
+	private File outputDirectory = null;
+	private final Set<Format> formats = EnumSet.of(Format.CSV);
+	private boolean exportBranches = false;
+	private boolean saveDocuments = false;
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of simulations to run in parallel.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive: " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Set the names of the simulations to run.  If empty, all simulations of the documents are run.
+	 */
+	public void setSimulationNames(Collection<String> names) {
+		simulationNames.clear();
+		simulationNames.addAll(names);
+	}
+
+	public File getOutputDirectory() {
+		return outputDirectory;
+	}
+
+	/**
+	 * Set the directory the flight data branches are exported to, or <code>null</code>
+	 * to not export any data.
+	 */
+	public void setOutputDirectory(File outputDirectory) {
+		this.outputDirectory = outputDirectory;
+	}
+
+	public Set<Format> getFormats() {
+		return EnumSet.copyOf(formats);
+	}
+
+	public void setFormats(Collection<Format> formats) {
+		if (formats.isEmpty()) {
+			throw new IllegalArgumentException("At least one format must be specified");
+		}
+		this.formats.clear();
+		this.formats.addAll(formats);
+	}
+
+	/**
+	 * Set whether to export all flight data branches of the simulations into the output directory.
+	 */
+	public void setExportBranches(boolean exportBranches) {
+		this.exportBranches = exportBranches;
+	}
+
+	/**
+	 * Set whether to save the documents with the simulated data back to their files.  Only
+	 * OpenRocket (.ork) files are written.
+	 */
+	public void setSaveDocuments(boolean saveDocuments) {
+		this.saveDocuments = saveDocuments;
+	}
+
+
+	/**
+	 * Run the simulations of the given documents.  The results are returned in the order of
+	 * the files and the simulations within the documents.
+	 *
+	 * @param files		the document files.
+	 * @return			the results of the simulations.
+	 * @throws InterruptedException	if the thread is interrupted while waiting for the simulations.
+	 */
+	public List<BatchSimulationResult> run(List<File> files) throws InterruptedException {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, "BatchSimulationRunner");
+					t.setDaemon(true);
+					return t;
+				});
+
+		// Limit the number of documents loaded at the same time
+		Semaphore documentPermits = new Semaphore(2 * threadCount);
+		List<DocumentRun> runs = new ArrayList<>(files.size());
+		List<String> baseNames = new ArrayList<>(files.size());
+		for (File file : files) {
+			baseNames.add(baseName(file));
+		}
+		List<String> directoryNames = uniqueNames(baseNames);
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				documentPermits.acquire();
+				DocumentRun run = new DocumentRun(files.get(i), directoryNames.get(i), executor, documentPermits);
+				runs.add(run);
+				executor.execute(run::load);
+			}
+
+			List<BatchSimulationResult> results = new ArrayList<>();
+			for (DocumentRun run : runs) {
+				try {
+					results.addAll(run.done.get());
+				} catch (ExecutionException e) {
+					throw new BugException("Unexpected exception in batch simulation", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * The simulations of a single document.  The last simulation to finish saves the document
+	 * and releases the document permit.
+	 */
+	private class DocumentRun {
+		private final File file;
+		private final String directoryName;
+		private final ThreadPoolExecutor executor;
+		private final Semaphore permits;
+		private final CompletableFuture<List<BatchSimulationResult>> done = new CompletableFuture<>();
+		private final List<BatchSimulationResult> documentResults = new ArrayList<>();
+
+		private OpenRocketDocument document;
+		private List<Simulation> simulations;
+		private List<String> exportNames;
+		private BatchSimulationResult[] results;
+		private final AtomicInteger remaining = new AtomicInteger();
+
+		DocumentRun(File file, String directoryName, ThreadPoolExecutor executor, Semaphore permits) {
+			this.file = file;
+			this.directoryName = directoryName;
+			this.executor = executor;
+			this.permits = permits;
+		}
+
+		void load() {
+			long t0 = System.nanoTime();
+			try {
+				GeneralRocketLoader loader = new GeneralRocketLoader(file);
+				document = loader.load();
+			} catch (Exception e) {
+				log.warn("Unable to load " + file, e);
+				documentResults.add(BatchSimulationResult.failed(file, null, "Unable to load document: " + e.getMessage(),
+						System.nanoTime() - t0));
+				finish();
+				return;
+			}
+
+			simulations = new ArrayList<>();
+			List<String> names = new ArrayList<>();
+			for (Simulation sim : document.getSimulations()) {
+				if (simulationNames.isEmpty() || simulationNames.contains(sim.getName())) {
+					simulations.add(sim);
+					names.add(safeFileName(sim.getName()));
+				}
+			}
+			exportNames = uniqueNames(names);
+			results = new BatchSimulationResult[simulations.size()];
+			if (simulations.isEmpty()) {
+				finish();
+				return;
+			}
+
+			remaining.set(simulations.size());
+			for (int i = 0; i < simulations.size(); i++) {
+				final int index = i;
+				executor.execute(() -> {
+					try {
+						results[index] = simulate(simulations.get(index), exportNames.get(index));
+					} catch (Throwable t) {
+						log.error("Unexpected error in simulation " + simulations.get(index).getName() + " of " + file, t);
+						results[index] = BatchSimulationResult.failed(file, simulations.get(index).getName(),
+								String.valueOf(t), 0);
+					}
+					if (remaining.decrementAndGet() == 0) {
+						finish();
+					}
+				});
+			}
+		}
+
+		private BatchSimulationResult simulate(Simulation simulation, String exportName) {
+			if (simulation.getStatus() == Simulation.Status.EXTERNAL) {
+				return new BatchSimulationResult(file, simulation.getName(), BatchSimulationResult.Status.SKIPPED,
+						"Imported simulation data", 0, null, 0);
+			}
+
+			long t0 = System.nanoTime();
+			try {
+				simulation.simulate();
+			} catch (Exception e) {
+				log.info("Simulation " + simulation.getName() + " of " + file + " failed", e);
+				return BatchSimulationResult.failed(file, simulation.getName(), e.getMessage(), System.nanoTime() - t0);
+			}
+			long wallTime = System.nanoTime() - t0;
+
+			FlightData data = simulation.getSimulatedData();
+			WarningSet warnings = data.getWarningSet();
+			BatchSimulationResult.Status status = BatchSimulationResult.Status.OK;
+			String message = null;
+			for (FlightDataBranch branch : data.getBranches()) {
+				FlightEvent abort = branch.getFirstEvent(FlightEvent.Type.SIM_ABORT);
+				if (abort != null) {
+					status = BatchSimulationResult.Status.ABORTED;
+					message = ((SimulationAbort) abort.getData()).getMessageDescription();
+					break;
+				}
+			}
+
+			if (outputDirectory != null && exportBranches) {
+				try {
+					exportBranches(simulation, exportName, data);
+				} catch (IOException e) {
+					log.warn("Unable to export flight data of " + simulation.getName() + " of " + file, e);
+					return BatchSimulationResult.failed(file, simulation.getName(),
+							"Unable to export flight data: " + e.getMessage(), wallTime);
+				}
+			}
+
+			FlightData summary = new FlightData(data.getMaxAltitude(), data.getMaxVelocity(), data.getMaxAcceleration(),
+					data.getMaxMachNumber(), data.getTimeToApogee(), data.getFlightTime(), data.getGroundHitVelocity(),
+					data.getLaunchRodVelocity(), data.getDeploymentVelocity(), data.getOptimumDelay());
+			return new BatchSimulationResult(file, simulation.getName(), status, message, wallTime, summary,
+					warnings != null ? warnings.size() : 0);
+		}
+
+		private void exportBranches(Simulation simulation, String exportName, FlightData data) throws IOException {
+			File dir = new File(outputDirectory, directoryName);
+			// The simulations of the document may create the directory concurrently
+			if (!dir.mkdirs() && !dir.isDirectory()) {
+				throw new IOException("Unable to create directory " + dir);
+			}
+			List<FlightDataBranch> branches = data.getBranches();
+			for (int i = 0; i < branches.size(); i++) {
+				for (Format format : formats) {
+					File out = new File(dir, exportName + "-" + (i + 1) + "." + format.getExtension());
+					try (OutputStream os = new BufferedOutputStream(new FileOutputStream(out))) {
+						switch (format) {
+							case CSV -> BatchResultWriter.writeBranchCSV(os, simulation, branches.get(i));
+							case JSON -> BatchResultWriter.writeBranchJSON(os, simulation, branches.get(i));
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Save the document if requested, and complete the run.
+		 */
+		private void finish() {
+			try {
+				if (saveDocuments && document != null && results.length > 0) {
+					save();
+				}
+				if (results != null) {
+					documentResults.addAll(0, Arrays.asList(results));
+				}
+			} finally {
+				document = null;
+				simulations = null;
+				exportNames = null;
+				permits.release();
+				done.complete(documentResults);
+			}
+		}
+
+		private void save() {
+			if (!file.getName().toLowerCase(Locale.ENGLISH).endsWith(".ork")) {
+				log.warn("Not saving " + file + ", only OpenRocket files are written");
+				return;
+			}
+			long t0 = System.nanoTime();
+			try {
+				StorageOptions options = document.getDefaultStorageOptions().clone();
+				options.setFileType(StorageOptions.FileType.OPENROCKET);
+				options.setSaveSimulationData(true);
+				new GeneralRocketSaver().save(file, document, options);
+			} catch (Exception e) {
+				log.warn("Unable to save " + file, e);
+				documentResults.add(BatchSimulationResult.failed(file, null, "Unable to save document: " + e.getMessage(),
+						System.nanoTime() - t0));
+			}
+		}
+	}
+
+	/**
+	 * Return the file name without the extension.
+	 */
+	static String baseName(File file) {
+		String name = file.getName();
+		int dot = name.lastIndexOf('.');
+		return dot > 0 ? name.substring(0, dot) : name;
+	}
+
+	/**
+	 * Make the names unique, ignoring case.  Names that occur only once are kept, and the
+	 * index (starting from 1) is appended to the names that occur several times.
+	 */
+	static List<String> uniqueNames(List<String> names) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (String name : names) {
+			counts.merge(name.toLowerCase(Locale.ENGLISH), 1, Integer::sum);
+		}
+		Set<String> used = new HashSet<>(counts.keySet());
+
+		List<String> unique = new ArrayList<>(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			if (counts.get(name.toLowerCase(Locale.ENGLISH)) > 1) {
+				String candidate = name + "-" + (i + 1);
+				for (int n = 2; !used.add(candidate.toLowerCase(Locale.ENGLISH)); n++) {
+					candidate = name + "-" + (i + 1) + "-" + n;
+				}
+				name = candidate;
+			}
+			unique.add(name);
+		}
+		return unique;
+	}
+
+	/**
+	 * Replace characters that are not safe in file names.
+	 */
+	static String safeFileName(String name) {
+		return name.replaceAll("[^\\w.\\- ]", "_");
+	}
+}
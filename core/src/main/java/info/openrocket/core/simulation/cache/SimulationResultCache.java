@@ -0,0 +1,405 @@
+package info.openrocket.core.simulation.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.DeploymentConfiguration;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Parachute;
+import info.openrocket.core.rocketcomponent.RecoveryDevice;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.Streamer;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.listeners.SimulationListener;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.BuildProperties;
+
+/**
+ * A cache of simulation results identified by the inputs of the simulation.  The key of a
+ * simulation is a SHA-256 digest of the rocket design, the flight configuration, the simulation
+ * options and extensions (as written into .ork files, which includes the digests of the motors)
+ * and the additional listeners, so identical simulations are found across edits, undo/redo and
+ * copies of the design.  The random seed of the simulation is not part of the key, so a cached result may
+ * be based on a different realization of the wind turbulence.
+ * <p>
+ * The most recently used results are kept in memory.  If a directory is given, the results of
+ * interactive runs are also written into it in the .ork format in a background thread, and the
+ * least recently used files are removed when the size of the directory exceeds the limit.
+ * <p>
+ * The results are shared between the simulations using them, and are made immutable like the
+ * results loaded from files.
+ */
+public class SimulationResultCache {
+	private static final Logger log = LoggerFactory.getLogger(SimulationResultCache.class);
+
+	/** Version of the cache, changing it invalidates all existing entries */
+	private static final int CACHE_VERSION = 1;
+
+	private static final String FILE_SUFFIX = ".ork";
+
+	public static final int DEFAULT_MEMORY_ENTRIES = 16;
+	public static final long DEFAULT_MAX_DISK_SIZE = 256L * 1024 * 1024;
+
+	private final Map<String, FlightData> memory;
+	private final File directory;
+	private final long maxDiskSize;
+	private final ExecutorService diskWriter;
+
+	/**
+	 * Create a cache keeping the results in memory only.
+	 *
+	 * @param memoryEntries		the maximum number of results kept in memory
+	 */
+	public SimulationResultCache(int memoryEntries) {
+		this(memoryEntries, null, 0);
+	}
+
+	/**
+	 * Create a cache keeping the results in memory and in the given directory.
+	 *
+	 * @param memoryEntries		the maximum number of results kept in memory
+	 * @param directory			the directory of the cache files, or <code>null</code> to keep the results in memory only
+	 * @param maxDiskSize		the maximum total size of the cache files, in bytes
+	 */
+	public SimulationResultCache(int memoryEntries, File directory, long maxDiskSize) {
+		this.memory = new LinkedHashMap<>(memoryEntries, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, FlightData> eldest) {
+				return size() > memoryEntries;
+			}
+		};
+		this.directory = directory;
+		this.maxDiskSize = maxDiskSize;
+		if (directory != null) {
+			this.diskWriter = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = new Thread(r, "SimulationResultCache");
+				thread.setDaemon(true);
+				return thread;
+			});
+		} else {
+			this.diskWriter = null;
+		}
+	}
+
+	/**
+	 * Return the result cache of the application, or <code>null</code> if the application does
+	 * not bind a result cache or the cache is disabled in the preferences.
+	 */
+	public static SimulationResultCache getApplicationCache() {
+		Injector injector = Application.getInjector();
+		if (injector == null) {
+			return null;
+		}
+		Binding<SimulationResultCache> binding = injector.getExistingBinding(Key.get(SimulationResultCache.class));
+		if (binding == null || !Application.getPreferences().isSimulationResultCacheEnabled()) {
+			return null;
+		}
+		return binding.getProvider().get();
+	}
+
+	/**
+	 * Compute the key of a simulation run with the given additional listeners.
+	 *
+	 * @param simulation	the simulation
+	 * @param listeners		the additional listeners of the simulation
+	 * @return the key of the simulation, or <code>null</code> if the results of the simulation cannot be cached
+	 * @see SimulationListener#getResultCacheKey()
+	 */
+	public static String computeKey(Simulation simulation, SimulationListener... listeners) {
+		StringBuilder extra = new StringBuilder();
+		return computeKey(simulation, simulation.getRocket(), extra, listeners);
+	}
+
+	/**
+	 * Compute the key of the flight of a simulation before its recovery devices are deployed.
+	 * The key is the same for simulations that differ only in the deployment and the drag of
+	 * the recovery devices, as long as the masses of the devices are the same.  Unlike the key
+	 * of the results, it includes the random seed, as the flight is resumed with the state of
+	 * the random number generator.
+	 *
+	 * @param simulation	the simulation
+	 * @param listeners		the additional listeners of the simulation
+	 * @return the key of the flight, or <code>null</code> if the flight cannot be identified
+	 * @see info.openrocket.core.simulation.SimulationCheckpoints
+	 */
+	public static String computeCheckpointKey(Simulation simulation, SimulationListener... listeners) {
+		Rocket rocket;
+		try {
+			rocket = simulation.getRocket().copyWithOriginalID();
+		} catch (RuntimeException e) {
+			log.warn("Unable to copy the rocket of simulation " + simulation.getName(), e);
+			return null;
+		}
+		for (RocketComponent component : rocket) {
+			if (component instanceof RecoveryDevice device) {
+				normalizeRecoveryDevice(device);
+			}
+		}
+
+		StringBuilder extra = new StringBuilder();
+		extra.append("\ncheckpoint\nseed=").append(simulation.getOptions().getRandomSeed());
+		return computeKey(simulation, rocket, extra, listeners);
+	}
+
+	/**
+	 * Replace the deployment and the drag of a recovery device by fixed values, keeping its mass.
+	 */
+	private static void normalizeRecoveryDevice(RecoveryDevice device) {
+		if (!device.isMassOverridden()) {
+			device.setOverrideMass(device.getComponentMass());
+			device.setMassOverridden(true);
+		}
+		device.setCD(0);
+		device.getDeploymentConfigurations().reset();
+		device.getDeploymentConfigurations().setDefault(new DeploymentConfiguration());
+		if (device instanceof Parachute parachute) {
+			parachute.setDiameter(1);
+		} else if (device instanceof Streamer streamer) {
+			streamer.setStripLength(1);
+			streamer.setStripWidth(0.1);
+		}
+	}
+
+	private static String computeKey(Simulation simulation, Rocket rocket, StringBuilder extra,
+			SimulationListener... listeners) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new BugException(e);
+		}
+
+		extra.append("\nmaxstepangle=").append(simulation.getOptions().getMaximumStepAngle());
+		for (SimulationListener listener : listeners) {
+			String key = listener.getResultCacheKey();
+			if (key == null) {
+				return null;
+			}
+			extra.append("\nlistener=").append(key);
+		}
+
+		try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+			out.write(("OpenRocket " + BuildProperties.getVersion() + " cache " + CACHE_VERSION + "\n")
+					.getBytes(StandardCharsets.UTF_8));
+			new OpenRocketSaver().saveSimulationInputs(out, rocket, simulation);
+			out.write(extra.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new BugException(e);
+		} catch (RuntimeException e) {
+			log.warn("Unable to compute the result cache key of simulation " + simulation.getName(), e);
+			return null;
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Return the cached results of a simulation.
+	 *
+	 * @param key	the key of the simulation
+	 * @return the results, or <code>null</code> if not cached
+	 */
+	public FlightData get(String key) {
+		synchronized (memory) {
+			FlightData data = memory.get(key);
+			if (data != null) {
+				log.debug("Simulation results " + key + " found in memory");
+				return data;
+			}
+		}
+		if (directory == null) {
+			return null;
+		}
+
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			OpenRocketDocument document = new GeneralRocketLoader(file).load();
+			FlightData data = document.getSimulationCount() == 1 ? document.getSimulation(0).getSimulatedData() : null;
+			if (data == null) {
+				throw new RocketLoadException("No simulation data in " + file);
+			}
+			if (!file.setLastModified(System.currentTimeMillis())) {
+				log.debug("Unable to update the modification time of " + file);
+			}
+			synchronized (memory) {
+				memory.put(key, data);
+			}
+			log.debug("Simulation results " + key + " loaded from " + file);
+			return data;
+		} catch (RocketLoadException | RuntimeException e) {
+			log.warn("Unable to load cached simulation results from " + file + ", removing", e);
+			if (!file.delete()) {
+				log.warn("Unable to delete " + file);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Store the results of a simulation in memory and on the disk.
+	 *
+	 * @param key			the key of the simulation
+	 * @param simulation	the simulation
+	 * @param data			the results of the simulation
+	 */
+	public void put(String key, Simulation simulation, FlightData data) {
+		put(key, simulation, data, true);
+	}
+
+	/**
+	 * Store the results of a simulation.  If the results are persistent, the inputs of the
+	 * simulation are copied and the results are written to the disk in the background.  Runs of
+	 * the optimizer and other automated runs are kept in memory only, as copying and writing them
+	 * would cost more than simulating them again.
+	 *
+	 * @param key			the key of the simulation
+	 * @param simulation	the simulation
+	 * @param data			the results of the simulation
+	 * @param persistent	whether to write the results to the disk
+	 */
+	public void put(String key, Simulation simulation, FlightData data, boolean persistent) {
+		data.immute();
+		synchronized (memory) {
+			memory.put(key, data);
+		}
+		if (directory == null || !persistent) {
+			return;
+		}
+
+		Rocket rocket = simulation.getRocket().copyWithOriginalID();
+		SimulationOptions options = simulation.getOptions().clone();
+		FlightConfigurationId id = simulation.getId();
+		diskWriter.execute(() -> write(key, rocket, options, id, data));
+	}
+
+	/**
+	 * Remove all cached results.
+	 */
+	public void clear() {
+		synchronized (memory) {
+			memory.clear();
+		}
+		if (directory == null) {
+			return;
+		}
+		diskWriter.execute(() -> {
+			for (File file : listFiles()) {
+				if (!file.delete()) {
+					log.warn("Unable to delete " + file);
+				}
+			}
+		});
+	}
+
+
+	private void write(String key, Rocket rocket, SimulationOptions options, FlightConfigurationId id, FlightData data) {
+		File file = getFile(key);
+		if (file.isFile()) {
+			return;
+		}
+
+		File tmp = null;
+		try {
+			OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+			Simulation simulation = new Simulation(document, rocket, Simulation.Status.UPTODATE, key, options,
+					List.of(), data);
+			simulation.setFlightConfigurationId(id);
+			document.addSimulation(simulation);
+
+			StorageOptions storageOptions = new StorageOptions();
+			storageOptions.setSaveSimulationData(true);
+
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Unable to create directory " + directory);
+			}
+			tmp = File.createTempFile(key, ".tmp", directory);
+			try (OutputStream os = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				new OpenRocketSaver().save(os, document, storageOptions, new WarningSet(), new ErrorSet());
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			log.debug("Simulation results " + key + " written to " + file);
+
+			trim();
+		} catch (IOException | RuntimeException e) {
+			log.warn("Unable to write simulation results to " + file, e);
+			if (tmp != null && tmp.exists() && !tmp.delete()) {
+				log.warn("Unable to delete " + tmp);
+			}
+		}
+	}
+
+	/**
+	 * Remove the least recently used files until the total size is within the limit.
+	 */
+	private void trim() {
+		File[] files = listFiles();
+		long size = 0;
+		for (File file : files) {
+			size += file.length();
+		}
+		if (size <= maxDiskSize) {
+			return;
+		}
+
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (File file : files) {
+			if (size <= maxDiskSize) {
+				break;
+			}
+			long length = file.length();
+			if (file.delete()) {
+				size -= length;
+			} else {
+				log.warn("Unable to delete " + file);
+			}
+		}
+	}
+
+	private File[] listFiles() {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+		return files != null ? files : new File[0];
+	}
+
+	private File getFile(String key) {
+		return new File(directory, key + FILE_SUFFIX);
+	}
+}
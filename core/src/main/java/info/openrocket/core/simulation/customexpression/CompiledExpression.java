@@ -0,0 +1,164 @@
+package info.openrocket.core.simulation.customexpression;
+
+import java.util.List;
+
+import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.Variable;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.SimulationStatus;
+
+/**
+ * A custom expression that has been parsed and built once for repeated evaluation during a
+ * single simulation.  The variables referenced by the expression are bound directly to the
+ * slots of the current flight data branch, so a plain expression can be evaluated without
+ * creating any objects.
+ * <p>
+ * A compiled expression holds evaluation state, so each simulation must compile its own copy
+ * using {@link CustomExpression#compile()}.
+ */
+public abstract class CompiledExpression {
+
+	/** The result of an expression that could not be evaluated */
+	static final Variable UNKNOWN = new Variable("Unknown");
+
+	/**
+	 * Evaluate the expression using the last variable values from the simulation status.
+	 *
+	 * @param status	the current simulation status.
+	 * @return			the result of the expression.
+	 */
+	public abstract Variable evaluate(SimulationStatus status);
+
+	/**
+	 * Evaluate the expression to a double using the last variable values from the simulation
+	 * status.  Infinite results are returned as NaN.
+	 *
+	 * @param status	the current simulation status.
+	 * @return			the result of the expression, or NaN if it could not be evaluated.
+	 */
+	public double evaluateDouble(SimulationStatus status) {
+		double result = evaluate(status).getDoubleValue();
+		if (result == Double.NEGATIVE_INFINITY || result == Double.POSITIVE_INFINITY)
+			result = Double.NaN;
+		return result;
+	}
+
+	/**
+	 * Return whether the result of this expression is always a single double value, in which
+	 * case {@link #evaluateDouble(SimulationStatus)} can be used instead of
+	 * {@link #evaluate(SimulationStatus)}.
+	 */
+	public boolean isDoubleValued() {
+		return true;
+	}
+
+
+	/**
+	 * Linearly interpolate the values in a data slot of the branch as a function of the time slot.
+	 * The time values must be in non-decreasing order.  Values outside the time range are taken
+	 * from the closest end point, and for repeated time values the last one is used.
+	 */
+	static double interpolate(FlightDataBranch branch, int timeSlot, int dataSlot, double t) {
+		final int n = branch.getLength();
+		if (n == 0) {
+			return Double.NaN;
+		}
+		if (Double.isNaN(t)) {
+			return branch.getValue(dataSlot, n - 1);
+		}
+
+		// Index of the first point with time > t
+		int hi = upperBound(branch, timeSlot, t, 0, n);
+		int lo = hi - 1;
+
+		if (lo < 0) {
+			// Before the first point, use the last point sharing the first time value
+			return branch.getValue(dataSlot, upperBound(branch, timeSlot, branch.getValue(timeSlot, 0), 0, n) - 1);
+		}
+		double x1 = branch.getValue(timeSlot, lo);
+		double y1 = branch.getValue(dataSlot, lo);
+		if (x1 == t || hi == n) {
+			return y1;
+		}
+		double x2 = branch.getValue(timeSlot, hi);
+		double y2 = branch.getValue(dataSlot, upperBound(branch, timeSlot, x2, hi, n) - 1);
+		return (t - x1) / (x2 - x1) * (y2 - y1) + y1;
+	}
+
+	private static int upperBound(FlightDataBranch branch, int timeSlot, double t, int from, int to) {
+		int lo = from;
+		int hi = to;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (branch.getValue(timeSlot, mid) <= t) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+
+	/**
+	 * Binds the flight data variables of a calculable to the slots of a flight data branch.
+	 * Only the variables that the calculable actually references are bound.  The binding is
+	 * refreshed whenever the branch changes (e.g. at stage separation) or a new data type is
+	 * added to it.
+	 */
+	static final class BranchBinding {
+		private final Calculable calc;
+		private final List<String> symbols;
+
+		private FlightDataBranch branch = null;
+		private int typeCount = -1;
+		private int count = 0;
+		private int[] slots = new int[0];
+		private int[] indexes = new int[0];
+
+		/**
+		 * @param calc		the calculable to bind.
+		 * @param symbols	the symbols of all the flight data types defined as variables of the calculable.
+		 */
+		BranchBinding(Calculable calc, List<String> symbols) {
+			this.calc = calc;
+			this.symbols = symbols;
+		}
+
+		/**
+		 * Set the variables of the calculable to the last values of the branch.
+		 */
+		void apply(FlightDataBranch b) {
+			if (b != branch || b.getTypeCount() != typeCount) {
+				bind(b);
+			}
+			for (int i = 0; i < count; i++) {
+				calc.setVariableValue(indexes[i], b.getLast(slots[i]));
+			}
+		}
+
+		private void bind(FlightDataBranch b) {
+			// Variables not present in the branch are left undefined
+			for (String symbol : symbols) {
+				if (calc.getVariableIndex(symbol) >= 0) {
+					calc.setVariable(new Variable(symbol));
+				}
+			}
+
+			final int n = b.getTypeCount();
+			slots = new int[n];
+			indexes = new int[n];
+			count = 0;
+			for (int slot = 0; slot < n; slot++) {
+				int index = calc.getVariableIndex(b.getSlotType(slot).getSymbol());
+				if (index >= 0) {
+					slots[count] = slot;
+					indexes[count] = index;
+					count++;
+				}
+			}
+			branch = b;
+			typeCount = n;
+		}
+	}
+}
@@ -6,7 +6,6 @@ import java.util.regex.Pattern;
 
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.logging.Markers;
-import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.unit.FixedUnitGroup;
@@ -378,10 +377,7 @@ public class CustomExpression implements Cloneable {
 	}
 
 	public Double evaluateDouble(SimulationStatus status) {
-		double result = evaluate(status).getDoubleValue();
-		if (result == Double.NEGATIVE_INFINITY || result == Double.POSITIVE_INFINITY)
-			result = Double.NaN;
-		return result;
+		return compile().evaluateDouble(status);
 	}
 
 	/*
@@ -416,37 +412,90 @@ public class CustomExpression implements Cloneable {
 	 * Evaluate the expression using the last variable values from the simulation
 	 * status.
 	 * Returns NaN on any error.
+	 * 
+	 * This builds the expression for a single evaluation; use compile() to evaluate
+	 * the expression repeatedly during a simulation.
 	 */
 	public Variable evaluate(SimulationStatus status) {
+		return compile().evaluate(status);
+	}
 
+	/*
+	 * Builds the expression and its sub expressions once for repeated evaluation
+	 * during a single simulation.
+	 */
+	public CompiledExpression compile() {
 		Calculable calc = buildExpression(builder);
-		if (calc == null) {
-			return new Variable("Unknown");
+
+		List<CompiledExpression> subs = new ArrayList<>(subExpressions.size());
+		for (CustomExpression exp : subExpressions) {
+			subs.add(exp.compile());
 		}
+		return new Compiled(calc, subs);
+	}
 
-		// Evaluate any sub expressions and set associated variables in the calculable
-		for (CustomExpression expr : this.subExpressions) {
-			calc.setVariable(expr.evaluate(status));
+	/*
+	 * The compiled form of a plain custom expression.  Sub expressions are evaluated
+	 * first and set as variables of the main expression.
+	 */
+	private class Compiled extends CompiledExpression {
+		private final Calculable calc;
+		private final CompiledExpression[] subs;
+		private final int[] subIndexes;
+		private final BranchBinding binding;
+
+		private Compiled(Calculable calc, List<CompiledExpression> subs) {
+			this.calc = calc;
+			this.subs = subs.toArray(new CompiledExpression[0]);
+			this.subIndexes = new int[subs.size()];
+			for (int i = 0; i < subIndexes.length; i++) {
+				subIndexes[i] = calc != null ? calc.getVariableIndex(subExpressions.get(i).hash()) : -1;
+			}
+			this.binding = calc != null ? new BranchBinding(calc, getAllSymbols()) : null;
 		}
 
-		// Set all the built-in variables. Strictly we surely won't need all of them
-		// Going through and checking them to include only the ones used *might* give a
-		// speedup
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		for (FlightDataType type : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(type);
-			calc.setVariable(new Variable(type.getSymbol(), value));
+		@Override
+		public Variable evaluate(SimulationStatus status) {
+			if (calc == null) {
+				return UNKNOWN;
+			}
+			return new Variable(name, calculate(status));
 		}
 
-		double result = Double.NaN;
-		try {
-			result = calc.calculate().getDoubleValue();
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER,
-					"Unable to calculate expression " + this.expression + " due to empty stack exception");
+		@Override
+		public double evaluateDouble(SimulationStatus status) {
+			if (calc == null) {
+				return Double.NaN;
+			}
+			double result = calculate(status);
+			if (result == Double.NEGATIVE_INFINITY || result == Double.POSITIVE_INFINITY)
+				result = Double.NaN;
+			return result;
 		}
 
-		return new Variable(name, result);
+		private double calculate(SimulationStatus status) {
+
+			// Evaluate any sub expressions and set associated variables in the calculable
+			for (int i = 0; i < subs.length; i++) {
+				if (subs[i].isDoubleValued() && subIndexes[i] >= 0) {
+					calc.setVariableValue(subIndexes[i], subs[i].evaluateDouble(status));
+				} else {
+					calc.setVariable(subs[i].evaluate(status));
+				}
+			}
+
+			// Set the flight data variables referenced by the expression
+			binding.apply(status.getFlightDataBranch());
+
+			double result = Double.NaN;
+			try {
+				result = calc.calculateDouble();
+			} catch (java.util.EmptyStackException e) {
+				log.info(Markers.USER_MARKER,
+						"Unable to calculate expression " + expression + " due to empty stack exception");
+			}
+			return result;
+		}
 	}
 
 	/*
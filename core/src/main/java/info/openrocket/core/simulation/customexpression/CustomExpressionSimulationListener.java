@@ -3,6 +3,7 @@ package info.openrocket.core.simulation.customexpression;
 import java.util.List;
 
 import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
@@ -15,29 +16,79 @@ public class CustomExpressionSimulationListener extends AbstractSimulationListen
 	private static final Logger log = LoggerFactory.getLogger(CustomExpressionSimulationListener.class);
 	private final List<CustomExpression> expressions;
 
+	// Expressions compiled for the current simulation, and their resulting data types
+	private CompiledExpression[] compiled = null;
+	private FlightDataType[] types = null;
+
 	public CustomExpressionSimulationListener(List<CustomExpression> expressions) {
 		super();
 		this.expressions = expressions;
 	}
 
+	@Override
+	public void startSimulation(SimulationStatus status) throws SimulationException {
+		if (expressions == null || expressions.size() == 0) {
+			return;
+		}
+		compile();
+	}
+
+	/**
+	 * Compile the expressions once for the simulation, so that they are not rebuilt on every step.
+	 */
+	private void compile() {
+		compiled = new CompiledExpression[expressions.size()];
+		types = new FlightDataType[expressions.size()];
+		for (int i = 0; i < compiled.length; i++) {
+			CustomExpression expression = expressions.get(i);
+			compiled[i] = expression.compile();
+			types[i] = expression.getType();
+		}
+		log.debug("Compiled " + compiled.length + " custom expressions");
+	}
+
 	@Override
 	public void postStep(SimulationStatus status) throws SimulationException {
 		if (expressions == null || expressions.size() == 0) {
 			return;
 		}
+		if (compiled == null || compiled.length != expressions.size()) {
+			compile();
+		}
 		// Calculate values for custom expressions
 		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		for (CustomExpression expression : expressions) {
-			double value = expression.evaluateDouble(status);
-			// log.debug("Setting value of custom expression "+expression.toString()+" =
-			// "+value);
-			dataBranch.setValue(expression.getType(), value);
+		for (int i = 0; i < compiled.length; i++) {
+			double value = compiled[i].evaluateDouble(status);
+			dataBranch.setValue(types[i], value);
 		}
 	}
 
+	@Override
+	public CustomExpressionSimulationListener clone() {
+		CustomExpressionSimulationListener clone = (CustomExpressionSimulationListener) super.clone();
+		// The compiled expressions hold their evaluation state, so the clone for each
+		// flight branch compiles its own
+		clone.compiled = null;
+		clone.types = null;
+		return clone;
+	}
+
 	@Override
 	public boolean isSystemListener() {
 		return true;
 	}
 
+	@Override
+	public String getResultCacheKey() {
+		if (expressions == null) {
+			return "";
+		}
+		StringBuilder key = new StringBuilder();
+		for (CustomExpression expression : expressions) {
+			key.append(expression.getName()).append('|').append(expression.getSymbol()).append('|')
+					.append(expression.getUnit()).append('|').append(expression.getExpressionString()).append('\n');
+		}
+		return key.toString();
+	}
+
 }
@@ -1,7 +1,5 @@
 package info.openrocket.core.simulation.customexpression;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,7 +10,6 @@ import info.openrocket.core.logging.Markers;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
-import info.openrocket.core.util.LinearInterpolator;
 
 public class IndexExpression extends CustomExpression {
 
@@ -28,41 +25,64 @@ public class IndexExpression extends CustomExpression {
 	}
 
 	@Override
-	public Variable evaluate(SimulationStatus status) {
+	public CompiledExpression compile() {
 		Calculable calc = buildExpression();
-		if (calc == null) {
-			return new Variable("Unknown");
-		}
-
-		// From the given datatype, get the time and function values and make an
-		// interpolator
 
 		// Note: must get in a way that flight data system will figure out units.
 		// Otherwise there will be a type conflict when we get the new data.
 		FlightDataType myType = FlightDataType.getType(null, getSymbol(), null);
 
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		List<Double> data = dataBranch.getClone(myType);
-		List<Double> time = dataBranch.getClone(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data);
+		return new Compiled(calc, myType);
+	}
+
+	/*
+	 * The compiled form of an index expression.  The index expression is evaluated to get
+	 * the t value, and the data of the given type is interpolated at that time.
+	 */
+	private class Compiled extends CompiledExpression {
+		private final Calculable calc;
+		private final FlightDataType myType;
+		private final BranchBinding binding;
 
-		// Set the variables in the expression to evaluate
-		for (FlightDataType etype : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(etype);
-			calc.setVariable(new Variable(etype.getSymbol(), value));
+		private Compiled(Calculable calc, FlightDataType myType) {
+			this.calc = calc;
+			this.myType = myType;
+			this.binding = calc != null ? new BranchBinding(calc, getAllSymbols()) : null;
 		}
 
-		// Evaluate this expression to get the t value
-		// System.out.println("Evaluating expression to get t value
-		// "+this.getExpressionString());
-		try {
-			double tvalue = calc.calculate().getDoubleValue();
-			// System.out.println("t = "+tvalue);
-			return new Variable(hash(), interp.getValue(tvalue));
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER, "Unable to calculate time index for indexed expression "
-					+ getExpressionString() + " due to empty stack exception");
-			return new Variable("Unknown");
+		@Override
+		public Variable evaluate(SimulationStatus status) {
+			if (calc == null) {
+				return UNKNOWN;
+			}
+			return new Variable(hash(), evaluateDouble(status));
+		}
+
+		@Override
+		public double evaluateDouble(SimulationStatus status) {
+			if (calc == null) {
+				return Double.NaN;
+			}
+
+			FlightDataBranch dataBranch = status.getFlightDataBranch();
+			int timeSlot = dataBranch.getSlot(FlightDataType.TYPE_TIME);
+			int dataSlot = dataBranch.getSlot(myType);
+			if (timeSlot < 0 || dataSlot < 0) {
+				return Double.NaN;
+			}
+
+			// Set the variables in the expression to evaluate
+			binding.apply(dataBranch);
+
+			// Evaluate this expression to get the t value
+			try {
+				double tvalue = calc.calculateDouble();
+				return interpolate(dataBranch, timeSlot, dataSlot, tvalue);
+			} catch (java.util.EmptyStackException e) {
+				log.info(Markers.USER_MARKER, "Unable to calculate time index for indexed expression "
+						+ getExpressionString() + " due to empty stack exception");
+				return Double.NaN;
+			}
 		}
 	}
 }
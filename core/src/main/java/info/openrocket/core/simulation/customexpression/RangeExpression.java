@@ -18,7 +18,6 @@ import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.util.ArrayUtils;
-import info.openrocket.core.util.LinearInterpolator;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.StringUtils;
 
@@ -59,64 +58,94 @@ public class RangeExpression extends CustomExpression {
 	}
 
 	@Override
-	public Variable evaluate(SimulationStatus status) {
-
+	public CompiledExpression compile() {
 		Calculable startCalc = buildExpression(startBuilder);
 		Calculable endCalc = buildExpression(endBuilder);
-		if (startCalc == null || endCalc == null) {
-			return new Variable("Unknown");
-		}
-
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		// Set the variables in the start and end calculators
-		for (FlightDataType type : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(type);
-			startCalc.setVariable(new Variable(type.getSymbol(), value));
-			endCalc.setVariable(new Variable(type.getSymbol(), value));
-		}
-
-		// From the given datatype, get the time and function values and make an
-		// interpolator
 
 		// Note: must get in a way that flight data system will figure out units.
 		// Otherwise there will be a type conflict when we get the new data.
 		FlightDataType type = FlightDataType.getType(null, getSymbol(), null);
 
-		List<Double> data = dataBranch.getClone(type);
-		List<Double> time = dataBranch.getClone(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data);
-
-		// Evaluate the expression to get the start and end of the range
-		double startTime, endTime;
-		try {
-			startTime = startCalc.calculate().getDoubleValue();
-			startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
-
-			endTime = endCalc.calculate().getDoubleValue();
-			endTime = MathUtil.clamp(endTime, 0, time.get(time.size() - 1));
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
-					+ " due to empty stack exception");
-			return new Variable("Unknown");
-		}
+		return new Compiled(startCalc, endCalc, type);
+	}
 
-		// generate an array representing the range
-		double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
-		double[] t = ArrayUtils.range(startTime, endTime, step);
-		double[] y = new double[t.length];
-		int i = 0;
-		for (double tval : t) {
-			y[i] = interp.getValue(tval);
-			i++;
+	/*
+	 * The compiled form of a range expression.  The start and end expressions are evaluated
+	 * to get the time range, and the data of the given type is interpolated over it.
+	 */
+	private class Compiled extends CompiledExpression {
+		private final Calculable startCalc, endCalc;
+		private final FlightDataType type;
+		private final BranchBinding startBinding, endBinding;
+
+		private Compiled(Calculable startCalc, Calculable endCalc, FlightDataType type) {
+			this.startCalc = startCalc;
+			this.endCalc = endCalc;
+			this.type = type;
+			if (startCalc != null && endCalc != null) {
+				List<String> symbols = getAllSymbols();
+				startBinding = new BranchBinding(startCalc, symbols);
+				endBinding = new BranchBinding(endCalc, symbols);
+			} else {
+				startBinding = null;
+				endBinding = null;
+			}
 		}
 
-		Variable result;
-		if (y.length == 0) {
-			result = new Variable("Unknown");
-		} else {
-			result = new Variable(hash(), y, startTime, step);
+		@Override
+		public boolean isDoubleValued() {
+			return false;
 		}
 
-		return result;
+		@Override
+		public Variable evaluate(SimulationStatus status) {
+			if (startCalc == null || endCalc == null) {
+				return UNKNOWN;
+			}
+
+			FlightDataBranch dataBranch = status.getFlightDataBranch();
+			int timeSlot = dataBranch.getSlot(FlightDataType.TYPE_TIME);
+			int dataSlot = dataBranch.getSlot(type);
+			if (timeSlot < 0 || dataSlot < 0 || dataBranch.getLength() == 0) {
+				return UNKNOWN;
+			}
+
+			// Set the variables in the start and end calculators
+			startBinding.apply(dataBranch);
+			endBinding.apply(dataBranch);
+
+			// Evaluate the expression to get the start and end of the range
+			double startTime, endTime;
+			try {
+				startTime = startCalc.calculateDouble();
+				startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
+
+				endTime = endCalc.calculateDouble();
+				endTime = MathUtil.clamp(endTime, 0, dataBranch.getLast(timeSlot));
+			} catch (java.util.EmptyStackException e) {
+				log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
+						+ " due to empty stack exception");
+				return UNKNOWN;
+			}
+
+			// generate an array representing the range
+			double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
+			double[] t = ArrayUtils.range(startTime, endTime, step);
+			double[] y = new double[t.length];
+			int i = 0;
+			for (double tval : t) {
+				y[i] = interpolate(dataBranch, timeSlot, dataSlot, tval);
+				i++;
+			}
+
+			Variable result;
+			if (y.length == 0) {
+				result = UNKNOWN;
+			} else {
+				result = new Variable(hash(), y, startTime, step);
+			}
+
+			return result;
+		}
 	}
 }
@@ -0,0 +1,30 @@
+package info.openrocket.core.simulation.extension.impl;
+
+import info.openrocket.core.aerodynamics.TabulatedAerodynamicCalculator;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.extension.AbstractSimulationExtension;
+
+/**
+ * Simulation extension that replaces the aerodynamic calculator of the simulation with a
+ * {@link TabulatedAerodynamicCalculator}, which interpolates precomputed aerodynamic
+ * coefficients instead of evaluating the Barrowman method at every step.
+ */
+public class TabulatedAerodynamics extends AbstractSimulationExtension {
+
+	@Override
+	public void initialize(SimulationConditions conditions) throws SimulationException {
+		conditions.setAerodynamicCalculator(new TabulatedAerodynamicCalculator());
+	}
+
+	@Override
+	public String getName() {
+		return trans.get("SimulationExtension.tabulatedaero.name");
+	}
+
+	@Override
+	public String getDescription() {
+		return trans.get("SimulationExtension.tabulatedaero.desc");
+	}
+
+}
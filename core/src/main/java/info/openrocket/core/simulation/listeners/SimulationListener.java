@@ -66,6 +66,19 @@ public interface SimulationListener {
 	 */
 	public boolean isSystemListener();
 
+	/**
+	 * Return a string identifying the effect of this listener on the simulation results, used
+	 * for caching the results of simulations run with this listener as an additional listener.
+	 * Listeners that do not affect the results, such as progress listeners, may return an empty
+	 * string.  The results of simulations with listeners returning <code>null</code> are never
+	 * cached.  Note that the listeners are not called when the results are taken from the cache.
+	 *
+	 * @return a string identifying the effect of this listener, or <code>null</code> if unknown
+	 */
+	public default String getResultCacheKey() {
+		return null;
+	}
+
 	/**
 	 * Return a deep copy of this simulation listener including its state.
 	 */
@@ -25,4 +25,9 @@ public class ApogeeEndListener extends AbstractSimulationListener {
 	public boolean isSystemListener() {
 		return true;
 	}
+
+	@Override
+	public String getResultCacheKey() {
+		return getClass().getName();
+	}
 }
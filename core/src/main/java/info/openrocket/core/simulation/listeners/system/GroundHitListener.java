@@ -25,4 +25,9 @@ public class GroundHitListener extends AbstractSimulationListener {
 	public boolean isSystemListener() {
 		return true;
 	}
+
+	@Override
+	public String getResultCacheKey() {
+		return getClass().getName();
+	}
 }
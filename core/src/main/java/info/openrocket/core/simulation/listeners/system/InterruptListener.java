@@ -27,4 +27,9 @@ public class InterruptListener extends AbstractSimulationListener {
 	public boolean isSystemListener() {
 		return true;
 	}
+
+	@Override
+	public String getResultCacheKey() {
+		return "";
+	}
 }
@@ -26,4 +26,9 @@ public class RecoveryDeviceDeploymentEndListener extends AbstractSimulationListe
 	public boolean isSystemListener() {
 		return true;
 	}
+
+	@Override
+	public String getResultCacheKey() {
+		return getClass().getName();
+	}
 }
@@ -0,0 +1,30 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+
+/**
+ * A mass calculator that scales the structure mass and moments of inertia of the rocket by a
+ * constant factor, keeping the center of mass.  The motor masses are not affected.
+ */
+class DispersedMassCalculator extends MassCalculator {
+
+	private final double factor;
+
+	DispersedMassCalculator(double factor) {
+		this.factor = factor;
+	}
+
+	@Override
+	public MassCalculator newInstance() {
+		return new DispersedMassCalculator(factor);
+	}
+
+	@Override
+	public RigidBody getStructureMass(FlightConfiguration config) {
+		RigidBody structure = super.getStructureMass(config);
+		return new RigidBody(structure.getCenterOfMass().setWeight(structure.getMass() * factor),
+				structure.getIxx() * factor, structure.getIyy() * factor, structure.getIzz() * factor);
+	}
+}
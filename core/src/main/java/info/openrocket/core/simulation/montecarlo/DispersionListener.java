@@ -0,0 +1,39 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+
+/**
+ * Scales the thrust and the drag coefficient of a single Monte Carlo flight.
+ */
+class DispersionListener extends AbstractSimulationListener {
+
+	private final double thrustFactor;
+	private final double dragFactor;
+
+	DispersionListener(double thrustFactor, double dragFactor) {
+		this.thrustFactor = thrustFactor;
+		this.dragFactor = dragFactor;
+	}
+
+	@Override
+	public double postSimpleThrustCalculation(SimulationStatus status, double thrust) {
+		return thrust * thrustFactor;
+	}
+
+	@Override
+	public AerodynamicForces postAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces) {
+		if (dragFactor == 1) {
+			return null;
+		}
+		forces.setCD(forces.getCD() * dragFactor);
+		forces.setCDaxial(forces.getCDaxial() * dragFactor);
+		return forces;
+	}
+
+	@Override
+	public boolean isSystemListener() {
+		return true;
+	}
+}
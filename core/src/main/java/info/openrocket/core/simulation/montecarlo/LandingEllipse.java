@@ -0,0 +1,110 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * Accumulates the mean and covariance of the landing positions of a Monte Carlo simulation
+ * in constant memory, and computes the confidence ellipse of the landing area assuming a
+ * bivariate normal distribution.  The x coordinate is the position east of the launch site
+ * and the y coordinate the position north of the launch site.  NaN positions are ignored.
+ */
+public class LandingEllipse {
+
+	private int count = 0;
+	private double meanX = 0;
+	private double meanY = 0;
+	private double cxx = 0;
+	private double cyy = 0;
+	private double cxy = 0;
+
+	public void add(double x, double y) {
+		if (Double.isNaN(x) || Double.isNaN(y)) {
+			return;
+		}
+		count++;
+		double dx = x - meanX;
+		double dy = y - meanY;
+		meanX += dx / count;
+		meanY += dy / count;
+		cxx += dx * (x - meanX);
+		cyy += dy * (y - meanY);
+		cxy += dx * (y - meanY);
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public double getMeanX() {
+		return count > 0 ? meanX : Double.NaN;
+	}
+
+	public double getMeanY() {
+		return count > 0 ? meanY : Double.NaN;
+	}
+
+	public double getVarianceX() {
+		return count > 1 ? cxx / (count - 1) : Double.NaN;
+	}
+
+	public double getVarianceY() {
+		return count > 1 ? cyy / (count - 1) : Double.NaN;
+	}
+
+	public double getCovariance() {
+		return count > 1 ? cxy / (count - 1) : Double.NaN;
+	}
+
+	/**
+	 * Return the semi-major axis of the ellipse containing the given fraction of the landings.
+	 *
+	 * @param probability	the probability content of the ellipse, between 0 and 1 (e.g. 0.95).
+	 * @return				the semi-major axis in meters, or NaN if less than two landings.
+	 */
+	public double getSemiMajorAxis(double probability) {
+		return scale(probability) * Math.sqrt(eigenvalues()[0]);
+	}
+
+	/**
+	 * Return the semi-minor axis of the ellipse containing the given fraction of the landings.
+	 *
+	 * @param probability	the probability content of the ellipse, between 0 and 1 (e.g. 0.95).
+	 * @return				the semi-minor axis in meters, or NaN if less than two landings.
+	 */
+	public double getSemiMinorAxis(double probability) {
+		return scale(probability) * Math.sqrt(eigenvalues()[1]);
+	}
+
+	/**
+	 * Return the direction of the major axis of the ellipse, as an angle from the x (east)
+	 * axis towards the y (north) axis, in radians between -PI/2 and PI/2.
+	 */
+	public double getOrientation() {
+		return 0.5 * Math.atan2(2 * getCovariance(), getVarianceX() - getVarianceY());
+	}
+
+	private double[] eigenvalues() {
+		double a = getVarianceX();
+		double d = getVarianceY();
+		double b = getCovariance();
+		double mid = (a + d) / 2;
+		double r = Math.hypot((a - d) / 2, b);
+		// Guard against tiny negative values caused by rounding
+		return new double[] { mid + r, Math.max(mid - r, 0) };
+	}
+
+	/**
+	 * The Mahalanobis radius of a bivariate normal distribution enclosing the given probability.
+	 */
+	private static double scale(double probability) {
+		if (!(probability > 0 && probability < 1)) {
+			throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+		}
+		return Math.sqrt(-2 * Math.log(1 - probability));
+	}
+
+	@Override
+	public String toString() {
+		return "LandingEllipse[count=" + count + ", mean=(" + getMeanX() + "," + getMeanY() + "), 95%=" +
+				getSemiMajorAxis(0.95) + "x" + getSemiMinorAxis(0.95) + " @ " + Math.toDegrees(getOrientation()) +
+				" deg]";
+	}
+}
@@ -0,0 +1,127 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * The random variations applied to the flights of a Monte Carlo simulation.  Each value is
+ * the standard deviation of a normal distribution centered on the nominal value of the
+ * simulation.  Speeds are in m/s, angles in radians and the relative values are fractions
+ * of the nominal value (e.g. 0.03 for 3%).  All dispersions are zero by default.
+ */
+public class MonteCarloDispersions implements Cloneable {
+
+	private double windSpeedStdDev = 0;
+	private double windDirectionStdDev = 0;
+	private double launchRodAngleStdDev = 0;
+	private double launchRodDirectionStdDev = 0;
+	private double impulseStdDev = 0;
+	private double dragStdDev = 0;
+	private double massStdDev = 0;
+	private boolean randomTurbulence = true;
+
+	/**
+	 * Return the standard deviation of the average wind speed, in m/s.  For multi-level
+	 * wind models the same deviation is applied to all levels.
+	 */
+	public double getWindSpeedStdDev() {
+		return windSpeedStdDev;
+	}
+
+	public void setWindSpeedStdDev(double windSpeedStdDev) {
+		this.windSpeedStdDev = checkStdDev(windSpeedStdDev);
+	}
+
+	/**
+	 * Return the standard deviation of the wind direction, in radians.
+	 */
+	public double getWindDirectionStdDev() {
+		return windDirectionStdDev;
+	}
+
+	public void setWindDirectionStdDev(double windDirectionStdDev) {
+		this.windDirectionStdDev = checkStdDev(windDirectionStdDev);
+	}
+
+	/**
+	 * Return the standard deviation of the launch rod angle from vertical, in radians.
+	 */
+	public double getLaunchRodAngleStdDev() {
+		return launchRodAngleStdDev;
+	}
+
+	public void setLaunchRodAngleStdDev(double launchRodAngleStdDev) {
+		this.launchRodAngleStdDev = checkStdDev(launchRodAngleStdDev);
+	}
+
+	/**
+	 * Return the standard deviation of the launch rod direction, in radians.
+	 */
+	public double getLaunchRodDirectionStdDev() {
+		return launchRodDirectionStdDev;
+	}
+
+	public void setLaunchRodDirectionStdDev(double launchRodDirectionStdDev) {
+		this.launchRodDirectionStdDev = checkStdDev(launchRodDirectionStdDev);
+	}
+
+	/**
+	 * Return the relative standard deviation of the motor total impulse.  The variation is
+	 * applied by scaling the thrust of all motors.
+	 */
+	public double getImpulseStdDev() {
+		return impulseStdDev;
+	}
+
+	public void setImpulseStdDev(double impulseStdDev) {
+		this.impulseStdDev = checkStdDev(impulseStdDev);
+	}
+
+	/**
+	 * Return the relative standard deviation of the drag coefficient.
+	 */
+	public double getDragStdDev() {
+		return dragStdDev;
+	}
+
+	public void setDragStdDev(double dragStdDev) {
+		this.dragStdDev = checkStdDev(dragStdDev);
+	}
+
+	/**
+	 * Return the relative standard deviation of the structure mass (excluding the motors).
+	 * The moments of inertia are scaled with the mass.
+	 */
+	public double getMassStdDev() {
+		return massStdDev;
+	}
+
+	public void setMassStdDev(double massStdDev) {
+		this.massStdDev = checkStdDev(massStdDev);
+	}
+
+	/**
+	 * Return whether each flight uses a different random seed for the wind turbulence.
+	 * If <code>false</code>, all flights use the turbulence of the nominal simulation.
+	 */
+	public boolean isRandomTurbulence() {
+		return randomTurbulence;
+	}
+
+	public void setRandomTurbulence(boolean randomTurbulence) {
+		this.randomTurbulence = randomTurbulence;
+	}
+
+	@Override
+	public MonteCarloDispersions clone() {
+		try {
+			return (MonteCarloDispersions) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(); // This should never happen
+		}
+	}
+
+	private static double checkStdDev(double value) {
+		if (!(value >= 0) || Double.isInfinite(value)) {
+			throw new IllegalArgumentException("Standard deviation must be non-negative and finite: " + value);
+		}
+		return value;
+	}
+}
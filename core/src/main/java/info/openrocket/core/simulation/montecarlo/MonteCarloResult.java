@@ -0,0 +1,98 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * The aggregated results of a Monte Carlo simulation.  The statistics include only the
+ * flights that completed without being aborted.
+ */
+public class MonteCarloResult {
+
+	private final SummaryStatistics apogee = new SummaryStatistics();
+	private final SummaryStatistics maxVelocity = new SummaryStatistics();
+	private final SummaryStatistics minStabilityMargin = new SummaryStatistics();
+	private final LandingEllipse landing = new LandingEllipse();
+
+	private int runCount = 0;
+	private int abortedCount = 0;
+	private int failedCount = 0;
+	private long wallTimeNanos = 0;
+
+	void add(MonteCarloRunSummary summary) {
+		runCount++;
+		switch (summary.getStatus()) {
+			case OK -> {
+				apogee.add(summary.getApogee());
+				maxVelocity.add(summary.getMaxVelocity());
+				minStabilityMargin.add(summary.getMinStabilityMargin());
+				landing.add(summary.getLandingX(), summary.getLandingY());
+			}
+			case ABORTED -> abortedCount++;
+			case FAILED -> failedCount++;
+		}
+	}
+
+	void setWallTime(long wallTimeNanos) {
+		this.wallTimeNanos = wallTimeNanos;
+	}
+
+	/**
+	 * Return the total number of flights run.
+	 */
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * Return the number of flights that were aborted by the simulation engine.
+	 */
+	public int getAbortedCount() {
+		return abortedCount;
+	}
+
+	/**
+	 * Return the number of flights whose simulation failed with an exception.
+	 */
+	public int getFailedCount() {
+		return failedCount;
+	}
+
+	/**
+	 * Return the statistics of the maximum altitude, in meters.
+	 */
+	public SummaryStatistics getApogee() {
+		return apogee;
+	}
+
+	/**
+	 * Return the statistics of the maximum velocity, in m/s.
+	 */
+	public SummaryStatistics getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	/**
+	 * Return the statistics of the minimum stability margin during ascent, in calibers.
+	 */
+	public SummaryStatistics getMinStabilityMargin() {
+		return minStabilityMargin;
+	}
+
+	/**
+	 * Return the distribution of the landing positions.
+	 */
+	public LandingEllipse getLanding() {
+		return landing;
+	}
+
+	/**
+	 * Return the wall clock time used to run the simulation, in milliseconds.
+	 */
+	public double getWallTime() {
+		return wallTimeNanos / 1.0e6;
+	}
+
+	@Override
+	public String toString() {
+		return "MonteCarloResult[runs=" + runCount + ", aborted=" + abortedCount + ", failed=" + failedCount +
+				", apogee=" + apogee + ", landing=" + landing + "]";
+	}
+}
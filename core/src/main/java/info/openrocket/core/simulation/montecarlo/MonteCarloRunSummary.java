@@ -0,0 +1,113 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * The summary values of a single flight of a Monte Carlo simulation.  Only these values are
+ * retained from each flight; the full flight data is discarded after the summary is computed.
+ */
+public class MonteCarloRunSummary {
+
+	public enum Status {
+		/** The flight was simulated to completion */
+		OK,
+		/** The flight was aborted by the simulation engine */
+		ABORTED,
+		/** The simulation failed with an exception */
+		FAILED
+	}
+
+	private final int run;
+	private final long seed;
+	private final Status status;
+	private final String message;
+	private final double apogee;
+	private final double maxVelocity;
+	private final double landingX;
+	private final double landingY;
+	private final double minStabilityMargin;
+
+	MonteCarloRunSummary(int run, long seed, Status status, String message, double apogee, double maxVelocity,
+			double landingX, double landingY, double minStabilityMargin) {
+		this.run = run;
+		this.seed = seed;
+		this.status = status;
+		this.message = message;
+		this.apogee = apogee;
+		this.maxVelocity = maxVelocity;
+		this.landingX = landingX;
+		this.landingY = landingY;
+		this.minStabilityMargin = minStabilityMargin;
+	}
+
+	static MonteCarloRunSummary failed(int run, long seed, String message) {
+		return new MonteCarloRunSummary(run, seed, Status.FAILED, message, Double.NaN, Double.NaN, Double.NaN,
+				Double.NaN, Double.NaN);
+	}
+
+	/**
+	 * Return the index of the flight, starting from zero.
+	 */
+	public int getRun() {
+		return run;
+	}
+
+	/**
+	 * Return the seed from which all random values of this flight were generated.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Return the abort or error message, or <code>null</code> if none.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Return the maximum altitude, in meters.
+	 */
+	public double getApogee() {
+		return apogee;
+	}
+
+	/**
+	 * Return the maximum velocity, in m/s.
+	 */
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	/**
+	 * Return the landing position east of the launch site, in meters.
+	 */
+	public double getLandingX() {
+		return landingX;
+	}
+
+	/**
+	 * Return the landing position north of the launch site, in meters.
+	 */
+	public double getLandingY() {
+		return landingY;
+	}
+
+	/**
+	 * Return the minimum stability margin between launch rod clearance and apogee, in calibers,
+	 * or NaN if not available.
+	 */
+	public double getMinStabilityMargin() {
+		return minStabilityMargin;
+	}
+
+	@Override
+	public String toString() {
+		return "MonteCarloRunSummary[run=" + run + ", status=" + status + ", apogee=" + apogee + ", maxVelocity=" +
+				maxVelocity + ", landing=(" + landingX + "," + landingY + "), minStability=" + minStabilityMargin +
+				(message != null ? ", message=" + message : "") + "]";
+	}
+}
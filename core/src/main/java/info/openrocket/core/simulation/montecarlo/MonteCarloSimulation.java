@@ -0,0 +1,369 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.logging.SimulationAbort;
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
+import info.openrocket.core.models.wind.PinkNoiseWindModel;
+import info.openrocket.core.models.wind.WindModel;
+import info.openrocket.core.simulation.BasicEventSimulationEngine;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.extension.SimulationExtension;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * Runs a large number of dispersed flights of a simulation in parallel and aggregates their
+ * results.
+ * <p>
+ * Each flight is run with {@link BasicEventSimulationEngine} using the conditions of the
+ * simulation with the {@link MonteCarloDispersions} applied.  The random values of a flight
+ * are generated from a seed derived from the base seed and the index of the flight, so a
+ * flight gives the same result regardless of the thread it is run on, and repeated runs
+ * with the same base seed give identical results.
+ * <p>
+ * Only the summary values of each flight are retained.  They are fed in flight order into
+ * constant-memory aggregators and to an optional run listener, so the memory used does not
+ * depend on the number of flights.
+ */
+public class MonteCarloSimulation {
+	private static final Logger log = LoggerFactory.getLogger(MonteCarloSimulation.class);
+
+	/** Number of flights that may be in progress or waiting for aggregation, per thread */
+	private static final int WINDOW_PER_THREAD = 4;
+
+	private final Simulation simulation;
+	private final MonteCarloDispersions dispersions;
+
+	private int runCount = 1000;
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+	private long seed;
+	private Consumer<MonteCarloRunSummary> runListener = null;
+
+	/**
+	 * @param simulation	the nominal simulation.  It is not modified.
+	 * @param dispersions	the dispersions to apply to the flights.
+	 */
+	public MonteCarloSimulation(Simulation simulation, MonteCarloDispersions dispersions) {
+		this.simulation = simulation;
+		this.dispersions = dispersions.clone();
+		this.seed = simulation.getOptions().getRandomSeed();
+	}
+
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * Set the number of flights to simulate.
+	 */
+	public void setRunCount(int runCount) {
+		if (runCount < 1) {
+			throw new IllegalArgumentException("runCount must be positive: " + runCount);
+		}
+		this.runCount = runCount;
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of flights to simulate in parallel.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive: " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Set the base seed from which the seeds of the flights are derived.  By default the random
+	 * seed of the simulation options is used.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Set a listener that receives the summary of each flight, in flight order.  The listener
+	 * is called from the worker threads, but never concurrently.
+	 */
+	public void setRunListener(Consumer<MonteCarloRunSummary> runListener) {
+		this.runListener = runListener;
+	}
+
+
+	/**
+	 * Run the flights and return the aggregated results.
+	 *
+	 * @return	the aggregated results.
+	 * @throws InterruptedException	if the thread is interrupted while waiting for the flights.
+	 */
+	public MonteCarloResult run() throws InterruptedException {
+		long t0 = System.nanoTime();
+		int threads = Math.min(threadCount, runCount);
+
+		// Each worker simulates on its own copy of the simulation and rocket
+		List<Simulation> copies = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			Simulation copy = simulation.duplicateSimulation(simulation.getRocket().copyWithOriginalID());
+			copy.getOptions().setSimulationStepperMethodChoice(simulation.getOptions().getSimulationStepperMethodChoice());
+			copies.add(copy);
+		}
+
+		Collector collector = new Collector(threads * WINDOW_PER_THREAD);
+		AtomicInteger nextRun = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "MonteCarloSimulation");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			// Wait in completion order, so that a failing worker is noticed while the others are blocked
+			CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+			for (Simulation copy : copies) {
+				completion.submit(() -> {
+					work(copy, nextRun, collector);
+					return null;
+				});
+			}
+			for (int i = 0; i < copies.size(); i++) {
+				try {
+					completion.take().get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException re) {
+						throw re;
+					}
+					if (e.getCause() instanceof Error err) {
+						throw err;
+					}
+					throw new BugException("Unexpected exception in Monte Carlo simulation", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		collector.result.setWallTime(System.nanoTime() - t0);
+		return collector.result;
+	}
+
+	private void work(Simulation copy, AtomicInteger nextRun, Collector collector) throws InterruptedException {
+		while (true) {
+			collector.window.acquire();
+			int run = nextRun.getAndIncrement();
+			if (run >= runCount) {
+				collector.window.release();
+				return;
+			}
+			collector.accept(simulate(copy, run));
+		}
+	}
+
+	/**
+	 * Simulate a single dispersed flight.
+	 */
+	private MonteCarloRunSummary simulate(Simulation copy, int run) {
+		final long runSeed = getRunSeed(seed, run);
+		try {
+			SimulationConditions conditions = copy.getOptions().toSimulationConditions();
+			conditions.setSimulation(copy);
+			for (SimulationExtension extension : copy.getSimulationExtensions()) {
+				extension.initialize(conditions);
+			}
+			applyDispersions(conditions, runSeed);
+
+			BasicEventSimulationEngine engine = new BasicEventSimulationEngine();
+			engine.simulate(conditions);
+			return summarize(run, runSeed, engine.getFlightData());
+		} catch (SimulationException e) {
+			log.info("Monte Carlo flight " + run + " failed", e);
+			return MonteCarloRunSummary.failed(run, runSeed, e.getMessage());
+		} catch (RuntimeException e) {
+			log.warn("Unexpected error in Monte Carlo flight " + run, e);
+			return MonteCarloRunSummary.failed(run, runSeed, String.valueOf(e));
+		}
+	}
+
+	/**
+	 * Apply the dispersions to the simulation conditions of a flight.  All random values are
+	 * drawn in a fixed order, so the values of a flight do not depend on which dispersions
+	 * are enabled.
+	 */
+	private void applyDispersions(SimulationConditions conditions, long runSeed) {
+		Random random = new Random(runSeed);
+		double windSpeed = dispersions.getWindSpeedStdDev() * random.nextGaussian();
+		double windDirection = dispersions.getWindDirectionStdDev() * random.nextGaussian();
+		double rodAngle = dispersions.getLaunchRodAngleStdDev() * random.nextGaussian();
+		double rodDirection = dispersions.getLaunchRodDirectionStdDev() * random.nextGaussian();
+		double impulseFactor = relativeFactor(dispersions.getImpulseStdDev(), random);
+		double dragFactor = relativeFactor(dispersions.getDragStdDev(), random);
+		double massFactor = relativeFactor(dispersions.getMassStdDev(), random);
+		int turbulenceSeed = random.nextInt();
+		int simulationSeed = random.nextInt();
+
+		conditions.setRandomSeed(simulationSeed);
+		conditions.setWindModel(disperseWind(conditions.getWindModel(), windSpeed, windDirection,
+				dispersions.isRandomTurbulence() ? Integer.valueOf(turbulenceSeed) : null));
+		conditions.setLaunchRodAngle(MathUtil.clamp(conditions.getLaunchRodAngle() + rodAngle,
+				-SimulationOptions.MAX_LAUNCH_ROD_ANGLE, SimulationOptions.MAX_LAUNCH_ROD_ANGLE));
+		conditions.setLaunchRodDirection(MathUtil.reduce2Pi(conditions.getLaunchRodDirection() + rodDirection));
+		if (massFactor != 1) {
+			conditions.setMassCalculator(new DispersedMassCalculator(massFactor));
+		}
+		conditions.getSimulationListenerList().add(new DispersionListener(impulseFactor, dragFactor));
+	}
+
+	/**
+	 * Return a copy of the wind model with the average speed and direction offset.  If a
+	 * turbulence seed is given, the turbulence is generated from it, otherwise the turbulence
+	 * of the nominal model is kept.  Unknown wind models are returned unchanged.
+	 */
+	private static WindModel disperseWind(WindModel nominal, double speed, double direction, Integer turbulenceSeed) {
+		if (nominal instanceof PinkNoiseWindModel average) {
+			PinkNoiseWindModel wind = turbulenceSeed != null ? new PinkNoiseWindModel(turbulenceSeed) : average.clone();
+			wind.loadFrom(average);
+			wind.setAverage(Math.max(average.getAverage() + speed, 0));
+			wind.setDirection(MathUtil.reduce2Pi(average.getDirection() + direction));
+			return wind;
+		}
+		if (nominal instanceof MultiLevelPinkNoiseWindModel multiLevel) {
+			if (turbulenceSeed == null) {
+				MultiLevelPinkNoiseWindModel wind = multiLevel.clone();
+				for (MultiLevelPinkNoiseWindModel.LevelWindModel level : wind.getLevels()) {
+					level.setSpeed(Math.max(level.getSpeed() + speed, 0));
+					level.setDirection(MathUtil.reduce2Pi(level.getDirection() + direction));
+				}
+				return wind;
+			}
+			MultiLevelPinkNoiseWindModel wind = new MultiLevelPinkNoiseWindModel();
+			wind.clearLevels();
+			wind.setAltitudeReference(multiLevel.getAltitudeReference());
+			Random levelSeeds = new Random(turbulenceSeed);
+			for (MultiLevelPinkNoiseWindModel.LevelWindModel level : multiLevel.getLevels()) {
+				wind.addWindLevel(level.getAltitude(), Math.max(level.getSpeed() + speed, 0),
+						MathUtil.reduce2Pi(level.getDirection() + direction), level.getStandardDeviation(),
+						levelSeeds.nextInt());
+			}
+			return wind;
+		}
+		log.warn("Wind dispersion not supported for wind model " + nominal);
+		return nominal;
+	}
+
+	private static double relativeFactor(double stdDev, Random random) {
+		return Math.max(1 + stdDev * random.nextGaussian(), 0);
+	}
+
+	private static MonteCarloRunSummary summarize(int run, long runSeed, FlightData data) {
+		for (FlightDataBranch branch : data.getBranches()) {
+			FlightEvent abort = branch.getFirstEvent(FlightEvent.Type.SIM_ABORT);
+			if (abort != null) {
+				return new MonteCarloRunSummary(run, runSeed, MonteCarloRunSummary.Status.ABORTED,
+						((SimulationAbort) abort.getData()).getMessageDescription(), data.getMaxAltitude(),
+						data.getMaxVelocity(), Double.NaN, Double.NaN, Double.NaN);
+			}
+		}
+
+		FlightDataBranch branch = data.getBranch(0);
+		return new MonteCarloRunSummary(run, runSeed, MonteCarloRunSummary.Status.OK, null, data.getMaxAltitude(),
+				data.getMaxVelocity(), branch.getLast(FlightDataType.TYPE_POSITION_X),
+				branch.getLast(FlightDataType.TYPE_POSITION_Y), getMinStabilityMargin(branch));
+	}
+
+	/**
+	 * Return the minimum stability margin of the branch between launch rod clearance and apogee.
+	 */
+	private static double getMinStabilityMargin(FlightDataBranch branch) {
+		int slot = branch.getSlot(FlightDataType.TYPE_STABILITY);
+		if (slot < 0) {
+			return Double.NaN;
+		}
+		FlightEvent launchRod = branch.getFirstEvent(FlightEvent.Type.LAUNCHROD);
+		FlightEvent apogee = branch.getFirstEvent(FlightEvent.Type.APOGEE);
+		int start = launchRod != null ? Math.max(branch.getDataIndexOfTime(launchRod.getTime()), 0) : 0;
+		int end = apogee != null ? branch.getDataIndexOfTime(apogee.getTime()) : -1;
+		if (end < 0) {
+			end = branch.getLength() - 1;
+		}
+
+		double min = Double.NaN;
+		for (int i = start; i <= end; i++) {
+			double value = branch.getValue(slot, i);
+			if (!Double.isNaN(value) && !(value >= min)) {
+				min = value;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Return the seed of a flight.  The base seed and the flight index are mixed with the
+	 * SplitMix64 finalizer, so nearby indices give unrelated seeds.
+	 */
+	static long getRunSeed(long seed, int run) {
+		long z = seed + (run + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+
+	/**
+	 * Feeds the flight summaries to the result and the run listener in flight order.  Flights
+	 * that complete early are buffered until all preceding flights are done; the window
+	 * semaphore limits the number of buffered flights.
+	 */
+	private class Collector {
+		private final Semaphore window;
+		private final MonteCarloRunSummary[] buffer;
+		private final MonteCarloResult result = new MonteCarloResult();
+		private int next = 0;
+
+		Collector(int size) {
+			window = new Semaphore(size);
+			buffer = new MonteCarloRunSummary[size];
+		}
+
+		synchronized void accept(MonteCarloRunSummary summary) {
+			buffer[summary.getRun() % buffer.length] = summary;
+			int index;
+			while (buffer[index = next % buffer.length] != null) {
+				MonteCarloRunSummary s = buffer[index];
+				buffer[index] = null;
+				next++;
+				result.add(s);
+				if (runListener != null) {
+					runListener.accept(s);
+				}
+				window.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Arrays;
+
+/**
+ * Estimates a quantile of a stream of values in constant memory using the P-square
+ * algorithm of Jain and Chlamtac (1985).  The estimator keeps five markers whose heights
+ * are adjusted with piecewise-parabolic interpolation as values are added.  Up to five
+ * values the exact quantile is returned.
+ */
+class P2Quantile {
+
+	private final double p;
+
+	/** Marker heights */
+	private final double[] q = new double[5];
+	/** Actual marker positions */
+	private final int[] n = new int[5];
+	/** Desired marker positions */
+	private final double[] desired = new double[5];
+	/** Increments of the desired positions */
+	private final double[] increment;
+
+	private int count = 0;
+
+	P2Quantile(double p) {
+		if (!(p >= 0 && p <= 1)) {
+			throw new IllegalArgumentException("Quantile must be between 0 and 1: " + p);
+		}
+		this.p = p;
+		this.increment = new double[] { 0, p / 2, p, (1 + p) / 2, 1 };
+	}
+
+	public double getQuantile() {
+		return p;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public void add(double x) {
+		if (count < 5) {
+			q[count++] = x;
+			if (count == 5) {
+				Arrays.sort(q);
+				for (int i = 0; i < 5; i++) {
+					n[i] = i;
+				}
+				desired[0] = 0;
+				desired[1] = 2 * p;
+				desired[2] = 4 * p;
+				desired[3] = 2 + 2 * p;
+				desired[4] = 4;
+			}
+			return;
+		}
+		count++;
+
+		// Find the cell k with q[k] <= x < q[k+1], extending the extreme markers if needed
+		int k;
+		if (x < q[0]) {
+			q[0] = x;
+			k = 0;
+		} else if (x >= q[4]) {
+			q[4] = x;
+			k = 3;
+		} else {
+			k = 0;
+			while (x >= q[k + 1]) {
+				k++;
+			}
+		}
+
+		for (int i = k + 1; i < 5; i++) {
+			n[i]++;
+		}
+		for (int i = 0; i < 5; i++) {
+			desired[i] += increment[i];
+		}
+
+		// Adjust the heights of the middle markers if they are off their desired positions
+		for (int i = 1; i <= 3; i++) {
+			double d = desired[i] - n[i];
+			if ((d >= 1 && n[i + 1] - n[i] > 1) || (d <= -1 && n[i - 1] - n[i] < -1)) {
+				int s = d >= 0 ? 1 : -1;
+				double candidate = parabolic(i, s);
+				if (q[i - 1] < candidate && candidate < q[i + 1]) {
+					q[i] = candidate;
+				} else {
+					q[i] = q[i] + s * (q[i + s] - q[i]) / (n[i + s] - n[i]);
+				}
+				n[i] += s;
+			}
+		}
+	}
+
+	/**
+	 * Return the estimated quantile, or NaN if no values have been added.
+	 */
+	public double getValue() {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (count < 5) {
+			double[] sorted = Arrays.copyOf(q, count);
+			Arrays.sort(sorted);
+			double pos = p * (count - 1);
+			int i = (int) Math.floor(pos);
+			if (i >= count - 1) {
+				return sorted[count - 1];
+			}
+			return sorted[i] + (pos - i) * (sorted[i + 1] - sorted[i]);
+		}
+		if (p == 0) {
+			return q[0];
+		}
+		if (p == 1) {
+			return q[4];
+		}
+		return q[2];
+	}
+
+	private double parabolic(int i, int d) {
+		return q[i] + (double) d / (n[i + 1] - n[i - 1]) *
+				((n[i] - n[i - 1] + d) * (q[i + 1] - q[i]) / (n[i + 1] - n[i]) +
+						(n[i + 1] - n[i] - d) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+	}
+}
@@ -0,0 +1,118 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * Accumulates the statistics of a stream of values in constant memory: the count, mean,
+ * standard deviation, minimum, maximum and a fixed set of percentiles.  The mean and variance
+ * are computed with Welford's algorithm and the percentiles are estimated with the P-square
+ * algorithm.  NaN values are ignored.
+ */
+public class SummaryStatistics {
+
+	/** The percentiles tracked by default */
+	public static final double[] DEFAULT_PERCENTILES = { 0.05, 0.25, 0.5, 0.75, 0.95 };
+
+	private final P2Quantile[] quantiles;
+
+	private int count = 0;
+	private double mean = 0;
+	private double m2 = 0;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+	public SummaryStatistics() {
+		this(DEFAULT_PERCENTILES);
+	}
+
+	/**
+	 * @param percentiles	the percentiles to track, as fractions between 0 and 1.
+	 */
+	public SummaryStatistics(double... percentiles) {
+		quantiles = new P2Quantile[percentiles.length];
+		for (int i = 0; i < percentiles.length; i++) {
+			quantiles[i] = new P2Quantile(percentiles[i]);
+		}
+	}
+
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		if (count == 1) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		for (P2Quantile q : quantiles) {
+			q.add(value);
+		}
+	}
+
+	/**
+	 * Return the number of (non-NaN) values added.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Return the mean of the values, or NaN if no values have been added.
+	 */
+	public double getMean() {
+		return count > 0 ? mean : Double.NaN;
+	}
+
+	/**
+	 * Return the sample standard deviation of the values, or NaN if less than two values
+	 * have been added.
+	 */
+	public double getStandardDeviation() {
+		return count > 1 ? Math.sqrt(m2 / (count - 1)) : Double.NaN;
+	}
+
+	public double getMinimum() {
+		return min;
+	}
+
+	public double getMaximum() {
+		return max;
+	}
+
+	/**
+	 * Return the tracked percentiles, as fractions between 0 and 1.
+	 */
+	public double[] getPercentiles() {
+		double[] percentiles = new double[quantiles.length];
+		for (int i = 0; i < quantiles.length; i++) {
+			percentiles[i] = quantiles[i].getQuantile();
+		}
+		return percentiles;
+	}
+
+	/**
+	 * Return the estimated value of a percentile.
+	 *
+	 * @param percentile	the percentile as a fraction between 0 and 1, must be one of the tracked percentiles.
+	 * @return				the estimated value, or NaN if no values have been added.
+	 * @throws IllegalArgumentException	if the percentile is not tracked.
+	 */
+	public double getPercentile(double percentile) {
+		for (P2Quantile q : quantiles) {
+			if (q.getQuantile() == percentile) {
+				return q.getValue();
+			}
+		}
+		throw new IllegalArgumentException("Percentile " + percentile + " is not tracked");
+	}
+
+	@Override
+	public String toString() {
+		return "SummaryStatistics[count=" + count + ", mean=" + getMean() + ", stddev=" + getStandardDeviation() +
+				", min=" + min + ", max=" + max + "]";
+	}
+}
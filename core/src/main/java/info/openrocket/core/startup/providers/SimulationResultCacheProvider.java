@@ -0,0 +1,23 @@
+package info.openrocket.core.startup.providers;
+
+import java.io.File;
+
+import info.openrocket.core.arch.SystemInfo;
+import info.openrocket.core.simulation.cache.SimulationResultCache;
+
+import com.google.inject.Provider;
+
+/**
+ * Provider for the simulation result cache, stored in the user application directory.
+ */
+public class SimulationResultCacheProvider implements Provider<SimulationResultCache> {
+
+	private static final String CACHE_DIRECTORY = "SimulationCache";
+
+	@Override
+	public SimulationResultCache get() {
+		File directory = new File(SystemInfo.getUserApplicationDirectory(), CACHE_DIRECTORY);
+		return new SimulationResultCache(SimulationResultCache.DEFAULT_MEMORY_ENTRIES, directory,
+				SimulationResultCache.DEFAULT_MAX_DISK_SIZE);
+	}
+}
@@ -1,10 +1,11 @@
 package info.openrocket.core.thrustcurve.serialization;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +19,7 @@ import info.openrocket.core.file.iterator.DirectoryIterator;
 import info.openrocket.core.file.iterator.FileIterator;
 import info.openrocket.core.file.motor.GeneralMotorLoader;
 import info.openrocket.core.gui.util.SimpleFileFilter;
+import info.openrocket.core.motor.CompactMotorFormat;
 import info.openrocket.core.motor.Motor;
 import info.openrocket.core.motor.ThrustCurveMotor;
 import info.openrocket.core.util.Pair;
@@ -66,14 +68,14 @@ public class SerializeThrustcurveMotors {
 
         File outFile = new File(outputFile);
 
-        FileOutputStream ofs = new FileOutputStream(outFile);
-        final ObjectOutputStream oos = new ObjectOutputStream(ofs);
-
-        oos.writeObject(allMotors);
+        final List<ThrustCurveMotor> thrustCurveMotors = new ArrayList<>(allMotors.size());
+        for (Motor motor : allMotors) {
+            thrustCurveMotors.add((ThrustCurveMotor) motor);
+        }
 
-        oos.flush();
-        ofs.flush();
-        ofs.close();
+        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(outFile))) {
+            CompactMotorFormat.write(thrustCurveMotors, os);
+        }
 
     }
 
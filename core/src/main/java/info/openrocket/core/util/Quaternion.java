@@ -167,6 +167,35 @@ public class Quaternion implements Cloneable {
 		return new Quaternion(newW, newX, newY, newZ);
 	}
 
+	/**
+	 * Multiply this quaternion from the left by the rotation quaternion of the given rotation
+	 * vector.  This is equivalent to <code>multiplyLeft(Quaternion.rotation(rotation))</code>,
+	 * but creates only the resulting quaternion.
+	 * 
+	 * @param rotation the rotation vector
+	 * @return the rotated quaternion.
+	 */
+	public Quaternion multiplyLeftRotation(CoordinateIF rotation) {
+		final double length = rotation.length();
+		if (length < 0.000001) {
+			// Identity rotation, quaternions are immutable
+			return this;
+		}
+		final double sin = Math.sin(length / 2);
+		final double a = Math.cos(length / 2);
+		final double b = sin * rotation.getX() / length;
+		final double c = sin * rotation.getY() / length;
+		final double d = sin * rotation.getZ() / length;
+
+		/* (abcd) * this(wxyz) */
+		double newW = (a * this.w - b * this.x - c * this.y - d * this.z);
+		double newX = (a * this.x + b * this.w + c * this.z - d * this.y);
+		double newY = (a * this.y + c * this.w + d * this.x - b * this.z);
+		double newZ = (a * this.z + d * this.w + b * this.y - c * this.x);
+
+		return new Quaternion(newW, newX, newY, newZ);
+	}
+
 	/**
 	 * Return a normalized version of this quaternion. If this quaternion is the
 	 * zero quaternion, throws
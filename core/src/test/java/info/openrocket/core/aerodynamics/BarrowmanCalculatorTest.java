@@ -286,23 +286,113 @@ public class BarrowmanCalculatorTest {
 
 	@Test
 	public void testGetWorstCP() {
-		// Rocket rocket = TestRockets.makeFalcon9Heavy();
-		// FlightConfiguration config = rocket.getSelectedConfiguration();
-		// BarrowmanCalculator calc = new BarrowmanCalculator();
-		// FlightConditions conditions = new FlightConditions(config);
-		// WarningSet warnings = new WarningSet();
-
-		// NYI
-		// Coordinate calcBestCP = calc.getCP(config, conditions, warnings);
-		// Coordinate calcWorstCP = calc.getWorstCP(config, conditions, warnings);
-
-		// fail("Not yet implemented");
-		// Coordinate expBestCP = new Coordinate( -1, 0,0,0);
-		// assertEquals(expBestCP.getX(),
-		// calcBestCP.getX(), EPSILON, " Falcon Heavy best CP x value is incorrect:");
-		// Coordinate expWorstCP = new Coordinate( -1, 0,0,0);
-		// assertEquals(expWorstCP.getX(),
-		// calcWorstCP.getX(), EPSILON, " Falcon Heavy Worst CP x value is incorrect:");
+		final Rocket rocket = TestRockets.makeFalcon9Heavy();
+		final ParallelStage boosterStage = (ParallelStage) rocket.getChild(1).getChild(0).getChild(0);
+		final TrapezoidFinSet boosterFins = (TrapezoidFinSet) boosterStage.getChild(1).getChild(1);
+		final FlightConfiguration config = rocket.getSelectedConfiguration();
+		final BarrowmanCalculator calc = new BarrowmanCalculator();
+		final FlightConditions conditions = new FlightConditions(config);
+		conditions.setAOA(Math.toRadians(3));
+		final WarningSet warnings = new WarningSet();
+
+		{
+			boosterFins.setFinCount(2);
+			boosterFins.setAngleOffset(Math.toRadians(20));
+			assertWorstCP(calc, config, conditions, warnings);
+
+			// The result is reused until the rocket changes
+			final CoordinateIF worstCP = calc.getWorstCP(config, conditions, warnings);
+			final double theta = conditions.getTheta();
+			conditions.setTheta(0);
+			assertTrue(worstCP == calc.getWorstCP(config, conditions, warnings));
+			assertEquals(theta, conditions.getTheta(), 0.0);
+		}
+		{
+			boosterFins.setFinCount(1);
+			assertWorstCP(calc, config, conditions, warnings);
+		}
+		{
+			boosterFins.setFinCount(3);
+			assertWorstCP(calc, config, conditions, warnings);
+		}
+		{
+			boosterFins.setFinCount(4);
+			assertWorstCP(calc, config, conditions, warnings);
+		}
+	}
+
+	@Test
+	public void testGetRollPeriod() {
+		final Rocket rocket = TestRockets.makeFalcon9Heavy();
+		final BodyTube coreBody = (BodyTube) rocket.getChild(1).getChild(0);
+		final ParallelStage boosterStage = (ParallelStage) coreBody.getChild(0);
+		final TrapezoidFinSet boosterFins = (TrapezoidFinSet) boosterStage.getChild(1).getChild(1);
+		final FlightConfiguration config = rocket.getSelectedConfiguration();
+		final BarrowmanCalculator calc = new BarrowmanCalculator();
+		final FlightConditions conditions = new FlightConditions(config);
+		conditions.setAOA(Math.toRadians(3));
+		final WarningSet warnings = new WarningSet();
+		boosterFins.setAngleOffset(Math.toRadians(20));
+
+		// The CNa of each fin repeats every half turn, the fins of a set every 2*PI/N
+		boosterFins.setFinCount(1);
+		assertRollPeriod(Math.PI, calc, config, conditions, warnings);
+		boosterFins.setFinCount(2);
+		assertRollPeriod(Math.PI, calc, config, conditions, warnings);
+		boosterFins.setFinCount(3);
+		assertRollPeriod(Math.PI / 3, calc, config, conditions, warnings);
+		boosterFins.setFinCount(4);
+		assertRollPeriod(Math.PI / 2, calc, config, conditions, warnings);
+
+		// The rocket repeats only when all fin sets repeat
+		final TrapezoidFinSet coreFins = new TrapezoidFinSet(8, 0.1, 0.05, 0.03, 0.06);
+		coreFins.setAngleOffset(Math.toRadians(7));
+		coreBody.addChild(coreFins);
+		assertRollPeriod(Math.PI / 2, calc, config, conditions, warnings);
+		boosterFins.setFinCount(3);
+		assertRollPeriod(Math.PI, calc, config, conditions, warnings);
+		coreFins.setFinCount(6);
+		assertRollPeriod(Math.PI / 3, calc, config, conditions, warnings);
+	}
+
+	/**
+	 * Check the roll period, and that the CP repeats after it.
+	 */
+	private void assertRollPeriod(double expected, BarrowmanCalculator calc, FlightConfiguration config,
+								  FlightConditions conditions, WarningSet warnings) {
+		final double period = calc.getRollPeriod(config);
+		assertEquals(expected, period, EPSILON, " Roll period is incorrect:");
+
+		final FlightConditions cond = conditions.clone();
+		for (int i = 0; i < 12; i++) {
+			final double theta = 2 * Math.PI * i / 12 + 0.1;
+			cond.setTheta(theta);
+			final double cpX = calc.getCP(config, cond, warnings).getX();
+			cond.setTheta(MathUtil.reduce2Pi(theta + period));
+			assertEquals(cpX, calc.getCP(config, cond, warnings).getX(), EPSILON,
+					" CP does not repeat after the roll period:");
+		}
+	}
+
+	/**
+	 * Compare the worst CP to the minimum of the CPs at 1 degree roll angle intervals.
+	 */
+	private void assertWorstCP(AerodynamicCalculator calc, FlightConfiguration config, FlightConditions conditions,
+							   WarningSet warnings) {
+		final FlightConditions cond = conditions.clone();
+		double sweepX = Double.MAX_VALUE;
+		for (int i = 0; i < AbstractAerodynamicCalculator.DIVISIONS; i++) {
+			cond.setTheta(2 * Math.PI * i / AbstractAerodynamicCalculator.DIVISIONS);
+			sweepX = Math.min(sweepX, calc.getCP(config, cond, warnings).getX());
+		}
+
+		final CoordinateIF worstCP = calc.getWorstCP(config, conditions, warnings);
+		assertTrue(worstCP.getX() <= sweepX + EPSILON, " Worst CP is behind the CP sweep:");
+		assertEquals(sweepX, worstCP.getX(), 1e-3, " Worst CP x value is incorrect:");
+
+		cond.setTheta(conditions.getTheta());
+		assertEquals(worstCP.getX(), calc.getCP(config, cond, warnings).getX(), EPSILON,
+				" Worst CP roll angle is incorrect:");
 	}
 
 	@Test
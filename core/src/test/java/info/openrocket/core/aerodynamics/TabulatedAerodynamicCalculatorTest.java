@@ -0,0 +1,132 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.extension.impl.TabulatedAerodynamics;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.TestRockets;
+
+public class TabulatedAerodynamicCalculatorTest extends BaseTestCase {
+
+	@BeforeEach
+	public void clearTables() {
+		TabulatedAerodynamicCalculator.clearTables();
+	}
+
+	@Test
+	public void testInterval() {
+		double[] grid = { 0, 1, 3 };
+		assertEquals(0, AerodynamicTable.interval(grid, -1));
+		assertEquals(0, AerodynamicTable.interval(grid, 0));
+		assertEquals(0, AerodynamicTable.interval(grid, 0.5));
+		assertEquals(1, AerodynamicTable.interval(grid, 1));
+		assertEquals(1, AerodynamicTable.interval(grid, 3));
+		assertEquals(1, AerodynamicTable.interval(grid, 5));
+		assertEquals(0.5, AerodynamicTable.fraction(grid, 1, 2), 0);
+		assertEquals(1, AerodynamicTable.fraction(grid, 1, 5), 0);
+		assertEquals(1.1, AerodynamicTable.MACH[AerodynamicTable.interval(AerodynamicTable.MACH, 1.1)], 0);
+	}
+
+	/**
+	 * Test that the interpolated forces are close to the forces of the Barrowman method
+	 * at conditions between the grid points.
+	 */
+	@Test
+	public void testForcesMatchBarrowman() {
+		FlightConfiguration config = TestRockets.makeEstesAlphaIII().getSelectedConfiguration();
+		BarrowmanCalculator barrowman = new BarrowmanCalculator();
+		TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator();
+
+		for (double mach : new double[] { 0.13, 0.37, 0.62, 2.05 }) {
+			for (double aoa : new double[] { 0, 3.3, 11.7 }) {
+				FlightConditions conditions = createConditions(config, mach, Math.toRadians(aoa));
+				AerodynamicForces expected = barrowman.getAerodynamicForces(config, conditions, new WarningSet());
+				AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, new WarningSet());
+
+				String msg = "mach=" + mach + " aoa=" + aoa;
+				assertClose(expected.getCN(), actual.getCN(), msg + " CN");
+				assertClose(expected.getCm(), actual.getCm(), msg + " Cm");
+				assertClose(expected.getCP().getX(), actual.getCP().getX(), msg + " CPx");
+				assertClose(expected.getCD(), actual.getCD(), msg + " CD");
+				assertClose(expected.getCDaxial(), actual.getCDaxial(), msg + " CDaxial");
+				assertClose(expected.getCroll(), actual.getCroll(), msg + " Croll");
+				assertClose(expected.getPitchDampingMoment(), actual.getPitchDampingMoment(), msg + " pitch damping");
+				assertEquals(barrowman.getStallMargin(), tabulated.getStallMargin(), 1.0e-10);
+			}
+		}
+	}
+
+	/**
+	 * Test that configurations depending on the wind direction use the Barrowman method.
+	 */
+	@Test
+	public void testTwoFinsUseBarrowman() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		for (RocketComponent c : rocket) {
+			if (c instanceof FinSet) {
+				((FinSet) c).setFinCount(2);
+			}
+		}
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator barrowman = new BarrowmanCalculator();
+		TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator();
+
+		FlightConditions conditions = createConditions(config, 0.37, Math.toRadians(3.3));
+		conditions.setTheta(0.7);
+		AerodynamicForces expected = barrowman.getAerodynamicForces(config, conditions, new WarningSet());
+		AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, new WarningSet());
+		assertEquals(expected.getCN(), actual.getCN(), 0);
+		assertEquals(expected.getCD(), actual.getCD(), 0);
+	}
+
+	@Test
+	public void testSimulation() throws SimulationException {
+		Simulation reference = new Simulation(TestRockets.makeEstesAlphaIII());
+		reference.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		reference.getOptions().setISAAtmosphere(true);
+		reference.getOptions().setWindTurbulenceIntensity(0);
+		reference.simulate();
+
+		Simulation simulation = new Simulation(TestRockets.makeEstesAlphaIII());
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setWindTurbulenceIntensity(0);
+		simulation.getSimulationExtensions().add(Application.getInjector().getInstance(TabulatedAerodynamics.class));
+		simulation.simulate();
+
+		double expected = reference.getSimulatedData().getMaxAltitude();
+		double actual = simulation.getSimulatedData().getMaxAltitude();
+		assertTrue(expected > 0);
+		assertEquals(expected, actual, 0.01 * expected);
+	}
+
+
+	private static FlightConditions createConditions(FlightConfiguration config, double mach, double aoa) {
+		FlightConditions conditions = new FlightConditions(config);
+		conditions.setAtmosphericConditions(new AtmosphericConditions(280, 90000));
+		conditions.setMach(mach);
+		conditions.setAOA(aoa);
+		conditions.setRollRate(5);
+		conditions.setPitchRate(0.5);
+		conditions.setPitchCenter(new Coordinate(0.15));
+		return conditions;
+	}
+
+	private static void assertClose(double expected, double actual, String msg) {
+		assertEquals(expected, actual, 0.02 * Math.abs(expected) + 1.0e-4, msg);
+	}
+}
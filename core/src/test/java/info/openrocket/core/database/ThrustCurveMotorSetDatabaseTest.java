@@ -0,0 +1,133 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.CoordinateIF;
+
+public class ThrustCurveMotorSetDatabaseTest {
+
+	private static final String[] MANUFACTURERS = { "Estes", "AeroTech", "Cesaroni Technology", "Loki Research" };
+	private static final Motor.Type[] TYPES = { Motor.Type.SINGLE, Motor.Type.RELOAD, Motor.Type.HYBRID };
+	private static final double[] DIAMETERS = { 0.013, 0.018, 0.024, 0.029, 0.038, 0.054 };
+
+	@Test
+	public void testSameResultsAsScan() {
+		ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
+		int n = 0;
+		for (int m = 0; m < MANUFACTURERS.length; m++) {
+			for (int d = 0; d < DIAMETERS.length; d++) {
+				for (char impulse = 'A'; impulse <= 'H'; impulse++) {
+					for (int variant = 0; variant < 2; variant++) {
+						database.addMotor(createMotor(MANUFACTURERS[m], TYPES[(m + d) % TYPES.length],
+								impulse + "" + (10 + 5 * d) + (variant == 0 ? "" : "W"), DIAMETERS[d],
+								0.05 + 0.01 * (impulse - 'A'), "digest" + (n % 50)));
+						n++;
+					}
+				}
+			}
+		}
+
+		String[] digests = { null, "digest3", "digest49", "unknown" };
+		Motor.Type[] types = { null, Motor.Type.SINGLE, Motor.Type.RELOAD };
+		String[] manufacturers = { null, "estes", "AT", "Cesaroni", "Unknown" };
+		String[] designations = { null, "C15", "c15-4", "H40W", "G", "Z99" };
+		double[] diameters = { Double.NaN, 0.018, 0.0235, 0.029 + 0.005, 0.1 };
+		double[] lengths = { Double.NaN, 0.07, 0.2 };
+
+		for (String digest : digests) {
+			for (Motor.Type type : types) {
+				for (String manufacturer : manufacturers) {
+					for (String designation : designations) {
+						for (double diameter : diameters) {
+							for (double length : lengths) {
+								List<ThrustCurveMotor> expected = scan(database, digest, type, manufacturer,
+										designation, diameter, length);
+								List<ThrustCurveMotor> actual = database.findMotors(digest, type, manufacturer,
+										designation, diameter, length);
+								assertEquals(expected, actual, digest + " " + type + " " + manufacturer + " " +
+										designation + " " + diameter + " " + length);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMotorsAddedAfterQuery() {
+		ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
+		database.addMotor(createMotor("Estes", Motor.Type.SINGLE, "C6", 0.018, 0.07, "digestC6"));
+		assertEquals(0, database.findMotors("digestD12", null, null, null, Double.NaN, Double.NaN).size());
+
+		database.addMotor(createMotor("Estes", Motor.Type.SINGLE, "D12", 0.024, 0.07, "digestD12"));
+		assertEquals(1, database.findMotors("digestD12", null, null, null, Double.NaN, Double.NaN).size());
+	}
+
+	private static ThrustCurveMotor createMotor(String manufacturer, Motor.Type type, String designation,
+			double diameter, double length, String digest) {
+		return new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer(manufacturer))
+				.setDesignation(designation)
+				.setMotorType(type)
+				.setStandardDelays(new double[] { 4 })
+				.setDiameter(diameter)
+				.setLength(length)
+				.setTimePoints(new double[] { 0, 1, 2 })
+				.setThrustPoints(new double[] { 0, 1, 0 })
+				.setCGPoints(new CoordinateIF[] { Coordinate.NUL, Coordinate.NUL, Coordinate.NUL })
+				.setDigest(digest)
+				.build();
+	}
+
+	/**
+	 * Find motors by scanning all motors of the database.
+	 */
+	private static List<ThrustCurveMotor> scan(ThrustCurveMotorSetDatabase database, String digest, Motor.Type type,
+			String manufacturer, String designation, double diameter, double length) {
+		List<ThrustCurveMotor> fullMatches = new ArrayList<>();
+		List<ThrustCurveMotor> digestMatches = new ArrayList<>();
+		List<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
+		for (ThrustCurveMotorSet set : database.getMotorSets()) {
+			for (ThrustCurveMotor m : set.getMotors()) {
+				boolean matchDigest = digest != null && digest.equals(m.getDigest());
+				boolean matchDescription = true;
+				if (type != null && type != set.getType())
+					matchDescription = false;
+				else if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
+					matchDescription = false;
+				else if (designation != null &&
+						!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
+						!designation.toUpperCase().contains(m.getCommonName().toUpperCase()))
+					matchDescription = false;
+				else if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > 0.005))
+					matchDescription = false;
+				else if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > 0.005))
+					matchDescription = false;
+
+				if (matchDigest)
+					digestMatches.add(m);
+				if (matchDescription)
+					descriptionMatches.add(m);
+				if (matchDigest && matchDescription)
+					fullMatches.add(m);
+			}
+		}
+		if (!fullMatches.isEmpty())
+			return fullMatches;
+		if (!digestMatches.isEmpty())
+			return digestMatches;
+		return descriptionMatches;
+	}
+}
@@ -0,0 +1,206 @@
+package info.openrocket.core.file.openrocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class FlightDataBinaryFormatTest extends BaseTestCase {
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		FlightDataType[] types = { FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE, FlightDataType.TYPE_MACH_NUMBER };
+		FlightDataBranch branch = new FlightDataBranch("Test", types);
+		for (int i = 0; i < 200; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.01);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, i < 100 ? i * 0.5 : Double.NaN);
+			if (i % 7 != 0) {
+				branch.setValue(FlightDataType.TYPE_MACH_NUMBER, Math.sin(i) * 1e-3);
+			}
+		}
+
+		FlightDataBranch copy = roundTrip(branch, types);
+		assertEquals(branch.getLength(), copy.getLength());
+		for (FlightDataType type : types) {
+			assertEquals(branch.get(type), copy.get(type), type.getName());
+			assertEquals(branch.getMinimum(type), copy.getMinimum(type), 0);
+			assertEquals(branch.getMaximum(type), copy.getMaximum(type), 0);
+		}
+
+		// The loaded branch can still be extended
+		copy.addPoint();
+		copy.setValue(FlightDataType.TYPE_TIME, 2.0);
+		assertEquals(201, copy.getLength());
+	}
+
+	@Test
+	public void testEmptyBranch() throws IOException {
+		FlightDataType[] types = { FlightDataType.TYPE_TIME };
+		FlightDataBranch copy = roundTrip(new FlightDataBranch("Empty", types), types);
+		assertEquals(0, copy.getLength());
+	}
+
+	@Test
+	public void testTypeMismatch() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FlightDataBinaryFormat.write(new FlightDataBranch("Test", FlightDataType.TYPE_TIME), out);
+		FlightDataBranch other = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		assertThrows(IOException.class,
+				() -> FlightDataBinaryFormat.read(new ByteArrayInputStream(out.toByteArray()), other));
+	}
+
+	@Test
+	public void testDocument() throws Exception {
+		OpenRocketDocument document = createSimulatedDocument();
+		Simulation sim = document.getSimulation(0);
+		File file = new File(tempDir, "binary.ork");
+		new GeneralRocketSaver().save(file, document, getBinaryOptions());
+
+		try (ZipFile zip = new ZipFile(file)) {
+			assertEquals("rocket.ork", zip.entries().nextElement().getName());
+			assertNotNull(zip.getEntry(FlightDataBinaryFormat.getEntryName(0, 0)));
+			try (InputStream is = zip.getInputStream(zip.getEntry("rocket.ork"))) {
+				String xml = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+				assertFalse(xml.contains("<datapoint>"));
+			}
+		}
+
+		OpenRocketDocument loaded = new GeneralRocketLoader(file).load();
+		assertEquals(StorageOptions.SimulationDataFormat.BINARY, loaded.getDefaultStorageOptions().getSimulationDataFormat());
+		FlightData expected = sim.getSimulatedData();
+		FlightData actual = loaded.getSimulation(0).getSimulatedData();
+		assertEquals(expected.getBranchCount(), actual.getBranchCount());
+
+		// The data points are loaded on first access, the summary is available without them
+		for (FlightDataBranch branch : actual.getBranches()) {
+			assertFalse(branch.isDataLoaded());
+		}
+		assertEquals(expected.getMaxAltitude(), actual.getMaxAltitude(), 1e-6);
+		assertEquals(expected.getFlightTime(), actual.getFlightTime(), 1e-6);
+		assertFalse(actual.getBranch(0).isDataLoaded());
+		FlightData clone = actual.clone();
+		assertFalse(clone.getBranch(0).isDataLoaded());
+		assertEquals(expected.getBranch(0).getLength(), clone.getBranch(0).getLength());
+		assertFalse(actual.getBranch(0).isDataLoaded());
+
+		for (int i = 0; i < expected.getBranchCount(); i++) {
+			FlightDataBranch expectedBranch = expected.getBranch(i);
+			FlightDataBranch actualBranch = actual.getBranch(i);
+			assertEquals(expectedBranch.getLength(), actualBranch.getLength());
+			assertEquals(expectedBranch.getEvents().size(), actualBranch.getEvents().size());
+			for (FlightDataType type : expectedBranch.getTypes()) {
+				if (actualBranch.getSlot(type) >= 0) {
+					assertEquals(expectedBranch.get(type), actualBranch.get(type), type.getName());
+				}
+			}
+			assertTrue(actualBranch.isDataLoaded());
+		}
+	}
+
+	@Test
+	public void testFileDeleted() throws Exception {
+		OpenRocketDocument document = createSimulatedDocument();
+		File file = new File(tempDir, "deleted.ork");
+		new GeneralRocketSaver().save(file, document, getBinaryOptions());
+		OpenRocketDocument loaded = new GeneralRocketLoader(file).load();
+		assertTrue(file.delete());
+
+		checkDataUnavailable(document.getSimulation(0), loaded);
+	}
+
+	@Test
+	public void testFileReplaced() throws Exception {
+		OpenRocketDocument document = createSimulatedDocument();
+		File file = new File(tempDir, "replaced.ork");
+		GeneralRocketSaver saver = new GeneralRocketSaver();
+		saver.save(file, document, getBinaryOptions());
+		OpenRocketDocument loaded = new GeneralRocketLoader(file).load();
+
+		// Replace the file with one that has no simulation data
+		StorageOptions options = getBinaryOptions();
+		options.setSaveSimulationData(false);
+		saver.save(file, document, options);
+
+		checkDataUnavailable(document.getSimulation(0), loaded);
+	}
+
+	/**
+	 * Check that the data of a loaded document whose file is no longer available is reported as
+	 * unavailable, and that saving the document keeps the summary without writing empty data.
+	 */
+	private void checkDataUnavailable(Simulation original, OpenRocketDocument loaded) throws Exception {
+		FlightData data = loaded.getSimulation(0).getSimulatedData();
+		FlightDataBranch branch = data.getBranch(0);
+		assertFalse(branch.isDataUnavailable());
+		assertEquals(0, branch.getLength());
+		assertTrue(branch.isDataUnavailable());
+		assertEquals(original.getSimulatedData().getMaxAltitude(), data.getMaxAltitude(), 1e-6);
+
+		GeneralRocketSaver saver = new GeneralRocketSaver();
+		File file = new File(tempDir, "resaved.ork");
+		saver.save(file, loaded, getBinaryOptions());
+		assertFalse(saver.getWarnings().isEmpty());
+
+		FlightData resaved = new GeneralRocketLoader(file).load().getSimulation(0).getSimulatedData();
+		assertEquals(0, resaved.getBranchCount());
+		assertEquals(original.getSimulatedData().getMaxAltitude(), resaved.getMaxAltitude(), 1e-6);
+	}
+
+	private static OpenRocketDocument createSimulatedDocument() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation sim = new Simulation(document, rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		document.addSimulation(sim);
+		sim.simulate();
+		// The test motors are not in a motor database, so the file is loaded without motors
+		rocket.getFlightConfiguration(TestRockets.TEST_FCID_0).clearAllMotors();
+		return document;
+	}
+
+	private static StorageOptions getBinaryOptions() {
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		options.setSimulationDataFormat(StorageOptions.SimulationDataFormat.BINARY);
+		return options;
+	}
+
+	private static FlightDataBranch roundTrip(FlightDataBranch branch, FlightDataType[] types) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FlightDataBinaryFormat.write(branch, out);
+		FlightDataBranch copy = new FlightDataBranch(branch.getName(), types);
+		FlightDataBinaryFormat.read(new ByteArrayInputStream(out.toByteArray()), copy);
+		return copy;
+	}
+}
@@ -1,15 +1,25 @@
 package info.openrocket.core.masscalc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.MotorClusterState;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.util.TestRockets;
 import info.openrocket.core.util.BaseTestCase;
 
 public class MassCacheTest extends BaseTestCase {
 
+	private static final double EPSILON = 0.00000001;
+
 	@Test
 	public void testCMCache() {
 		Rocket rocket = TestRockets.makeFalcon9Heavy();
@@ -19,6 +29,54 @@ public class MassCacheTest extends BaseTestCase {
 		// .... soooo we have this waste of space. -DMW
 		assertTrue(true);
 	}
+
+	@Test
+	public void testCachedMotorMassMatchesFullCalculation() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		SimulationStatus status = new SimulationStatus(config, new SimulationConditions());
+		for (MotorClusterState motorState : status.getMotors()) {
+			motorState.ignite(0.5);
+		}
+
+		MassCalculator calculator = new MassCalculator();
+		for (double time = 0; time < 5; time += 0.25) {
+			status.setSimulationTime(time);
+			assertRigidBodyEquals(MassCalculator.calculateMotor(status), calculator.getMotorMass(status));
+		}
+	}
+
+	@Test
+	public void testStructureCacheInvalidation() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		MassCalculator calculator = new MassCalculator();
+
+		RigidBody structure = calculator.getStructureMass(config);
+		assertRigidBodyEquals(MassCalculator.calculateStructure(config), structure);
+		assertSame(structure, calculator.getStructureMass(config));
+
+		// Stage activation
+		AxialStage payloadStage = (AxialStage) rocket.getChild(0);
+		config.setOnlyStage(payloadStage.getStageNumber());
+		assertRigidBodyEquals(MassCalculator.calculateStructure(config), calculator.getStructureMass(config));
+
+		// Component change
+		config.setAllStages();
+		RocketComponent noseCone = payloadStage.getChild(0);
+		noseCone.setMassOverridden(true);
+		noseCone.setOverrideMass(0.5);
+		assertRigidBodyEquals(MassCalculator.calculateStructure(config), calculator.getStructureMass(config));
+	}
+
+	private static void assertRigidBodyEquals(RigidBody expected, RigidBody actual) {
+		assertEquals(expected.getMass(), actual.getMass(), EPSILON, "Mass is incorrect: ");
+		assertEquals(expected.getCM().getX(), actual.getCM().getX(), EPSILON, "CM.x is incorrect: ");
+		assertEquals(expected.getCM().getY(), actual.getCM().getY(), EPSILON, "CM.y is incorrect: ");
+		assertEquals(expected.getCM().getZ(), actual.getCM().getZ(), EPSILON, "CM.z is incorrect: ");
+		assertEquals(expected.getRotationalInertia(), actual.getRotationalInertia(), EPSILON, "Rotational MOI is incorrect: ");
+		assertEquals(expected.getLongitudinalInertia(), actual.getLongitudinalInertia(), EPSILON, "Longitudinal MOI is incorrect: ");
+	}
 	//
 	// FlightConfiguration config = rocket.getEmptyConfiguration();
 	// MassCalculator mc = new MassCalculator();
@@ -0,0 +1,149 @@
+package info.openrocket.core.motor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.CoordinateIF;
+
+public class CompactMotorFormatTest {
+
+	@TempDir
+	File tempDir;
+
+	private final ThrustCurveMotor motorX6 = new ThrustCurveMotor.Builder()
+			.setManufacturer(Manufacturer.getManufacturer("foo"))
+			.setDesignation("X6")
+			.setDescription("Description of X6")
+			.setMotorType(Motor.Type.RELOAD)
+			.setStandardDelays(new double[] { 0, 2, Motor.PLUGGED_DELAY })
+			.setDiameter(0.05)
+			.setLength(0.10)
+			.setTimePoints(new double[] { 0, 1, 3, 4 })
+			.setThrustPoints(new double[] { 0, 2, 3, 0 })
+			.setCGPoints(new CoordinateIF[] {
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.03, 0, 0, 0.03) })
+			.setDigest("digestA")
+			.build();
+
+	private final ThrustCurveMotor motorA8 = new ThrustCurveMotor.Builder()
+			.setManufacturer(Manufacturer.getManufacturer("Estes"))
+			.setDesignation("A8-3")
+			.setCaseInfo("SU 18x70")
+			.setPropellantInfo("black powder")
+			.setMotorType(Motor.Type.SINGLE)
+			.setStandardDelays(new double[] { 3 })
+			.setDiameter(0.018)
+			.setLength(0.07)
+			.setTimePoints(new double[] { 0, 0.1, 0.2, 0.5, 0.73 })
+			.setThrustPoints(new double[] { 0, 9.7, 3.2, 2.3, 0 })
+			.setCGPoints(new CoordinateIF[] {
+					new Coordinate(0.035, 0, 0, 0.0162),
+					new Coordinate(0.036, 0, 0, 0.0155),
+					new Coordinate(0.037, 0, 0, 0.0149),
+					new Coordinate(0.038, 0, 0, 0.0143),
+					new Coordinate(0.039, 0, 0, 0.0138) })
+			.setAvailability(false)
+			.setDigest("digestB")
+			.build();
+
+	@Test
+	public void testStreamRoundTrip() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CompactMotorFormat.write(List.of(motorX6, motorA8), out);
+		List<ThrustCurveMotor> motors = CompactMotorFormat.read(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(2, motors.size());
+		assertMotorEquals(motorX6, motors.get(0));
+		assertMotorEquals(motorA8, motors.get(1));
+	}
+
+	@Test
+	public void testMappedFile() throws IOException {
+		File file = new File(tempDir, "thrustcurves." + CompactMotorFormat.EXTENSION);
+		try (OutputStream out = new FileOutputStream(file)) {
+			CompactMotorFormat.write(List.of(motorA8, motorX6), out);
+		}
+		List<ThrustCurveMotor> motors = CompactMotorFormat.read(file);
+
+		assertEquals(2, motors.size());
+		assertMotorEquals(motorA8, motors.get(0));
+		assertMotorEquals(motorX6, motors.get(1));
+	}
+
+	@Test
+	public void testBuiltInDatabase() throws IOException {
+		List<ThrustCurveMotor> motors;
+		try (InputStream is = getClass().getResourceAsStream("/datafiles/thrustcurves/thrustcurves." + CompactMotorFormat.EXTENSION)) {
+			assertNotNull(is, "built-in motor database not found");
+			motors = CompactMotorFormat.read(is);
+		}
+		assertTrue(motors.size() > 1000, "only " + motors.size() + " motors");
+		for (ThrustCurveMotor motor : motors) {
+			assertNotNull(motor.getDigest());
+			assertTrue(motor.getTimePoints().length >= 2, motor.getDesignation());
+			assertEquals(motor.getTimePoints().length, motor.getThrustPoints().length, motor.getDesignation());
+		}
+	}
+
+	@Test
+	public void testInvalidData() {
+		byte[] data = { 1, 2, 3, 4, 5, 6, 7, 8 };
+		assertThrows(IOException.class, () -> CompactMotorFormat.read(new ByteArrayInputStream(data)));
+	}
+
+	private static void assertMotorEquals(ThrustCurveMotor expected, ThrustCurveMotor actual) {
+		// Properties available without loading the curves
+		assertEquals(expected.getManufacturer(), actual.getManufacturer());
+		assertEquals(expected.getDesignation(), actual.getDesignation());
+		assertEquals(expected.getCommonName(), actual.getCommonName());
+		assertEquals(expected.getDescription(), actual.getDescription());
+		assertEquals(expected.getCaseInfo(), actual.getCaseInfo());
+		assertEquals(expected.getPropellantInfo(), actual.getPropellantInfo());
+		assertEquals(expected.getDigest(), actual.getDigest());
+		assertEquals(expected.getMotorType(), actual.getMotorType());
+		assertEquals(expected.isAvailable(), actual.isAvailable());
+		assertArrayEquals(expected.getStandardDelays(), actual.getStandardDelays());
+		assertEquals(expected.getDiameter(), actual.getDiameter(), 0);
+		assertEquals(expected.getLength(), actual.getLength(), 0);
+		assertEquals(expected.getSampleSize(), actual.getSampleSize());
+		assertEquals(expected.getBurnTime(), actual.getBurnTime(), 0);
+		assertEquals(expected.getLaunchMass(), actual.getLaunchMass(), 0);
+		assertEquals(expected.getBurnoutMass(), actual.getBurnoutMass(), 0);
+		assertEquals(expected.getLaunchCGx(), actual.getLaunchCGx(), 0);
+		assertEquals(expected.getBurnoutCGx(), actual.getBurnoutCGx(), 0);
+		assertEquals(expected.getTotalImpulseEstimate(), actual.getTotalImpulseEstimate(), 0);
+		assertEquals(expected.getAverageThrustEstimate(), actual.getAverageThrustEstimate(), 0);
+		assertEquals(expected.getMaxThrustEstimate(), actual.getMaxThrustEstimate(), 0);
+		assertEquals(expected.getBurnTimeEstimate(), actual.getBurnTimeEstimate(), 0);
+		assertEquals(expected.getUnitIxx(), actual.getUnitIxx(), 0);
+		assertEquals(0, expected.compareTo(actual));
+
+		// The curves
+		assertArrayEquals(expected.getTimePoints(), actual.getTimePoints());
+		assertArrayEquals(expected.getThrustPoints(), actual.getThrustPoints());
+		assertArrayEquals(expected.getCGPoints(), actual.getCGPoints());
+		for (double t = 0; t < expected.getBurnTime(); t += 0.05) {
+			assertEquals(expected.getThrust(t), actual.getThrust(t), 0);
+			assertEquals(expected.getTotalMass(t), actual.getTotalMass(t), 0);
+		}
+	}
+}
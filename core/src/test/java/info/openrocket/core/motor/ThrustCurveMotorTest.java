@@ -201,4 +201,25 @@ public class ThrustCurveMotorTest {
 		assertEquals(ThrustCurveMotor.Builder.simplifyDesignation("Micro Maxx II"), "MicroMaxxII");
 	}
 
+	@Test
+	public void testSampleMatchesInterpolation() {
+		final ThrustCurveMotor mtr = motorEstesA8_3;
+		final MotorSample sample = new MotorSample();
+
+		// forward in small steps, then jumps backwards and past the end of the curve
+		final double[] times = new double[60];
+		for (int i = 0; i < 50; i++) {
+			times[i] = i * 0.013;
+		}
+		final double[] jumps = { 0.0, 0.2, 0.05, 0.9, 0.3, 10.0, 0.041, 0.0411, -1.0, 0.7 };
+		System.arraycopy(jumps, 0, times, 50, jumps.length);
+
+		for (double motorTime : times) {
+			mtr.getSample(motorTime, sample);
+			assertEquals(mtr.getThrust(motorTime), sample.getThrust(), 0.0, "thrust at " + motorTime);
+			assertEquals(mtr.getTotalMass(motorTime), sample.getTotalMass(), 0.0, "mass at " + motorTime);
+			assertEquals(mtr.getCMx(motorTime), sample.getCMx(), 0.0, "CG at " + motorTime);
+		}
+	}
+
 }
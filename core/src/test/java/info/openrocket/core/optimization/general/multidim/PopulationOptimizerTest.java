@@ -0,0 +1,84 @@
+package info.openrocket.core.optimization.general.multidim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.optimization.general.Function;
+import info.openrocket.core.optimization.general.OptimizationException;
+import info.openrocket.core.optimization.general.ParallelExecutorCache;
+import info.openrocket.core.optimization.general.Point;
+
+public class PopulationOptimizerTest {
+
+	/**
+	 * Rastrigin function with the global minimum 0 at (0.7, 0.7, ...) and many local minima
+	 * within the unit hypercube.
+	 */
+	private static final Function RASTRIGIN = p -> {
+		double sum = 0;
+		for (int i = 0; i < p.dim(); i++) {
+			double x = (p.get(i) - 0.7) * 10;
+			sum += x * x - 3 * Math.cos(2 * Math.PI * x) + 3;
+		}
+		return sum;
+	};
+
+	private ParallelExecutorCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new ParallelExecutorCache(4);
+		cache.setFunction(RASTRIGIN);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		cache.getExecutor().shutdownNow();
+	}
+
+	@Test
+	public void testDifferentialEvolution() throws OptimizationException {
+		assertGlobalMinimum(new DifferentialEvolutionOptimizer(cache));
+	}
+
+	@Test
+	public void testCMAES() throws OptimizationException {
+		assertGlobalMinimum(new CMAESOptimizer(cache));
+	}
+
+	@Test
+	public void testBounds() throws OptimizationException {
+		// The minimum within the bounds is on the upper bound of the first coordinate
+		CMAESOptimizer optimizer = new CMAESOptimizer(cache);
+		optimizer.setSeed(1);
+		optimizer.setBounds(new Point(0.0, 0.0), new Point(0.5, 1.0));
+		optimizer.optimize(new Point(0.2, 0.2), (oldPoint, oldValue, newPoint, newValue, stepSize) -> stepSize > 1e-4);
+
+		assertEquals(0.5, optimizer.getOptimumPoint().get(0), 1e-3);
+		assertEquals(0.7, optimizer.getOptimumPoint().get(1), 1e-3);
+	}
+
+	private static void assertGlobalMinimum(PopulationOptimizer optimizer) throws OptimizationException {
+		optimizer.setSeed(1);
+		optimizer.setPopulationSize(12);
+
+		// Start from a local minimum
+		Point initial = new Point(0.1, 0.1, 0.1);
+		int[] generations = { 0 };
+		optimizer.optimize(initial, (oldPoint, oldValue, newPoint, newValue, stepSize) -> {
+			assertTrue(newValue <= oldValue);
+			generations[0]++;
+			return generations[0] < 1000 && stepSize > 1e-4;
+		});
+
+		assertTrue(generations[0] < 1000);
+		assertEquals(0, optimizer.getOptimumValue(), 1e-3);
+		for (int i = 0; i < initial.dim(); i++) {
+			assertEquals(0.7, optimizer.getOptimumPoint().get(i), 1e-3);
+		}
+	}
+}
@@ -2,19 +2,28 @@ package info.openrocket.core.optimization.rocketoptimization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.rocketoptimization.modifiers.GenericComponentModifier;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.unit.Unit;
 import info.openrocket.core.unit.UnitGroup;
@@ -217,6 +226,48 @@ public class TestRocketOptimizationFunction extends BaseTestCase {
 		verify(domain).getDistanceToDomain(simulation);
 	}
 
+	@Test
+	public void testReusedSimulationInstance() throws InterruptedException, OptimizationException {
+		final Rocket rocket = new Rocket();
+		final AxialStage stage = new AxialStage();
+		rocket.addChild(stage);
+		final BodyTube tube = new BodyTube();
+		stage.addChild(tube);
+		tube.setOuterRadius(0.02);
+		tube.setThickness(0.002);
+		final Simulation simulation = new Simulation(rocket);
+
+		SimulationModifier radius = new GenericComponentModifier("Radius", "Radius", tube, UnitGroup.UNITS_LENGTH,
+				1.0, BodyTube.class, tube.getID(), "OuterRadius");
+		radius.setMinValue(0);
+		radius.setMaxValue(0.04);
+
+		// The parameter value is the wall thickness of the simulated tube
+		final List<Simulation> simulations = new ArrayList<>();
+		when(domain.getDistanceToDomain(any())).thenReturn(new Pair<>(-1.0, null));
+		when(parameter.computeValue(any())).thenAnswer(invocation -> {
+			Simulation sim = invocation.getArgument(0);
+			simulations.add(sim);
+			return ((BodyTube) sim.getRocket().findComponent(tube.getID())).getThickness();
+		});
+		when(parameter.getUnitGroup()).thenReturn(UnitGroup.UNITS_LENGTH);
+		when(goal.getMinimizationParameter(anyDouble())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		RocketOptimizationFunction function = new RocketOptimizationFunction(simulation,
+				parameter, goal, domain, radius);
+
+		// The thickness is clamped to the radius of 1 mm
+		assertEquals(0.001, function.evaluate(new Point(0.025)), 1e-9);
+		// The clamped thickness has been restored for the next evaluation
+		assertEquals(0.002, function.evaluate(new Point(0.75)), 1e-9);
+
+		assertEquals(2, simulations.size());
+		assertSame(simulations.get(0), simulations.get(1));
+		assertFalse(simulation == simulations.get(0));
+		assertEquals(0.02, tube.getOuterRadius(), 0);
+		assertEquals(0.002, tube.getThickness(), 0);
+	}
+
 	@Test
 	public void testNewSimulationNames() {
 		final Rocket rocket = new Rocket();
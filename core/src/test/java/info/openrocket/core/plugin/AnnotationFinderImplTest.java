@@ -0,0 +1,166 @@
+package info.openrocket.core.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Tests reading the plugin indexes and scanning the user plugin JAR files.
+ */
+public class AnnotationFinderImplTest {
+
+	private static final String PLUGIN_CLASS = "fixture.FixturePlugin";
+	private static final String OTHER_CLASS = "fixture.Other";
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void testReadIndexes() throws IOException {
+		File core = new File(tempDir, "core");
+		File library = new File(tempDir, "library");
+		writeResource(core, AnnotationFinderImpl.INDEXED_CLASSES[0].replace('.', '/') + ".class", "");
+		writeResource(library, AnnotationFinderImpl.INDEX_RESOURCE, "library.Plugin\n");
+
+		// The index of the core classes is missing
+		try (URLClassLoader loader = createLoader(core, library)) {
+			assertNull(AnnotationFinderImpl.readIndexes(loader));
+		}
+
+		writeResource(core, AnnotationFinderImpl.INDEX_RESOURCE, "# comment\ncore.Plugin\n\ncore.OtherPlugin\n");
+		try (URLClassLoader loader = createLoader(core, library)) {
+			assertEquals(Set.of("core.Plugin", "core.OtherPlugin", "library.Plugin"),
+					AnnotationFinderImpl.readIndexes(loader));
+		}
+
+		// The swing classes are present, but not their index
+		File swing = new File(tempDir, "swing");
+		writeResource(swing, AnnotationFinderImpl.INDEXED_CLASSES[1].replace('.', '/') + ".class", "");
+		try (URLClassLoader loader = createLoader(core, library, swing)) {
+			assertNull(AnnotationFinderImpl.readIndexes(loader));
+		}
+	}
+
+	@Test
+	public void testPluginJarCache() throws Exception {
+		File jar = new File(tempDir, "plugin.jar");
+		writeJar(jar, Map.of(PLUGIN_CLASS, true, OTHER_CLASS, false));
+		File cacheFile = new File(tempDir, "PluginIndex.properties");
+		AnnotationFinderImpl finder = new AnnotationFinderImpl(cacheFile);
+
+		Thread thread = Thread.currentThread();
+		ClassLoader contextLoader = thread.getContextClassLoader();
+		String property = System.getProperty("openrocket.plugins");
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, getClass().getClassLoader())) {
+			assumeTrue(AnnotationFinderImpl.readIndexes(loader) != null, "classes compiled without plugin index");
+			thread.setContextClassLoader(loader);
+			System.setProperty("openrocket.plugins", jar.getAbsolutePath());
+
+			List<String> names = getNames(finder.findAnnotatedTypes(Plugin.class));
+			assertTrue(names.contains(PLUGIN_CLASS));
+			assertFalse(names.contains(OTHER_CLASS));
+			assertTrue(names.contains(ExamplePluginImpl.class.getName()), "plugin of the index not found");
+
+			// The plugin types of the unchanged JAR file are taken from the cache
+			Properties cache = loadCache(cacheFile);
+			String key = Plugin.class.getName() + "|" + jar.getAbsolutePath();
+			assertNotNull(cache.getProperty(key));
+			assertTrue(cache.getProperty(key).endsWith("," + PLUGIN_CLASS));
+			cache.setProperty(key, cache.getProperty(key) + "," + OTHER_CLASS);
+			try (OutputStream out = new FileOutputStream(cacheFile)) {
+				cache.store(out, null);
+			}
+			names = getNames(finder.findAnnotatedTypes(Plugin.class));
+			assertTrue(names.contains(PLUGIN_CLASS));
+			assertTrue(names.contains(OTHER_CLASS));
+
+			// The JAR file is scanned again when it changes
+			assertTrue(jar.setLastModified(jar.lastModified() + 10000));
+			names = getNames(finder.findAnnotatedTypes(Plugin.class));
+			assertTrue(names.contains(PLUGIN_CLASS));
+			assertFalse(names.contains(OTHER_CLASS));
+			assertFalse(loadCache(cacheFile).getProperty(key).contains(OTHER_CLASS));
+		} finally {
+			thread.setContextClassLoader(contextLoader);
+			if (property != null) {
+				System.setProperty("openrocket.plugins", property);
+			} else {
+				System.clearProperty("openrocket.plugins");
+			}
+		}
+	}
+
+	private static List<String> getNames(List<Class<?>> classes) {
+		assertNotNull(classes);
+		return classes.stream().map(Class::getName).toList();
+	}
+
+	private static URLClassLoader createLoader(File... entries) throws IOException {
+		URL[] urls = new URL[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			urls[i] = entries[i].toURI().toURL();
+		}
+		return new URLClassLoader(urls, null);
+	}
+
+	private static void writeResource(File entry, String name, String content) throws IOException {
+		File file = new File(entry, name);
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+	}
+
+	private static Properties loadCache(File file) throws IOException {
+		Properties cache = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			cache.load(in);
+		}
+		return cache;
+	}
+
+	/**
+	 * Write a JAR file of empty classes, annotated with {@link Plugin} or not.
+	 */
+	private static void writeJar(File jar, Map<String, Boolean> classes) throws IOException {
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			for (Map.Entry<String, Boolean> entry : classes.entrySet()) {
+				String internalName = entry.getKey().replace('.', '/');
+				ClassWriter writer = new ClassWriter(0);
+				writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null,
+						"java/lang/Object", null);
+				if (entry.getValue()) {
+					writer.visitAnnotation(Type.getDescriptor(Plugin.class), true).visitEnd();
+				}
+				writer.visitEnd();
+				out.putNextEntry(new JarEntry(internalName + ".class"));
+				out.write(writer.toByteArray());
+				out.closeEntry();
+			}
+		}
+	}
+}
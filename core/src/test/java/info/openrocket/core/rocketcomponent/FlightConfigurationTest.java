@@ -15,6 +15,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import info.openrocket.core.util.BoundingBox;
 import info.openrocket.core.util.CoordinateIF;
@@ -863,4 +868,82 @@ public class FlightConfigurationTest {
 			assertEquals(original.isStageActive(i), clone.isStageActive(i));
 		}
 	}
+
+	/**
+	 * Test that the configurations are updated when they are used after a change to the rocket
+	 */
+	@Test
+	public void testUpdateOnChange() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getFlightConfiguration(TestRockets.TEST_FCID_0);
+		FlightConfiguration other = rocket.getFlightConfiguration(TestRockets.TEST_FCID_1);
+		InnerTube mmt = (InnerTube) rocket.getChild(0).getChild(1).getChild(2);
+		assertEquals(1, config.getStageCount());
+		assertEquals(1, config.getActiveMotors().size());
+
+		// Structure change
+		AxialStage stage = new AxialStage();
+		BodyTube tube = new BodyTube();
+		stage.addChild(tube);
+		rocket.addChild(stage);
+		assertEquals(2, config.getStageCount());
+		assertEquals(2, other.getStageCount());
+		assertTrue(config.getActiveInstances().containsKey(tube));
+
+		// Geometry change
+		double length = config.getLength();
+		tube.setLength(tube.getLength() + 0.1);
+		assertEquals(length + 0.1, config.getLength(), EPSILON);
+
+		// Motor change
+		mmt.setMotorMount(false);
+		assertEquals(0, config.getActiveMotors().size());
+		assertEquals(0, other.getActiveMotors().size());
+		mmt.setMotorMount(true);
+		assertEquals(1, config.getActiveMotors().size());
+
+		// Non-functional change
+		tube.setName("Tube");
+		assertTrue(config.getActiveInstances().containsKey(tube));
+		assertEquals(length + 0.1, config.getLength(), EPSILON);
+	}
+
+	/**
+	 * Test that a configuration invalidated by a change can be used by several simulations at once,
+	 * as is done by the simulation dialog and the batch runner
+	 */
+	@Test
+	public void testConcurrentUpdateOnChange() throws Exception {
+		Rocket rocket = TestRockets.makeBeta();
+		FlightConfiguration config = rocket.getFlightConfiguration(TestRockets.TEST_FCID_1);
+		BodyTube tube = (BodyTube) rocket.getChild(0).getChild(1);
+		int threads = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int i = 0; i < 50; i++) {
+				tube.setLength(tube.getLength() + 0.01);
+				int stageCount = rocket.getStageCount();
+
+				CyclicBarrier barrier = new CyclicBarrier(threads);
+				List<Future<FlightConfiguration>> results = new ArrayList<>();
+				for (int t = 0; t < threads; t++) {
+					results.add(executor.submit(() -> {
+						barrier.await();
+						FlightConfiguration simulationConfig = config.clone();
+						simulationConfig.copyStages(config);
+						return simulationConfig;
+					}));
+				}
+				for (Future<FlightConfiguration> result : results) {
+					FlightConfiguration simulationConfig = result.get(10, TimeUnit.SECONDS);
+					assertEquals(stageCount, simulationConfig.getStageCount());
+					assertEquals(config.getActiveMotors().size(), simulationConfig.getActiveMotors().size());
+					assertEquals(config.getActiveInstances().size(), simulationConfig.getActiveInstances().size());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
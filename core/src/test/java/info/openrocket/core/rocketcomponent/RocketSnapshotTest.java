@@ -0,0 +1,224 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class RocketSnapshotTest extends BaseTestCase {
+
+	@Test
+	public void testSharedComponents() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		AxialStage stage = (AxialStage) rocket.getChild(0);
+		RocketComponent nose = stage.getChild(0);
+		BodyTube body = (BodyTube) stage.getChild(1);
+		RocketComponent fins = body.getChild(0);
+
+		RocketSnapshot first = RocketSnapshot.create(rocket);
+		body.setLength(body.getLength() + 0.1);
+		RocketSnapshot second = RocketSnapshot.create(rocket, first, Set.of(body.getID()));
+
+		// Unchanged components are shared, the changed component and its ancestors are copied
+		assertSame(first.getRocket().findComponent(nose.getID()), second.getRocket().findComponent(nose.getID()));
+		assertSame(first.getRocket().findComponent(fins.getID()), second.getRocket().findComponent(fins.getID()));
+		assertNotSame(first.getRocket().findComponent(body.getID()), second.getRocket().findComponent(body.getID()));
+		assertNotSame(first.getRocket().findComponent(stage.getID()), second.getRocket().findComponent(stage.getID()));
+		assertNotSame(first.getRocket(), second.getRocket());
+
+		// Structural changes are detected without listing the changed components
+		body.removeChild(fins);
+		RocketSnapshot third = RocketSnapshot.create(rocket, second, Set.of());
+		assertSame(second.getRocket().findComponent(nose.getID()), third.getRocket().findComponent(nose.getID()));
+		assertNotSame(second.getRocket().findComponent(body.getID()), third.getRocket().findComponent(body.getID()));
+		assertNull(third.getRocket().findComponent(fins.getID()));
+	}
+
+	@Test
+	public void testRestore() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		RocketComponent fins = body.getChild(0);
+		final double length = body.getLength();
+
+		RocketSnapshot first = RocketSnapshot.create(rocket);
+		body.setLength(length + 0.1);
+		body.removeChild(fins);
+		RocketSnapshot second = RocketSnapshot.create(rocket, first, Set.of(body.getID()));
+
+		first.restore(rocket);
+		BodyTube restored = (BodyTube) rocket.findComponent(body.getID());
+		assertEquals(length, restored.getLength(), 0);
+		assertEquals(1, restored.getChildCount());
+		assertSame(restored, rocket.findComponent(fins.getID()).getParent());
+		assertEquals(first.getModID(), rocket.getModID());
+
+		second.restore(rocket);
+		restored = (BodyTube) rocket.findComponent(body.getID());
+		assertEquals(length + 0.1, restored.getLength(), 0);
+		assertEquals(0, restored.getChildCount());
+
+		// The snapshot is not affected by restoring it
+		first.restore(rocket);
+		assertEquals(length, ((BodyTube) rocket.findComponent(body.getID())).getLength(), 0);
+	}
+
+	@Test
+	public void testDocumentUndo() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		RocketComponent nose = rocket.getChild(0).getChild(0);
+		final double length = body.getLength();
+		final double noseLength = nose.getLength();
+
+		document.addUndoPosition("Modify body tube");
+		body.setLength(length + 0.1);
+		document.addUndoPosition("Modify nose cone");
+		((NoseCone) rocket.findComponent(nose.getID())).setLength(noseLength + 0.05);
+
+		document.undo();
+		assertEquals(noseLength, rocket.findComponent(nose.getID()).getLength(), 0);
+		assertEquals(length + 0.1, rocket.findComponent(body.getID()).getLength(), 0);
+
+		document.undo();
+		assertEquals(length, rocket.findComponent(body.getID()).getLength(), 0);
+
+		document.redo();
+		document.redo();
+		assertEquals(noseLength + 0.05, rocket.findComponent(nose.getID()).getLength(), 0);
+		assertEquals(length + 0.1, rocket.findComponent(body.getID()).getLength(), 0);
+	}
+
+	@Test
+	public void testDocumentUndoFrozenEdit() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		AxialStage stage = (AxialStage) rocket.getChild(0);
+		NoseCone nose = (NoseCone) stage.getChild(0);
+		BodyTube body = (BodyTube) stage.getChild(1);
+		final double length = body.getLength();
+		final double noseLength = nose.getLength();
+
+		// The stage is the last source of the frozen events
+		document.startUndo("Modify components");
+		rocket.freeze();
+		try {
+			body.setLength(length + 0.1);
+			nose.setLength(noseLength + 0.05);
+			stage.setName("Stage");
+		} finally {
+			rocket.thaw();
+			document.stopUndo();
+		}
+
+		document.undo();
+		assertEquals(length, rocket.findComponent(body.getID()).getLength(), 0);
+		assertEquals(noseLength, rocket.findComponent(nose.getID()).getLength(), 0);
+
+		document.redo();
+		assertEquals(length + 0.1, rocket.findComponent(body.getID()).getLength(), 0);
+		assertEquals(noseLength + 0.05, rocket.findComponent(nose.getID()).getLength(), 0);
+	}
+
+	@Test
+	public void testDocumentUndoReplacedComponents() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		final double length = body.getLength();
+
+		Rocket source = rocket.copyWithOriginalID();
+		((BodyTube) source.findComponent(body.getID())).setLength(length + 0.1);
+
+		// Replace the components with modified copies with the same IDs
+		document.startUndo("Apply design");
+		rocket.freeze();
+		try {
+			while (rocket.getChildCount() > 0) {
+				rocket.removeChild(0);
+			}
+			while (source.getChildCount() > 0) {
+				RocketComponent c = source.getChild(0);
+				source.removeChild(0);
+				rocket.addChild(c);
+			}
+		} finally {
+			rocket.thaw();
+			document.stopUndo();
+		}
+		assertEquals(length + 0.1, rocket.findComponent(body.getID()).getLength(), 0);
+
+		document.undo();
+		assertEquals(length, rocket.findComponent(body.getID()).getLength(), 0);
+
+		document.redo();
+		assertEquals(length + 0.1, rocket.findComponent(body.getID()).getLength(), 0);
+	}
+
+	@Test
+	public void testDocumentUndoEventsDisabled() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		NoseCone nose = (NoseCone) rocket.getChild(0).getChild(0);
+		final double length = body.getLength();
+		final double noseLength = nose.getLength();
+
+		// Scale the components like the scale dialog, the change is announced by the rocket
+		document.addUndoPosition("Scale");
+		rocket.enableEvents(false);
+		body.setLength(length * 2);
+		nose.setLength(noseLength * 2);
+		rocket.enableEvents(true);
+		rocket.fireComponentChangeEvent(ComponentChangeEvent.AEROMASS_CHANGE);
+
+		document.undo();
+		assertEquals(length, rocket.findComponent(body.getID()).getLength(), 0);
+		assertEquals(noseLength, rocket.findComponent(nose.getID()).getLength(), 0);
+
+		document.redo();
+		assertEquals(length * 2, rocket.findComponent(body.getID()).getLength(), 0);
+		assertEquals(noseLength * 2, rocket.findComponent(nose.getID()).getLength(), 0);
+	}
+
+	/**
+	 * Restoring a snapshot must not invalidate the copies it shares with other snapshots, which
+	 * would fail the later restores when the safety checks are enabled.
+	 */
+	@Test
+	public void testRepeatedUndoRedo() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		final double length = body.getLength();
+
+		document.addUndoPosition("Modify body tube");
+		body.setLength(length + 0.1);
+		document.addUndoPosition("Modify body tube");
+		((BodyTube) rocket.findComponent(body.getID())).setLength(length + 0.2);
+
+		for (int i = 0; i < 3; i++) {
+			document.undo();
+			document.undo();
+			assertEquals(length, rocket.findComponent(body.getID()).getLength(), 0);
+			document.redo();
+			document.redo();
+			assertEquals(length + 0.2, rocket.findComponent(body.getID()).getLength(), 0);
+		}
+
+		// The snapshot of a new edit shares the unchanged copies of the restored snapshot
+		rocket.getChild(0).getChild(0).setName("Nose");
+		document.undo();
+		assertEquals(length + 0.2, rocket.findComponent(body.getID()).getLength(), 0);
+	}
+}
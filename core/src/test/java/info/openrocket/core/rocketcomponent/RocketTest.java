@@ -2,6 +2,11 @@ package info.openrocket.core.rocketcomponent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
 
 import info.openrocket.core.util.ArrayList;
 import info.openrocket.core.util.Coordinate;
@@ -494,4 +499,35 @@ public class RocketTest extends BaseTestCase {
 		assertEquals(0.12069451, bounds.max.getZ(), EPSILON);
 	}
 
+	@Test
+	public void testComponentLocationCache() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		AxialStage stage = (AxialStage) rocket.getChild(0);
+		NoseCone nose = (NoseCone) stage.getChild(0);
+		BodyTube body = (BodyTube) stage.getChild(1);
+		FinSet fins = (FinSet) body.getChild(0);
+
+		// Repeated queries return the same read-only view
+		List<CoordinateIF> locations = fins.getComponentLocationList();
+		assertSame(locations, fins.getComponentLocationList());
+		assertThrows(UnsupportedOperationException.class, () -> locations.set(0, Coordinate.ZERO));
+
+		// The returned arrays are copies of the cached locations
+		CoordinateIF[] array = fins.getComponentLocations();
+		final double x = array[0].getX();
+		array[0] = Coordinate.NUL;
+		assertEquals(x, fins.getComponentLocations()[0].getX(), EPSILON);
+
+		// Moving a component moves its subcomponents
+		nose.setLength(nose.getLength() + 0.1);
+		assertNotSame(locations, fins.getComponentLocationList());
+		assertEquals(x + 0.1, fins.getComponentLocationList().get(0).getX(), EPSILON);
+		assertEquals(x + 0.1, fins.toAbsolute(Coordinate.NUL)[0].getX(), EPSILON);
+		assertEquals(x + 0.1 - body.getComponentLocations()[0].getX(), fins.toRelative(Coordinate.NUL, body)[0].getX(), EPSILON);
+
+		// The locations are not cached when events are disabled
+		rocket.enableEvents(false);
+		assertNotSame(fins.getComponentLocationList(), fins.getComponentLocationList());
+	}
+
 }
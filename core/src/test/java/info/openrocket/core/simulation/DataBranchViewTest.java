@@ -3,6 +3,7 @@ package info.openrocket.core.simulation;
 import info.openrocket.core.util.BaseTestCase;
 import org.junit.jupiter.api.Test;
 
+import java.nio.DoubleBuffer;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,4 +46,58 @@ class DataBranchViewTest extends BaseTestCase {
 		List<Double> view = branch.get(FlightDataType.TYPE_VELOCITY_TOTAL);
 		assertNull(view);
 	}
+
+	@Test
+	void bufferViewIsReadOnlyAndCoversCurrentPoints() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME);
+		for (int i = 0; i < 200; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.01);
+		}
+
+		DoubleBuffer buffer = branch.getBuffer(FlightDataType.TYPE_TIME);
+		assertEquals(200, buffer.limit());
+		assertEquals(0.0, buffer.get(0));
+		assertEquals(1.99, buffer.get(199), 1e-12);
+		assertTrue(buffer.isReadOnly());
+		assertNull(branch.getBuffer(FlightDataType.TYPE_VELOCITY_TOTAL));
+	}
+
+	@Test
+	void slotsAreStableAndTrackMinMax() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME);
+		assertEquals(-1, branch.getSlot(FlightDataType.TYPE_ALTITUDE));
+
+		branch.addPoint();
+		int slot = branch.getOrCreateSlot(FlightDataType.TYPE_ALTITUDE);
+		assertEquals(slot, branch.getSlot(FlightDataType.TYPE_ALTITUDE));
+		branch.setValue(slot, 5.0);
+		branch.addPoint();
+		branch.setValue(slot, -2.0);
+		branch.addPoint();
+
+		assertEquals(3, branch.getLength());
+		assertEquals(5.0, branch.getValue(slot, 0));
+		assertEquals(-2.0, branch.getByIndex(FlightDataType.TYPE_ALTITUDE, 1));
+		assertTrue(Double.isNaN(branch.getLast(FlightDataType.TYPE_ALTITUDE)));
+		assertEquals(-2.0, branch.getMinimum(FlightDataType.TYPE_ALTITUDE));
+		assertEquals(5.0, branch.getMaximum(FlightDataType.TYPE_ALTITUDE));
+	}
+
+	@Test
+	void cloneCopiesColumns() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_TIME, 0.0);
+		branch.setValue(FlightDataType.TYPE_ALTITUDE, 10.0);
+
+		FlightDataBranch clone = branch.clone();
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_ALTITUDE, 20.0);
+
+		assertEquals(1, clone.getLength());
+		assertEquals(10.0, clone.getLast(FlightDataType.TYPE_ALTITUDE));
+		assertEquals(10.0, clone.getMaximum(FlightDataType.TYPE_ALTITUDE));
+		assertEquals(20.0, branch.getMaximum(FlightDataType.TYPE_ALTITUDE));
+	}
 }
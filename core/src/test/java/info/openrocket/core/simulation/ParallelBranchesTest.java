@@ -0,0 +1,98 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.customexpression.CustomExpression;
+import info.openrocket.core.simulation.customexpression.CustomExpressionSimulationListener;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.SimulationListener;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests that simulating the branches of separated stages in parallel gives the same
+ * flight data as simulating them one after another.
+ */
+public class ParallelBranchesTest extends BaseTestCase {
+
+	@AfterEach
+	public void resetPreferences() {
+		Application.getPreferences().setSimulationParallelBranches(false);
+	}
+
+	@Test
+	public void testMultiStage() throws SimulationException {
+		compareBranches(TestRockets.makeMultiStageEventTestRocket());
+	}
+
+	@Test
+	public void testParallelStages() throws SimulationException {
+		compareBranches(TestRockets.makeFalcon9Heavy());
+	}
+
+	@Test
+	public void testCustomExpressions() throws SimulationException {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		List<CustomExpression> expressions = List.of(
+				new CustomExpression(document, "Double altitude", "h2", "m", "2*h"),
+				new CustomExpression(document, "Mean velocity", "Vmean", "m/s", "mean(Vt[0:t])"),
+				new CustomExpression(document, "Previous altitude", "hprev", "m", "h[t-0.1]"));
+		FlightData sequential = simulate(rocket, false, new CustomExpressionSimulationListener(expressions));
+		FlightData parallel = simulate(rocket, true, new CustomExpressionSimulationListener(expressions));
+
+		assertTrue(sequential.getBranchCount() > 1);
+		assertEquals(sequential.getBranchCount(), parallel.getBranchCount());
+		for (int i = 0; i < sequential.getBranchCount(); i++) {
+			FlightDataBranch expected = sequential.getBranch(i);
+			FlightDataBranch actual = parallel.getBranch(i);
+			for (CustomExpression expression : expressions) {
+				FlightDataType type = expression.getType();
+				assertEquals(expected.get(type), actual.get(type), type + " of branch " + expected.getName());
+			}
+		}
+	}
+
+	private static void compareBranches(Rocket rocket) throws SimulationException {
+		FlightData sequential = simulate(rocket, false);
+		FlightData parallel = simulate(rocket, true);
+
+		assertTrue(sequential.getBranchCount() > 1);
+		assertEquals(sequential.getBranchCount(), parallel.getBranchCount());
+		for (int i = 0; i < sequential.getBranchCount(); i++) {
+			FlightDataBranch expected = sequential.getBranch(i);
+			FlightDataBranch actual = parallel.getBranch(i);
+			assertEquals(expected.getName(), actual.getName());
+			assertEquals(expected.getLength(), actual.getLength(), "length of branch " + expected.getName());
+			for (FlightDataType type : new FlightDataType[] { FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE,
+					FlightDataType.TYPE_VELOCITY_TOTAL, FlightDataType.TYPE_POSITION_X }) {
+				assertEquals(expected.get(type), actual.get(type), type + " of branch " + expected.getName());
+			}
+		}
+		assertEquals(sequential.getMaxAltitude(), parallel.getMaxAltitude(), 0);
+		assertEquals(sequential.getWarningSet(), parallel.getWarningSet());
+	}
+
+	private static FlightData simulate(Rocket rocket, boolean parallel, SimulationListener... listeners)
+			throws SimulationException {
+		Application.getPreferences().setSimulationParallelBranches(parallel);
+		Simulation sim = new Simulation(rocket.copyWithOriginalID());
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getRocket().getSelectedConfiguration().setAllStages();
+		sim.setFlightConfigurationId(sim.getRocket().getSelectedConfiguration().getFlightConfigurationID());
+		sim.simulate(listeners);
+		return sim.getSimulatedData();
+	}
+}
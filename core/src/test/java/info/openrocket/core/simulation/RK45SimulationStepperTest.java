@@ -0,0 +1,108 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Regression tests comparing the adaptive RK45 stepper against the RK6 stepper.
+ */
+public class RK45SimulationStepperTest extends BaseTestCase {
+
+	// Allowed relative difference of the flight summary values to RK6
+	private static final double APOGEE_TOLERANCE = 0.01;
+	private static final double VELOCITY_TOLERANCE = 0.02;
+
+	@Test
+	public void testSingleStage() throws SimulationException {
+		compareToRK6(TestRockets.makeEstesAlphaIII(), TestRockets.TEST_FCID_0);
+	}
+
+	@Test
+	public void testTwoStage() throws SimulationException {
+		compareToRK6(TestRockets.makeBeta(), TestRockets.TEST_FCID_1);
+	}
+
+	/**
+	 * Aerodynamic forces given by a listener must not prevent computing the intermediate stages.
+	 */
+	@Test
+	public void testListenerForces() throws SimulationException {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setSimulationStepperMethodChoice(SimulationStepperMethod.RK45);
+		sim.simulate(new AbstractSimulationListener() {
+			@Override
+			public AerodynamicForces preAerodynamicCalculation(SimulationStatus status) {
+				AerodynamicForces forces = new AerodynamicForces().zero();
+				forces.setCDaxial(0.5);
+				forces.setCD(0.5);
+				return forces;
+			}
+		});
+
+		FlightData data = sim.getSimulatedData();
+		assertTrue(data.getMaxAltitude() > 0, "Rocket did not lift off");
+	}
+
+	private static void compareToRK6(Rocket rocket, FlightConfigurationId fcid) throws SimulationException {
+		Evaluations rk6Evaluations = new Evaluations();
+		FlightData rk6 = simulate(rocket, fcid, SimulationStepperMethod.RK6, rk6Evaluations);
+		Evaluations rk45Evaluations = new Evaluations();
+		FlightData rk45 = simulate(rocket, fcid, SimulationStepperMethod.RK45, rk45Evaluations);
+
+		assertEquals(rk6.getBranchCount(), rk45.getBranchCount(), "Branch count differs");
+		assertEquals(rk6.getMaxAltitude(), rk45.getMaxAltitude(), APOGEE_TOLERANCE * rk6.getMaxAltitude(),
+				"Apogee differs");
+		assertEquals(rk6.getMaxVelocity(), rk45.getMaxVelocity(), VELOCITY_TOLERANCE * rk6.getMaxVelocity(),
+				"Maximum velocity differs");
+		assertTrue(rk45Evaluations.count < rk6Evaluations.count, "RK45 used " + rk45Evaluations.count +
+				" aerodynamic evaluations during free flight, RK6 used " + rk6Evaluations.count);
+	}
+
+	private static FlightData simulate(Rocket rocket, FlightConfigurationId fcid, SimulationStepperMethod method,
+			Evaluations evaluations) throws SimulationException {
+		Simulation sim = new Simulation(rocket);
+		sim.setFlightConfigurationId(fcid);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setSimulationStepperMethodChoice(method);
+		sim.simulate(new EvaluationCounter(evaluations));
+		return sim.getSimulatedData();
+	}
+
+	private static class Evaluations {
+		int count = 0;
+	}
+
+	/**
+	 * Counts the aerodynamic evaluations of the flight stepper.  The count is shared by the
+	 * clones of the listener.
+	 */
+	private static class EvaluationCounter extends AbstractSimulationListener {
+		private final Evaluations evaluations;
+
+		EvaluationCounter(Evaluations evaluations) {
+			this.evaluations = evaluations;
+		}
+
+		@Override
+		public AerodynamicForces preAerodynamicCalculation(SimulationStatus status) {
+			if (!status.isTumbling() && status.getDeployedRecoveryDevices().isEmpty()) {
+				evaluations.count++;
+			}
+			return null;
+		}
+	}
+}
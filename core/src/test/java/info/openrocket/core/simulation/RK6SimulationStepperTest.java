@@ -0,0 +1,82 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests the RK6 stepper against a reference trajectory with a known analytic solution.
+ */
+public class RK6SimulationStepperTest extends BaseTestCase {
+
+	// The rocket oscillates vertically around AMPLITUDE with the angular frequency OMEGA,
+	// z(t) = AMPLITUDE * (1 - cos(OMEGA * t)), starting at rest on the ground
+	private static final double OMEGA = 2;
+	private static final double AMPLITUDE = 50;
+
+	// Allowed error of the altitude and vertical velocity before apogee
+	private static final double POSITION_TOLERANCE = 1e-6;
+	private static final double VELOCITY_TOLERANCE = 1e-5;
+
+	@Test
+	public void testReferenceTrajectory() throws SimulationException {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setSimulationStepperMethodChoice(SimulationStepperMethod.RK6);
+
+		TrajectoryErrors errors = new TrajectoryErrors();
+		sim.simulate(new TrajectoryListener(errors));
+
+		assertTrue(errors.steps > 20, "Too few steps compared: " + errors.steps);
+		assertEquals(0, errors.maxPositionError, POSITION_TOLERANCE, "Altitude differs from the reference trajectory");
+		assertEquals(0, errors.maxVelocityError, VELOCITY_TOLERANCE, "Velocity differs from the reference trajectory");
+	}
+
+	private static class TrajectoryErrors {
+		int steps = 0;
+		double maxPositionError = 0;
+		double maxVelocityError = 0;
+	}
+
+	/**
+	 * Replaces the acceleration by that of the reference trajectory and records the largest
+	 * difference to it before apogee.  The errors are shared by the clones of the listener.
+	 */
+	private static class TrajectoryListener extends AbstractSimulationListener {
+		private final TrajectoryErrors errors;
+
+		TrajectoryListener(TrajectoryErrors errors) {
+			this.errors = errors;
+		}
+
+		@Override
+		public AccelerationData preAccelerationCalculation(SimulationStatus status) {
+			double z = status.getRocketPosition().getZ();
+			Coordinate linear = new Coordinate(0, 0, -OMEGA * OMEGA * (z - AMPLITUDE));
+			return new AccelerationData(null, null, linear, Coordinate.NUL, status.getRocketOrientationQuaternion());
+		}
+
+		@Override
+		public void postStep(SimulationStatus status) {
+			if (status.isApogeeReached() || !status.getDeployedRecoveryDevices().isEmpty()) {
+				return;
+			}
+			double t = status.getSimulationTime();
+			double z = AMPLITUDE * (1 - Math.cos(OMEGA * t));
+			double vz = AMPLITUDE * OMEGA * Math.sin(OMEGA * t);
+			errors.maxPositionError = Math.max(errors.maxPositionError, status.getRocketPosition().sub(0, 0, z).length());
+			errors.maxVelocityError = Math.max(errors.maxVelocityError, status.getRocketVelocity().sub(0, 0, vz).length());
+			errors.steps++;
+		}
+	}
+}
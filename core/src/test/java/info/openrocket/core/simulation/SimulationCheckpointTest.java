@@ -0,0 +1,151 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.DeploymentConfiguration;
+import info.openrocket.core.rocketcomponent.DeploymentConfiguration.DeployEvent;
+import info.openrocket.core.rocketcomponent.NoseCone;
+import info.openrocket.core.rocketcomponent.Parachute;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.cache.SimulationResultCache;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests that resuming a simulation from a checkpoint after changing its recovery devices gives
+ * the same flight data as simulating it from launch.
+ */
+public class SimulationCheckpointTest extends BaseTestCase {
+
+	@Test
+	public void testDeploymentAltitude() throws SimulationException {
+		Simulation sim = createSimulation();
+		sim.simulate();
+		assertTrue(sim.getCheckpoints().getCheckpointCount() > 0);
+
+		DeploymentConfiguration deployment = getParachute(sim).getDeploymentConfigurations().get(TestRockets.TEST_FCID_0);
+		deployment.setDeployEvent(DeployEvent.ALTITUDE);
+		deployment.setDeployAltitude(50);
+
+		compareWithFreshSimulation(sim);
+	}
+
+	@Test
+	public void testParachuteDrag() throws SimulationException {
+		Simulation sim = createSimulation();
+		sim.simulate();
+		assertTrue(sim.getCheckpoints().getCheckpointCount() > 0);
+
+		Parachute parachute = getParachute(sim);
+		String key = SimulationResultCache.computeCheckpointKey(sim);
+		parachute.setDiameter(parachute.getDiameter() * 2);
+		parachute.setCD(1.2);
+		assertEquals(key, SimulationResultCache.computeCheckpointKey(sim));
+
+		compareWithFreshSimulation(sim);
+	}
+
+	@Test
+	public void testDesignChange() throws SimulationException {
+		Simulation sim = createSimulation();
+		String key = SimulationResultCache.computeCheckpointKey(sim);
+		assertNotNull(key);
+
+		for (RocketComponent component : sim.getRocket()) {
+			if (component instanceof NoseCone noseCone) {
+				noseCone.setLength(noseCone.getLength() * 1.5);
+			}
+		}
+		String changedKey = SimulationResultCache.computeCheckpointKey(sim);
+		assertNotEquals(key, changedKey);
+
+		// The flight is resumed with the state of the random number generator
+		sim.getOptions().setRandomSeed(sim.getOptions().getRandomSeed() + 1);
+		assertNotEquals(changedKey, SimulationResultCache.computeCheckpointKey(sim));
+	}
+
+	@Test
+	public void testSeedChange() throws SimulationException {
+		Simulation sim = createSimulation();
+		sim.simulate();
+		assertTrue(sim.getCheckpoints().getCheckpointCount() > 0);
+
+		sim.getOptions().setRandomSeed(sim.getOptions().getRandomSeed() + 1);
+		sim.simulate();
+		assertFalse(sim.getCheckpoints().isResumed());
+		assertTrue(sim.getCheckpoints().getCheckpointCount() > 0);
+
+		// Running again without changes resumes from the last checkpoint
+		sim.simulate();
+		assertTrue(sim.getCheckpoints().isResumed());
+	}
+
+	@Test
+	public void testCheckpointsDisabled() throws SimulationException {
+		Simulation sim = createSimulation();
+		sim.setInteractive(false);
+		sim.simulate();
+		assertEquals(0, sim.getCheckpoints().getCheckpointCount());
+		sim.simulate();
+		assertFalse(sim.getCheckpoints().isResumed());
+
+		// Copies of a simulation do not take checkpoints unless enabled
+		sim.setInteractive(true);
+		Simulation copy = sim.copy();
+		copy.simulate();
+		assertEquals(0, copy.getCheckpoints().getCheckpointCount());
+	}
+
+	private static Simulation createSimulation() {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setInteractive(true);
+		return sim;
+	}
+
+	private static Parachute getParachute(Simulation sim) {
+		for (RocketComponent component : sim.getRocket()) {
+			if (component instanceof Parachute parachute) {
+				return parachute;
+			}
+		}
+		throw new IllegalStateException("No parachute");
+	}
+
+	/**
+	 * Resume the simulation from its checkpoints and compare it with a simulation from launch.
+	 */
+	private static void compareWithFreshSimulation(Simulation sim) throws SimulationException {
+		Simulation fresh = sim.copy();
+		sim.simulate();
+		fresh.simulate();
+		assertTrue(sim.getCheckpoints().isResumed(), "Simulation was not resumed from a checkpoint");
+		assertFalse(fresh.getCheckpoints().isResumed());
+
+		FlightData expected = fresh.getSimulatedData();
+		FlightData actual = sim.getSimulatedData();
+		assertEquals(expected.getBranchCount(), actual.getBranchCount());
+		for (int i = 0; i < expected.getBranchCount(); i++) {
+			FlightDataBranch expectedBranch = expected.getBranch(i);
+			FlightDataBranch actualBranch = actual.getBranch(i);
+			assertEquals(expectedBranch.getLength(), actualBranch.getLength(), "length of branch " + i);
+			for (FlightDataType type : new FlightDataType[] { FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE,
+					FlightDataType.TYPE_VELOCITY_TOTAL }) {
+				assertEquals(expectedBranch.get(type), actualBranch.get(type), type + " of branch " + i);
+			}
+			assertEquals(expectedBranch.getEvents().size(), actualBranch.getEvents().size(), "events of branch " + i);
+		}
+		assertEquals(expected.getMaxAltitude(), actual.getMaxAltitude(), 0);
+		assertEquals(expected.getGroundHitVelocity(), actual.getGroundHitVelocity(), 0);
+	}
+}
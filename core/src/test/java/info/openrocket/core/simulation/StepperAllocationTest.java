@@ -0,0 +1,198 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Tests that the Runge-Kutta steppers reuse their intermediate states instead of allocating
+ * new objects for every step.
+ */
+public class StepperAllocationTest extends BaseTestCase {
+
+	// Allowed average allocation per acceleration evaluation of a real flight, outside of the
+	// aerodynamic and mass calculations.  This includes the flight conditions, the listener
+	// calls and the growth of the flight data branch.
+	private static final long MAX_BYTES_PER_EVALUATION = 6 * 1024;
+
+	private static final int WARMUP_STEPS = 50;
+
+	@ParameterizedTest
+	@EnumSource(value = SimulationStepperMethod.class, names = { "RK4", "RK6" })
+	public void testIntermediateStatusIsReused(SimulationStepperMethod method) throws SimulationException {
+		StepStatistics stats = new StepStatistics();
+		simulate(method, new StepRecordingListener(stats, false));
+
+		assertTrue(stats.steps > 100, "Too few steps simulated: " + stats.steps);
+		// The status of each branch and the stepper's scratch status
+		assertTrue(stats.statuses.size() <= 4, "Intermediate states are not reused: " + stats.statuses.size());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SimulationStepperMethod.class, names = { "RK4", "RK6" })
+	public void testAllocationPerEvaluation(SimulationStepperMethod method) throws SimulationException {
+		Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+		// Warm up with an unmeasured flight
+		simulate(method, new StepRecordingListener(new StepStatistics(), false));
+		StepStatistics stats = new StepStatistics();
+		simulate(method, new StepRecordingListener(stats, true));
+
+		assertTrue(stats.measuredSteps > 100, "Too few steps measured: " + stats.measuredSteps);
+		assertTrue(stats.calculationBytes > 0, "Aerodynamic and mass calculations not measured");
+		long bytesPerEvaluation = (stats.allocatedBytes - stats.calculationBytes) / stats.measuredEvaluations;
+		assertTrue(bytesPerEvaluation < MAX_BYTES_PER_EVALUATION, "Allocated " + bytesPerEvaluation +
+				" bytes per evaluation, " + stats.calculationBytes / stats.measuredEvaluations +
+				" bytes per evaluation in the aerodynamic and mass calculations");
+	}
+
+	@Test
+	public void testCopyFromCopiesAllFields() throws Exception {
+		StepStatistics stats = new StepStatistics();
+		simulate(SimulationStepperMethod.RK4, new StepRecordingListener(stats, false));
+
+		SimulationStatus copy = stats.first.clone();
+		copy.copyFrom(stats.last);
+		for (Field field : SimulationStatus.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			field.setAccessible(true);
+			assertEquals(field.get(stats.last), field.get(copy), "Field " + field.getName() + " not copied");
+		}
+	}
+
+	private static void simulate(SimulationStepperMethod method, StepRecordingListener listener)
+			throws SimulationException {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.01);
+		sim.getOptions().setSimulationStepperMethodChoice(method);
+		sim.simulate(listener);
+	}
+
+	private static class StepStatistics {
+		final Set<SimulationStatus> statuses = Collections.newSetFromMap(new IdentityHashMap<>());
+		SimulationStatus first = null;
+		SimulationStatus last = null;
+		int steps = 0;
+		int measuredSteps = 0;
+		int measuredEvaluations = 0;
+		long allocatedBytes = 0;
+		long calculationBytes = 0;
+		long stepStart = -1;
+		long calculationStart = -1;
+	}
+
+	/**
+	 * Records the statuses used for the acceleration calculations and the memory allocated
+	 * during the flight steps, separating the memory allocated by the aerodynamic and mass
+	 * calculations.  The statistics are shared by the clones of the listener.
+	 */
+	private static class StepRecordingListener extends AbstractSimulationListener {
+		private final StepStatistics stats;
+		private final boolean measure;
+
+		StepRecordingListener(StepStatistics stats, boolean measure) {
+			this.stats = stats;
+			this.measure = measure;
+		}
+
+		@Override
+		public boolean preStep(SimulationStatus status) {
+			stats.stepStart = -1;
+			if (!status.isApogeeReached() && stats.steps >= WARMUP_STEPS) {
+				stats.stepStart = allocatedBytes();
+			}
+			if (stats.first == null) {
+				stats.first = status.clone();
+			}
+			stats.last = status;
+			return true;
+		}
+
+		@Override
+		public void postStep(SimulationStatus status) {
+			if (stats.stepStart >= 0) {
+				stats.allocatedBytes += allocatedBytes() - stats.stepStart;
+				stats.measuredSteps++;
+				stats.stepStart = -1;
+			}
+			stats.steps++;
+		}
+
+		@Override
+		public AccelerationData preAccelerationCalculation(SimulationStatus status) {
+			stats.statuses.add(status);
+			if (stats.stepStart >= 0) {
+				stats.measuredEvaluations++;
+			}
+			return null;
+		}
+
+		@Override
+		public AerodynamicForces preAerodynamicCalculation(SimulationStatus status) {
+			startCalculation();
+			return null;
+		}
+
+		@Override
+		public AerodynamicForces postAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces) {
+			endCalculation();
+			return null;
+		}
+
+		@Override
+		public RigidBody preMassCalculation(SimulationStatus status) {
+			startCalculation();
+			return null;
+		}
+
+		@Override
+		public RigidBody postMassCalculation(SimulationStatus status, RigidBody mass) {
+			endCalculation();
+			return null;
+		}
+
+		private void startCalculation() {
+			stats.calculationStart = stats.stepStart >= 0 ? allocatedBytes() : -1;
+		}
+
+		private void endCalculation() {
+			if (stats.calculationStart >= 0) {
+				stats.calculationBytes += allocatedBytes() - stats.calculationStart;
+				stats.calculationStart = -1;
+			}
+		}
+
+		private long allocatedBytes() {
+			if (!measure) {
+				return 0;
+			}
+			return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+					.getCurrentThreadAllocatedBytes();
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package info.openrocket.core.simulation.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.inject.AbstractModule;
+
+import info.openrocket.core.database.motor.MotorDatabase;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class BatchSimulationRunnerTest extends BaseTestCase {
+
+	@TempDir
+	File tempDir;
+
+	/**
+	 * Provide the motors of the test rocket, so that the loaded documents can be flown.
+	 */
+	@BeforeAll
+	public static void setUpMotors() {
+		ThrustCurveMotorSetDatabase db = new ThrustCurveMotorSetDatabase();
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		for (FlightConfigurationId id : new FlightConfigurationId[] { TestRockets.TEST_FCID_0, TestRockets.TEST_FCID_1 }) {
+			for (MotorConfiguration config : rocket.getFlightConfiguration(id).getAllMotors()) {
+				db.addMotor((ThrustCurveMotor) config.getMotor());
+			}
+		}
+		Application.setInjector(Application.getInjector().createChildInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(MotorDatabase.class).toInstance(db);
+			}
+		}));
+	}
+
+	@Test
+	public void testRunSelectedSimulations() throws Exception {
+		// The rocket has no motors, so the simulations are aborted without needing a motor database
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		rocket.getFlightConfiguration(TestRockets.TEST_FCID_0).clearAllMotors();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		for (String name : new String[] { "Test", "Other" }) {
+			Simulation sim = new Simulation(document, rocket);
+			sim.setName(name);
+			sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+			sim.getOptions().setISAAtmosphere(true);
+			document.addSimulation(sim);
+		}
+		File file = new File(tempDir, "rocket.ork");
+		new GeneralRocketSaver().save(file, document);
+		File missing = new File(tempDir, "missing.ork");
+		File output = new File(tempDir, "out");
+
+		BatchSimulationRunner runner = new BatchSimulationRunner();
+		runner.setThreadCount(2);
+		runner.setSimulationNames(List.of("Test"));
+		runner.setOutputDirectory(output);
+		runner.setFormats(EnumSet.allOf(BatchSimulationRunner.Format.class));
+		runner.setExportBranches(true);
+		runner.setSaveDocuments(true);
+		List<BatchSimulationResult> results = runner.run(Arrays.asList(file, missing));
+
+		assertEquals(2, results.size());
+		BatchSimulationResult result = results.get(0);
+		assertEquals(file, result.getFile());
+		assertEquals("Test", result.getSimulationName());
+		assertEquals(BatchSimulationResult.Status.ABORTED, result.getStatus());
+		assertNotNull(result.getMessage());
+		assertNotNull(result.getFlightSummary());
+
+		result = results.get(1);
+		assertEquals(missing, result.getFile());
+		assertNull(result.getSimulationName());
+		assertEquals(BatchSimulationResult.Status.FAILED, result.getStatus());
+
+		assertTrue(new File(output, "rocket/Test-1.csv").isFile());
+		assertTrue(new File(output, "rocket/Test-1.json").isFile());
+
+		OpenRocketDocument loaded = new GeneralRocketLoader(file).load();
+		for (Simulation sim : loaded.getSimulations()) {
+			if (sim.getName().equals("Test")) {
+				assertNotNull(sim.getSimulatedData());
+				assertTrue(sim.getSimulatedData().getBranchCount() > 0);
+			}
+		}
+	}
+
+	/**
+	 * Fly several simulations of documents with the same file name concurrently, and check that the
+	 * data of every simulation is exported into its own files.
+	 */
+	@Test
+	public void testExportConcurrentSimulations() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		addSimulation(document, rocket, "Flight", TestRockets.TEST_FCID_0);
+		addSimulation(document, rocket, "Flight", TestRockets.TEST_FCID_1);
+		addSimulation(document, rocket, "flight", TestRockets.TEST_FCID_1);
+		addSimulation(document, rocket, "Other", TestRockets.TEST_FCID_0);
+
+		List<File> files = List.of(new File(tempDir, "a/design.ork"), new File(tempDir, "b/design.ork"));
+		for (File file : files) {
+			assertTrue(file.getParentFile().mkdirs());
+			new GeneralRocketSaver().save(file, document);
+		}
+		File output = new File(tempDir, "out");
+
+		BatchSimulationRunner runner = new BatchSimulationRunner();
+		runner.setThreadCount(4);
+		runner.setOutputDirectory(output);
+		runner.setExportBranches(true);
+		List<BatchSimulationResult> results = runner.run(files);
+
+		String[] names = { "Flight-1", "Flight-2", "flight-3", "Other" };
+		assertEquals(files.size() * names.length, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			BatchSimulationResult result = results.get(i);
+			assertEquals(BatchSimulationResult.Status.OK, result.getStatus(), result.getMessage());
+
+			File csv = new File(output, "design-" + (i / names.length + 1) + "/" + names[i % names.length] + "-1.csv");
+			assertTrue(csv.isFile(), csv + " not exported");
+			assertEquals(result.getFlightSummary().getMaxAltitude(), maxAltitude(csv), 1e-3, csv.toString());
+		}
+		assertEquals(2, output.list().length);
+		assertEquals(names.length, new File(output, "design-1").list().length);
+	}
+
+	@Test
+	public void testUniqueNames() {
+		assertEquals(List.of("a", "b-2", "B-3", "b-1", "b-5"),
+				BatchSimulationRunner.uniqueNames(List.of("a", "b", "B", "b-1", "b")));
+	}
+
+	private static void addSimulation(OpenRocketDocument document, Rocket rocket, String name,
+			FlightConfigurationId id) {
+		Simulation sim = new Simulation(document, rocket);
+		sim.setName(name);
+		sim.setFlightConfigurationId(id);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		document.addSimulation(sim);
+	}
+
+	/**
+	 * Return the largest altitude in an exported CSV file.
+	 */
+	private static double maxAltitude(File csv) throws IOException {
+		List<String> lines = Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8);
+		int column = -1;
+		double max = Double.NEGATIVE_INFINITY;
+		for (String line : lines) {
+			if (line.startsWith("# " + FlightDataType.TYPE_TIME.getName())) {
+				column = Arrays.asList(line.substring(2).split(",")).indexOf(FlightDataType.TYPE_ALTITUDE.getName() + " (m)");
+			} else if (!line.startsWith("#")) {
+				max = Math.max(max, Double.parseDouble(line.split(",")[column]));
+			}
+		}
+		assertTrue(column >= 0, "No altitude column in " + csv);
+		return max;
+	}
+}
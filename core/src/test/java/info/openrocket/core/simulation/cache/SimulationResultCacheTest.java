@@ -0,0 +1,142 @@
+package info.openrocket.core.simulation.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.simulation.listeners.system.GroundHitListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SimulationResultCacheTest extends BaseTestCase {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testKeyOfEqualSimulations() {
+		Simulation sim1 = createSimulation(TestRockets.makeEstesAlphaIII());
+		Simulation copy = sim1.copy();
+
+		String key = SimulationResultCache.computeKey(sim1);
+		assertNotNull(key);
+		assertEquals(key, SimulationResultCache.computeKey(sim1));
+		assertEquals(key, SimulationResultCache.computeKey(createSimulation(sim1.getRocket().copyWithOriginalID())));
+		assertEquals(key, SimulationResultCache.computeKey(copy));
+	}
+
+	@Test
+	public void testKeyChangesWithInputs() {
+		Simulation sim = createSimulation(TestRockets.makeEstesAlphaIII());
+		String key = SimulationResultCache.computeKey(sim);
+
+		sim.getOptions().setLaunchRodLength(sim.getOptions().getLaunchRodLength() + 0.5);
+		String optionsKey = SimulationResultCache.computeKey(sim);
+		assertNotEquals(key, optionsKey);
+
+		sim.getRocket().getChild(0).getChild(0).setName("Changed nose cone");
+		String rocketKey = SimulationResultCache.computeKey(sim);
+		assertNotEquals(optionsKey, rocketKey);
+	}
+
+	@Test
+	public void testKeyOfListeners() {
+		Simulation sim = createSimulation(TestRockets.makeEstesAlphaIII());
+		String key = SimulationResultCache.computeKey(sim);
+
+		String groundHitKey = SimulationResultCache.computeKey(sim, GroundHitListener.INSTANCE);
+		assertNotNull(groundHitKey);
+		assertNotEquals(key, groundHitKey);
+
+		assertNull(SimulationResultCache.computeKey(sim, new AbstractSimulationListener()));
+	}
+
+	@Test
+	public void testMemoryCache() throws SimulationException {
+		Simulation sim = createSimulation(TestRockets.makeEstesAlphaIII());
+		sim.simulate();
+		FlightData data = sim.getSimulatedData();
+
+		SimulationResultCache cache = new SimulationResultCache(1);
+		String key = SimulationResultCache.computeKey(sim);
+		assertNull(cache.get(key));
+
+		cache.put(key, sim, data);
+		assertSame(data, cache.get(key));
+
+		cache.put("other", sim, data);
+		assertNull(cache.get(key));
+
+		cache.clear();
+		assertNull(cache.get("other"));
+	}
+
+	@Test
+	public void testDiskCache() throws Exception {
+		Simulation sim = createSimulation(TestRockets.makeEstesAlphaIII());
+		sim.simulate();
+		FlightData data = sim.getSimulatedData();
+		String key = SimulationResultCache.computeKey(sim);
+
+		File directory = tempDir.toFile();
+		SimulationResultCache cache = new SimulationResultCache(4, directory, SimulationResultCache.DEFAULT_MAX_DISK_SIZE);
+		cache.put(key, sim, data);
+
+		File file = new File(directory, key + ".ork");
+		for (int i = 0; i < 200 && !file.isFile(); i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(file.isFile(), "cache file was not written");
+
+		SimulationResultCache reloaded = new SimulationResultCache(4, directory, SimulationResultCache.DEFAULT_MAX_DISK_SIZE);
+		FlightData loaded = reloaded.get(key);
+		assertNotNull(loaded);
+		assertEquals(data.getBranchCount(), loaded.getBranchCount());
+		assertEquals(data.getMaxAltitude(), loaded.getMaxAltitude(), 0.001);
+		assertEquals(data.getTimeToApogee(), loaded.getTimeToApogee(), 0.001);
+	}
+
+	@Test
+	public void testMemoryOnlyEntry() throws Exception {
+		Simulation sim = createSimulation(TestRockets.makeEstesAlphaIII());
+		sim.simulate();
+		FlightData data = sim.getSimulatedData();
+
+		File directory = tempDir.toFile();
+		SimulationResultCache cache = new SimulationResultCache(4, directory, SimulationResultCache.DEFAULT_MAX_DISK_SIZE);
+		cache.put("automated", sim, data, false);
+		assertSame(data, cache.get("automated"));
+
+		// The files are written in order, so the first entry would be written before the second
+		cache.put("interactive", sim, data, true);
+		File file = new File(directory, "interactive.ork");
+		for (int i = 0; i < 200 && !file.isFile(); i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(file.isFile(), "cache file was not written");
+		assertFalse(new File(directory, "automated.ork").exists());
+	}
+
+	private static Simulation createSimulation(Rocket rocket) {
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(rocket.getSelectedConfiguration().getFlightConfigurationID());
+		return sim;
+	}
+}
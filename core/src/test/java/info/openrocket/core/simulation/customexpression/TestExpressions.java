@@ -1,24 +1,251 @@
 package info.openrocket.core.simulation.customexpression;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.ExpressionBuilder;
+import de.congrace.exp4j.Variable;
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.ArrayUtils;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.LinearInterpolator;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
 
-import org.junit.jupiter.api.Test;
-
+/**
+ * Compares the compiled evaluation of custom expressions against the Variable based
+ * evaluation and the LinearInterpolator used before the expressions were compiled.
+ */
 public class TestExpressions extends BaseTestCase {
 
+	private static final double TOLERANCE = 1e-9;
+	private static final double TIME_STEP = 0.05;
+
+	@Test
+	public void testCalculateDouble() throws Exception {
+		String expression = "2*a^2 - sin(b)/c + abs(-a) + sqrt(b)";
+		Calculable interpreted = build(expression, "a", "b", "c");
+		Calculable compiled = build(expression, "a", "b", "c");
+		int a = compiled.getVariableIndex("a");
+		int b = compiled.getVariableIndex("b");
+		int c = compiled.getVariableIndex("c");
+		assertEquals(-1, compiled.getVariableIndex("d"));
+
+		double[][] values = { { 1, 2, 3 }, { -0.5, 0.25, 1e-3 }, { 3, 0, 0 }, { 1, -1, 2 }, { Double.NaN, 1, 1 } };
+		for (double[] v : values) {
+			interpreted.setVariable(new Variable("a", v[0]));
+			interpreted.setVariable(new Variable("b", v[1]));
+			interpreted.setVariable(new Variable("c", v[2]));
+			compiled.setVariableValue(a, v[0]);
+			compiled.setVariableValue(b, v[1]);
+			compiled.setVariableValue(c, v[2]);
+			assertEquals(interpreted.calculate().getDoubleValue(), compiled.calculateDouble(), TOLERANCE, expression);
+		}
+
+		// Values set by index are seen by the Variable based evaluation, and a Variable set later takes precedence
+		compiled.setVariableValue(a, 2);
+		assertEquals(compiled.calculateDouble(), compiled.calculate().getDoubleValue(), 0);
+		compiled.setVariable(new Variable("a", 4));
+		assertEquals(2 * 16 - Math.sin(1) / 1 + 4 + 1, compiled.calculateDouble(), TOLERANCE);
+	}
+
+	@Test
+	public void testCalculateDoubleFunctions() throws Exception {
+		// Expressions with custom functions or array values fall back to the Variable based evaluation
+		Calculable calc = new ExpressionBuilder("mean(x) + max(x) * y")
+				.withVariable(new Variable("x"))
+				.withVariable(new Variable("y"))
+				.withCustomFunctions(Functions.getInstance().getAllFunction())
+				.build();
+		calc.setVariable(new Variable("x", new double[] { 1, 2, 6 }));
+		calc.setVariableValue(calc.getVariableIndex("y"), 0.5);
+		assertEquals(6, calc.calculateDouble(), TOLERANCE);
+		assertEquals(6, calc.calculate().getDoubleValue(), TOLERANCE);
+	}
+
+	@Test
+	public void testInterpolate() {
+		FlightDataBranch branch = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		int timeSlot = branch.getSlot(FlightDataType.TYPE_TIME);
+		int dataSlot = branch.getSlot(FlightDataType.TYPE_ALTITUDE);
+		assertTrue(Double.isNaN(CompiledExpression.interpolate(branch, timeSlot, dataSlot, 1)));
+
+		// Repeated time values, as at flight events
+		double[][] points = { { 0, 1 }, { 0, 2 }, { 1, 5 }, { 1, 7 }, { 1, 8 }, { 2, 4 }, { 3.5, -1 }, { 3.5, 3 } };
+		for (double[] point : points) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, point[0]);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, point[1]);
+		}
+
+		double[] times = { -10, -1e-9, 0, 0.5, 1, 1 + 1e-12, 1.5, 2, 2.75, 3.5, 3.6, 100, Double.NaN };
+		for (double t : times) {
+			assertEquals(interpolate(branch, FlightDataType.TYPE_ALTITUDE, t),
+					CompiledExpression.interpolate(branch, timeSlot, dataSlot, t), TOLERANCE, "t=" + t);
+		}
+	}
+
+	/**
+	 * Evaluate compiled expressions during a real flight and compare them at every step to the
+	 * results of the interpreted evaluation.
+	 */
 	@Test
-	public void testExpressions() {
-		// TODO Auto-generated constructor stub
+	public void testSimulation() throws SimulationException {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation sim = new Simulation(doc, rocket);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(TIME_STEP);
 
-		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		List<CustomExpression> expressions = new ArrayList<>();
+		List<ToDoubleFunction<SimulationStatus>> references = new ArrayList<>();
 
-		// CustomExpression exp = new CustomExpression(doc, "Kinetic energy", "Ek", "J",
-		// ".5*m*Vt^2");
+		// Plain expression
+		expressions.add(new CustomExpression(doc, "Plain", "Xp", "", "Vz * m + sin(t) / 2 - h^2"));
+		references.add(status -> interpreted(status, "Vz * m + sin(t) / 2 - h^2"));
+
+		// Index expressions, including indexes before the first and after the last time
+		expressions.add(new CustomExpression(doc, "Index", "Xi", "", "2 * h[t - 0.33] + Vz[0.1]"));
+		references.add(status -> 2 * index(status, FlightDataType.TYPE_ALTITUDE, time(status) - 0.33)
+				+ index(status, FlightDataType.TYPE_VELOCITY_Z, 0.1));
+		expressions.add(new CustomExpression(doc, "Out of range", "Xo", "", "h[10 * t + 1] - m[-1]"));
+		references.add(status -> index(status, FlightDataType.TYPE_ALTITUDE, 10 * time(status) + 1)
+				- index(status, FlightDataType.TYPE_MASS, -1));
+
+		// Range expressions, including ranges clamped to the available data
+		expressions.add(new CustomExpression(doc, "Range", "Xr", "", "mean(Vz[t/2:t]) + max(h[0:t])"));
+		references.add(status -> interpreted(status, "mean(x) + max(y)",
+				range(status, FlightDataType.TYPE_VELOCITY_Z, time(status) / 2, time(status), "x"),
+				range(status, FlightDataType.TYPE_ALTITUDE, 0, time(status), "y")));
+		expressions.add(new CustomExpression(doc, "Clamped range", "Xc", "", "min(m[-1:t+5])"));
+		references.add(status -> interpreted(status, "min(x)",
+				range(status, FlightDataType.TYPE_MASS, -1, time(status) + 5, "x")));
+
+		// Unknown function
+		expressions.add(new CustomExpression(doc, "Unknown", "Xu", "", "foo(t)"));
+		references.add(status -> Double.NaN);
+
+		List<String> mismatches = new ArrayList<>();
+		int[] evaluations = { 0 };
+		sim.simulate(new AbstractSimulationListener() {
+			private CompiledExpression[] compiled;
+
+			@Override
+			public void postStep(SimulationStatus status) {
+				if (compiled == null) {
+					compiled = new CompiledExpression[expressions.size()];
+					for (int i = 0; i < compiled.length; i++) {
+						compiled[i] = expressions.get(i).compile();
+					}
+				}
+				for (int i = 0; i < compiled.length; i++) {
+					double expected = references.get(i).applyAsDouble(status);
+					if (Double.isInfinite(expected)) {
+						expected = Double.NaN;
+					}
+					double actual = compiled[i].evaluateDouble(status);
+					if (!(Double.isNaN(expected) && Double.isNaN(actual)) &&
+							!(Math.abs(expected - actual) <= TOLERANCE * Math.max(1, Math.abs(expected)))) {
+						mismatches.add(expressions.get(i).getName() + " at t=" + time(status) + ": expected "
+								+ expected + " but was " + actual);
+					}
+					evaluations[0]++;
+				}
+			}
+		});
+
+		assertTrue(evaluations[0] > 10 * expressions.size(), "Expressions evaluated only " + evaluations[0] + " times");
+		assertTrue(mismatches.isEmpty(), mismatches.toString());
+	}
+
+	private static Calculable build(String expression, String... variables) throws Exception {
+		ExpressionBuilder builder = new ExpressionBuilder(expression);
+		for (String v : variables) {
+			builder.withVariable(new Variable(v));
+		}
+		return builder.build();
+	}
+
+	private static double time(SimulationStatus status) {
+		return status.getFlightDataBranch().getLast(FlightDataType.TYPE_TIME);
+	}
+
+	/*
+	 * Evaluate an expression the way custom expressions used to be evaluated, by setting all
+	 * the flight data values as Variables and calculating on the Variable stack.
+	 */
+	private static double interpreted(SimulationStatus status, String expression, Variable... extra) {
+		ExpressionBuilder builder = new ExpressionBuilder(expression);
+		FlightDataBranch branch = status.getFlightDataBranch();
+		for (FlightDataType type : branch.getTypes()) {
+			builder.withVariable(new Variable(type.getSymbol()));
+		}
+		for (Variable v : extra) {
+			builder.withVariable(new Variable(v.getName()));
+		}
+		builder.withCustomFunctions(Functions.getInstance().getAllFunction());
+		try {
+			Calculable calc = builder.build();
+			for (FlightDataType type : branch.getTypes()) {
+				calc.setVariable(new Variable(type.getSymbol(), branch.getLast(type)));
+			}
+			for (Variable v : extra) {
+				calc.setVariable(v);
+			}
+			return calc.calculate().getDoubleValue();
+		} catch (Exception e) {
+			throw new AssertionError("Could not evaluate " + expression, e);
+		}
+	}
+
+	/*
+	 * The value of an index expression as previously interpolated from the cloned data.
+	 */
+	private static double index(SimulationStatus status, FlightDataType type, double t) {
+		return interpolate(status.getFlightDataBranch(), type, t);
+	}
+
+	private static double interpolate(FlightDataBranch branch, FlightDataType type, double t) {
+		return interpolator(branch, type).getValue(t);
+	}
+
+	private static LinearInterpolator interpolator(FlightDataBranch branch, FlightDataType type) {
+		List<Double> data = branch.getClone(type);
+		List<Double> time = branch.getClone(FlightDataType.TYPE_TIME);
+		return new LinearInterpolator(time, data);
+	}
 
-		CustomExpression exp = new CustomExpression(doc, "Average mass", "Mavg", "kg", "mean(m[0:t])");
-		// System.out.println(exp.getExpressionString());
+	/*
+	 * The value of a range expression as previously interpolated from the cloned data.
+	 */
+	private static Variable range(SimulationStatus status, FlightDataType type, double start, double end, String name) {
+		FlightDataBranch branch = status.getFlightDataBranch();
+		List<Double> time = branch.getClone(FlightDataType.TYPE_TIME);
+		start = MathUtil.clamp(start, 0, Double.MAX_VALUE);
+		end = MathUtil.clamp(end, 0, time.get(time.size() - 1));
 
+		LinearInterpolator interp = interpolator(branch, type);
+		double[] t = ArrayUtils.range(start, end, TIME_STEP);
+		double[] y = new double[t.length];
+		for (int i = 0; i < t.length; i++) {
+			y[i] = interp.getValue(t[i]);
+		}
+		return new Variable(name, y, start, TIME_STEP);
 	}
 }
@@ -0,0 +1,172 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.simulation.BasicEventSimulationEngine;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class MonteCarloSimulationTest extends BaseTestCase {
+
+	@Test
+	public void testSummaryStatistics() {
+		Random random = new Random(1234);
+		SummaryStatistics stats = new SummaryStatistics();
+		double[] values = new double[20000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 10 + 2 * random.nextGaussian();
+			stats.add(values[i]);
+		}
+		stats.add(Double.NaN);
+
+		assertEquals(values.length, stats.getCount());
+		assertEquals(10, stats.getMean(), 0.05);
+		assertEquals(2, stats.getStandardDeviation(), 0.05);
+		Arrays.sort(values);
+		assertEquals(values[0], stats.getMinimum(), 0);
+		assertEquals(values[values.length - 1], stats.getMaximum(), 0);
+		for (double p : SummaryStatistics.DEFAULT_PERCENTILES) {
+			double exact = values[(int) Math.round(p * (values.length - 1))];
+			assertEquals(exact, stats.getPercentile(p), 0.05, "Percentile " + p);
+		}
+	}
+
+	@Test
+	public void testSmallSamplePercentiles() {
+		SummaryStatistics stats = new SummaryStatistics(0.5);
+		stats.add(3);
+		stats.add(1);
+		stats.add(2);
+		assertEquals(2, stats.getPercentile(0.5), 0);
+	}
+
+	@Test
+	public void testLandingEllipse() {
+		// Independent x and y with standard deviations 30 and 10, rotated by 30 degrees
+		Random random = new Random(4321);
+		double angle = Math.toRadians(30);
+		LandingEllipse ellipse = new LandingEllipse();
+		for (int i = 0; i < 20000; i++) {
+			double u = 30 * random.nextGaussian();
+			double v = 10 * random.nextGaussian();
+			ellipse.add(100 + u * Math.cos(angle) - v * Math.sin(angle), -50 + u * Math.sin(angle) + v * Math.cos(angle));
+		}
+
+		assertEquals(100, ellipse.getMeanX(), 1);
+		assertEquals(-50, ellipse.getMeanY(), 1);
+		double scale = Math.sqrt(-2 * Math.log(0.05));
+		assertEquals(30 * scale, ellipse.getSemiMajorAxis(0.95), 1.5);
+		assertEquals(10 * scale, ellipse.getSemiMinorAxis(0.95), 0.5);
+		assertEquals(angle, ellipse.getOrientation(), 0.02);
+	}
+
+	@Test
+	public void testRunSeeds() {
+		assertEquals(MonteCarloSimulation.getRunSeed(1, 5), MonteCarloSimulation.getRunSeed(1, 5));
+		assertNotEquals(MonteCarloSimulation.getRunSeed(1, 5), MonteCarloSimulation.getRunSeed(1, 6));
+		assertNotEquals(MonteCarloSimulation.getRunSeed(1, 5), MonteCarloSimulation.getRunSeed(2, 5));
+	}
+
+	@Test
+	public void testReproducibleAcrossThreadCounts() throws Exception {
+		Simulation simulation = new Simulation(TestRockets.makeEstesAlphaIII());
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.getOptions().setISAAtmosphere(true);
+
+		MonteCarloDispersions dispersions = new MonteCarloDispersions();
+		dispersions.setWindSpeedStdDev(1);
+		dispersions.setWindDirectionStdDev(Math.toRadians(20));
+		dispersions.setLaunchRodAngleStdDev(Math.toRadians(2));
+		dispersions.setImpulseStdDev(0.03);
+		dispersions.setDragStdDev(0.05);
+		dispersions.setMassStdDev(0.02);
+
+		List<MonteCarloRunSummary> serial = new ArrayList<>();
+		MonteCarloResult serialResult = run(simulation, dispersions, 1, serial);
+		List<MonteCarloRunSummary> parallel = new ArrayList<>();
+		MonteCarloResult parallelResult = run(simulation, dispersions, 3, parallel);
+
+		assertEquals(8, serialResult.getRunCount());
+		assertEquals(8, serial.size());
+		for (int i = 0; i < serial.size(); i++) {
+			assertEquals(i, parallel.get(i).getRun());
+			assertEquals(serial.get(i).getStatus(), parallel.get(i).getStatus());
+			assertEquals(serial.get(i).getApogee(), parallel.get(i).getApogee(), 0);
+			assertEquals(serial.get(i).getLandingX(), parallel.get(i).getLandingX(), 0);
+			assertEquals(serial.get(i).getLandingY(), parallel.get(i).getLandingY(), 0);
+		}
+		assertEquals(serialResult.getApogee().getMean(), parallelResult.getApogee().getMean(), 0);
+		assertEquals(serialResult.getApogee().getPercentile(0.5), parallelResult.getApogee().getPercentile(0.5), 0);
+		assertEquals(serialResult.getLanding().getSemiMajorAxis(0.95),
+				parallelResult.getLanding().getSemiMajorAxis(0.95), 0);
+
+		// The dispersions must actually vary the flights
+		assertEquals(0, serialResult.getFailedCount());
+		assertTrue(serialResult.getApogee().getStandardDeviation() > 0);
+		assertTrue(serialResult.getApogee().getCount() > 0);
+	}
+
+	@Test
+	public void testDispersedMassInParallelBranches() throws SimulationException {
+		Simulation simulation = new Simulation(TestRockets.makeMultiStageEventTestRocket());
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.getRocket().getSelectedConfiguration().setAllStages();
+		simulation.setFlightConfigurationId(simulation.getRocket().getSelectedConfiguration().getFlightConfigurationID());
+
+		assertInstanceOf(DispersedMassCalculator.class, new DispersedMassCalculator(1.5).newInstance());
+
+		FlightData nominal = simulate(simulation, new MassCalculator(), false);
+		FlightData sequential = simulate(simulation, new DispersedMassCalculator(1.5), false);
+		FlightData parallel = simulate(simulation, new DispersedMassCalculator(1.5), true);
+
+		assertTrue(sequential.getBranchCount() > 1);
+		assertEquals(sequential.getBranchCount(), parallel.getBranchCount());
+		for (int i = 0; i < sequential.getBranchCount(); i++) {
+			String name = sequential.getBranch(i).getName();
+			List<Double> expected = sequential.getBranch(i).get(FlightDataType.TYPE_MASS);
+			List<Double> actual = parallel.getBranch(i).get(FlightDataType.TYPE_MASS);
+			assertEquals(expected, actual, "mass of branch " + name);
+			assertTrue(actual.get(0) > nominal.getBranch(i).get(FlightDataType.TYPE_MASS).get(0),
+					"mass of branch " + name + " is not dispersed");
+		}
+	}
+
+	private static FlightData simulate(Simulation simulation, MassCalculator massCalculator, boolean parallel)
+			throws SimulationException {
+		SimulationConditions conditions = simulation.getOptions().toSimulationConditions();
+		conditions.setSimulation(simulation);
+		conditions.setMassCalculator(massCalculator);
+		conditions.setParallelBranches(parallel);
+
+		BasicEventSimulationEngine engine = new BasicEventSimulationEngine();
+		engine.simulate(conditions);
+		return engine.getFlightData();
+	}
+
+	private static MonteCarloResult run(Simulation simulation, MonteCarloDispersions dispersions, int threads,
+			List<MonteCarloRunSummary> runs) throws InterruptedException {
+		MonteCarloSimulation monteCarlo = new MonteCarloSimulation(simulation, dispersions);
+		monteCarlo.setSeed(42);
+		monteCarlo.setRunCount(8);
+		monteCarlo.setThreadCount(threads);
+		monteCarlo.setRunListener(runs::add);
+		return monteCarlo.run();
+	}
+}
@@ -0,0 +1,71 @@
+package info.openrocket.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes the binary names of all types annotated with
+ * <code>info.openrocket.core.plugin.Plugin</code> to the resource
+ * {@value #INDEX_RESOURCE}, one name per line.  OpenRocket reads the indexes of all
+ * JAR files on the classpath instead of scanning every class for the annotation.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_ANNOTATION)
+public class PluginIndexProcessor extends AbstractProcessor {
+
+	/** The name of the plugin annotation */
+	public static final String PLUGIN_ANNOTATION = "info.openrocket.core.plugin.Plugin";
+
+	/** The resource the plugin index is written to */
+	public static final String INDEX_RESOURCE = "META-INF/openrocket/plugins";
+
+	private final Set<String> plugins = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element instanceof TypeElement type) {
+					plugins.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !plugins.isEmpty()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					INDEX_RESOURCE);
+			try (Writer writer = resource.openWriter()) {
+				for (String plugin : plugins) {
+					writer.write(plugin);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write plugin index " + INDEX_RESOURCE + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package info.openrocket.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the plugin index written by the annotation processor.
+ */
+public class PluginIndexProcessorTest {
+
+	private static final String PLUGIN_ANNOTATION_SOURCE = """
+			package info.openrocket.core.plugin;
+			import java.lang.annotation.*;
+			@Target(ElementType.TYPE)
+			@Retention(RetentionPolicy.RUNTIME)
+			public @interface Plugin {
+			}
+			""";
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void testIndex() throws IOException {
+		compile(Map.of(
+				"info.openrocket.core.plugin.Plugin", PLUGIN_ANNOTATION_SOURCE,
+				"test.BPlugin", """
+						package test;
+						@info.openrocket.core.plugin.Plugin
+						public class BPlugin {
+							@info.openrocket.core.plugin.Plugin
+							public static class Nested {
+							}
+						}
+						""",
+				"test.APlugin", """
+						package test;
+						import info.openrocket.core.plugin.Plugin;
+						@Plugin
+						public interface APlugin {
+						}
+						""",
+				"test.NotAPlugin", """
+						package test;
+						@Deprecated
+						public class NotAPlugin {
+						}
+						"""));
+
+		File index = new File(tempDir, PluginIndexProcessor.INDEX_RESOURCE);
+		assertTrue(index.isFile(), "plugin index not written");
+		assertEquals(List.of("test.APlugin", "test.BPlugin", "test.BPlugin$Nested"),
+				Files.readAllLines(index.toPath(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testNoPlugins() throws IOException {
+		compile(Map.of(
+				"info.openrocket.core.plugin.Plugin", PLUGIN_ANNOTATION_SOURCE,
+				"test.NotAPlugin", """
+						package test;
+						public class NotAPlugin {
+						}
+						"""));
+
+		assertFalse(new File(tempDir, PluginIndexProcessor.INDEX_RESOURCE).exists());
+	}
+
+	/**
+	 * Compile the sources into the temporary directory with the processor.
+	 */
+	private void compile(Map<String, String> sources) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull(compiler, "no system Java compiler");
+
+		List<JavaFileObject> files = new ArrayList<>();
+		for (Map.Entry<String, String> entry : sources.entrySet()) {
+			files.add(new SimpleJavaFileObject(URI.create("string:///" + entry.getKey().replace('.', '/') +
+					JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+				@Override
+				public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+					return entry.getValue();
+				}
+			});
+		}
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+					List.of("-d", tempDir.getAbsolutePath()), null, files);
+			task.setProcessors(List.of(new PluginIndexProcessor()));
+			assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+		}
+	}
+}
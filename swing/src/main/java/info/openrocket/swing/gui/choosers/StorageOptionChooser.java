@@ -18,6 +18,7 @@ import net.miginfocom.swing.MigLayout;
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.document.StorageOptions.SimulationDataFormat;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataBranch;
@@ -31,6 +32,7 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 	private final OpenRocketDocument document;
 	
 	private JRadioButton allButton;
+	private JRadioButton binaryButton;
 	private JRadioButton someButton;
 	private JRadioButton noneButton;
 	
@@ -71,6 +73,16 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 		buttonGroup.add(allButton);
 		allButton.addActionListener(actionUpdater);
 		this.add(allButton, "spanx, wrap rel");
+
+		//// All simulated data in compact format
+		binaryButton = new JRadioButton(trans.get("StorageOptChooser.rdbut.Allsimdatacompact"));
+		//// <html>Store all simulated data in a compact binary format.<br>
+		//// Older OpenRocket versions load only the summary data.
+		binaryButton.setToolTipText(trans.get("StorageOptChooser.lbl.longB1") +
+				trans.get("StorageOptChooser.lbl.longB2"));
+		buttonGroup.add(binaryButton);
+		binaryButton.addActionListener(actionUpdater);
+		this.add(binaryButton, "spanx, wrap rel");
 				
 		//// Only summary data
 		noneButton = new JRadioButton(trans.get("StorageOptChooser.rdbut.Onlysummarydata"));
@@ -101,7 +113,11 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 		
 		// Data storage radio button
 		if (opts.getSaveSimulationData()) {
-			allButton.setSelected(true);
+			if (opts.getSimulationDataFormat() == SimulationDataFormat.BINARY) {
+				binaryButton.setSelected(true);
+			} else {
+				allButton.setSelected(true);
+			}
 		} else {
 			noneButton.setSelected(true);
 		}
@@ -111,7 +127,8 @@ public class StorageOptionChooser extends JPanel implements OptionChooser {
 	
 	
 	public void storeOptions(StorageOptions opts) {
-		opts.setSaveSimulationData(allButton.isSelected());
+		opts.setSaveSimulationData(allButton.isSelected() || binaryButton.isSelected());
+		opts.setSimulationDataFormat(binaryButton.isSelected() ? SimulationDataFormat.BINARY : SimulationDataFormat.XML);
 		opts.setExplicitlySet(true);
 	}
 
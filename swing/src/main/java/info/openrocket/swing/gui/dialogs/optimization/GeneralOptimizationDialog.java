@@ -119,6 +119,10 @@ public class GeneralOptimizationDialog extends JDialog {
 	private static final String GOAL_MINIMIZE = trans.get("goal.minimize");
 	private static final String GOAL_SEEK = trans.get("goal.seek");
 	
+	private static final String ALGORITHM_PATTERN_SEARCH = trans.get("algorithm.patternSearch");
+	private static final String ALGORITHM_DIFFERENTIAL_EVOLUTION = trans.get("algorithm.differentialEvolution");
+	private static final String ALGORITHM_CMA_ES = trans.get("algorithm.cmaes");
+	
 	private static final String START_TEXT = trans.get("btn.start");
 	private static final String STOP_TEXT = trans.get("btn.stop");
 	
@@ -149,6 +153,8 @@ public class GeneralOptimizationDialog extends JDialog {
 	private final UnitSelector optimizationGoalUnitSelector;
 	private final DoubleModel optimizationSeekValue;
 	
+	private final JComboBox<String> optimizationAlgorithmCombo;
+	
 	private final DoubleModel minimumStability;
 	private final DoubleModel maximumStability;
 	private final JCheckBox minimumStabilitySelected;
@@ -422,6 +428,20 @@ public class GeneralOptimizationDialog extends JDialog {
 		disableComponents.add(optimizationGoalUnitSelector);
 		sub.add(optimizationGoalUnitSelector, "width 20lp, wrap unrel");
 		
+		// // Optimization algorithm
+		label = new JLabel(trans.get("lbl.optimizeAlgorithm"));
+		tip = trans.get("lbl.optimizeAlgorithm.ttip");
+		label.setToolTipText(tip);
+		disableComponents.add(label);
+		sub.add(label, "");
+		
+		optimizationAlgorithmCombo = new JComboBox<>(new String[] { ALGORITHM_PATTERN_SEARCH,
+				ALGORITHM_DIFFERENTIAL_EVOLUTION, ALGORITHM_CMA_ES });
+		optimizationAlgorithmCombo.setToolTipText(tip);
+		optimizationAlgorithmCombo.setEditable(false);
+		disableComponents.add(optimizationAlgorithmCombo);
+		sub.add(optimizationAlgorithmCombo, "growx, wrap unrel");
+		
 		panel.add(sub, "grow");
 		
 		// // Required stability sub-panel
@@ -666,6 +686,18 @@ public class GeneralOptimizationDialog extends JDialog {
 			throw new BugException("optimizationGoalCombo had invalid value: " + value);
 		}
 		
+		OptimizationWorker.Algorithm algorithm;
+		value = (String) optimizationAlgorithmCombo.getSelectedItem();
+		if (ALGORITHM_PATTERN_SEARCH.equals(value)) {
+			algorithm = OptimizationWorker.Algorithm.PATTERN_SEARCH;
+		} else if (ALGORITHM_DIFFERENTIAL_EVOLUTION.equals(value)) {
+			algorithm = OptimizationWorker.Algorithm.DIFFERENTIAL_EVOLUTION;
+		} else if (ALGORITHM_CMA_ES.equals(value)) {
+			algorithm = OptimizationWorker.Algorithm.CMA_ES;
+		} else {
+			throw new BugException("optimizationAlgorithmCombo had invalid value: " + value);
+		}
+		
 		SimulationDomain domain;
 		if (minimumStabilitySelected.isSelected() || maximumStabilitySelected.isSelected()) {
 			double min, max;
@@ -726,7 +758,7 @@ public class GeneralOptimizationDialog extends JDialog {
 		}
 		
 		// Create and start the background worker
-		worker = new OptimizationWorker(simulation, parameter, goal, domain, modifiers) {
+		worker = new OptimizationWorker(algorithm, simulation, parameter, goal, domain, modifiers) {
 			@Override
 			protected void done(OptimizationException exception) {
 				log.info("Optimization finished, exception=" + exception, exception);
@@ -14,9 +14,11 @@ import info.openrocket.core.optimization.general.FunctionOptimizer;
 import info.openrocket.core.optimization.general.OptimizationController;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.ParallelExecutorCache;
-import info.openrocket.core.optimization.general.ParallelFunctionCache;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.general.multidim.CMAESOptimizer;
+import info.openrocket.core.optimization.general.multidim.DifferentialEvolutionOptimizer;
 import info.openrocket.core.optimization.general.multidim.MultidirectionalSearchOptimizer;
+import info.openrocket.core.optimization.general.multidim.PopulationOptimizer;
 import info.openrocket.core.optimization.general.onedim.GoldenSectionSearchOptimizer;
 import info.openrocket.core.optimization.rocketoptimization.OptimizableParameter;
 import info.openrocket.core.optimization.rocketoptimization.OptimizationGoal;
@@ -54,13 +56,26 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	/** End optimization when step size is below this threshold */
 	private static final double STEP_SIZE_LIMIT = 0.005;
 	
+	/**
+	 * The optimization algorithms.  The population-based algorithms evaluate a whole generation
+	 * of simulations concurrently using all processors.
+	 */
+	public enum Algorithm {
+		/** Golden section search for one parameter, multidirectional search for several */
+		PATTERN_SEARCH,
+		/** Differential evolution */
+		DIFFERENTIAL_EVOLUTION,
+		/** Covariance matrix adaptation evolution strategy */
+		CMA_ES
+	}
+	
 	private final FunctionOptimizer optimizer;
 	private final RocketOptimizationFunction function;
 	
 	private final Simulation simulation;
 	private final SimulationModifier[] modifiers;
 	
-	private final ParallelFunctionCache cache;
+	private final ParallelExecutorCache cache;
 
 	private final LinkedBlockingQueue<FunctionEvaluationData> evaluationQueue = new LinkedBlockingQueue<>();
 	private final LinkedBlockingQueue<OptimizationStepData> stepQueue = new LinkedBlockingQueue<>();
@@ -70,7 +85,7 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	
 	
 	/**
-	 * Sole constructor
+	 * Construct a worker using pattern search.
 	 * @param simulation	the simulation
 	 * @param parameter			the optimization parameter
 	 * @param goal				the optimization goal
@@ -79,6 +94,20 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	 */
 	public OptimizationWorker(Simulation simulation, OptimizableParameter parameter,
 			OptimizationGoal goal, SimulationDomain domain, SimulationModifier... modifiers) {
+		this(Algorithm.PATTERN_SEARCH, simulation, parameter, goal, domain, modifiers);
+	}
+	
+	/**
+	 * Construct a worker using the specified algorithm.
+	 * @param algorithm			the optimization algorithm
+	 * @param simulation	the simulation
+	 * @param parameter			the optimization parameter
+	 * @param goal				the optimization goal
+	 * @param domain			the optimization domain
+	 * @param modifiers			the simulation modifiers
+	 */
+	public OptimizationWorker(Algorithm algorithm, Simulation simulation, OptimizableParameter parameter,
+			OptimizationGoal goal, SimulationDomain domain, SimulationModifier... modifiers) {
 		
 		this.simulation = simulation;
 		this.modifiers = modifiers.clone();
@@ -86,14 +115,27 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		function = new RocketOptimizationFunction(simulation, parameter, goal, domain, modifiers);
 		function.addRocketOptimizationListener(this);
 		
-		cache = new ParallelExecutorCache(1);
-		cache.setFunction(function);
-		
-		if (modifiers.length == 1) {
-			optimizer = new GoldenSectionSearchOptimizer(cache);
+		if (algorithm == Algorithm.PATTERN_SEARCH) {
+			cache = new ParallelExecutorCache(1);
+			if (modifiers.length == 1) {
+				optimizer = new GoldenSectionSearchOptimizer(cache);
+			} else {
+				optimizer = new MultidirectionalSearchOptimizer(cache);
+			}
 		} else {
-			optimizer = new MultidirectionalSearchOptimizer(cache);
+			// Keep every processor busy with the simulations of a generation
+			int threads = Runtime.getRuntime().availableProcessors();
+			cache = new ParallelExecutorCache(threads);
+			PopulationOptimizer populationOptimizer;
+			if (algorithm == Algorithm.DIFFERENTIAL_EVOLUTION) {
+				populationOptimizer = new DifferentialEvolutionOptimizer(cache);
+			} else {
+				populationOptimizer = new CMAESOptimizer(cache);
+			}
+			populationOptimizer.setPopulationSize(threads);
+			optimizer = populationOptimizer;
 		}
+		cache.setFunction(function);
 	}
 	
 	
@@ -112,6 +154,7 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		} catch (OptimizationException e) {
 			this.optimizationException = e;
 		} finally {
+			cache.getExecutor().shutdownNow();
 			SwingUtilities.invokeLater(() -> {
 				lastPurge = System.currentTimeMillis() + 24L * 3600L * 1000L;
 				processQueue();
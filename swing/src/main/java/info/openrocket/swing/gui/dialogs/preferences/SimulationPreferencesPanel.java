@@ -70,6 +70,32 @@ public class SimulationPreferencesPanel extends PreferencesPanel {
 		});
 		this.add(automaticallyRunSimsBox, "wrap, growx, sg combos ");
 
+		// Reuse the results of identical simulations
+		final JCheckBox resultCacheBox = new JCheckBox(
+				trans.get("pref.dlg.checkbox.ResultCache"));
+		resultCacheBox.setToolTipText(trans.get("pref.dlg.checkbox.ResultCache.ttip"));
+		resultCacheBox.setSelected(preferences.isSimulationResultCacheEnabled());
+		resultCacheBox.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				preferences.setSimulationResultCacheEnabled(resultCacheBox.isSelected());
+			}
+		});
+		this.add(resultCacheBox, "wrap, growx, sg combos ");
+
+		// Simulate the branches of separated stages concurrently
+		final JCheckBox parallelBranchesBox = new JCheckBox(
+				trans.get("pref.dlg.checkbox.ParallelBranches"));
+		parallelBranchesBox.setToolTipText(trans.get("pref.dlg.checkbox.ParallelBranches.ttip"));
+		parallelBranchesBox.setSelected(preferences.getSimulationParallelBranches());
+		parallelBranchesBox.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				preferences.setSimulationParallelBranches(parallelBranchesBox.isSelected());
+			}
+		});
+		this.add(parallelBranchesBox, "wrap, growx, sg combos ");
+
 		//GeodeticComputationStrategy geodeticComputation = GeodeticComputationStrategy.SPHERICAL;
 
 		JPanel sub, subsub;
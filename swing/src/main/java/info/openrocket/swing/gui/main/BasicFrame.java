@@ -1880,6 +1880,18 @@ private static final Translator trans = Application.getTranslator();
 			document.setFile(file);
 			document.setSaved(true);
 			setTitle();
+
+			WarningSet warnings = ROCKET_SAVER.getWarnings();
+			if (!warnings.isEmpty()) {
+				WarningDialog.showWarnings(BasicFrame.this,
+						new Object[]{
+								//	//	The following problems were encountered while saving
+								trans.get("BasicFrame.WarningDialog.saving.txt1") + " '" + file.getName() + "'."
+						},
+						////	Warnings while saving file
+						trans.get("BasicFrame.WarningDialog.saving.title"),
+						warnings);
+			}
 			return true;
 		} catch (ExecutionException e) {
 
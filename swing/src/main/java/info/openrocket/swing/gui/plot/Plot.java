@@ -51,6 +51,7 @@ import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.nio.DoubleBuffer;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -305,10 +306,10 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 		// Default implementation for regular DataBranch
 		MetadataXYSeries series = new MetadataXYSeries(startIndex, false, true, branchIdx, dataIndex, unit.getUnit(), branchName, baseName);
 
-		List<Double> plotx = branch.get(filledConfig.getDomainAxisType());
-		List<Double> ploty = branch.get(type);
+		DoubleBuffer plotx = branch.getBuffer(filledConfig.getDomainAxisType());
+		DoubleBuffer ploty = branch.getBuffer(type);
 
-		int pointCount = plotx.size();
+		int pointCount = plotx.limit();
 		for (int j = 0; j < pointCount; j++) {
 			double x = filledConfig.getDomainAxisUnit().toUnit(plotx.get(j));
 			double y = unit.toUnit(ploty.get(j));
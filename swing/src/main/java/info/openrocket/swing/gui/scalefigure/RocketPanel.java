@@ -64,6 +64,8 @@ import javax.swing.JViewport;
 import javax.swing.ListCellRenderer;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.TreeSelectionEvent;
@@ -92,6 +94,7 @@ import java.util.EventListener;
 import java.util.EventObject;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -182,6 +185,16 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 
 	/* Calculation of CP and CG */
 	private AerodynamicCalculator aerodynamicCalculator;
+	// Used only by the extras worker thread
+	private AerodynamicCalculator extrasCalculator;
+
+	/** Delay after the latest change before the extras are calculated, in milliseconds */
+	private static final int EXTRAS_DELAY = 100;
+	private final Timer extrasTimer = new Timer(EXTRAS_DELAY, e -> startExtrasWorker());
+	private ExtrasWorker extrasWorker = null;
+	// The state of the rocket of the calculation that has not been finished yet
+	private ExtrasKey pendingExtrasKey = null;
+	private ExtrasData extrasData = null;
 
 	private final OpenRocketDocument document;
 
@@ -227,6 +240,17 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 								});
 	}
 
+	/**
+	 * The executor service used for calculating the CP, CG and other rocket information
+	 * shown in the figure.  This uses a single daemon thread, so the calculations of all
+	 * panels are run in order and the calculator instances are not shared between threads.
+	 */
+	private static final ExecutorService extrasExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "RocketPanel extras");
+		t.setDaemon(true);
+		return t;
+	});
+
 	public OpenRocketDocument getDocument(){
 		return this.document;
 	}
@@ -243,6 +267,8 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 		
 		// TODO: FUTURE: calculator selection
 		aerodynamicCalculator = new BarrowmanCalculator();
+		extrasCalculator = aerodynamicCalculator.newInstance();
+		extrasTimer.setRepeats(false);
 		
 		// Create figure and custom scroll pane
 		figure = new RocketFigure(rkt);
@@ -802,21 +828,15 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 	/**
 	 * Updates the extra data included in the figure.  Currently this includes
 	 * the CP and CG carets. Also start the background simulator.
+	 * <p>
+	 * The CP, CG and the other rocket information are calculated in the background
+	 * from a copy of the rocket, and the latest results are shown until the new
+	 * ones are ready.
 	 */
-	private WarningSet warnings = new WarningSet();
-
 	public void updateExtras() {
-		CoordinateIF cp, cg;
-		double cgx = Double.NaN;
-		double cgy = Double.NaN;
-		double cpx = Double.NaN;
-		double cpy = Double.NaN;
-		final double rotation = figure.getRotation(true);
-
 		FlightConfiguration curConfig = document.getSelectedConfiguration();
 		// TODO: MEDIUM: User-definable conditions
 		FlightConditions conditions = new FlightConditions(curConfig);
-		warnings.clear();
 
 		extraText.setCurrentConfig(curConfig);
 
@@ -843,69 +863,26 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 
 		if (!Double.isNaN(cpTheta)) {
 			conditions.setTheta(cpTheta);
-			cp = aerodynamicCalculator.getCP(curConfig, conditions, warnings);
-		} else {
-			cp = aerodynamicCalculator.getWorstCP(curConfig, conditions, warnings);
 		}
 		extraText.setTheta(cpTheta);
-		if (cp.getWeight() > MathUtil.EPSILON){
-			cpx = cp.getX();
-			// map the 3D value into the 2D Display Panel
-			cpy = cp.getY() * Math.cos(rotation) + cp.getZ()*Math.sin(rotation);
-		}
-		
-		cg = MassCalculator.calculateLaunch( curConfig).getCM();
-		if (cg.getWeight() > MassCalculator.MIN_MASS){
-			cgx = cg.getX();
-			// map the 3D value into the 2D Display Panel
-			cgy = cg.getY() * Math.cos(rotation) + cg.getZ()*Math.sin(rotation);
-		}
 
-		// We need to flip the y coordinate if we are in top view
-		if (figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.TopView) {
-			cgy = -cgy;
-		}
-
-		double length = curConfig.getLength();
-		
-		double diameter = Double.NaN;
-		for (RocketComponent c : curConfig.getCoreComponents()) {
-			if (c instanceof SymmetricComponent) {
-				double d1 = ((SymmetricComponent) c).getForeRadius() * 2;
-				double d2 = ((SymmetricComponent) c).getAftRadius() * 2;
-				diameter = MathUtil.max(diameter, d1, d2);
+		// Calculate the extras only if the rocket or the conditions have changed
+		ExtrasKey key = new ExtrasKey(curConfig.getRocket().getModID(), curConfig.getId(), curConfig.getModID(),
+				conditions.getMach(), conditions.getAOA(), conditions.getRollRate(), cpTheta);
+		if (extrasData != null && extrasData.key().equals(key)) {
+			// Up to date, drop any calculation of an intermediate state
+			pendingExtrasKey = null;
+			stopExtrasWorker();
+		} else if (!key.equals(pendingExtrasKey)) {
+			pendingExtrasKey = key;
+			if (extrasData == null) {
+				startExtrasWorker();
+			} else {
+				extrasTimer.restart();
 			}
 		}
 
-		RigidBody emptyInfo = MassCalculator.calculateStructure( curConfig );
-		
-		extraText.setCG(cgx);
-		extraText.setCP(cpx);
-		extraText.setLength(length);
-		extraText.setDiameter(diameter);
-		extraText.setMassWithMotors(cg.getWeight());
-		extraText.setMassWithoutMotors( emptyInfo.getMass() );
-		extraText.setWarnings(warnings);
-		if (this.showWarnings != null) {
-			extraText.setShowWarnings(showWarnings.isSelected());
-		}
-
-		if (length > 0) {
-			figure3d.setCG(cg);
-			figure3d.setCP(cp);
-		} else {
-			figure3d.setCG(new Coordinate(Double.NaN, Double.NaN));
-			figure3d.setCP(new Coordinate(Double.NaN, Double.NaN));
-		}
-
-		if (length > 0 &&
-				((figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.TopView) || (figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.SideView))) {
-			extraCP.setPosition(cpx, cpy);
-			extraCG.setPosition(cgx, cgy);
-		} else {
-			extraCP.setPosition(Double.NaN, Double.NaN);
-			extraCG.setPosition(Double.NaN, Double.NaN);
-		}
+		showExtras();
 
 		////////  Flight simulation in background
 
@@ -964,6 +941,204 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 		}
 	}
 
+	/**
+	 * Sets the latest calculated extras to the figure elements.
+	 */
+	private void showExtras() {
+		double cgx = Double.NaN;
+		double cgy = Double.NaN;
+		double cpx = Double.NaN;
+		double cpy = Double.NaN;
+		final double rotation = figure.getRotation(true);
+
+		final ExtrasData data = extrasData;
+		if (data == null) {
+			extraText.setCG(cgx);
+			extraText.setCP(cpx);
+			extraText.setLength(Double.NaN);
+			extraText.setDiameter(Double.NaN);
+			extraText.setMassWithMotors(Double.NaN);
+			extraText.setMassWithoutMotors(Double.NaN);
+			figure3d.setCG(new Coordinate(Double.NaN, Double.NaN));
+			figure3d.setCP(new Coordinate(Double.NaN, Double.NaN));
+			extraCP.setPosition(Double.NaN, Double.NaN);
+			extraCG.setPosition(Double.NaN, Double.NaN);
+			return;
+		}
+
+		final CoordinateIF cp = data.cp();
+		final CoordinateIF cg = data.cg();
+		if (cp.getWeight() > MathUtil.EPSILON){
+			cpx = cp.getX();
+			// map the 3D value into the 2D Display Panel
+			cpy = cp.getY() * Math.cos(rotation) + cp.getZ()*Math.sin(rotation);
+		}
+
+		if (cg.getWeight() > MassCalculator.MIN_MASS){
+			cgx = cg.getX();
+			// map the 3D value into the 2D Display Panel
+			cgy = cg.getY() * Math.cos(rotation) + cg.getZ()*Math.sin(rotation);
+		}
+
+		// We need to flip the y coordinate if we are in top view
+		if (figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.TopView) {
+			cgy = -cgy;
+		}
+
+		final double length = data.length();
+
+		extraText.setCG(cgx);
+		extraText.setCP(cpx);
+		extraText.setLength(length);
+		extraText.setDiameter(data.diameter());
+		extraText.setMassWithMotors(cg.getWeight());
+		extraText.setMassWithoutMotors(data.massWithoutMotors());
+		extraText.setWarnings(data.warnings());
+		if (this.showWarnings != null) {
+			extraText.setShowWarnings(showWarnings.isSelected());
+		}
+
+		if (length > 0) {
+			figure3d.setCG(cg);
+			figure3d.setCP(cp);
+		} else {
+			figure3d.setCG(new Coordinate(Double.NaN, Double.NaN));
+			figure3d.setCP(new Coordinate(Double.NaN, Double.NaN));
+		}
+
+		if (length > 0 &&
+				((figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.TopView) || (figure.getCurrentViewType() == RocketPanel.VIEW_TYPE.SideView))) {
+			extraCP.setPosition(cpx, cpy);
+			extraCG.setPosition(cgx, cgy);
+		} else {
+			extraCP.setPosition(Double.NaN, Double.NaN);
+			extraCG.setPosition(Double.NaN, Double.NaN);
+		}
+	}
+
+	/**
+	 * Cancels the current extras calculation, if any, and starts a new one for a copy of the
+	 * selected configuration.
+	 */
+	private void startExtrasWorker() {
+		stopExtrasWorker();
+		if (pendingExtrasKey == null) {
+			return;
+		}
+
+		FlightConfiguration curConfig = document.getSelectedConfiguration();
+		FlightConditions conditions = new FlightConditions(curConfig);
+		conditions.setMach(pendingExtrasKey.mach());
+		conditions.setAOA(pendingExtrasKey.aoa());
+		conditions.setRollRate(pendingExtrasKey.rollRate());
+		if (!Double.isNaN(pendingExtrasKey.theta())) {
+			conditions.setTheta(pendingExtrasKey.theta());
+		}
+
+		Rocket duplicate = (Rocket) curConfig.getRocket().copy();
+		extrasWorker = new ExtrasWorker(pendingExtrasKey, curConfig.clone(duplicate), conditions);
+		extrasExecutor.execute(extrasWorker);
+	}
+
+	/**
+	 * Cancels the scheduled and the current extras calculation, if any.
+	 */
+	private void stopExtrasWorker() {
+		extrasTimer.stop();
+		if (extrasWorker != null) {
+			extrasWorker.cancel(true);
+			extrasWorker = null;
+		}
+	}
+
+	/**
+	 * The state of the rocket and the flight conditions the extras were calculated for.
+	 */
+	private record ExtrasKey(ModID rocketModID, FlightConfigurationId configId, ModID configModID,
+							 double mach, double aoa, double rollRate, double theta) {
+	}
+
+	/**
+	 * The calculated extras, as shown in the figure.
+	 */
+	private record ExtrasData(ExtrasKey key, CoordinateIF cp, CoordinateIF cg, double massWithoutMotors,
+							  double length, double diameter, WarningSet warnings) {
+	}
+
+	/**
+	 * A SwingWorker that calculates the CP, CG and dimensions of a copy of the rocket in
+	 * the background and shows them in the figure when finished.  The results are discarded
+	 * if the worker has been cancelled or replaced by a newer one.
+	 */
+	private class ExtrasWorker extends SwingWorker<ExtrasData, Void> {
+
+		private final ExtrasKey key;
+		private final FlightConfiguration config;
+		private final FlightConditions conditions;
+
+		public ExtrasWorker(ExtrasKey key, FlightConfiguration config, FlightConditions conditions) {
+			this.key = key;
+			this.config = config;
+			this.conditions = conditions;
+		}
+
+		@Override
+		protected ExtrasData doInBackground() {
+			final WarningSet warnings = new WarningSet();
+			final CoordinateIF cp;
+			if (!Double.isNaN(key.theta())) {
+				cp = extrasCalculator.getCP(config, conditions, warnings);
+			} else {
+				cp = extrasCalculator.getWorstCP(config, conditions, warnings);
+			}
+			if (isCancelled()) {
+				return null;
+			}
+
+			final CoordinateIF cg = MassCalculator.calculateLaunch(config).getCM();
+			final RigidBody emptyInfo = MassCalculator.calculateStructure(config);
+			if (isCancelled()) {
+				return null;
+			}
+
+			double diameter = Double.NaN;
+			for (RocketComponent c : config.getCoreComponents()) {
+				if (c instanceof SymmetricComponent) {
+					double d1 = ((SymmetricComponent) c).getForeRadius() * 2;
+					double d2 = ((SymmetricComponent) c).getAftRadius() * 2;
+					diameter = MathUtil.max(diameter, d1, d2);
+				}
+			}
+
+			return new ExtrasData(key, cp, cg, emptyInfo.getMass(), config.getLength(), diameter, warnings);
+		}
+
+		@Override
+		protected void done() {
+			// Do nothing if cancelled or replaced
+			if (isCancelled() || extrasWorker != this) {
+				return;
+			}
+			extrasWorker = null;
+			if (key.equals(pendingExtrasKey)) {
+				pendingExtrasKey = null;
+			}
+
+			try {
+				extrasData = get();
+			} catch (InterruptedException | ExecutionException e) {
+				log.warn("Unable to calculate the CP and CG of the rocket", e);
+				return;
+			}
+
+			showExtras();
+			if (!is3d)
+				figure.repaint();
+			else
+				figure3d.repaint();
+		}
+	}
+
 	/**
 	 * Updates the simulations. If *currentConfig* is false, only update the simulation of the current flight
 	 * configuration. If it is true, update all the simulations.
@@ -117,9 +117,13 @@ public class SimulationRunDialog extends JDialog {
 
 		this.simulations = simulations;
 
-		// Randomize the simulation random seeds
+		// Randomize the simulation random seeds, except for simulations that may be resumed from
+		// the checkpoints of their previous run, which are only valid for the same seed
 		for (Simulation sim : simulations) {
-			sim.getOptions().randomizeSeed();
+			sim.setInteractive(true);
+			if (sim.getCheckpoints().getCheckpointCount() == 0) {
+				sim.getOptions().randomizeSeed();
+			}
 		}
 
 		// Initialize the simulations
@@ -498,6 +502,11 @@ public class SimulationRunDialog extends JDialog {
 					publish(new SimulationStatus(status));
 				}
 			}
+
+			@Override
+			public String getResultCacheKey() {
+				return "";
+			}
 		}
 	}
 }
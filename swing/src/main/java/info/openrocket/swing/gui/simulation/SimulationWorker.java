@@ -128,5 +128,10 @@ public abstract class SimulationWorker extends SwingWorker<FlightData, Simulatio
 			}
 			
 		}
+
+		@Override
+		public String getResultCacheKey() {
+			return "";
+		}
 	}
 }
@@ -10,11 +10,13 @@ import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.preferences.ApplicationPreferences;
 import info.openrocket.core.database.ComponentPresetDatabaseLoader;
 import info.openrocket.core.database.MotorDatabaseLoader;
+import info.openrocket.core.simulation.cache.SimulationResultCache;
 import info.openrocket.swing.gui.util.SwingPreferences;
 import info.openrocket.swing.gui.watcher.WatchService;
 import info.openrocket.swing.gui.watcher.WatchServiceImpl;
 import info.openrocket.swing.startup.providers.BlockingComponentPresetDatabaseProvider;
 import info.openrocket.swing.startup.providers.BlockingMotorDatabaseProvider;
+import info.openrocket.core.startup.providers.SimulationResultCacheProvider;
 import info.openrocket.core.startup.providers.TranslatorProvider;
 
 import com.google.inject.AbstractModule;
@@ -59,6 +61,8 @@ public class GuiModule extends AbstractModule {
 		bind(ThrustCurveMotorSetDatabase.class).toProvider(motorDatabaseProvider).in(Scopes.SINGLETON);
 		bind(MotorDatabase.class).toProvider(motorDatabaseProvider).in(Scopes.SINGLETON);
 
+		bind(SimulationResultCache.class).toProvider(SimulationResultCacheProvider.class).in(Scopes.SINGLETON);
+
 		if (System.getProperty("openrocket.debug") != null) {
 
 		}